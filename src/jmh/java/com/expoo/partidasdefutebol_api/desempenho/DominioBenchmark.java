@@ -0,0 +1,173 @@
+package com.expoo.partidasdefutebol_api.desempenho;
+
+import com.expoo.partidasdefutebol_api.dto.PartidaDTO;
+import com.expoo.partidasdefutebol_api.dto.RankingDTO;
+import com.expoo.partidasdefutebol_api.dto.RetroDTO;
+import com.expoo.partidasdefutebol_api.model.Clube;
+import com.expoo.partidasdefutebol_api.model.ClubeRetrospecto;
+import com.expoo.partidasdefutebol_api.model.Partida;
+import com.expoo.partidasdefutebol_api.repository.ClubeRepository;
+import com.expoo.partidasdefutebol_api.repository.ClubeRetrospectoRepository;
+import com.expoo.partidasdefutebol_api.repository.PartidaRepository;
+import com.expoo.partidasdefutebol_api.service.ClubeService;
+import com.expoo.partidasdefutebol_api.service.ClubesEmCache;
+import com.expoo.partidasdefutebol_api.service.PartidaService;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.util.*;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.IntStream;
+
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+/**
+ * Cálculos de retrospecto e ranking de {@link ClubeService} e {@link PartidaService}, com os
+ * repositórios trocados por stubs que devolvem o que o banco devolveria: as partidas já em memória
+ * ou, no ranking e no retrospecto consolidado, os totais somados a partir delas.
+ * O clube 1 está em todas as partidas, contra um adversário sorteado entre {@value #CLUBES} clubes.
+ * Com {@code -prof gc}, {@code gc.alloc.rate.norm} dá os bytes alocados por chamada.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 2, time = 2)
+@Measurement(iterations = 3, time = 2)
+@Fork(value = 1, jvmArgsAppend = {"-Xmx3g", "-XX:+EnableDynamicAgentLoading"})
+public class DominioBenchmark {
+
+    private static final int CLUBES = 1_000;
+    private static final Long CLUBE_ID = 1L;
+    private static final List<Long> COMPARADOS = List.of(1L, 2L, 3L);
+
+    @Param({"10000", "1000000", "10000000"})
+    private int partidas;
+
+    private List<Partida> lista;
+    private ClubeService clubeService;
+    private PartidaService partidaService;
+
+    @Setup
+    public void preparar() {
+        Clube[] clubes = new Clube[CLUBES + 1];
+        for (int i = 1; i <= CLUBES; i++) {
+            clubes[i] = new Clube((long) i, "Clube " + i, "SP", LocalDate.of(1990, 1, 1), true);
+        }
+
+        Random random = new Random(42);
+        lista = new ArrayList<>(partidas);
+        for (int i = 0; i < partidas; i++) {
+            Clube adversario = clubes[2 + random.nextInt(CLUBES - 1)];
+            boolean mandante = random.nextBoolean();
+            lista.add(new Partida(null, mandante ? clubes[1] : adversario, mandante ? adversario : clubes[1],
+                    random.nextInt(6), random.nextInt(5), null));
+        }
+
+        int[][] totais = new int[CLUBES + 1][10];
+        for (Partida partida : lista) {
+            somar(totais[partida.getMandante().getId().intValue()], 0, partida.getGolsMandante(), partida.getGolsVisitante());
+            somar(totais[partida.getVisitante().getId().intValue()], 5, partida.getGolsVisitante(), partida.getGolsMandante());
+        }
+        List<PartidaRepository.TotaisClube> totaisPorClube = new ArrayList<>(CLUBES);
+        for (int i = 1; i <= CLUBES; i++) {
+            int[] doClube = totais[i];
+            totaisPorClube.add(totaisClube((long) i, IntStream.range(0, 5).map(j -> doClube[j] + doClube[j + 5]).toArray()));
+        }
+        List<ClubeRetrospecto> retrospecto = List.of(retrospecto(clubes[1], Arrays.copyOfRange(totais[1], 0, 5)),
+                retrospecto(clubes[1], Arrays.copyOfRange(totais[1], 5, 10)));
+        ClubeRetrospectoRepository retrospectoRepository = mock(ClubeRetrospectoRepository.class, withSettings().stubOnly());
+        when(retrospectoRepository.buscarPorClube(anyLong(), isNull())).thenReturn(retrospecto);
+
+        ClubeRepository clubeRepository = mock(ClubeRepository.class, withSettings().stubOnly());
+        when(clubeRepository.findById(anyLong()))
+                .thenAnswer(invocacao -> Optional.ofNullable(clubes[invocacao.<Long>getArgument(0).intValue()]));
+        when(clubeRepository.findAllById(anyIterable())).thenAnswer(invocacao -> {
+            List<Clube> encontrados = new ArrayList<>();
+            invocacao.<Iterable<Long>>getArgument(0).forEach(id -> encontrados.add(clubes[id.intValue()]));
+            return encontrados;
+        });
+        PartidaRepository partidaRepository = mock(PartidaRepository.class, withSettings().stubOnly());
+        when(partidaRepository.findByMandanteIdOrVisitanteId(anyLong(), anyLong())).thenReturn(lista);
+        when(partidaRepository.somarPorClube(anyInt(), anyBoolean(), anyBoolean())).thenReturn(totaisPorClube);
+        when(partidaRepository.buscarPorClubeComAdversarios(anyLong())).thenReturn(lista);
+        when(partidaRepository.findByMandanteIdInOrVisitanteIdIn(anyList(), anyList())).thenReturn(lista);
+        when(partidaRepository.findConfrontosDiretos(anyLong(), anyLong())).thenReturn(lista.stream()
+                .map(p -> new PartidaDTO(p.getId(), p.getMandante().getId(), p.getMandante().getNome(), p.getVisitante().getId(),
+                        p.getVisitante().getNome(), null, p.getDataHora(), p.getGolsMandante(), p.getGolsVisitante()))
+                .toList());
+
+        ClubesEmCache clubesEmCache = new ClubesEmCache(clubeRepository, new SimpleMeterRegistry(),
+                CLUBES, Duration.ofHours(1));
+        clubeService = new ClubeService(clubeRepository, partidaRepository, retrospectoRepository, clubesEmCache);
+        partidaService = new PartidaService(partidaRepository, clubesEmCache, null, null, null, null, null);
+    }
+
+    /**
+     * Retrospecto a partir das duas linhas consolidadas do clube, como mandante e como visitante.
+     */
+    @Benchmark
+    public RetroDTO getRetro() {
+        return clubeService.getRetro(CLUBE_ID, null);
+    }
+
+    @Benchmark
+    public Page<RetroDTO> calcularRetroAdversarios() {
+        return clubeService.getRetroParaCadaAdversario(CLUBE_ID, Pageable.unpaged());
+    }
+
+    @Benchmark
+    public List<RetroDTO> calcularRetroComparado() {
+        return clubeService.compararClubes(COMPARADOS);
+    }
+
+    /**
+     * {@code atualizarRetro} de {@link PartidaService}, pelo confronto direto.
+     */
+    @Benchmark
+    public Map<String, Object> atualizarRetro() {
+        return partidaService.getConfrontoDireto(CLUBE_ID, 2L);
+    }
+
+    /**
+     * O ranking a partir dos totais que o banco soma por clube, com os nomes vindos do cache.
+     */
+    @Benchmark
+    public List<RankingDTO> getRanking() {
+        return partidaService.getRanking("pontos", false, null, 0, null);
+    }
+
+    /**
+     * Vitórias, empates, derrotas, gols feitos e sofridos a partir de {@code inicio}.
+     */
+    private static void somar(int[] totais, int inicio, int golsFeitos, int golsSofridos) {
+        totais[inicio + (golsFeitos > golsSofridos ? 0 : golsFeitos == golsSofridos ? 1 : 2)]++;
+        totais[inicio + 3] += golsFeitos;
+        totais[inicio + 4] += golsSofridos;
+    }
+
+    private static PartidaRepository.TotaisClube totaisClube(Long clubeId, int[] totais) {
+        return new PartidaRepository.TotaisClube() {
+            public Long getClubeId() { return clubeId; }
+            public int getVitorias() { return totais[0]; }
+            public int getEmpates() { return totais[1]; }
+            public int getDerrotas() { return totais[2]; }
+            public int getGolsFeitos() { return totais[3]; }
+            public int getGolsSofridos() { return totais[4]; }
+        };
+    }
+
+    private static ClubeRetrospecto retrospecto(Clube clube, int[] totais) {
+        ClubeRetrospecto linha = mock(ClubeRetrospecto.class, withSettings().stubOnly());
+        when(linha.getClube()).thenReturn(clube);
+        when(linha.getVitorias()).thenReturn(totais[0]);
+        when(linha.getEmpates()).thenReturn(totais[1]);
+        when(linha.getDerrotas()).thenReturn(totais[2]);
+        when(linha.getGolsFeitos()).thenReturn(totais[3]);
+        when(linha.getGolsSofridos()).thenReturn(totais[4]);
+        return linha;
+    }
+}
@@ -0,0 +1,124 @@
+package com.expoo.partidasdefutebol_api.desempenho;
+
+import com.expoo.partidasdefutebol_api.model.Partida;
+import com.expoo.partidasdefutebol_api.model.Placar;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compara a leitura e a formatação do placar com {@link Placar} contra o código anterior
+ * ({@code String.split} + {@code Integer.parseInt} e concatenação a cada alteração de gols).
+ * Com {@code -prof gc}, a métrica {@code gc.alloc.rate.norm} dá os bytes alocados por partida.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class PlacarBenchmark {
+
+    private static final int TOTAL = 1024;
+
+    private final String[] resultados = new String[TOTAL];
+    private final int[] golsMandante = new int[TOTAL];
+    private final int[] golsVisitante = new int[TOTAL];
+    private final Partida partida = new Partida();
+    private final PartidaLegada partidaLegada = new PartidaLegada();
+    private int indice;
+
+    @Setup
+    public void preparar() {
+        Random random = new Random(42);
+        for (int i = 0; i < TOTAL; i++) {
+            golsMandante[i] = random.nextInt(6);
+            golsVisitante[i] = random.nextInt(i % 50 == 0 ? 25 : 6);
+            resultados[i] = golsMandante[i] + "-" + golsVisitante[i];
+        }
+    }
+
+    private int proximo() {
+        indice = (indice + 1) & (TOTAL - 1);
+        return indice;
+    }
+
+    @Benchmark
+    public void lerLegado(Blackhole blackhole) {
+        String[] gols = resultados[proximo()].split("-");
+        blackhole.consume(Integer.parseInt(gols[0]));
+        blackhole.consume(Integer.parseInt(gols[1]));
+    }
+
+    @Benchmark
+    public void lerPlacar(Blackhole blackhole) {
+        long placar = Placar.ler(resultados[proximo()]);
+        blackhole.consume(Placar.golsMandante(placar));
+        blackhole.consume(Placar.golsVisitante(placar));
+    }
+
+    @Benchmark
+    public String formatarLegado() {
+        int i = proximo();
+        return golsMandante[i] + "-" + golsVisitante[i];
+    }
+
+    @Benchmark
+    public String formatarPlacar() {
+        int i = proximo();
+        return Placar.formatar(golsMandante[i], golsVisitante[i]);
+    }
+
+    /**
+     * Ciclo de uma partida na atualização: recebe o resultado, os gols e devolve o resultado para o JSON.
+     */
+    @Benchmark
+    public String partidaLegada() {
+        int i = proximo();
+        partidaLegada.setResultado(resultados[i]);
+        partidaLegada.setGolsMandante(golsMandante[i]);
+        partidaLegada.setGolsVisitante(golsVisitante[i]);
+        return partidaLegada.getResultado();
+    }
+
+    @Benchmark
+    public String partida() {
+        int i = proximo();
+        partida.setResultado(resultados[i]);
+        partida.setGolsMandante(golsMandante[i]);
+        partida.setGolsVisitante(golsVisitante[i]);
+        return partida.getResultado();
+    }
+
+    /**
+     * Tratamento do placar como era em {@link Partida} antes do {@link Placar}.
+     */
+    private static final class PartidaLegada {
+
+        private String resultado;
+        private int golsMandante;
+        private int golsVisitante;
+
+        void setResultado(String resultado) {
+            this.resultado = resultado;
+            String[] gols = resultado.split("-");
+            this.golsMandante = Integer.parseInt(gols[0]);
+            this.golsVisitante = Integer.parseInt(gols[1]);
+        }
+
+        void setGolsMandante(int golsMandante) {
+            this.golsMandante = golsMandante;
+            this.resultado = this.golsMandante + "-" + this.golsVisitante;
+        }
+
+        void setGolsVisitante(int golsVisitante) {
+            this.golsVisitante = golsVisitante;
+            this.resultado = this.golsMandante + "-" + this.golsVisitante;
+        }
+
+        String getResultado() {
+            return resultado;
+        }
+    }
+}
@@ -0,0 +1,92 @@
+package com.expoo.partidasdefutebol_api.desempenho;
+
+import com.expoo.partidasdefutebol_api.dto.RankingDTO;
+import com.expoo.partidasdefutebol_api.dto.RetroDTO;
+import com.expoo.partidasdefutebol_api.enums.CriterioRanking;
+import com.expoo.partidasdefutebol_api.service.RankingClubes;
+import org.openjdk.jmh.annotations.*;
+import java.util.*;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Monta a primeira página do ranking por pontos sobre 5 milhões de placares já carregados,
+ * com o código anterior ({@code HashMap<Long, RetroDTO>}, um {@code Map} por clube e ordenação
+ * completa) e com {@link RankingClubes}. Mede só o cálculo; a leitura das partidas no banco fica de fora.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = "-Xmx2g")
+public class RankingBenchmark {
+
+    private static final int PARTIDAS = 5_000_000;
+    private static final int CLUBES = 500;
+    private static final int PAGINA = 20;
+
+    private final long[] mandantes = new long[PARTIDAS];
+    private final long[] visitantes = new long[PARTIDAS];
+    private final int[] golsMandante = new int[PARTIDAS];
+    private final int[] golsVisitante = new int[PARTIDAS];
+
+    @Setup
+    public void preparar() {
+        Random random = new Random(42);
+        for (int i = 0; i < PARTIDAS; i++) {
+            mandantes[i] = 1 + random.nextInt(CLUBES);
+            visitantes[i] = 1 + random.nextInt(CLUBES);
+            golsMandante[i] = random.nextInt(6);
+            golsVisitante[i] = random.nextInt(5);
+        }
+    }
+
+    @Benchmark
+    public List<Map<String, Object>> rankingLegado() {
+        Map<Long, RetroDTO> ranking = new HashMap<>();
+        for (int i = 0; i < PARTIDAS; i++) {
+            somar(ranking, mandantes[i], golsMandante[i], golsVisitante[i]);
+            somar(ranking, visitantes[i], golsVisitante[i], golsMandante[i]);
+        }
+        return ranking.entrySet().stream()
+                .map(entry -> {
+                    Map<String, Object> map = new HashMap<>();
+                    RetroDTO retro = entry.getValue();
+                    map.put("clubeId", entry.getKey());
+                    map.put("clube", retro.getNome());
+                    map.put("jogos", retro.getTotalJogos());
+                    map.put("vitorias", retro.getVitorias());
+                    map.put("gols", retro.getGolsFeitos());
+                    map.put("pontos", retro.getPontos());
+                    map.put("saldoGols", retro.getSaldoGols());
+                    return map;
+                })
+                .filter(m -> (int) m.get("pontos") > 0)
+                .sorted(Comparator.comparingInt(m -> -((int) m.get("pontos"))))
+                .limit(PAGINA)
+                .toList();
+    }
+
+    @Benchmark
+    public List<RankingDTO> rankingClubes() {
+        RankingClubes ranking = new RankingClubes(false, true, true);
+        for (int i = 0; i < PARTIDAS; i++) {
+            ranking.registrar(mandantes[i], visitantes[i], golsMandante[i], golsVisitante[i]);
+        }
+        return ranking.classificar(CriterioRanking.PONTOS, 0, PAGINA);
+    }
+
+    private static void somar(Map<Long, RetroDTO> ranking, Long id, int golsFeitos, int golsSofridos) {
+        RetroDTO retro = ranking.getOrDefault(id, new RetroDTO("Clube " + id, 0, 0, 0, 0, 0));
+        retro.setGolsFeitos(retro.getGolsFeitos() + golsFeitos);
+        retro.setGolsSofridos(retro.getGolsSofridos() + golsSofridos);
+        if (golsFeitos > golsSofridos) {
+            retro.setVitorias(retro.getVitorias() + 1);
+        } else if (golsFeitos < golsSofridos) {
+            retro.setDerrotas(retro.getDerrotas() + 1);
+        } else {
+            retro.setEmpates(retro.getEmpates() + 1);
+        }
+        ranking.put(id, retro);
+    }
+}
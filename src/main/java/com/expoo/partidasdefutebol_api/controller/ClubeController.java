@@ -79,6 +79,15 @@ public class ClubeController {
         return clubeService.getRetroAdversarios(clubeId, TipoCampo.fromNullable(mandante));
     }
 
+    @GetMapping("/{clubeId}/retro-por-adversario")
+    @Operation(summary = "Obter retrospecto contra cada adversário",
+            description = "Retorna, paginado e ordenado pelo ID do adversário, o retrospecto do clube contra cada clube que já enfrentou")
+    public Page<RetroDTO> getRetroParaCadaAdversario(
+            @PathVariable Long clubeId,
+            Pageable pageable) {
+        return clubeService.getRetroParaCadaAdversario(clubeId, pageable);
+    }
+
     @GetMapping("/{clubeId}/retro-goleadas")
     @Operation(summary = "Obter retrospecto com goleadas", description = "Retorna o retrospecto de um clube considerando apenas goleadas")
     public RetroDTO getRetroGoleadas(
@@ -1,13 +1,14 @@
 package com.expoo.partidasdefutebol_api.controller;
 
-import com.expoo.partidasdefutebol_api.dto.EstatisticaDTO;
+import com.expoo.partidasdefutebol_api.dto.ExecucaoJobDTO;
+import com.expoo.partidasdefutebol_api.dto.ReconciliacaoRetrospectoDTO;
 import com.expoo.partidasdefutebol_api.service.EstatisticaJobService;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.tags.Tag;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
-import java.util.List;
+import java.net.URI;
 
 @RestController
 @RequestMapping("/jobs")
@@ -23,10 +24,29 @@ public class JobController {
     @PostMapping("/recalcular-estatisticas")
     @Operation(
         summary = "Executa o job de estatísticas manualmente",
-        description = "Dispara o cálculo de estatísticas dos clubes com base nas partidas cadastradas e retorna a lista com os totais."
+        description = "Enfileira o cálculo de estatísticas dos clubes e retorna 202 com o ID da execução. " +
+                      "Se já houver uma execução aguardando ou em andamento, retorna essa mesma execução."
     )
-    public ResponseEntity<List<EstatisticaDTO>> dispararJobDeEstatisticas() {
-        List<EstatisticaDTO> estatisticas = jobService.executarJobComRetorno();
-        return ResponseEntity.ok(estatisticas);
+    public ResponseEntity<ExecucaoJobDTO> dispararJobDeEstatisticas() {
+        ExecucaoJobDTO execucao = jobService.dispararJob();
+        return ResponseEntity.accepted().location(URI.create("/jobs/" + execucao.getId())).body(execucao);
+    }
+
+    @GetMapping("/{id}")
+    @Operation(
+        summary = "Consulta uma execução do job de estatísticas",
+        description = "Retorna a situação da execução, as consultas feitas até o momento e, ao final, os totais calculados."
+    )
+    public ResponseEntity<ExecucaoJobDTO> buscarExecucao(@PathVariable Long id) {
+        return ResponseEntity.ok(jobService.buscarExecucao(id));
+    }
+
+    @PostMapping("/reconciliar-retrospecto")
+    @Operation(
+        summary = "Reconstrói o retrospecto consolidado dos clubes",
+        description = "Recalcula a tabela de retrospecto a partir das partidas e retorna as linhas que estavam divergentes."
+    )
+    public ResponseEntity<ReconciliacaoRetrospectoDTO> reconciliarRetrospecto() {
+        return ResponseEntity.ok(jobService.reconciliarRetrospecto());
     }
 }
\ No newline at end of file
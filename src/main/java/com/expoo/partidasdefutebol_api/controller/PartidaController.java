@@ -1,19 +1,30 @@
 package com.expoo.partidasdefutebol_api.controller;
 
+import com.expoo.partidasdefutebol_api.dto.FiltroPartidasDTO;
+import com.expoo.partidasdefutebol_api.dto.ImportacaoDTO;
+import com.expoo.partidasdefutebol_api.dto.PaginaPartidasDTO;
 import com.expoo.partidasdefutebol_api.dto.PartidaDTO;
+import com.expoo.partidasdefutebol_api.dto.RankingDTO;
+import com.expoo.partidasdefutebol_api.dto.ResultadoLoteDTO;
+import com.expoo.partidasdefutebol_api.enums.FormatoImportacao;
 import com.expoo.partidasdefutebol_api.model.Partida;
+import com.expoo.partidasdefutebol_api.service.ImportacaoPartidaService;
+import com.expoo.partidasdefutebol_api.service.PartidaLoteService;
 import com.expoo.partidasdefutebol_api.service.PartidaService;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.Parameter;
 import io.swagger.v3.oas.annotations.tags.Tag;
 import jakarta.validation.Valid;
+import org.springdoc.core.annotations.ParameterObject;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.domain.Sort;
 import org.springframework.data.web.PageableDefault;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.multipart.MultipartFile;
 import java.util.List;
 import java.util.Map;
 
@@ -23,10 +34,15 @@ import java.util.Map;
 public class PartidaController {
 
     private final PartidaService partidaService;
+    private final PartidaLoteService partidaLoteService;
+    private final ImportacaoPartidaService importacaoPartidaService;
 
     @Autowired
-    public PartidaController(PartidaService partidaService) {
+    public PartidaController(PartidaService partidaService, PartidaLoteService partidaLoteService,
+                             ImportacaoPartidaService importacaoPartidaService) {
         this.partidaService = partidaService;
+        this.partidaLoteService = partidaLoteService;
+        this.importacaoPartidaService = importacaoPartidaService;
     }
 
     @PostMapping
@@ -36,6 +52,28 @@ public class PartidaController {
         return partidaService.cadastrar(partidaDTO);
     }
 
+    @PostMapping("/lote")
+    @Operation(summary = "Cadastrar partidas em lote", description = "Cadastra várias partidas de uma vez e informa os itens rejeitados com o motivo de cada um")
+    public ResultadoLoteDTO cadastrarLote(@RequestBody List<PartidaDTO> partidas) {
+        return partidaLoteService.cadastrarLote(partidas);
+    }
+
+    @PostMapping(value = "/importacao", consumes = MediaType.MULTIPART_FORM_DATA_VALUE)
+    @ResponseStatus(HttpStatus.ACCEPTED)
+    @Operation(summary = "Importar partidas de arquivo", description = "Inicia a importação de um arquivo CSV ou NDJSON com as colunas mandante, visitante, resultado, estadio e dataHora. Os clubes são informados pelo nome")
+    public ImportacaoDTO importar(
+            @Parameter(description = "Arquivo com as partidas", required = true) @RequestParam("arquivo") MultipartFile arquivo,
+            @Parameter(description = "Formato do arquivo; quando ausente é deduzido pela extensão") @RequestParam(required = false) FormatoImportacao formato) {
+        return importacaoPartidaService.iniciar(arquivo, formato);
+    }
+
+    @GetMapping("/importacao/{id}")
+    @Operation(summary = "Acompanhar importação", description = "Retorna o andamento, a vazão e as primeiras linhas rejeitadas de uma importação")
+    public ImportacaoDTO buscarImportacao(
+            @Parameter(description = "ID da importação", required = true) @PathVariable Long id) {
+        return importacaoPartidaService.buscar(id);
+    }
+
     @PutMapping("/{id}")
     @Operation(summary = "Atualizar uma partida", description = "Atualiza os dados de uma partida existente")
     public Partida atualizar(
@@ -60,13 +98,20 @@ public class PartidaController {
     }
 
     @GetMapping
-    @Operation(summary = "Listar partidas", description = "Retorna uma lista paginada de partidas com filtros opcionais")
-    public Page<Partida> listar(
-            @RequestParam(required = false) Long clubeId,
-            @RequestParam(required = false) String estadio,
-            @RequestParam(required = false) Boolean goleadas,
+    @Operation(summary = "Listar partidas", description = "Retorna uma lista paginada de partidas com filtros opcionais e combináveis: clube, adversário, mando, resultado, estádio, goleadas e período")
+    public Page<PartidaDTO> listar(
+            @ParameterObject FiltroPartidasDTO filtro,
             @PageableDefault(sort = "dataHora", direction = Sort.Direction.DESC) Pageable pageable) {
-        return partidaService.listar(clubeId, estadio, goleadas, pageable);
+        return partidaService.listar(filtro, pageable);
+    }
+
+    @GetMapping(params = "cursor")
+    @Operation(summary = "Listar partidas por cursor", description = "Percorre as partidas da mais recente para a mais antiga com os mesmos filtros da listagem paginada, sem contar o total. Envie cursor vazio na primeira página e o proximoCursor recebido nas seguintes")
+    public PaginaPartidasDTO listarPorCursor(
+            @ParameterObject FiltroPartidasDTO filtro,
+            @Parameter(description = "Cursor devolvido na página anterior; vazio na primeira") @RequestParam String cursor,
+            @Parameter(description = "Quantidade de partidas por página") @RequestParam(defaultValue = "20") int size) {
+        return partidaService.listarPorCursor(filtro, cursor, size);
     }
 
     @GetMapping("/confronto-direto")
@@ -79,10 +124,12 @@ public class PartidaController {
 
     @GetMapping("/ranking")
     @Operation(summary = "Ranking de clubes", description = "Retorna o ranking dos clubes conforme o critério selecionado")
-    public List<Map<String, Object>> getRanking(
+    public List<RankingDTO> getRanking(
             @RequestParam String criterio,
             @RequestParam(required = false) Boolean goleadas,
-            @RequestParam(required = false) String tipo) {
-        return partidaService.getRanking(criterio, goleadas, tipo);
+            @RequestParam(required = false) String tipo,
+            @Parameter(description = "Quantidade de posições a pular") @RequestParam(defaultValue = "0") int offset,
+            @Parameter(description = "Quantidade máxima de posições retornadas") @RequestParam(required = false) Integer limit) {
+        return partidaService.getRanking(criterio, goleadas, tipo, offset, limit);
     }
 } 
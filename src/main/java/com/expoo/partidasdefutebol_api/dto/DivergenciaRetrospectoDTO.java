@@ -0,0 +1,71 @@
+package com.expoo.partidasdefutebol_api.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+
+@Schema(description = "DTO com uma linha do retrospecto consolidado que não batia com as partidas")
+public class DivergenciaRetrospectoDTO {
+
+    @Schema(description = "ID do clube", example = "1")
+    private Long clubeId;
+
+    @Schema(description = "Indica se a linha é do clube como mandante", example = "true")
+    private boolean mandante;
+
+    @Schema(description = "Retrospecto recalculado a partir das partidas")
+    private RetroDTO esperado;
+
+    @Schema(description = "Retrospecto que estava gravado antes da reconciliação")
+    private RetroDTO encontrado;
+
+    public DivergenciaRetrospectoDTO() {
+    }
+
+    public DivergenciaRetrospectoDTO(Long clubeId, boolean mandante, RetroDTO esperado, RetroDTO encontrado) {
+        this.clubeId = clubeId;
+        this.mandante = mandante;
+        this.esperado = esperado;
+        this.encontrado = encontrado;
+    }
+
+    public Long getClubeId() {
+        return clubeId;
+    }
+
+    public void setClubeId(Long clubeId) {
+        this.clubeId = clubeId;
+    }
+
+    public boolean isMandante() {
+        return mandante;
+    }
+
+    public void setMandante(boolean mandante) {
+        this.mandante = mandante;
+    }
+
+    public RetroDTO getEsperado() {
+        return esperado;
+    }
+
+    public void setEsperado(RetroDTO esperado) {
+        this.esperado = esperado;
+    }
+
+    public RetroDTO getEncontrado() {
+        return encontrado;
+    }
+
+    public void setEncontrado(RetroDTO encontrado) {
+        this.encontrado = encontrado;
+    }
+
+    @Override
+    public String toString() {
+        return "DivergenciaRetrospectoDTO{" +
+               "clubeId=" + clubeId +
+               ", mandante=" + mandante +
+               ", esperado=" + esperado +
+               ", encontrado=" + encontrado +
+               '}';
+    }
+}
@@ -0,0 +1,58 @@
+package com.expoo.partidasdefutebol_api.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import java.util.Objects;
+
+@Schema(description = "DTO que representa a rejeição de um item de um lote de partidas")
+public class ErroLoteDTO {
+
+    @Schema(description = "Posição do item no lote enviado (começando em 0)", example = "3")
+    private long indice;
+
+    @Schema(description = "Motivo da rejeição", example = "Estádio já ocupado neste horário")
+    private String mensagem;
+
+    public ErroLoteDTO() {
+    }
+
+    public ErroLoteDTO(long indice, String mensagem) {
+        this.indice = indice;
+        this.mensagem = mensagem;
+    }
+
+    public long getIndice() {
+        return indice;
+    }
+
+    public void setIndice(long indice) {
+        this.indice = indice;
+    }
+
+    public String getMensagem() {
+        return mensagem;
+    }
+
+    public void setMensagem(String mensagem) {
+        this.mensagem = mensagem;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) return true;
+        if (!(o instanceof ErroLoteDTO that)) return false;
+        return indice == that.indice && Objects.equals(mensagem, that.mensagem);
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(indice, mensagem);
+    }
+
+    @Override
+    public String toString() {
+        return "ErroLoteDTO{" +
+               "indice=" + indice +
+               ", mensagem='" + mensagem + '\'' +
+               '}';
+    }
+}
@@ -0,0 +1,126 @@
+package com.expoo.partidasdefutebol_api.dto;
+
+import com.expoo.partidasdefutebol_api.enums.StatusJob;
+import io.swagger.v3.oas.annotations.media.Schema;
+import java.time.LocalDateTime;
+import java.util.List;
+
+@Schema(description = "DTO com o andamento de uma execução do job de estatísticas")
+public class ExecucaoJobDTO {
+
+    @Schema(description = "ID da execução", example = "1")
+    private Long id;
+
+    @Schema(description = "Quem disparou a execução", example = "MANUAL")
+    private String origem;
+
+    @Schema(description = "Situação da execução", example = "EM_ANDAMENTO")
+    private StatusJob status;
+
+    @Schema(description = "Consultas ao banco feitas até o momento", example = "1")
+    private int consultas;
+
+    @Schema(description = "Clubes com estatísticas calculadas", example = "20")
+    private int clubes;
+
+    @Schema(description = "Data e hora de início do processamento", example = "2024-01-10T10:00:00")
+    private LocalDateTime inicio;
+
+    @Schema(description = "Data e hora de término do processamento", example = "2024-01-10T10:00:01")
+    private LocalDateTime fim;
+
+    @Schema(description = "Motivo da falha quando a execução é interrompida", example = "Communications link failure")
+    private String falha;
+
+    @Schema(description = "Totais de gols calculados; presente quando a execução é concluída")
+    private List<EstatisticaDTO> resultado;
+
+    public ExecucaoJobDTO() {
+    }
+
+    public Long getId() {
+        return id;
+    }
+
+    public void setId(Long id) {
+        this.id = id;
+    }
+
+    public String getOrigem() {
+        return origem;
+    }
+
+    public void setOrigem(String origem) {
+        this.origem = origem;
+    }
+
+    public StatusJob getStatus() {
+        return status;
+    }
+
+    public void setStatus(StatusJob status) {
+        this.status = status;
+    }
+
+    public int getConsultas() {
+        return consultas;
+    }
+
+    public void setConsultas(int consultas) {
+        this.consultas = consultas;
+    }
+
+    public int getClubes() {
+        return clubes;
+    }
+
+    public void setClubes(int clubes) {
+        this.clubes = clubes;
+    }
+
+    public LocalDateTime getInicio() {
+        return inicio;
+    }
+
+    public void setInicio(LocalDateTime inicio) {
+        this.inicio = inicio;
+    }
+
+    public LocalDateTime getFim() {
+        return fim;
+    }
+
+    public void setFim(LocalDateTime fim) {
+        this.fim = fim;
+    }
+
+    public String getFalha() {
+        return falha;
+    }
+
+    public void setFalha(String falha) {
+        this.falha = falha;
+    }
+
+    public List<EstatisticaDTO> getResultado() {
+        return resultado;
+    }
+
+    public void setResultado(List<EstatisticaDTO> resultado) {
+        this.resultado = resultado;
+    }
+
+    @Override
+    public String toString() {
+        return "ExecucaoJobDTO{" +
+               "id=" + id +
+               ", origem='" + origem + '\'' +
+               ", status=" + status +
+               ", consultas=" + consultas +
+               ", clubes=" + clubes +
+               ", inicio=" + inicio +
+               ", fim=" + fim +
+               ", falha='" + falha + '\'' +
+               '}';
+    }
+}
@@ -0,0 +1,122 @@
+package com.expoo.partidasdefutebol_api.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import org.springframework.format.annotation.DateTimeFormat;
+import java.time.LocalDateTime;
+
+@Schema(description = "Filtros opcionais da listagem de partidas; mandante, adversarioId e resultado são do ponto de vista do clubeId")
+public class FiltroPartidasDTO {
+
+    @Schema(description = "ID do clube, como mandante ou visitante", example = "1")
+    private Long clubeId;
+
+    @Schema(description = "ID do adversário do clube", example = "2")
+    private Long adversarioId;
+
+    @Schema(description = "true para só os jogos em casa do clube, false para só os jogos fora", example = "true")
+    private Boolean mandante;
+
+    @Schema(description = "Resultado do clube: vitoria, empate ou derrota", example = "vitoria")
+    private String resultado;
+
+    @Schema(description = "Parte do nome do estádio", example = "maraca")
+    private String estadio;
+
+    @Schema(description = "Só partidas com 3 ou mais gols de diferença", example = "true")
+    private Boolean goleadas;
+
+    @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME)
+    @Schema(description = "Partidas a partir desta data e hora", example = "2023-01-01T00:00:00")
+    private LocalDateTime dataInicio;
+
+    @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME)
+    @Schema(description = "Partidas até esta data e hora", example = "2023-12-31T23:59:59")
+    private LocalDateTime dataFim;
+
+    public FiltroPartidasDTO() {
+    }
+
+    public FiltroPartidasDTO(Long clubeId, String estadio, Boolean goleadas) {
+        this.clubeId = clubeId;
+        this.estadio = estadio;
+        this.goleadas = goleadas;
+    }
+
+    public Long getClubeId() {
+        return clubeId;
+    }
+
+    public void setClubeId(Long clubeId) {
+        this.clubeId = clubeId;
+    }
+
+    public Long getAdversarioId() {
+        return adversarioId;
+    }
+
+    public void setAdversarioId(Long adversarioId) {
+        this.adversarioId = adversarioId;
+    }
+
+    public Boolean getMandante() {
+        return mandante;
+    }
+
+    public void setMandante(Boolean mandante) {
+        this.mandante = mandante;
+    }
+
+    public String getResultado() {
+        return resultado;
+    }
+
+    public void setResultado(String resultado) {
+        this.resultado = resultado;
+    }
+
+    public String getEstadio() {
+        return estadio;
+    }
+
+    public void setEstadio(String estadio) {
+        this.estadio = estadio;
+    }
+
+    public Boolean getGoleadas() {
+        return goleadas;
+    }
+
+    public void setGoleadas(Boolean goleadas) {
+        this.goleadas = goleadas;
+    }
+
+    public LocalDateTime getDataInicio() {
+        return dataInicio;
+    }
+
+    public void setDataInicio(LocalDateTime dataInicio) {
+        this.dataInicio = dataInicio;
+    }
+
+    public LocalDateTime getDataFim() {
+        return dataFim;
+    }
+
+    public void setDataFim(LocalDateTime dataFim) {
+        this.dataFim = dataFim;
+    }
+
+    @Override
+    public String toString() {
+        return "FiltroPartidasDTO{" +
+               "clubeId=" + clubeId +
+               ", adversarioId=" + adversarioId +
+               ", mandante=" + mandante +
+               ", resultado='" + resultado + '\'' +
+               ", estadio='" + estadio + '\'' +
+               ", goleadas=" + goleadas +
+               ", dataInicio=" + dataInicio +
+               ", dataFim=" + dataFim +
+               '}';
+    }
+}
@@ -0,0 +1,162 @@
+package com.expoo.partidasdefutebol_api.dto;
+
+import com.expoo.partidasdefutebol_api.enums.FormatoImportacao;
+import com.expoo.partidasdefutebol_api.enums.StatusImportacao;
+import io.swagger.v3.oas.annotations.media.Schema;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+@Schema(description = "DTO com o andamento de uma importação de partidas a partir de arquivo")
+public class ImportacaoDTO {
+
+    @Schema(description = "ID da importação", example = "1")
+    private Long id;
+
+    @Schema(description = "Nome do arquivo enviado", example = "brasileirao-1971-2023.csv")
+    private String arquivo;
+
+    @Schema(description = "Formato do arquivo", example = "CSV")
+    private FormatoImportacao formato;
+
+    @Schema(description = "Situação da importação", example = "EM_ANDAMENTO")
+    private StatusImportacao status;
+
+    @Schema(description = "Linhas de dados lidas do arquivo até o momento", example = "250000")
+    private long linhasLidas;
+
+    @Schema(description = "Partidas cadastradas até o momento", example = "249870")
+    private long cadastradas;
+
+    @Schema(description = "Linhas rejeitadas até o momento", example = "130")
+    private long rejeitadas;
+
+    @Schema(description = "Vazão média de cadastro em partidas por segundo", example = "12500.0")
+    private double partidasPorSegundo;
+
+    @Schema(description = "Data e hora de início do processamento", example = "2024-01-10T10:00:00")
+    private LocalDateTime inicio;
+
+    @Schema(description = "Data e hora de término do processamento", example = "2024-01-10T10:00:20")
+    private LocalDateTime fim;
+
+    @Schema(description = "Motivo da falha quando a importação é interrompida", example = "Cabeçalho do CSV sem a coluna estadio")
+    private String falha;
+
+    @Schema(description = "Primeiras linhas rejeitadas; o índice de cada erro é a linha do arquivo")
+    private List<ErroLoteDTO> erros = new ArrayList<>();
+
+    public ImportacaoDTO() {
+    }
+
+    public Long getId() {
+        return id;
+    }
+
+    public void setId(Long id) {
+        this.id = id;
+    }
+
+    public String getArquivo() {
+        return arquivo;
+    }
+
+    public void setArquivo(String arquivo) {
+        this.arquivo = arquivo;
+    }
+
+    public FormatoImportacao getFormato() {
+        return formato;
+    }
+
+    public void setFormato(FormatoImportacao formato) {
+        this.formato = formato;
+    }
+
+    public StatusImportacao getStatus() {
+        return status;
+    }
+
+    public void setStatus(StatusImportacao status) {
+        this.status = status;
+    }
+
+    public long getLinhasLidas() {
+        return linhasLidas;
+    }
+
+    public void setLinhasLidas(long linhasLidas) {
+        this.linhasLidas = linhasLidas;
+    }
+
+    public long getCadastradas() {
+        return cadastradas;
+    }
+
+    public void setCadastradas(long cadastradas) {
+        this.cadastradas = cadastradas;
+    }
+
+    public long getRejeitadas() {
+        return rejeitadas;
+    }
+
+    public void setRejeitadas(long rejeitadas) {
+        this.rejeitadas = rejeitadas;
+    }
+
+    public double getPartidasPorSegundo() {
+        return partidasPorSegundo;
+    }
+
+    public void setPartidasPorSegundo(double partidasPorSegundo) {
+        this.partidasPorSegundo = partidasPorSegundo;
+    }
+
+    public LocalDateTime getInicio() {
+        return inicio;
+    }
+
+    public void setInicio(LocalDateTime inicio) {
+        this.inicio = inicio;
+    }
+
+    public LocalDateTime getFim() {
+        return fim;
+    }
+
+    public void setFim(LocalDateTime fim) {
+        this.fim = fim;
+    }
+
+    public String getFalha() {
+        return falha;
+    }
+
+    public void setFalha(String falha) {
+        this.falha = falha;
+    }
+
+    public List<ErroLoteDTO> getErros() {
+        return erros;
+    }
+
+    public void setErros(List<ErroLoteDTO> erros) {
+        this.erros = erros;
+    }
+
+    @Override
+    public String toString() {
+        return "ImportacaoDTO{" +
+               "id=" + id +
+               ", arquivo='" + arquivo + '\'' +
+               ", formato=" + formato +
+               ", status=" + status +
+               ", linhasLidas=" + linhasLidas +
+               ", cadastradas=" + cadastradas +
+               ", rejeitadas=" + rejeitadas +
+               ", partidasPorSegundo=" + partidasPorSegundo +
+               ", falha='" + falha + '\'' +
+               '}';
+    }
+}
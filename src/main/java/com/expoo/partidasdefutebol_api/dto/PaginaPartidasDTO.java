@@ -0,0 +1,47 @@
+package com.expoo.partidasdefutebol_api.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import java.util.ArrayList;
+import java.util.List;
+
+@Schema(description = "DTO com uma página da listagem de partidas por cursor")
+public class PaginaPartidasDTO {
+
+    @Schema(description = "Partidas da página, da mais recente para a mais antiga")
+    private List<PartidaDTO> conteudo = new ArrayList<>();
+
+    @Schema(description = "Cursor para pedir a próxima página; ausente na última", example = "MjAyMy0wNS0yMFQxNTowMHw0Mg")
+    private String proximoCursor;
+
+    public PaginaPartidasDTO() {
+    }
+
+    public PaginaPartidasDTO(List<PartidaDTO> conteudo, String proximoCursor) {
+        this.conteudo = conteudo;
+        this.proximoCursor = proximoCursor;
+    }
+
+    public List<PartidaDTO> getConteudo() {
+        return conteudo;
+    }
+
+    public void setConteudo(List<PartidaDTO> conteudo) {
+        this.conteudo = conteudo;
+    }
+
+    public String getProximoCursor() {
+        return proximoCursor;
+    }
+
+    public void setProximoCursor(String proximoCursor) {
+        this.proximoCursor = proximoCursor;
+    }
+
+    @Override
+    public String toString() {
+        return "PaginaPartidasDTO{" +
+               "conteudo=" + conteudo +
+               ", proximoCursor='" + proximoCursor + '\'' +
+               '}';
+    }
+}
@@ -1,5 +1,6 @@
 package com.expoo.partidasdefutebol_api.dto;
 
+import com.expoo.partidasdefutebol_api.model.Placar;
 import io.swagger.v3.oas.annotations.media.Schema;
 import jakarta.validation.constraints.NotNull;
 import jakarta.validation.constraints.PastOrPresent;
@@ -26,10 +27,6 @@ public class PartidaDTO {
     @Schema(description = "Nome do time visitante", example = "Time B")
     private String visitanteNome;
 
-    @Schema(description = "Resultado da partida", example = "2-1", requiredMode = Schema.RequiredMode.REQUIRED)
-    @NotNull(message = "Resultado é obrigatório")
-    private String resultado;
-
     @Schema(description = "Nome do estádio", example = "Maracanã", requiredMode = Schema.RequiredMode.REQUIRED)
     @NotNull(message = "Estádio é obrigatório")
     private String estadio;
@@ -45,6 +42,8 @@ public class PartidaDTO {
     @Schema(description = "Número de gols marcados pelo clube visitante", example = "1")
     private int golsVisitante;
 
+    private boolean placarInformado;
+
     public PartidaDTO() {
     }
 
@@ -54,11 +53,21 @@ public class PartidaDTO {
         this.visitanteId = visitanteId;
         this.golsMandante = golsMandante;
         this.golsVisitante = golsVisitante;
-        this.resultado = formatarResultado(golsMandante, golsVisitante);
+        this.placarInformado = true;
         this.estadio = estadio;
         this.dataHora = dataHora;
     }
 
+    /**
+     * Projeção das listagens: só as colunas da partida e os nomes dos clubes e do estádio, sem carregar as entidades.
+     */
+    public PartidaDTO(Long id, Long mandanteId, String mandanteNome, Long visitanteId, String visitanteNome,
+                      String estadio, LocalDateTime dataHora, int golsMandante, int golsVisitante) {
+        this(id, mandanteId, visitanteId, golsMandante, golsVisitante, estadio, dataHora);
+        this.mandanteNome = mandanteNome;
+        this.visitanteNome = visitanteNome;
+    }
+
     public Long getId() {
         return id;
     }
@@ -99,24 +108,22 @@ public class PartidaDTO {
         this.visitanteNome = visitanteNome;
     }
 
+    @Schema(description = "Resultado da partida", example = "2-1", requiredMode = Schema.RequiredMode.REQUIRED)
+    @NotNull(message = "Resultado é obrigatório")
     public String getResultado() {
-        return resultado;
+        return placarInformado ? Placar.formatar(golsMandante, golsVisitante) : null;
     }
 
     public void setResultado(String resultado) {
-        this.resultado = resultado;
-        String[] gols = resultado.split("-");
-
-        if (gols.length == 2) {
-            try {
-                this.golsMandante = Integer.parseInt(gols[0]);
-                this.golsVisitante = Integer.parseInt(gols[1]);
-            } catch (NumberFormatException e) {
-                throw new IllegalArgumentException("Formato de resultado inválido: " + resultado);
-            }
-        } else {
+        long placar;
+        try {
+            placar = Placar.ler(resultado);
+        } catch (IllegalArgumentException e) {
             throw new IllegalArgumentException("Formato de resultado inválido: " + resultado);
         }
+        this.golsMandante = Placar.golsMandante(placar);
+        this.golsVisitante = Placar.golsVisitante(placar);
+        this.placarInformado = true;
     }
 
     public String getEstadio() {
@@ -141,7 +148,7 @@ public class PartidaDTO {
 
     public void setGolsMandante(int golsMandante) {
         this.golsMandante = golsMandante;
-        atualizarResultado();
+        this.placarInformado = true;
     }
 
     public int getGolsVisitante() {
@@ -150,15 +157,7 @@ public class PartidaDTO {
 
     public void setGolsVisitante(int golsVisitante) {
         this.golsVisitante = golsVisitante;
-        atualizarResultado();
-    }
-
-    private void atualizarResultado() {
-        this.resultado = formatarResultado(this.golsMandante, this.golsVisitante);
-    }
-
-    private String formatarResultado(int golsMandante, int golsVisitante) {
-        return golsMandante + "-" + golsVisitante;
+        this.placarInformado = true;
     }
 
     @Override
@@ -172,14 +171,14 @@ public class PartidaDTO {
                Objects.equals(visitanteId, that.visitanteId) &&
                Objects.equals(mandanteNome, that.mandanteNome) &&
                Objects.equals(visitanteNome, that.visitanteNome) &&
-               Objects.equals(resultado, that.resultado) &&
+               placarInformado == that.placarInformado &&
                Objects.equals(estadio, that.estadio) &&
                Objects.equals(dataHora, that.dataHora);
     }
 
     @Override
     public int hashCode() {
-        return Objects.hash(id, mandanteId, visitanteId, mandanteNome, visitanteNome, resultado, estadio, dataHora, golsMandante, golsVisitante);
+        return Objects.hash(id, mandanteId, visitanteId, mandanteNome, visitanteNome, placarInformado, estadio, dataHora, golsMandante, golsVisitante);
     }
 
     @Override
@@ -190,7 +189,7 @@ public class PartidaDTO {
                ", mandanteNome='" + mandanteNome + '\'' +
                ", visitanteId=" + visitanteId +
                ", visitanteNome='" + visitanteNome + '\'' +
-               ", resultado='" + resultado + '\'' +
+               ", resultado='" + getResultado() + '\'' +
                ", estadio='" + estadio + '\'' +
                ", dataHora=" + dataHora +
                ", golsMandante=" + golsMandante +
@@ -0,0 +1,129 @@
+package com.expoo.partidasdefutebol_api.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import java.util.Objects;
+
+@Schema(description = "DTO com a posição de um clube no ranking")
+public class RankingDTO {
+
+    @Schema(description = "ID do clube", example = "1")
+    private Long clubeId;
+
+    @Schema(description = "Nome do clube", example = "Flamengo")
+    private String clube;
+
+    @Schema(description = "Total de jogos disputados", example = "38")
+    private int jogos;
+
+    @Schema(description = "Número de vitórias", example = "24")
+    private int vitorias;
+
+    @Schema(description = "Número de gols feitos", example = "66")
+    private int gols;
+
+    @Schema(description = "Total de pontos (3 por vitória, 1 por empate)", example = "80")
+    private int pontos;
+
+    @Schema(description = "Saldo de gols (gols feitos - sofridos)", example = "32")
+    private int saldoGols;
+
+    public RankingDTO() {
+    }
+
+    public RankingDTO(Long clubeId, String clube, int jogos, int vitorias, int gols, int pontos, int saldoGols) {
+        this.clubeId = clubeId;
+        this.clube = clube;
+        this.jogos = jogos;
+        this.vitorias = vitorias;
+        this.gols = gols;
+        this.pontos = pontos;
+        this.saldoGols = saldoGols;
+    }
+
+    public Long getClubeId() {
+        return clubeId;
+    }
+
+    public void setClubeId(Long clubeId) {
+        this.clubeId = clubeId;
+    }
+
+    public String getClube() {
+        return clube;
+    }
+
+    public void setClube(String clube) {
+        this.clube = clube;
+    }
+
+    public int getJogos() {
+        return jogos;
+    }
+
+    public void setJogos(int jogos) {
+        this.jogos = jogos;
+    }
+
+    public int getVitorias() {
+        return vitorias;
+    }
+
+    public void setVitorias(int vitorias) {
+        this.vitorias = vitorias;
+    }
+
+    public int getGols() {
+        return gols;
+    }
+
+    public void setGols(int gols) {
+        this.gols = gols;
+    }
+
+    public int getPontos() {
+        return pontos;
+    }
+
+    public void setPontos(int pontos) {
+        this.pontos = pontos;
+    }
+
+    public int getSaldoGols() {
+        return saldoGols;
+    }
+
+    public void setSaldoGols(int saldoGols) {
+        this.saldoGols = saldoGols;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) return true;
+        if (!(o instanceof RankingDTO that)) return false;
+        return jogos == that.jogos &&
+               vitorias == that.vitorias &&
+               gols == that.gols &&
+               pontos == that.pontos &&
+               saldoGols == that.saldoGols &&
+               Objects.equals(clubeId, that.clubeId) &&
+               Objects.equals(clube, that.clube);
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(clubeId, clube, jogos, vitorias, gols, pontos, saldoGols);
+    }
+
+    @Override
+    public String toString() {
+        return "RankingDTO{" +
+               "clubeId=" + clubeId +
+               ", clube='" + clube + '\'' +
+               ", jogos=" + jogos +
+               ", vitorias=" + vitorias +
+               ", gols=" + gols +
+               ", pontos=" + pontos +
+               ", saldoGols=" + saldoGols +
+               '}';
+    }
+}
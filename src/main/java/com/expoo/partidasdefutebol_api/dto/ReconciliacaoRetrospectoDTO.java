@@ -0,0 +1,47 @@
+package com.expoo.partidasdefutebol_api.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import java.util.ArrayList;
+import java.util.List;
+
+@Schema(description = "DTO com o resultado da reconstrução do retrospecto consolidado dos clubes")
+public class ReconciliacaoRetrospectoDTO {
+
+    @Schema(description = "Quantidade de linhas recalculadas (duas por clube)", example = "40")
+    private int linhas;
+
+    @Schema(description = "Linhas cujo valor gravado divergia das partidas")
+    private List<DivergenciaRetrospectoDTO> divergencias = new ArrayList<>();
+
+    public ReconciliacaoRetrospectoDTO() {
+    }
+
+    public ReconciliacaoRetrospectoDTO(int linhas, List<DivergenciaRetrospectoDTO> divergencias) {
+        this.linhas = linhas;
+        this.divergencias = divergencias;
+    }
+
+    public int getLinhas() {
+        return linhas;
+    }
+
+    public void setLinhas(int linhas) {
+        this.linhas = linhas;
+    }
+
+    public List<DivergenciaRetrospectoDTO> getDivergencias() {
+        return divergencias;
+    }
+
+    public void setDivergencias(List<DivergenciaRetrospectoDTO> divergencias) {
+        this.divergencias = divergencias;
+    }
+
+    @Override
+    public String toString() {
+        return "ReconciliacaoRetrospectoDTO{" +
+               "linhas=" + linhas +
+               ", divergencias=" + divergencias +
+               '}';
+    }
+}
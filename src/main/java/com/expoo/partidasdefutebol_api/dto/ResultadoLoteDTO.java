@@ -0,0 +1,60 @@
+package com.expoo.partidasdefutebol_api.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import java.util.ArrayList;
+import java.util.List;
+
+@Schema(description = "DTO com o resultado do cadastro de um lote de partidas")
+public class ResultadoLoteDTO {
+
+    @Schema(description = "Quantidade de partidas recebidas no lote", example = "380")
+    private int recebidas;
+
+    @Schema(description = "Quantidade de partidas cadastradas", example = "378")
+    private int cadastradas;
+
+    @Schema(description = "Itens rejeitados e seus motivos")
+    private List<ErroLoteDTO> erros = new ArrayList<>();
+
+    public ResultadoLoteDTO() {
+    }
+
+    public ResultadoLoteDTO(int recebidas, int cadastradas, List<ErroLoteDTO> erros) {
+        this.recebidas = recebidas;
+        this.cadastradas = cadastradas;
+        this.erros = erros;
+    }
+
+    public int getRecebidas() {
+        return recebidas;
+    }
+
+    public void setRecebidas(int recebidas) {
+        this.recebidas = recebidas;
+    }
+
+    public int getCadastradas() {
+        return cadastradas;
+    }
+
+    public void setCadastradas(int cadastradas) {
+        this.cadastradas = cadastradas;
+    }
+
+    public List<ErroLoteDTO> getErros() {
+        return erros;
+    }
+
+    public void setErros(List<ErroLoteDTO> erros) {
+        this.erros = erros;
+    }
+
+    @Override
+    public String toString() {
+        return "ResultadoLoteDTO{" +
+               "recebidas=" + recebidas +
+               ", cadastradas=" + cadastradas +
+               ", erros=" + erros +
+               '}';
+    }
+}
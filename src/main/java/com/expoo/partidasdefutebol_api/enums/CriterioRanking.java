@@ -0,0 +1,23 @@
+package com.expoo.partidasdefutebol_api.enums;
+
+import java.util.Optional;
+
+public enum CriterioRanking {
+    JOGOS,
+    VITORIAS,
+    GOLS,
+    PONTOS,
+    SALDO_GOLS;
+
+    public static Optional<CriterioRanking> fromNome(String nome) {
+        if (nome == null) return Optional.empty();
+        return switch (nome.toLowerCase()) {
+            case "jogos" -> Optional.of(JOGOS);
+            case "vitorias" -> Optional.of(VITORIAS);
+            case "gols" -> Optional.of(GOLS);
+            case "pontos" -> Optional.of(PONTOS);
+            case "saldogols" -> Optional.of(SALDO_GOLS);
+            default -> Optional.empty();
+        };
+    }
+}
@@ -0,0 +1,12 @@
+package com.expoo.partidasdefutebol_api.enums;
+
+public enum FormatoImportacao {
+    CSV,
+    NDJSON;
+
+    public static FormatoImportacao fromNomeArquivo(String nomeArquivo) {
+        if (nomeArquivo == null) return CSV;
+        String nome = nomeArquivo.toLowerCase();
+        return nome.endsWith(".ndjson") || nome.endsWith(".jsonl") ? NDJSON : CSV;
+    }
+}
@@ -0,0 +1,19 @@
+package com.expoo.partidasdefutebol_api.enums;
+
+import java.util.Optional;
+
+public enum ResultadoPartida {
+    VITORIA,
+    EMPATE,
+    DERROTA;
+
+    public static Optional<ResultadoPartida> fromNome(String nome) {
+        if (nome == null) return Optional.empty();
+        return switch (nome.toLowerCase()) {
+            case "vitoria" -> Optional.of(VITORIA);
+            case "empate" -> Optional.of(EMPATE);
+            case "derrota" -> Optional.of(DERROTA);
+            default -> Optional.empty();
+        };
+    }
+}
@@ -0,0 +1,8 @@
+package com.expoo.partidasdefutebol_api.enums;
+
+public enum StatusImportacao {
+    AGUARDANDO,
+    EM_ANDAMENTO,
+    CONCLUIDA,
+    FALHOU
+}
@@ -0,0 +1,8 @@
+package com.expoo.partidasdefutebol_api.enums;
+
+public enum StatusJob {
+    AGUARDANDO,
+    EM_ANDAMENTO,
+    CONCLUIDO,
+    FALHOU
+}
@@ -8,6 +8,9 @@ import java.time.LocalDate;
 import java.util.Objects;
 
 @Entity
+@Table(name = "clube", indexes = {
+        @Index(name = "idx_clube_ativo_estado", columnList = "ativo, estado")
+})
 @Schema(description = "Entidade que representa um clube de futebol")
 public class Clube {
 
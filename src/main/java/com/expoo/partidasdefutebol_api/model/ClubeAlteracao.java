@@ -0,0 +1,53 @@
+package com.expoo.partidasdefutebol_api.model;
+
+import jakarta.persistence.*;
+import java.util.Objects;
+
+/**
+ * Registro de que uma partida do clube foi gravada, removida ou alterada.
+ */
+@Entity
+@Table(name = "clube_alteracao")
+public class ClubeAlteracao {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(name = "clube_id", nullable = false)
+    private Long clubeId;
+
+    public ClubeAlteracao() {}
+
+    public ClubeAlteracao(Long clubeId) {
+        this.clubeId = clubeId;
+    }
+
+    public Long getId() {
+        return id;
+    }
+
+    public Long getClubeId() {
+        return clubeId;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) return true;
+        if (!(o instanceof ClubeAlteracao that)) return false;
+        return id != null && Objects.equals(id, that.id);
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hashCode(id);
+    }
+
+    @Override
+    public String toString() {
+        return "ClubeAlteracao{" +
+               "id=" + id +
+               ", clubeId=" + clubeId +
+               '}';
+    }
+}
@@ -0,0 +1,134 @@
+package com.expoo.partidasdefutebol_api.model;
+
+import jakarta.persistence.*;
+import java.io.Serializable;
+import java.util.Objects;
+
+/**
+ * Totais de um clube como mandante ou como visitante, mantidos a cada partida gravada.
+ */
+@Entity
+@Table(name = "clube_retrospecto")
+@IdClass(ClubeRetrospecto.Chave.class)
+public class ClubeRetrospecto {
+
+    @Id
+    @Column(name = "clube_id")
+    private Long clubeId;
+
+    @Id
+    private boolean mandante;
+
+    @ManyToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = "clube_id", insertable = false, updatable = false)
+    private Clube clube;
+
+    private int vitorias;
+    private int empates;
+    private int derrotas;
+    private int golsFeitos;
+    private int golsSofridos;
+
+    public ClubeRetrospecto() {}
+
+    public ClubeRetrospecto(Long clubeId, boolean mandante, int vitorias, int empates, int derrotas,
+                            int golsFeitos, int golsSofridos) {
+        this.clubeId = clubeId;
+        this.mandante = mandante;
+        this.vitorias = vitorias;
+        this.empates = empates;
+        this.derrotas = derrotas;
+        this.golsFeitos = golsFeitos;
+        this.golsSofridos = golsSofridos;
+    }
+
+    public Long getClubeId() {
+        return clubeId;
+    }
+
+    public boolean isMandante() {
+        return mandante;
+    }
+
+    public Clube getClube() {
+        return clube;
+    }
+
+    public int getVitorias() {
+        return vitorias;
+    }
+
+    public int getEmpates() {
+        return empates;
+    }
+
+    public int getDerrotas() {
+        return derrotas;
+    }
+
+    public int getGolsFeitos() {
+        return golsFeitos;
+    }
+
+    public int getGolsSofridos() {
+        return golsSofridos;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) return true;
+        if (!(o instanceof ClubeRetrospecto that)) return false;
+        return mandante == that.mandante && Objects.equals(clubeId, that.clubeId);
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(clubeId, mandante);
+    }
+
+    @Override
+    public String toString() {
+        return "ClubeRetrospecto{" +
+               "clubeId=" + clubeId +
+               ", mandante=" + mandante +
+               ", vitorias=" + vitorias +
+               ", empates=" + empates +
+               ", derrotas=" + derrotas +
+               ", golsFeitos=" + golsFeitos +
+               ", golsSofridos=" + golsSofridos +
+               '}';
+    }
+
+    public static class Chave implements Serializable {
+
+        private Long clubeId;
+        private boolean mandante;
+
+        public Chave() {}
+
+        public Chave(Long clubeId, boolean mandante) {
+            this.clubeId = clubeId;
+            this.mandante = mandante;
+        }
+
+        public Long getClubeId() {
+            return clubeId;
+        }
+
+        public boolean isMandante() {
+            return mandante;
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) return true;
+            if (!(o instanceof Chave chave)) return false;
+            return mandante == chave.mandante && Objects.equals(clubeId, chave.clubeId);
+        }
+
+        @Override
+        public int hashCode() {
+            return Objects.hash(clubeId, mandante);
+        }
+    }
+}
@@ -0,0 +1,57 @@
+package com.expoo.partidasdefutebol_api.model;
+
+import jakarta.persistence.*;
+import java.util.Objects;
+
+/**
+ * Até qual alteração de clube um job já processou.
+ */
+@Entity
+@Table(name = "job_marca")
+public class JobMarca {
+
+    @Id
+    private String nome;
+
+    @Column(name = "ultima_alteracao_id", nullable = false)
+    private Long ultimaAlteracaoId;
+
+    public JobMarca() {}
+
+    public JobMarca(String nome, Long ultimaAlteracaoId) {
+        this.nome = nome;
+        this.ultimaAlteracaoId = ultimaAlteracaoId;
+    }
+
+    public String getNome() {
+        return nome;
+    }
+
+    public Long getUltimaAlteracaoId() {
+        return ultimaAlteracaoId;
+    }
+
+    public void setUltimaAlteracaoId(Long ultimaAlteracaoId) {
+        this.ultimaAlteracaoId = ultimaAlteracaoId;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) return true;
+        if (!(o instanceof JobMarca that)) return false;
+        return Objects.equals(nome, that.nome);
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hashCode(nome);
+    }
+
+    @Override
+    public String toString() {
+        return "JobMarca{" +
+               "nome='" + nome + '\'' +
+               ", ultimaAlteracaoId=" + ultimaAlteracaoId +
+               '}';
+    }
+}
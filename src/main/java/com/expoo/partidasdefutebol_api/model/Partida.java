@@ -1,5 +1,7 @@
 package com.expoo.partidasdefutebol_api.model;
 
+import com.fasterxml.jackson.annotation.JsonIgnore;
+import com.fasterxml.jackson.annotation.JsonProperty;
 import io.swagger.v3.oas.annotations.media.Schema;
 import jakarta.persistence.*;
 import jakarta.validation.constraints.NotNull;
@@ -8,29 +10,47 @@ import java.time.LocalDateTime;
 import java.util.Objects;
 
 @Entity
-@Table(name = "partidas")
+@Table(name = "partidas", indexes = {
+        @Index(name = "idx_partidas_estadio_data_hora", columnList = "estadio_id, data_hora"),
+        @Index(name = "idx_partidas_mandante_data_hora", columnList = "clube_mandante_id, data_hora"),
+        @Index(name = "idx_partidas_visitante_data_hora", columnList = "clube_visitante_id, data_hora"),
+        @Index(name = "idx_partidas_data_hora_id", columnList = "data_hora, id"),
+        @Index(name = "idx_partidas_margem_gols_data_hora", columnList = "margem_gols, data_hora")
+})
+@NamedEntityGraphs({
+        @NamedEntityGraph(name = Partida.GRAFO_COMPLETO, attributeNodes = {
+                @NamedAttributeNode("mandante"), @NamedAttributeNode("visitante"), @NamedAttributeNode("estadio")}),
+        @NamedEntityGraph(name = Partida.GRAFO_COM_CLUBES, attributeNodes = {
+                @NamedAttributeNode("mandante"), @NamedAttributeNode("visitante")})
+})
 @Schema(description = "Entidade que representa uma partida de futebol")
 public class Partida {
 
+    /** Diferença mínima de gols para a partida contar como goleada. */
+    public static final int MARGEM_GOLEADA = 3;
+
+    /** Clubes e estádio carregados, para devolver a partida inteira ou validar os clubes. */
+    public static final String GRAFO_COMPLETO = "Partida.completa";
+
+    /** Só os clubes, para quem precisa dos nomes. Sem grafo as associações ficam como proxies com o ID. */
+    public static final String GRAFO_COM_CLUBES = "Partida.comClubes";
+
     @Id
     @GeneratedValue(strategy = GenerationType.IDENTITY)
     private Long id;
 
-    @ManyToOne(optional = false)
+    @ManyToOne(optional = false, fetch = FetchType.LAZY)
     @JoinColumn(name = "clube_mandante_id", nullable = false)
     private Clube mandante;
 
-    @ManyToOne(optional = false)
+    @ManyToOne(optional = false, fetch = FetchType.LAZY)
     @JoinColumn(name = "clube_visitante_id", nullable = false)
     private Clube visitante;
 
     @NotNull
-    @Column(nullable = false)
-    private String resultado;
-
-    @NotNull
-    @Column(nullable = false)
-    private String estadio;
+    @ManyToOne(optional = false, fetch = FetchType.LAZY)
+    @JoinColumn(name = "estadio_id", nullable = false)
+    private Estadio estadio;
 
     @NotNull
     @PastOrPresent
@@ -40,6 +60,10 @@ public class Partida {
     private int golsMandante;
     private int golsVisitante;
 
+    /** Coluna gerada pelo banco; mantida aqui só para a entidade refletir o placar atual. */
+    @Column(name = "margem_gols", insertable = false, updatable = false)
+    private int margemGols;
+
     public Partida() {}
 
     public Partida(Long id, Clube mandante, Clube visitante, int golsMandante, int golsVisitante, LocalDateTime dataHora) {
@@ -49,7 +73,7 @@ public class Partida {
         this.golsMandante = golsMandante;
         this.golsVisitante = golsVisitante;
         this.dataHora = dataHora;
-        this.resultado = golsMandante + "-" + golsVisitante;
+        atualizarMargem();
     }
 
     @Schema(description = "ID único da partida", example = "1")
@@ -69,23 +93,32 @@ public class Partida {
 
     @Schema(description = "Resultado da partida", example = "2-1", requiredMode = Schema.RequiredMode.REQUIRED)
     public String getResultado() {
-        return resultado;
+        return Placar.formatar(golsMandante, golsVisitante);
     }
 
     public void setResultado(String resultado) {
-        this.resultado = resultado;
-        extrairGolsDoResultado(resultado);
+        if (resultado == null) return;
+        long placar = Placar.ler(resultado);
+        this.golsMandante = Placar.golsMandante(placar);
+        this.golsVisitante = Placar.golsVisitante(placar);
+        atualizarMargem();
     }
 
-    @Schema(description = "Nome do estádio onde a partida foi realizada", example = "Maracanã", requiredMode = Schema.RequiredMode.REQUIRED)
-    public String getEstadio() {
+    @JsonIgnore
+    public Estadio getEstadio() {
         return estadio;
     }
 
-    public void setEstadio(String estadio) {
+    public void setEstadio(Estadio estadio) {
         this.estadio = estadio;
     }
 
+    @JsonProperty("estadio")
+    @Schema(description = "Nome do estádio onde a partida foi realizada", example = "Maracanã", requiredMode = Schema.RequiredMode.REQUIRED)
+    public String getNomeEstadio() {
+        return estadio != null ? estadio.getNome() : null;
+    }
+
     @Schema(description = "Data e hora da partida", example = "2023-05-20T15:00:00", requiredMode = Schema.RequiredMode.REQUIRED)
     public LocalDateTime getDataHora() {
         return dataHora;
@@ -102,7 +135,7 @@ public class Partida {
 
     public void setGolsMandante(int golsMandante) {
         this.golsMandante = golsMandante;
-        atualizarResultado();
+        atualizarMargem();
     }
 
     @Schema(description = "Número de gols marcados pelo clube visitante", example = "1")
@@ -112,27 +145,16 @@ public class Partida {
 
     public void setGolsVisitante(int golsVisitante) {
         this.golsVisitante = golsVisitante;
-        atualizarResultado();
+        atualizarMargem();
     }
 
-    private void atualizarResultado() {
-        this.resultado = this.golsMandante + "-" + this.golsVisitante;
+    @JsonIgnore
+    public int getMargemGols() {
+        return margemGols;
     }
 
-    private void extrairGolsDoResultado(String resultado) {
-        if (resultado != null && resultado.contains("-")) {
-            String[] gols = resultado.split("-");
-            if (gols.length == 2) {
-                try {
-                    this.golsMandante = Integer.parseInt(gols[0]);
-                    this.golsVisitante = Integer.parseInt(gols[1]);
-                } catch (NumberFormatException e) {
-                    throw new IllegalArgumentException("Formato inválido para resultado: " + resultado);
-                }
-            } else {
-                throw new IllegalArgumentException("Resultado deve estar no formato 'X-Y'");
-            }
-        }
+    private void atualizarMargem() {
+        this.margemGols = Math.abs(golsMandante - golsVisitante);
     }
 
     @Override
@@ -151,12 +173,12 @@ public class Partida {
     public String toString() {
         return "Partida{" +
                 "id=" + id +
-                ", mandante=" + mandante.getNome() +
-                ", visitante=" + visitante.getNome() +
-                ", resultado='" + resultado + '\'' +
+                ", mandanteId=" + mandante.getId() +
+                ", visitanteId=" + visitante.getId() +
+                ", resultado='" + getResultado() + '\'' +
                 ", golsMandante=" + golsMandante +
                 ", golsVisitante=" + golsVisitante +
-                ", estadio='" + estadio + '\'' +
+                ", estadioId=" + (estadio != null ? estadio.getId() : null) +
                 ", dataHora=" + dataHora +
                 '}';
     }
@@ -0,0 +1,88 @@
+package com.expoo.partidasdefutebol_api.model;
+
+/**
+ * Lê e formata placares no formato "X-Y" sem criar objetos intermediários. O placar lido
+ * volta empacotado em um {@code long}: gols do mandante nos 32 bits altos e do visitante nos baixos.
+ */
+public final class Placar {
+
+    private static final int MAXIMO_DIGITOS = 9;
+    private static final int MAXIMO_EM_CACHE = 20;
+    private static final String[][] FORMATADOS = new String[MAXIMO_EM_CACHE][MAXIMO_EM_CACHE];
+
+    static {
+        for (int mandante = 0; mandante < MAXIMO_EM_CACHE; mandante++) {
+            for (int visitante = 0; visitante < MAXIMO_EM_CACHE; visitante++) {
+                FORMATADOS[mandante][visitante] = mandante + "-" + visitante;
+            }
+        }
+    }
+
+    private Placar() {
+    }
+
+    public static long ler(CharSequence resultado) {
+        int separador = -1;
+        for (int i = 0; i < resultado.length(); i++) {
+            if (resultado.charAt(i) == '-') {
+                if (separador >= 0) throw formatoEsperado();
+                separador = i;
+            }
+        }
+        if (separador < 0 || vazio(resultado, separador + 1, resultado.length())) {
+            throw formatoEsperado();
+        }
+
+        int mandante = lerGols(resultado, 0, separador);
+        int visitante = lerGols(resultado, separador + 1, resultado.length());
+        return ((long) mandante << 32) | visitante;
+    }
+
+    public static int golsMandante(long placar) {
+        return (int) (placar >>> 32);
+    }
+
+    public static int golsVisitante(long placar) {
+        return (int) placar;
+    }
+
+    public static String formatar(int golsMandante, int golsVisitante) {
+        if (golsMandante >= 0 && golsMandante < MAXIMO_EM_CACHE && golsVisitante >= 0 && golsVisitante < MAXIMO_EM_CACHE) {
+            return FORMATADOS[golsMandante][golsVisitante];
+        }
+        return golsMandante + "-" + golsVisitante;
+    }
+
+    private static int lerGols(CharSequence resultado, int inicio, int fim) {
+        while (inicio < fim && resultado.charAt(inicio) == ' ') inicio++;
+        while (fim > inicio && resultado.charAt(fim - 1) == ' ') fim--;
+        if (inicio == fim || fim - inicio > MAXIMO_DIGITOS) {
+            throw formatoInvalido(resultado);
+        }
+
+        int gols = 0;
+        for (int i = inicio; i < fim; i++) {
+            char c = resultado.charAt(i);
+            if (c < '0' || c > '9') {
+                throw formatoInvalido(resultado);
+            }
+            gols = gols * 10 + (c - '0');
+        }
+        return gols;
+    }
+
+    private static boolean vazio(CharSequence resultado, int inicio, int fim) {
+        for (int i = inicio; i < fim; i++) {
+            if (resultado.charAt(i) != ' ') return false;
+        }
+        return true;
+    }
+
+    private static IllegalArgumentException formatoEsperado() {
+        return new IllegalArgumentException("Resultado deve estar no formato 'X-Y'");
+    }
+
+    private static IllegalArgumentException formatoInvalido(CharSequence resultado) {
+        return new IllegalArgumentException("Formato inválido para resultado: " + resultado);
+    }
+}
@@ -0,0 +1,29 @@
+package com.expoo.partidasdefutebol_api.repository;
+
+import com.expoo.partidasdefutebol_api.model.ClubeAlteracao;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+import java.util.List;
+
+@Repository
+public interface ClubeAlteracaoRepository extends JpaRepository<ClubeAlteracao, Long> {
+
+    /**
+     * Se há alguma alteração ainda não processada; para na primeira linha encontrada.
+     */
+    boolean existsByIdNotNull();
+
+    /**
+     * Próximas alterações depois da marca do job, em ordem de id e no máximo {@code limite}.
+     */
+    @Query("SELECT a FROM ClubeAlteracao a WHERE a.id > :desde ORDER BY a.id")
+    List<ClubeAlteracao> buscarPendentes(@Param("desde") long desde, Limit limite);
+
+    @Modifying
+    @Query("DELETE FROM ClubeAlteracao a WHERE a.id <= :ultimaAlteracaoId")
+    int apagarAte(@Param("ultimaAlteracaoId") long ultimaAlteracaoId);
+}
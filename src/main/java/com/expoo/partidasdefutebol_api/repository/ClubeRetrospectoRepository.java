@@ -0,0 +1,86 @@
+package com.expoo.partidasdefutebol_api.repository;
+
+import com.expoo.partidasdefutebol_api.model.ClubeRetrospecto;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+import java.util.List;
+
+@Repository
+public interface ClubeRetrospectoRepository extends JpaRepository<ClubeRetrospecto, ClubeRetrospecto.Chave> {
+
+    /**
+     * Linhas do clube junto com o próprio clube; {@code mandante} nulo traz as duas.
+     */
+    @Query("""
+        SELECT r FROM ClubeRetrospecto r JOIN FETCH r.clube
+        WHERE r.clubeId = :clubeId
+          AND (:mandante IS NULL OR r.mandante = :mandante)
+    """)
+    List<ClubeRetrospecto> buscarPorClube(@Param("clubeId") Long clubeId, @Param("mandante") Boolean mandante);
+
+    @Modifying
+    @Query("""
+        UPDATE ClubeRetrospecto r
+        SET r.vitorias = r.vitorias + :vitorias,
+            r.empates = r.empates + :empates,
+            r.derrotas = r.derrotas + :derrotas,
+            r.golsFeitos = r.golsFeitos + :golsFeitos,
+            r.golsSofridos = r.golsSofridos + :golsSofridos
+        WHERE r.clubeId = :clubeId AND r.mandante = :mandante
+    """)
+    int somar(@Param("clubeId") Long clubeId, @Param("mandante") boolean mandante,
+              @Param("vitorias") int vitorias, @Param("empates") int empates, @Param("derrotas") int derrotas,
+              @Param("golsFeitos") int golsFeitos, @Param("golsSofridos") int golsSofridos);
+
+    /**
+     * Totais gravados de um lado, como projeção para que a reconciliação não deixe entidades
+     * desatualizadas no contexto depois de corrigir as linhas com {@link #somar}.
+     */
+    @Query("""
+        SELECT r.clubeId AS clubeId, c.nome AS nome, r.vitorias AS vitorias, r.empates AS empates,
+               r.derrotas AS derrotas, r.golsFeitos AS golsFeitos, r.golsSofridos AS golsSofridos
+        FROM ClubeRetrospecto r JOIN r.clube c
+        WHERE r.mandante = :mandante
+    """)
+    List<TotaisRetrospecto> buscarTotais(@Param("mandante") boolean mandante);
+
+    /**
+     * Retrospecto de cada clube como mandante calculado a partir das partidas, com o nome do clube.
+     */
+    @Query(value = """
+        SELECT c.id AS clubeId, c.nome AS nome,
+               COALESCE(SUM(CASE WHEN p.gols_mandante > p.gols_visitante THEN 1 ELSE 0 END), 0) AS vitorias,
+               COALESCE(SUM(CASE WHEN p.gols_mandante = p.gols_visitante THEN 1 ELSE 0 END), 0) AS empates,
+               COALESCE(SUM(CASE WHEN p.gols_mandante < p.gols_visitante THEN 1 ELSE 0 END), 0) AS derrotas,
+               COALESCE(SUM(p.gols_mandante), 0) AS golsFeitos,
+               COALESCE(SUM(p.gols_visitante), 0) AS golsSofridos
+        FROM clube c LEFT JOIN partidas p ON p.clube_mandante_id = c.id
+        GROUP BY c.id, c.nome
+    """, nativeQuery = true)
+    List<TotaisRetrospecto> calcularComoMandante();
+
+    @Query(value = """
+        SELECT c.id AS clubeId, c.nome AS nome,
+               COALESCE(SUM(CASE WHEN p.gols_visitante > p.gols_mandante THEN 1 ELSE 0 END), 0) AS vitorias,
+               COALESCE(SUM(CASE WHEN p.gols_visitante = p.gols_mandante THEN 1 ELSE 0 END), 0) AS empates,
+               COALESCE(SUM(CASE WHEN p.gols_visitante < p.gols_mandante THEN 1 ELSE 0 END), 0) AS derrotas,
+               COALESCE(SUM(p.gols_visitante), 0) AS golsFeitos,
+               COALESCE(SUM(p.gols_mandante), 0) AS golsSofridos
+        FROM clube c LEFT JOIN partidas p ON p.clube_visitante_id = c.id
+        GROUP BY c.id, c.nome
+    """, nativeQuery = true)
+    List<TotaisRetrospecto> calcularComoVisitante();
+
+    interface TotaisRetrospecto {
+        Long getClubeId();
+        String getNome();
+        int getVitorias();
+        int getEmpates();
+        int getDerrotas();
+        int getGolsFeitos();
+        int getGolsSofridos();
+    }
+}
@@ -0,0 +1,110 @@
+package com.expoo.partidasdefutebol_api.repository;
+
+import com.expoo.partidasdefutebol_api.enums.ResultadoPartida;
+import com.expoo.partidasdefutebol_api.enums.TipoCampo;
+import com.expoo.partidasdefutebol_api.model.Partida;
+import jakarta.persistence.criteria.CriteriaBuilder;
+import jakarta.persistence.criteria.CriteriaQuery;
+import jakarta.persistence.criteria.Path;
+import jakarta.persistence.criteria.Predicate;
+import jakarta.persistence.criteria.Root;
+import jakarta.persistence.criteria.Subquery;
+import org.hibernate.query.criteria.HibernateCriteriaBuilder;
+import org.springframework.data.jpa.domain.Specification;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+
+/**
+ * Monta a {@link Specification} da listagem de partidas a partir dos filtros informados; filtro nulo
+ * não restringe nada. Cada filtro cai em um índice de {@code partidas}: clube e adversário nos índices
+ * por mando, estádio, período e margem de gols nos seus próprios.
+ */
+public class EspecificacaoPartidas {
+
+    private Specification<Partida> especificacao = Specification.where(null);
+
+    /**
+     * Partidas do clube, opcionalmente só contra um adversário, só de um lado do campo e só com um
+     * resultado, sempre do ponto de vista do clube. Nos dois lados vira {@code id IN (mandante UNION ALL
+     * visitante)} no lugar de um OR entre colunas, para cada lado usar o seu índice.
+     */
+    public EspecificacaoPartidas doClube(Long clubeId, Long adversarioId, TipoCampo lado, ResultadoPartida resultado) {
+        if (clubeId == null) return this;
+        return com((raiz, consulta, cb) -> switch (lado != null ? lado : TipoCampo.TODOS) {
+            case MANDANTE -> doLado(raiz, cb, true, clubeId, adversarioId, resultado);
+            case VISITANTE -> doLado(raiz, cb, false, clubeId, adversarioId, resultado);
+            case TODOS -> raiz.get("id").in(((HibernateCriteriaBuilder) cb).unionAll(
+                    idsDoLado(consulta, cb, true, clubeId, adversarioId, resultado),
+                    idsDoLado(consulta, cb, false, clubeId, adversarioId, resultado)));
+        });
+    }
+
+    public EspecificacaoPartidas nosEstadios(Collection<Long> estadioIds) {
+        if (estadioIds == null) return this;
+        return com((raiz, consulta, cb) -> raiz.get("estadio").get("id").in(estadioIds));
+    }
+
+    public EspecificacaoPartidas aPartirDe(LocalDateTime inicio) {
+        if (inicio == null) return this;
+        return com((raiz, consulta, cb) -> cb.greaterThanOrEqualTo(raiz.get("dataHora"), inicio));
+    }
+
+    public EspecificacaoPartidas ate(LocalDateTime fim) {
+        if (fim == null) return this;
+        return com((raiz, consulta, cb) -> cb.lessThanOrEqualTo(raiz.get("dataHora"), fim));
+    }
+
+    public EspecificacaoPartidas comMargemMinima(int margemMinima) {
+        if (margemMinima <= 0) return this;
+        return com((raiz, consulta, cb) -> cb.greaterThanOrEqualTo(raiz.get("margemGols"), margemMinima));
+    }
+
+    /**
+     * Partidas anteriores à posição {@code (dataHora, id)} do cursor, na ordem {@code dataHora DESC, id DESC};
+     * o {@code dataHora <=} à parte deixa o banco percorrer o índice de data.
+     */
+    public EspecificacaoPartidas antesDe(LocalDateTime dataHora, Long id) {
+        return com((raiz, consulta, cb) -> cb.and(
+                cb.lessThanOrEqualTo(raiz.get("dataHora"), dataHora),
+                cb.or(cb.lessThan(raiz.get("dataHora"), dataHora), cb.lessThan(raiz.get("id"), id))));
+    }
+
+    public Specification<Partida> construir() {
+        return especificacao;
+    }
+
+    private EspecificacaoPartidas com(Specification<Partida> filtro) {
+        especificacao = especificacao.and(filtro);
+        return this;
+    }
+
+    private static Subquery<Long> idsDoLado(CriteriaQuery<?> consulta, CriteriaBuilder cb, boolean mandante,
+                                            Long clubeId, Long adversarioId, ResultadoPartida resultado) {
+        Subquery<Long> ids = consulta.subquery(Long.class);
+        Root<Partida> partida = ids.from(Partida.class);
+        return ids.select(partida.get("id")).where(doLado(partida, cb, mandante, clubeId, adversarioId, resultado));
+    }
+
+    private static Predicate doLado(Root<Partida> partida, CriteriaBuilder cb, boolean mandante,
+                                    Long clubeId, Long adversarioId, ResultadoPartida resultado) {
+        String lado = mandante ? "mandante" : "visitante";
+        String outroLado = mandante ? "visitante" : "mandante";
+        List<Predicate> predicados = new ArrayList<>();
+        predicados.add(cb.equal(partida.get(lado).get("id"), clubeId));
+        if (adversarioId != null) {
+            predicados.add(cb.equal(partida.get(outroLado).get("id"), adversarioId));
+        }
+        if (resultado != null) {
+            Path<Integer> golsClube = partida.get(mandante ? "golsMandante" : "golsVisitante");
+            Path<Integer> golsAdversario = partida.get(mandante ? "golsVisitante" : "golsMandante");
+            predicados.add(switch (resultado) {
+                case VITORIA -> cb.greaterThan(golsClube, golsAdversario);
+                case EMPATE -> cb.equal(golsClube, golsAdversario);
+                case DERROTA -> cb.lessThan(golsClube, golsAdversario);
+            });
+        }
+        return cb.and(predicados.toArray(Predicate[]::new));
+    }
+}
@@ -2,10 +2,23 @@ package com.expoo.partidasdefutebol_api.repository;
 
 import com.expoo.partidasdefutebol_api.model.Estadio;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+
 @Repository
 public interface EstadioRepository extends JpaRepository<Estadio, Long> {
 
     boolean existsByNomeAndIdNot(String nome, Long id);
+
+    Optional<Estadio> findByNome(String nome);
+
+    List<Estadio> findByNomeIn(Collection<String> nomes);
+
+    @Query("SELECT e.id FROM Estadio e WHERE LOWER(e.nome) LIKE LOWER(CONCAT('%', :nome, '%'))")
+    List<Long> buscarIdsPorNome(@Param("nome") String nome);
 }
\ No newline at end of file
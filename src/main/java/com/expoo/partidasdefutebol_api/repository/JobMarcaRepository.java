@@ -0,0 +1,9 @@
+package com.expoo.partidasdefutebol_api.repository;
+
+import com.expoo.partidasdefutebol_api.model.JobMarca;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Repository;
+
+@Repository
+public interface JobMarcaRepository extends JpaRepository<JobMarca, String> {
+}
@@ -0,0 +1,70 @@
+package com.expoo.partidasdefutebol_api.repository;
+
+import com.expoo.partidasdefutebol_api.model.Partida;
+import org.springframework.jdbc.core.BatchPreparedStatementSetter;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.support.GeneratedKeyHolder;
+import org.springframework.jdbc.support.KeyHolder;
+import org.springframework.stereotype.Repository;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+@Repository
+public class PartidaJdbcRepository {
+
+    private static final int TAMANHO_LOTE = 1000;
+
+    private static final String INSERIR_PARTIDA = """
+        INSERT INTO partidas (clube_mandante_id, clube_visitante_id, estadio_id, data_hora, gols_mandante, gols_visitante)
+        VALUES (?, ?, ?, ?, ?, ?)
+    """;
+
+    private final JdbcTemplate jdbcTemplate;
+
+    public PartidaJdbcRepository(JdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    public List<Long> inserirEmLote(List<Partida> partidas) {
+        List<Long> ids = new ArrayList<>(partidas.size());
+        for (int inicio = 0; inicio < partidas.size(); inicio += TAMANHO_LOTE) {
+            List<Partida> lote = partidas.subList(inicio, Math.min(inicio + TAMANHO_LOTE, partidas.size()));
+            ids.addAll(inserir(lote));
+        }
+        return ids;
+    }
+
+    private List<Long> inserir(List<Partida> lote) {
+        KeyHolder chaves = new GeneratedKeyHolder();
+        jdbcTemplate.batchUpdate(
+                con -> con.prepareStatement(INSERIR_PARTIDA, new String[]{"id"}),
+                new BatchPreparedStatementSetter() {
+                    @Override
+                    public void setValues(PreparedStatement ps, int i) throws SQLException {
+                        Partida partida = lote.get(i);
+                        ps.setLong(1, partida.getMandante().getId());
+                        ps.setLong(2, partida.getVisitante().getId());
+                        ps.setLong(3, partida.getEstadio().getId());
+                        ps.setTimestamp(4, Timestamp.valueOf(partida.getDataHora()));
+                        ps.setInt(5, partida.getGolsMandante());
+                        ps.setInt(6, partida.getGolsVisitante());
+                    }
+
+                    @Override
+                    public int getBatchSize() {
+                        return lote.size();
+                    }
+                },
+                chaves);
+
+        List<Long> ids = new ArrayList<>(lote.size());
+        for (Map<String, Object> chave : chaves.getKeyList()) {
+            ids.add(((Number) chave.values().iterator().next()).longValue());
+        }
+        return ids;
+    }
+}
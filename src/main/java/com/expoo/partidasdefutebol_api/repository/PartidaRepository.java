@@ -1,77 +1,221 @@
 package com.expoo.partidasdefutebol_api.repository;
 
-import com.expoo.partidasdefutebol_api.model.Clube;
+import com.expoo.partidasdefutebol_api.dto.PartidaDTO;
 import com.expoo.partidasdefutebol_api.model.Partida;
-import org.springframework.data.domain.Page;
-import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+import java.util.stream.Stream;
 
 @Repository
-public interface PartidaRepository extends JpaRepository<Partida, Long> {
+public interface PartidaRepository extends JpaRepository<Partida, Long>, JpaSpecificationExecutor<Partida>, PartidaResumos {
 
-    Page<Partida> findByMandanteIdOrVisitanteId(Long clubeId1, Long clubeId2, Pageable pageable);
+    /**
+     * Projeção das listagens em {@link PartidaDTO}: colunas da partida e nomes dos clubes e do estádio,
+     * sem montar as entidades nem as associações.
+     */
+    String RESUMO_PARTIDA = """
+        SELECT new com.expoo.partidasdefutebol_api.dto.PartidaDTO(
+            p.id, m.id, m.nome, v.id, v.nome, e.nome, p.dataHora, p.golsMandante, p.golsVisitante)
+        FROM Partida p JOIN p.mandante m JOIN p.visitante v JOIN p.estadio e
+        """;
 
-    Page<Partida> findByEstadioContainingIgnoreCase(String estadio, Pageable pageable);
+    default List<Partida> findByMandanteIdOrVisitanteId(Long clubeId1, Long clubeId2) {
+        return unir(findByMandanteId(clubeId1), findByVisitanteId(clubeId2));
+    }
+
+    default List<Partida> findByMandanteIdInOrVisitanteIdIn(List<Long> clubeId1, List<Long> clubeId2) {
+        return unir(findByMandanteIdIn(clubeId1), findByVisitanteIdIn(clubeId2));
+    }
+
+    /**
+     * Partidas do clube com os dois clubes e o estádio carregados na mesma consulta, uma por mando.
+     */
+    default List<Partida> buscarPorClubeComAdversarios(Long clubeId) {
+        return unir(buscarComoMandante(clubeId), buscarComoVisitante(clubeId));
+    }
 
     @Query("""
         SELECT p FROM Partida p
-        WHERE (p.mandante.id = :clubeId OR p.visitante.id = :clubeId)
-          AND LOWER(p.estadio) LIKE LOWER(CONCAT('%', :estadio, '%'))
+        JOIN FETCH p.mandante JOIN FETCH p.visitante JOIN FETCH p.estadio
+        WHERE p.mandante.id = :clubeId
     """)
-    Page<Partida> buscarPorClubeEEstadio(
-        @Param("clubeId") Long clubeId,
-        @Param("estadio") String estadio,
-        Pageable pageable
-    );
-
-    List<Partida> findByMandanteIdOrVisitanteId(Long clubeId1, Long clubeId2);
+    List<Partida> buscarComoMandante(@Param("clubeId") Long clubeId);
 
-    List<Partida> findByMandanteIdInOrVisitanteIdIn(List<Long> clubeId1, List<Long> clubeId2);
+    @Query("""
+        SELECT p FROM Partida p
+        JOIN FETCH p.mandante JOIN FETCH p.visitante JOIN FETCH p.estadio
+        WHERE p.visitante.id = :clubeId
+    """)
+    List<Partida> buscarComoVisitante(@Param("clubeId") Long clubeId);
 
+    @EntityGraph(Partida.GRAFO_COM_CLUBES)
     List<Partida> findByMandanteId(Long clubeId);
 
+    @EntityGraph(Partida.GRAFO_COM_CLUBES)
     List<Partida> findByVisitanteId(Long clubeId);
 
-    boolean existsByEstadioAndDataHora(String estadio, LocalDateTime dataHora);
+    /**
+     * Partida com clubes e estádio na mesma consulta; o {@code findById} deixa as associações por carregar.
+     */
+    @EntityGraph(Partida.GRAFO_COMPLETO)
+    @Query("SELECT p FROM Partida p WHERE p.id = :id")
+    Optional<Partida> buscarCompleta(@Param("id") Long id);
 
-    @Query("""
-        SELECT p FROM Partida p
-        WHERE (p.mandante.id = :clube1 AND p.visitante.id = :clube2)
-           OR (p.mandante.id = :clube2 AND p.visitante.id = :clube1)
+    default List<Partida> buscarPorClubeComMargem(Long clubeId, int margemMinima) {
+        return unir(findByMandanteIdAndMargemGolsGreaterThanEqual(clubeId, margemMinima),
+                findByVisitanteIdAndMargemGolsGreaterThanEqual(clubeId, margemMinima));
+    }
+
+    List<Partida> findByMandanteIdAndMargemGolsGreaterThanEqual(Long clubeId, int margemMinima);
+
+    List<Partida> findByVisitanteIdAndMargemGolsGreaterThanEqual(Long clubeId, int margemMinima);
+
+    List<Partida> findByMandanteIdIn(Collection<Long> clubeIds);
+
+    List<Partida> findByVisitanteIdIn(Collection<Long> clubeIds);
+
+    @Query(RESUMO_PARTIDA + """
+        WHERE p.mandante.id = :mandanteId AND p.visitante.id = :visitanteId
     """)
-    List<Partida> findConfrontosDiretos(
-        @Param("clube1") Long clube1,
-        @Param("clube2") Long clube2
-    );
+    List<PartidaDTO> buscarResumosDoConfronto(@Param("mandanteId") Long mandanteId, @Param("visitanteId") Long visitanteId);
+
+    boolean existsByEstadioIdAndDataHora(Long estadioId, LocalDateTime dataHora);
+
+    boolean existsByEstadioIdAndDataHoraAndIdNot(Long estadioId, LocalDateTime dataHora, Long id);
+
+    /**
+     * Os dois mandos são disjuntos, então basta concatenar uma consulta por mando.
+     */
+    default List<PartidaDTO> findConfrontosDiretos(Long clube1, Long clube2) {
+        List<PartidaDTO> partidas = new ArrayList<>(buscarResumosDoConfronto(clube1, clube2));
+        partidas.addAll(buscarResumosDoConfronto(clube2, clube1));
+        return partidas;
+    }
 
     @Query("""
-        SELECT p FROM Partida p
-        WHERE (p.mandante = :clube1 OR p.visitante = :clube1 OR p.mandante = :clube2 OR p.visitante = :clube2)
-          AND p.dataHora BETWEEN :inicio AND :fim
+        SELECT p.estadio.id AS estadioId, p.dataHora AS dataHora FROM Partida p
+        WHERE p.estadio.id IN :estadioIds
+          AND p.dataHora IN :horarios
     """)
-    List<Partida> findConflitosDeHorario(
-        @Param("clube1") Clube clube1,
-        @Param("clube2") Clube clube2,
-        @Param("inicio") LocalDateTime inicio,
-        @Param("fim") LocalDateTime fim
+    List<OcupacaoEstadio> findOcupacoesDeEstadios(
+        @Param("estadioIds") Collection<Long> estadioIds,
+        @Param("horarios") Collection<LocalDateTime> horarios
     );
 
+    /**
+     * Gols de todos os clubes em uma consulta, na ordem de ID; clube sem partidas vem com zero.
+     */
+    @Query(value = """
+        SELECT c.nome AS clube, COALESCE(SUM(g.gols), 0) AS gols
+        FROM clube c
+        LEFT JOIN (
+            SELECT p.clube_mandante_id AS clube_id, SUM(p.gols_mandante) AS gols
+            FROM partidas p GROUP BY p.clube_mandante_id
+            UNION ALL
+            SELECT p.clube_visitante_id, SUM(p.gols_visitante)
+            FROM partidas p GROUP BY p.clube_visitante_id
+        ) g ON g.clube_id = c.id
+        GROUP BY c.id, c.nome
+        ORDER BY c.id
+    """, nativeQuery = true)
+    List<GolsClube> somarGolsPorClube();
+
+    @Query(value = """
+        SELECT c.nome AS clube, COALESCE(SUM(g.gols), 0) AS gols
+        FROM clube c
+        LEFT JOIN (
+            SELECT p.clube_mandante_id AS clube_id, SUM(p.gols_mandante) AS gols
+            FROM partidas p WHERE p.clube_mandante_id IN :clubeIds GROUP BY p.clube_mandante_id
+            UNION ALL
+            SELECT p.clube_visitante_id, SUM(p.gols_visitante)
+            FROM partidas p WHERE p.clube_visitante_id IN :clubeIds GROUP BY p.clube_visitante_id
+        ) g ON g.clube_id = c.id
+        WHERE c.id IN :clubeIds
+        GROUP BY c.id, c.nome
+        ORDER BY c.id
+    """, nativeQuery = true)
+    List<GolsClube> somarGolsDosClubes(@Param("clubeIds") Collection<Long> clubeIds);
+
     @Query("""
-        SELECT COALESCE(SUM(
-            CASE 
-                WHEN p.mandante.id = :clubeId THEN p.golsMandante 
-                WHEN p.visitante.id = :clubeId THEN p.golsVisitante 
-                ELSE 0 
-            END
-        ), 0)
+        SELECT p.id AS id, p.mandante.id AS mandanteId, p.visitante.id AS visitanteId, p.dataHora AS dataHora
         FROM Partida p
-        WHERE p.mandante.id = :clubeId OR p.visitante.id = :clubeId
     """)
-    Integer somarGolsDoClube(@Param("clubeId") Long clubeId);
+    Stream<HorarioPartida> streamHorarios();
+
+    /**
+     * Totais de cada clube somados no banco: uma linha por clube no lugar de uma por partida.
+     * Cada partida entra uma vez pelo mandante e outra pelo visitante, conforme os filtros.
+     */
+    @Query(value = """
+        SELECT t.clube_id AS clubeId,
+               SUM(CASE WHEN t.gols_feitos > t.gols_sofridos THEN 1 ELSE 0 END) AS vitorias,
+               SUM(CASE WHEN t.gols_feitos = t.gols_sofridos THEN 1 ELSE 0 END) AS empates,
+               SUM(CASE WHEN t.gols_feitos < t.gols_sofridos THEN 1 ELSE 0 END) AS derrotas,
+               SUM(t.gols_feitos) AS golsFeitos,
+               SUM(t.gols_sofridos) AS golsSofridos
+        FROM (
+            SELECT p.clube_mandante_id AS clube_id, p.gols_mandante AS gols_feitos, p.gols_visitante AS gols_sofridos
+            FROM partidas p
+            WHERE :contarMandante = TRUE
+              AND p.margem_gols >= :margemMinima
+            UNION ALL
+            SELECT p.clube_visitante_id, p.gols_visitante, p.gols_mandante
+            FROM partidas p
+            WHERE :contarVisitante = TRUE
+              AND p.margem_gols >= :margemMinima
+        ) t
+        GROUP BY t.clube_id
+    """, nativeQuery = true)
+    List<TotaisClube> somarPorClube(
+        @Param("margemMinima") int margemMinima,
+        @Param("contarMandante") boolean contarMandante,
+        @Param("contarVisitante") boolean contarVisitante
+    );
+
+    /**
+     * Junta os resultados de duas consultas por índice, no lugar de um OR entre colunas diferentes.
+     */
+    private static List<Partida> unir(List<Partida> primeiras, List<Partida> segundas) {
+        Set<Partida> partidas = new LinkedHashSet<>(primeiras);
+        partidas.addAll(segundas);
+        return new ArrayList<>(partidas);
+    }
+
+    interface HorarioPartida {
+        Long getId();
+        Long getMandanteId();
+        Long getVisitanteId();
+        LocalDateTime getDataHora();
+    }
+
+    interface GolsClube {
+        String getClube();
+        int getGols();
+    }
+
+    interface TotaisClube {
+        Long getClubeId();
+        int getVitorias();
+        int getEmpates();
+        int getDerrotas();
+        int getGolsFeitos();
+        int getGolsSofridos();
+    }
+
+    interface OcupacaoEstadio {
+        Long getEstadioId();
+        LocalDateTime getDataHora();
+    }
 }
\ No newline at end of file
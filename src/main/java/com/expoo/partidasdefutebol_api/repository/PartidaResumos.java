@@ -0,0 +1,24 @@
+package com.expoo.partidasdefutebol_api.repository;
+
+import com.expoo.partidasdefutebol_api.dto.PartidaDTO;
+import com.expoo.partidasdefutebol_api.model.Partida;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.domain.Specification;
+import java.util.List;
+
+/**
+ * Listagem paginada ou por cursor de partidas já projetada em {@link PartidaDTO}, com os mesmos filtros de
+ * {@link EspecificacaoPartidas}.
+ */
+public interface PartidaResumos {
+
+    Page<PartidaDTO> listarResumos(Specification<Partida> filtro, Pageable pageable);
+
+    /**
+     * Até {@code limite} partidas na ordem pedida, sem contar o total.
+     */
+    List<PartidaDTO> listarResumos(Specification<Partida> filtro, Sort sort, Limit limite);
+}
@@ -0,0 +1,78 @@
+package com.expoo.partidasdefutebol_api.repository;
+
+import com.expoo.partidasdefutebol_api.dto.PartidaDTO;
+import com.expoo.partidasdefutebol_api.model.Clube;
+import com.expoo.partidasdefutebol_api.model.Estadio;
+import com.expoo.partidasdefutebol_api.model.Partida;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.TypedQuery;
+import jakarta.persistence.criteria.CriteriaBuilder;
+import jakarta.persistence.criteria.CriteriaQuery;
+import jakarta.persistence.criteria.Join;
+import jakarta.persistence.criteria.Predicate;
+import jakarta.persistence.criteria.Root;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.domain.Specification;
+import org.springframework.data.jpa.repository.query.QueryUtils;
+import org.springframework.data.support.PageableExecutionUtils;
+import java.util.List;
+
+/**
+ * Mesma consulta do {@code findAll(Specification, Pageable)}, mas selecionando só as colunas do
+ * {@link PartidaDTO} no lugar das entidades com clubes e estádio.
+ */
+class PartidaResumosImpl implements PartidaResumos {
+
+    private final EntityManager entityManager;
+
+    PartidaResumosImpl(EntityManager entityManager) {
+        this.entityManager = entityManager;
+    }
+
+    @Override
+    public Page<PartidaDTO> listarResumos(Specification<Partida> filtro, Pageable pageable) {
+        TypedQuery<PartidaDTO> pagina = consultar(filtro, pageable.getSort());
+        if (pageable.isPaged()) {
+            pagina.setFirstResult((int) pageable.getOffset());
+            pagina.setMaxResults(pageable.getPageSize());
+        }
+        return PageableExecutionUtils.getPage(pagina.getResultList(), pageable, () -> contar(filtro));
+    }
+
+    @Override
+    public List<PartidaDTO> listarResumos(Specification<Partida> filtro, Sort sort, Limit limite) {
+        TypedQuery<PartidaDTO> partidas = consultar(filtro, sort);
+        if (limite.isLimited()) {
+            partidas.setMaxResults(limite.max());
+        }
+        return partidas.getResultList();
+    }
+
+    private TypedQuery<PartidaDTO> consultar(Specification<Partida> filtro, Sort sort) {
+        CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+        CriteriaQuery<PartidaDTO> consulta = cb.createQuery(PartidaDTO.class);
+        Root<Partida> partida = consulta.from(Partida.class);
+        Join<Partida, Clube> mandante = partida.join("mandante");
+        Join<Partida, Clube> visitante = partida.join("visitante");
+        Join<Partida, Estadio> estadio = partida.join("estadio");
+        consulta.select(cb.construct(PartidaDTO.class,
+                partida.get("id"), mandante.get("id"), mandante.get("nome"), visitante.get("id"), visitante.get("nome"),
+                estadio.get("nome"), partida.get("dataHora"), partida.get("golsMandante"), partida.get("golsVisitante")));
+        Predicate predicado = filtro.toPredicate(partida, consulta, cb);
+        if (predicado != null) consulta.where(predicado);
+        consulta.orderBy(QueryUtils.toOrders(sort, partida, cb));
+        return entityManager.createQuery(consulta);
+    }
+
+    private long contar(Specification<Partida> filtro) {
+        CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+        CriteriaQuery<Long> consulta = cb.createQuery(Long.class);
+        Root<Partida> partida = consulta.from(Partida.class);
+        Predicate predicado = filtro.toPredicate(partida, consulta, cb);
+        if (predicado != null) consulta.where(predicado);
+        return entityManager.createQuery(consulta.select(cb.count(partida))).getSingleResult();
+    }
+}
@@ -0,0 +1,144 @@
+package com.expoo.partidasdefutebol_api.service;
+
+import com.expoo.partidasdefutebol_api.model.Partida;
+import com.expoo.partidasdefutebol_api.repository.PartidaRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.SmartInitializingSingleton;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.Comparator;
+import java.util.List;
+import java.util.NavigableSet;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.ConcurrentSkipListSet;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.stream.Stream;
+
+/**
+ * Agenda em memória das partidas de cada clube, usada na regra das 48 horas sem ir ao banco.
+ * Alterações feitas dentro de uma transação só entram na agenda após o commit. A carga inicial
+ * acontece antes de o servidor web abrir, então nenhuma gravação é registrada numa agenda vazia
+ * ou apagada depois.
+ */
+@Component
+public class AgendaClubes implements SmartInitializingSingleton {
+
+    private static final Logger log = LoggerFactory.getLogger(AgendaClubes.class);
+
+    private static final Comparator<Compromisso> ORDEM = Comparator
+            .comparingLong(Compromisso::instante)
+            .thenComparingLong(Compromisso::partidaId);
+
+    private final PartidaRepository partidaRepository;
+    private final ConcurrentMap<Long, NavigableSet<Compromisso>> agendas = new ConcurrentHashMap<>();
+
+    public AgendaClubes(PartidaRepository partidaRepository) {
+        this.partidaRepository = partidaRepository;
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public void afterSingletonsInstantiated() {
+        AtomicLong total = new AtomicLong();
+        try (Stream<PartidaRepository.HorarioPartida> horarios = partidaRepository.streamHorarios()) {
+            horarios.forEach(h -> {
+                adicionar(h.getId(), h.getMandanteId(), h.getVisitanteId(), h.getDataHora());
+                total.incrementAndGet();
+            });
+        }
+        log.info("Agenda de clubes carregada com {} partidas de {} clubes", total.get(), agendas.size());
+    }
+
+    public boolean possuiConflito(Long clubeId, LocalDateTime inicio, LocalDateTime fim, Long partidaIgnorada) {
+        NavigableSet<Compromisso> agenda = agendas.get(clubeId);
+        if (agenda == null) return false;
+
+        long ignorada = partidaIgnorada != null ? partidaIgnorada : Long.MIN_VALUE;
+        long limite = instante(fim);
+
+        Compromisso proximo = agenda.ceiling(new Compromisso(instante(inicio), Long.MIN_VALUE));
+        if (proximo != null && proximo.partidaId() == ignorada) {
+            proximo = agenda.higher(proximo);
+        }
+        return proximo != null && proximo.instante() <= limite;
+    }
+
+    public boolean possuiPartidaEntre(Long mandanteId, Long visitanteId, LocalDateTime dataHora) {
+        NavigableSet<Compromisso> agendaMandante = agendas.get(mandanteId);
+        NavigableSet<Compromisso> agendaVisitante = agendas.get(visitanteId);
+        if (agendaMandante == null || agendaVisitante == null) return false;
+
+        long instante = instante(dataHora);
+        for (Compromisso compromisso : agendaMandante.subSet(
+                new Compromisso(instante, Long.MIN_VALUE), true, new Compromisso(instante, Long.MAX_VALUE), true)) {
+            if (agendaVisitante.contains(compromisso)) return true;
+        }
+        return false;
+    }
+
+    public void registrar(Long partidaId, Long mandanteId, Long visitanteId, LocalDateTime dataHora) {
+        aposCommit(() -> adicionar(partidaId, mandanteId, visitanteId, dataHora));
+    }
+
+    public void registrarLote(List<Long> partidaIds, List<Partida> partidas) {
+        aposCommit(() -> {
+            for (int i = 0; i < partidas.size(); i++) {
+                Partida partida = partidas.get(i);
+                adicionar(partidaIds.get(i), partida.getMandante().getId(), partida.getVisitante().getId(), partida.getDataHora());
+            }
+        });
+    }
+
+    public void remover(Long partidaId, Long mandanteId, Long visitanteId, LocalDateTime dataHora) {
+        aposCommit(() -> retirar(partidaId, mandanteId, visitanteId, dataHora));
+    }
+
+    public void reagendar(Long partidaId, Long mandanteId, Long visitanteId, LocalDateTime anterior, LocalDateTime nova) {
+        aposCommit(() -> {
+            retirar(partidaId, mandanteId, visitanteId, anterior);
+            adicionar(partidaId, mandanteId, visitanteId, nova);
+        });
+    }
+
+    private void adicionar(Long partidaId, Long mandanteId, Long visitanteId, LocalDateTime dataHora) {
+        Compromisso compromisso = new Compromisso(instante(dataHora), partidaId);
+        agendaDo(mandanteId).add(compromisso);
+        agendaDo(visitanteId).add(compromisso);
+    }
+
+    private void retirar(Long partidaId, Long mandanteId, Long visitanteId, LocalDateTime dataHora) {
+        Compromisso compromisso = new Compromisso(instante(dataHora), partidaId);
+        agendaDo(mandanteId).remove(compromisso);
+        agendaDo(visitanteId).remove(compromisso);
+    }
+
+    private NavigableSet<Compromisso> agendaDo(Long clubeId) {
+        return agendas.computeIfAbsent(clubeId, id -> new ConcurrentSkipListSet<>(ORDEM));
+    }
+
+    private void aposCommit(Runnable acao) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            acao.run();
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                acao.run();
+            }
+        });
+    }
+
+    private static long instante(LocalDateTime dataHora) {
+        return dataHora.toEpochSecond(ZoneOffset.UTC) * 1_000_000L + dataHora.getNano() / 1_000;
+    }
+
+    private record Compromisso(long instante, long partidaId) {
+    }
+}
@@ -0,0 +1,57 @@
+package com.expoo.partidasdefutebol_api.service;
+
+import com.expoo.partidasdefutebol_api.model.ClubeAlteracao;
+import com.expoo.partidasdefutebol_api.model.Partida;
+import com.expoo.partidasdefutebol_api.repository.ClubeAlteracaoRepository;
+import org.springframework.data.domain.Limit;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.function.Function;
+
+/**
+ * Anota, na mesma transação da partida, quais clubes precisam ter as estatísticas recalculadas.
+ * O job lê as alterações em páginas a partir da sua marca e apaga até a última que leu, então uma
+ * partida gravada enquanto ele processa fica para a execução seguinte.
+ */
+@Component
+public class AlteracoesClubes {
+
+    private final ClubeAlteracaoRepository alteracaoRepository;
+
+    public AlteracoesClubes(ClubeAlteracaoRepository alteracaoRepository) {
+        this.alteracaoRepository = alteracaoRepository;
+    }
+
+    public void registrar(Partida partida) {
+        registrarLote(List.of(partida));
+    }
+
+    public void registrarLote(List<Partida> partidas) {
+        Set<Long> clubeIds = new LinkedHashSet<>();
+        for (Partida partida : partidas) {
+            clubeIds.add(partida.getMandante().getId());
+            clubeIds.add(partida.getVisitante().getId());
+        }
+        alteracaoRepository.saveAll(clubeIds.stream().map(ClubeAlteracao::new).toList());
+    }
+
+    public boolean possuiPendentes() {
+        return alteracaoRepository.existsByIdNotNull();
+    }
+
+    /**
+     * Entrega a {@code processar} até {@code limite} alterações posteriores a {@code desde} e apaga
+     * tudo até a última delas, na mesma transação: se o processamento falhar, elas continuam pendentes.
+     * Sem nada novo, apaga só o que já está coberto pela marca.
+     */
+    @Transactional
+    public <T> T processarPendentes(long desde, int limite, Function<List<ClubeAlteracao>, T> processar) {
+        List<ClubeAlteracao> pendentes = alteracaoRepository.buscarPendentes(desde, Limit.of(limite));
+        T resultado = processar.apply(pendentes);
+        alteracaoRepository.apagarAte(pendentes.isEmpty() ? desde : pendentes.get(pendentes.size() - 1).getId());
+        return resultado;
+    }
+}
@@ -4,11 +4,14 @@ import com.expoo.partidasdefutebol_api.dto.ClubeDTO;
 import com.expoo.partidasdefutebol_api.dto.RetroDTO;
 import com.expoo.partidasdefutebol_api.enums.TipoCampo;
 import com.expoo.partidasdefutebol_api.model.Clube;
+import com.expoo.partidasdefutebol_api.model.ClubeRetrospecto;
 import com.expoo.partidasdefutebol_api.model.Partida;
 import com.expoo.partidasdefutebol_api.repository.ClubeRepository;
+import com.expoo.partidasdefutebol_api.repository.ClubeRetrospectoRepository;
 import com.expoo.partidasdefutebol_api.repository.PartidaRepository;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
 import org.springframework.data.domain.Pageable;
 import org.springframework.http.HttpStatus;
 import org.springframework.stereotype.Service;
@@ -22,11 +25,16 @@ public class ClubeService {
 
     private final ClubeRepository clubeRepository;
     private final PartidaRepository partidaRepository;
+    private final ClubeRetrospectoRepository retrospectoRepository;
+    private final ClubesEmCache clubesEmCache;
 
     @Autowired
-    public ClubeService(ClubeRepository clubeRepository, PartidaRepository partidaRepository) {
+    public ClubeService(ClubeRepository clubeRepository, PartidaRepository partidaRepository,
+                        ClubeRetrospectoRepository retrospectoRepository, ClubesEmCache clubesEmCache) {
         this.clubeRepository = clubeRepository;
         this.partidaRepository = partidaRepository;
+        this.retrospectoRepository = retrospectoRepository;
+        this.clubesEmCache = clubesEmCache;
     }
 
     @Transactional
@@ -34,22 +42,29 @@ public class ClubeService {
         Clube novoClube = clubeDTO.toEntity();
         validarClube(novoClube);
         clubeRepository.save(novoClube);
+        // As linhas nascem zeradas com o clube; as partidas só somam a elas, sem inserir na concorrência.
+        retrospectoRepository.saveAll(List.of(
+                new ClubeRetrospecto(novoClube.getId(), true, 0, 0, 0, 0, 0),
+                new ClubeRetrospecto(novoClube.getId(), false, 0, 0, 0, 0, 0)));
+        clubesEmCache.invalidar(novoClube.getId());
     }
 
     @Transactional
     public ClubeDTO atualizar(Long id, ClubeDTO clubeDTO) {
-        Clube clube = buscarClubePorId(id);
+        Clube clube = buscarClubeParaAlterar(id);
         atualizarClubeComDTO(clube, clubeDTO);
         validarClube(clube);
         Clube atualizado = clubeRepository.save(clube);
+        clubesEmCache.invalidar(id);
         return ClubeDTO.fromEntity(atualizado);
     }
 
     @Transactional
     public void inativar(Long id) {
-        Clube clube = buscarClubePorId(id);
+        Clube clube = buscarClubeParaAlterar(id);
         clube.setAtivo(false);
         clubeRepository.save(clube);
+        clubesEmCache.invalidar(id);
     }
 
     @Transactional(readOnly = true)
@@ -65,23 +80,30 @@ public class ClubeService {
 
     @Transactional(readOnly = true)
     public RetroDTO getRetro(Long clubeId, TipoCampo tipoCampo) {
-        Clube clube = buscarClubePorId(clubeId);
-        List<Partida> partidas = buscarPartidasPorTipo(clubeId, tipoCampo);
-        return calcularRetro(clube, partidas);
+        List<ClubeRetrospecto> linhas = retrospectoRepository.buscarPorClube(clubeId, isMandante(tipoCampo));
+        if (linhas.isEmpty()) {
+            return new RetroDTO(buscarClubePorId(clubeId).getNome(), 0, 0, 0, 0, 0);
+        }
+
+        RetroDTO retro = new RetroDTO(linhas.get(0).getClube().getNome(), 0, 0, 0, 0, 0);
+        for (ClubeRetrospecto linha : linhas) {
+            retro.setVitorias(retro.getVitorias() + linha.getVitorias());
+            retro.setEmpates(retro.getEmpates() + linha.getEmpates());
+            retro.setDerrotas(retro.getDerrotas() + linha.getDerrotas());
+            retro.setGolsFeitos(retro.getGolsFeitos() + linha.getGolsFeitos());
+            retro.setGolsSofridos(retro.getGolsSofridos() + linha.getGolsSofridos());
+        }
+        return retro;
     }
 
     @Transactional(readOnly = true)
     public RetroDTO getRetroGoleadas(Long clubeId, TipoCampo tipoCampo) {
         Clube clube = buscarClubePorId(clubeId);
-        List<Partida> partidas = buscarPartidasPorTipo(clubeId, tipoCampo);
-
-        List<Partida> goleadas = partidas.stream()
-                .filter(p -> {
-                    int golsClube = p.getMandante().getId().equals(clubeId) ? p.getGolsMandante() : p.getGolsVisitante();
-                    int golsAdversario = p.getMandante().getId().equals(clubeId) ? p.getGolsVisitante() : p.getGolsMandante();
-                    return Math.abs(golsClube - golsAdversario) >= 3;
-                })
-                .collect(Collectors.toList());
+        List<Partida> goleadas = switch (tipoCampo != null ? tipoCampo : TipoCampo.TODOS) {
+            case MANDANTE -> partidaRepository.findByMandanteIdAndMargemGolsGreaterThanEqual(clubeId, Partida.MARGEM_GOLEADA);
+            case VISITANTE -> partidaRepository.findByVisitanteIdAndMargemGolsGreaterThanEqual(clubeId, Partida.MARGEM_GOLEADA);
+            case TODOS -> partidaRepository.buscarPorClubeComMargem(clubeId, Partida.MARGEM_GOLEADA);
+        };
 
         return calcularRetro(clube, goleadas);
     }
@@ -109,16 +131,21 @@ public class ClubeService {
 
     @Transactional(readOnly = true)
     public List<RetroDTO> getRetroParaCadaAdversario(Long clubeId) {
-        Clube clube = buscarClubePorId(clubeId);
-        List<Partida> partidas = buscarPartidasDoClube(clubeId);
-
-        Set<Long> idTimesEnfrentados = partidas.stream()
-                .map(partida -> getAdversarioId(partida, clubeId))
-                .collect(Collectors.toSet());
+        return getRetroParaCadaAdversario(clubeId, Pageable.unpaged()).getContent();
+    }
 
-        return idTimesEnfrentados.stream()
-                .map(adversarioId -> calcularRetroContraAdversario(clube, adversarioId, partidas))
-                .collect(Collectors.toList());
+    /**
+     * Retrospecto contra cada adversário em uma passada pelas partidas, ordenado pelo ID do
+     * adversário. O clube só é procurado quando não tem partidas, para responder 404 se não existir.
+     */
+    @Transactional(readOnly = true)
+    public Page<RetroDTO> getRetroParaCadaAdversario(Long clubeId, Pageable pageable) {
+        List<Partida> partidas = partidaRepository.buscarPorClubeComAdversarios(clubeId);
+        if (partidas.isEmpty()) {
+            buscarClubePorId(clubeId);
+            return Page.empty(pageable);
+        }
+        return paginar(calcularRetroAdversarios(clubeId, partidas), pageable);
     }
 
     private void atualizarClubeComDTO(Clube clube, ClubeDTO clubeDTO) {
@@ -141,10 +168,23 @@ public class ClubeService {
     }
 
     private Clube buscarClubePorId(Long id) {
+        return clubesEmCache.buscar(id)
+                .orElseThrow(() -> new ResponseStatusException(HttpStatus.NOT_FOUND, "Clube não encontrado"));
+    }
+
+    private Clube buscarClubeParaAlterar(Long id) {
         return clubeRepository.findById(id)
                 .orElseThrow(() -> new ResponseStatusException(HttpStatus.NOT_FOUND, "Clube não encontrado"));
     }
 
+    private Boolean isMandante(TipoCampo tipoCampo) {
+        return switch (tipoCampo != null ? tipoCampo : TipoCampo.TODOS) {
+            case MANDANTE -> true;
+            case VISITANTE -> false;
+            case TODOS -> null;
+        };
+    }
+
     private List<Partida> buscarPartidasPorTipo(Long clubeId, TipoCampo tipoCampo) {
         return switch (tipoCampo != null ? tipoCampo : TipoCampo.TODOS) {
             case MANDANTE -> partidaRepository.findByMandanteId(clubeId);
@@ -168,7 +208,7 @@ public class ClubeService {
     }
 
     private List<RetroDTO> calcularRetroAdversarios(Long clubeId, List<Partida> partidas) {
-        Map<Long, RetroDTO> retroPorAdversario = new HashMap<>();
+        Map<Long, RetroDTO> retroPorAdversario = new TreeMap<>();
 
         for (Partida partida : partidas) {
             Long adversarioId = getAdversarioId(partida, clubeId);
@@ -194,16 +234,11 @@ public class ClubeService {
         return retro;
     }
 
-    private RetroDTO calcularRetroContraAdversario(Clube clube, Long adversarioId, List<Partida> partidas) {
-        Clube adversario = buscarClubePorId(adversarioId);
-        RetroDTO retro = new RetroDTO(adversario.getNome(), 0, 0, 0, 0, 0);
-
-        partidas.stream()
-                .filter(partida -> partida.getMandante().getId().equals(adversarioId) ||
-                                   partida.getVisitante().getId().equals(adversarioId))
-                .forEach(partida -> atualizarRetro(retro, partida, clube.getId()));
-
-        return retro;
+    private static <T> Page<T> paginar(List<T> itens, Pageable pageable) {
+        if (pageable.isUnpaged()) return new PageImpl<>(itens, pageable, itens.size());
+        int inicio = (int) Math.min(pageable.getOffset(), itens.size());
+        int fim = Math.min(inicio + pageable.getPageSize(), itens.size());
+        return new PageImpl<>(itens.subList(inicio, fim), pageable, itens.size());
     }
 
     private void atualizarRetro(RetroDTO retro, Partida partida, Long clubeId) {
@@ -0,0 +1,72 @@
+package com.expoo.partidasdefutebol_api.service;
+
+import com.expoo.partidasdefutebol_api.model.Clube;
+import com.expoo.partidasdefutebol_api.repository.ClubeRepository;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import java.time.Duration;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * Clubes por ID em memória, para as leituras que só precisam do nome ou do status do clube.
+ * Os clubes guardados estão desanexados e são compartilhados entre threads: quem for alterar um
+ * clube deve carregá-lo do repositório e chamar {@link #invalidar(Long)}, que só remove a entrada
+ * após o commit para uma leitura concorrente não guardar de novo a versão antiga. IDs inexistentes
+ * não são guardados. A expiração cobre alterações feitas fora desta instância.
+ */
+@Component
+public class ClubesEmCache {
+
+    private final ClubeRepository clubeRepository;
+    private final Cache<Long, Clube> clubes;
+
+    public ClubesEmCache(ClubeRepository clubeRepository, MeterRegistry meterRegistry,
+                         @Value("${clubes.cache.maximo:10000}") long maximo,
+                         @Value("${clubes.cache.expiracao:10m}") Duration expiracao) {
+        this.clubeRepository = clubeRepository;
+        this.clubes = Caffeine.newBuilder()
+                .maximumSize(maximo)
+                .expireAfterWrite(expiracao)
+                .recordStats()
+                .build();
+        CaffeineCacheMetrics.monitor(meterRegistry, clubes, "clubes");
+    }
+
+    public Optional<Clube> buscar(Long id) {
+        if (id == null) return Optional.empty();
+        return Optional.ofNullable(clubes.get(id, chave -> clubeRepository.findById(chave).orElse(null)));
+    }
+
+    /**
+     * Os clubes encontrados entre {@code ids}; os que faltam no cache são lidos em uma única consulta.
+     */
+    public Map<Long, Clube> buscarTodos(Collection<Long> ids) {
+        return clubes.getAll(ids, faltantes -> clubeRepository.findAllById(List.copyOf(faltantes)).stream()
+                .collect(Collectors.toMap(Clube::getId, Function.identity())));
+    }
+
+    public void invalidar(Long id) {
+        if (id == null) return;
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            clubes.invalidate(id);
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCompletion(int status) {
+                clubes.invalidate(id);
+            }
+        });
+    }
+}
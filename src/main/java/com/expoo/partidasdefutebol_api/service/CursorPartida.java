@@ -0,0 +1,42 @@
+package com.expoo.partidasdefutebol_api.service;
+
+import com.expoo.partidasdefutebol_api.dto.PartidaDTO;
+import org.springframework.http.HttpStatus;
+import org.springframework.web.server.ResponseStatusException;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeParseException;
+import java.util.Base64;
+
+/**
+ * Posição {@code (dataHora, id)} da última partida entregue na listagem por cursor, trocada com o
+ * cliente como texto opaco. Cursor vazio começa da partida mais recente.
+ */
+public record CursorPartida(LocalDateTime dataHora, Long id) {
+
+    public static final CursorPartida INICIO = new CursorPartida(LocalDateTime.of(9999, 12, 31, 23, 59, 59), Long.MAX_VALUE);
+
+    private static final String SEPARADOR = "|";
+
+    public static CursorPartida depoisDe(PartidaDTO partida) {
+        return new CursorPartida(partida.getDataHora(), partida.getId());
+    }
+
+    public String codificar() {
+        return Base64.getUrlEncoder().withoutPadding()
+                .encodeToString((dataHora + SEPARADOR + id).getBytes(StandardCharsets.UTF_8));
+    }
+
+    public static CursorPartida decodificar(String cursor) {
+        if (cursor == null || cursor.isBlank()) return INICIO;
+        try {
+            String posicao = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+            int separador = posicao.indexOf(SEPARADOR);
+            if (separador < 0) throw new IllegalArgumentException(posicao);
+            return new CursorPartida(LocalDateTime.parse(posicao.substring(0, separador)),
+                    Long.parseLong(posicao.substring(separador + 1)));
+        } catch (IllegalArgumentException | DateTimeParseException e) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "Cursor inválido");
+        }
+    }
+}
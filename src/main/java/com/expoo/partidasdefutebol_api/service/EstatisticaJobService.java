@@ -1,58 +1,358 @@
 package com.expoo.partidasdefutebol_api.service;
 
 import com.expoo.partidasdefutebol_api.dto.EstatisticaDTO;
-import com.expoo.partidasdefutebol_api.model.Clube;
-import com.expoo.partidasdefutebol_api.repository.ClubeRepository;
+import com.expoo.partidasdefutebol_api.dto.ExecucaoJobDTO;
+import com.expoo.partidasdefutebol_api.dto.ReconciliacaoRetrospectoDTO;
+import com.expoo.partidasdefutebol_api.enums.StatusJob;
+import com.expoo.partidasdefutebol_api.model.ClubeAlteracao;
+import com.expoo.partidasdefutebol_api.model.JobMarca;
+import com.expoo.partidasdefutebol_api.repository.JobMarcaRepository;
 import com.expoo.partidasdefutebol_api.repository.PartidaRepository;
+import io.micrometer.core.instrument.*;
+import jakarta.annotation.PreDestroy;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.http.HttpStatus;
 import org.springframework.scheduling.annotation.Scheduled;
 import org.springframework.stereotype.Service;
+import org.springframework.web.server.ResponseStatusException;
+import java.time.Duration;
+import java.time.LocalDateTime;
 import java.util.ArrayList;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Function;
+import java.util.function.Supplier;
+import java.util.stream.Collectors;
 
+/**
+ * Calcula os gols por clube. Os disparos pela API e pelo agendamento passam por uma única thread
+ * e nunca se sobrepõem: enquanto há uma execução aguardando ou em andamento, um novo disparo
+ * manual recebe essa mesma execução e o agendado é ignorado, ficando para o próximo ciclo.
+ */
 @Service
 public class EstatisticaJobService {
 
     private static final Logger log = LoggerFactory.getLogger(EstatisticaJobService.class);
 
-    private final ClubeRepository clubeRepository;
+    private static final String JOB_ESTATISTICAS = "estatisticas";
+    private static final String MANUAL = "MANUAL";
+    private static final String AGENDADO = "AGENDADO";
+    private static final int EXECUCOES_GUARDADAS = 20;
+    private static final int LOTE_ALTERACOES = 1000;
+    private static final Duration[] FAIXAS_DURACAO = {
+            Duration.ofMillis(10), Duration.ofMillis(50), Duration.ofMillis(100), Duration.ofMillis(500),
+            Duration.ofSeconds(1), Duration.ofSeconds(5), Duration.ofSeconds(30)};
+
     private final PartidaRepository partidaRepository;
+    private final JobMarcaRepository jobMarcaRepository;
+    private final AlteracoesClubes alteracoesClubes;
+    private final RetrospectoClubes retrospectoClubes;
+
+    private final Clock relogio;
+    private final Timer duracaoManual;
+    private final Timer duracaoAgendada;
+    private final LongTaskTimer execucoesAtivas;
+    private final Counter clubesProcessados;
+    private final Counter consultas;
+    private final Counter falhas;
+    private final AtomicLong ultimoSucesso = new AtomicLong();
 
-    public EstatisticaJobService(ClubeRepository clubeRepository, PartidaRepository partidaRepository) {
-        this.clubeRepository = clubeRepository;
+    private final ExecutorService jobs = Executors.newSingleThreadExecutor(r -> new Thread(r, "job-estatisticas"));
+    private final Map<Long, Execucao> execucoes = new ConcurrentHashMap<>();
+    private final AtomicLong sequencia = new AtomicLong();
+    private final ReentrantLock trava = new ReentrantLock();
+    private Execucao emCurso;
+
+    public EstatisticaJobService(PartidaRepository partidaRepository, JobMarcaRepository jobMarcaRepository,
+                                 AlteracoesClubes alteracoesClubes,
+                                 RetrospectoClubes retrospectoClubes, MeterRegistry meterRegistry) {
         this.partidaRepository = partidaRepository;
+        this.jobMarcaRepository = jobMarcaRepository;
+        this.alteracoesClubes = alteracoesClubes;
+        this.retrospectoClubes = retrospectoClubes;
+
+        this.relogio = meterRegistry.config().clock();
+        this.duracaoManual = duracao(meterRegistry, "manual");
+        this.duracaoAgendada = duracao(meterRegistry, "agendado");
+        this.execucoesAtivas = LongTaskTimer.builder("estatisticas.job.ativas")
+                .description("Execuções do job de estatísticas em andamento; mais de uma indica sobreposição")
+                .register(meterRegistry);
+        this.clubesProcessados = Counter.builder("estatisticas.job.clubes")
+                .description("Clubes com estatísticas calculadas pelo job")
+                .register(meterRegistry);
+        this.consultas = Counter.builder("estatisticas.job.consultas")
+                .description("Consultas ao banco feitas pelo job")
+                .register(meterRegistry);
+        this.falhas = Counter.builder("estatisticas.job.falhas")
+                .description("Execuções do job de estatísticas que terminaram em erro")
+                .register(meterRegistry);
+        Gauge.builder("estatisticas.job.desde.ultimo.sucesso", this, EstatisticaJobService::segundosDesdeUltimoSucesso)
+                .description("Segundos desde a última execução bem-sucedida do job; NaN antes da primeira")
+                .baseUnit("seconds")
+                .register(meterRegistry);
     }
 
-    public void executarJobManual() {
-        log.info("[JOB MANUAL] Iniciando cálculo de estatísticas dos clubes");
+    /**
+     * Enfileira o cálculo de todos os clubes e retorna logo; se já houver uma execução pendente,
+     * retorna essa.
+     */
+    public ExecucaoJobDTO dispararJob() {
+        return disparar(MANUAL, duracaoManual, this::somarTodos).toDTO();
+    }
+
+    public ExecucaoJobDTO buscarExecucao(Long id) {
+        Execucao execucao = execucoes.get(id);
+        if (execucao == null) {
+            throw new ResponseStatusException(HttpStatus.NOT_FOUND, "Execução do job não encontrada");
+        }
+        return execucao.toDTO();
+    }
 
-        List<Clube> clubes = clubeRepository.findAll();
-        for (Clube clube : clubes) {
-            Integer total = partidaRepository.somarGolsDoClube(clube.getId());
-            int totalGols = (total != null) ? total : 0;
-            log.info("Clube {} marcou {} gols", clube.getNome(), totalGols);
+    @Scheduled(cron = "*/30 * * * * *")
+    public void executarJobAgendado() {
+        trava.lock();
+        try {
+            if (emCurso != null && emCurso.emAberto()) {
+                log.debug("[JOB AGENDADO] Execução {} ainda não terminou; fica para o próximo ciclo", emCurso.id);
+                return;
+            }
+            if (!alteracoesClubes.possuiPendentes()) {
+                log.debug("[JOB AGENDADO] Nenhuma partida alterada desde a última execução");
+                return;
+            }
+            disparar(AGENDADO, duracaoAgendada, this::somarAlterados);
+        } finally {
+            trava.unlock();
         }
+    }
+
+    @PreDestroy
+    public void encerrar() {
+        jobs.shutdownNow();
+    }
+
+    public ReconciliacaoRetrospectoDTO reconciliarRetrospecto() {
+        return retrospectoClubes.reconciliar();
+    }
 
-        log.info("[JOB MANUAL] Estatísticas calculadas com sucesso");
+    @Scheduled(cron = "${retrospecto.reconciliacao.cron:0 0 4 * * *}")
+    public void reconciliarRetrospectoAgendado() {
+        log.info("[JOB AGENDADO] Reconstruindo o retrospecto consolidado dos clubes...");
+        reconciliarRetrospecto();
     }
 
-    public List<EstatisticaDTO> executarJobComRetorno() {
-        List<EstatisticaDTO> resultado = new ArrayList<>();
-        List<Clube> clubes = clubeRepository.findAll();
+    /**
+     * Usa uma {@link ReentrantLock} e não {@code synchronized} porque é chamado das threads das
+     * requisições, que podem ser virtuais.
+     */
+    private Execucao disparar(String origem, Timer duracao,
+                              Function<Execucao, List<PartidaRepository.GolsClube>> job) {
+        trava.lock();
+        try {
+            if (emCurso != null && emCurso.emAberto()) {
+                log.info("[JOB {}] Execução {} ainda não terminou; o disparo foi agrupado a ela", origem, emCurso.id);
+                return emCurso;
+            }
 
-        for (Clube clube : clubes) {
-            Integer total = partidaRepository.somarGolsDoClube(clube.getId());
-            int totalGols = (total != null) ? total : 0;
-            resultado.add(new EstatisticaDTO(clube.getNome(), totalGols));
+            Execucao execucao = new Execucao(sequencia.incrementAndGet(), origem);
+            execucoes.put(execucao.id, execucao);
+            execucoes.remove(execucao.id - EXECUCOES_GUARDADAS);
+            emCurso = execucao;
+            jobs.execute(() -> {
+                try {
+                    executar(execucao, duracao, job);
+                } finally {
+                    liberar(execucao);
+                }
+            });
+            return execucao;
+        } finally {
+            trava.unlock();
         }
+    }
 
-        return resultado;
+    private void liberar(Execucao execucao) {
+        trava.lock();
+        try {
+            if (emCurso == execucao) emCurso = null;
+        } finally {
+            trava.unlock();
+        }
     }
 
-    @Scheduled(cron = "*/30 * * * * *")
-    public void executarJobAgendado() {
-        log.info("[JOB AGENDADO] Disparando cálculo de estatísticas...");
-        executarJobManual();
+    private List<PartidaRepository.GolsClube> somarTodos(Execucao execucao) {
+        return execucao.consultar(partidaRepository::somarGolsPorClube);
+    }
+
+    /**
+     * Recalcula só os clubes das alterações posteriores à marca, em páginas de {@value #LOTE_ALTERACOES};
+     * cada página avança a marca e apaga as alterações lidas numa transação. Sem marca gravada, na
+     * primeira execução, calcula todos os clubes.
+     */
+    private List<PartidaRepository.GolsClube> somarAlterados(Execucao execucao) {
+        Optional<JobMarca> marca = execucao.consultar(() -> jobMarcaRepository.findById(JOB_ESTATISTICAS));
+        long desde = marca.map(JobMarca::getUltimaAlteracaoId).orElse(0L);
+        boolean todos = marca.isEmpty();
+        Map<String, PartidaRepository.GolsClube> gols = new LinkedHashMap<>();
+        PaginaAlteracoes pagina;
+        do {
+            pagina = somarPagina(execucao, desde, todos);
+            pagina.gols().forEach(total -> gols.put(total.getClube(), total));
+            desde = pagina.ultimaAlteracao();
+            todos = false;
+        } while (pagina.alteracoes() == LOTE_ALTERACOES);
+        return new ArrayList<>(gols.values());
+    }
+
+    private PaginaAlteracoes somarPagina(Execucao execucao, long desde, boolean todos) {
+        return execucao.consultar(2, () -> alteracoesClubes.processarPendentes(desde, LOTE_ALTERACOES, pendentes -> {
+            if (pendentes.isEmpty()) return new PaginaAlteracoes(List.of(), desde, 0);
+
+            List<PartidaRepository.GolsClube> gols;
+            if (todos) {
+                gols = execucao.consultar(partidaRepository::somarGolsPorClube);
+            } else {
+                List<Long> clubeIds = pendentes.stream().map(ClubeAlteracao::getClubeId).distinct().toList();
+                gols = execucao.consultar(() -> partidaRepository.somarGolsDosClubes(clubeIds));
+            }
+
+            long ultimaAlteracao = pendentes.get(pendentes.size() - 1).getId();
+            execucao.consultar(() -> jobMarcaRepository.save(new JobMarca(JOB_ESTATISTICAS, ultimaAlteracao)));
+            return new PaginaAlteracoes(gols, ultimaAlteracao, pendentes.size());
+        }));
+    }
+
+    /**
+     * Só conclui a execução depois de registrar as métricas, para quem acompanha pela API já
+     * encontrar os contadores atualizados.
+     */
+    private void executar(Execucao execucao, Timer duracao, Function<Execucao, List<PartidaRepository.GolsClube>> job) {
+        execucao.iniciar();
+        LongTaskTimer.Sample ativa = execucoesAtivas.start();
+        long inicio = relogio.monotonicTime();
+        List<EstatisticaDTO> estatisticas = null;
+        RuntimeException falha = null;
+        try {
+            List<PartidaRepository.GolsClube> gols = job.apply(execucao);
+            long nanos = relogio.monotonicTime() - inicio;
+            ultimoSucesso.set(relogio.wallTime());
+            clubesProcessados.increment(gols.size());
+            log.info("[JOB {}] Estatísticas de {} clubes calculadas em {} ms com {} consultas, {} gols no total",
+                    execucao.origem, gols.size(), TimeUnit.NANOSECONDS.toMillis(nanos), execucao.consultas,
+                    gols.stream().mapToLong(PartidaRepository.GolsClube::getGols).sum());
+            estatisticas = gols.stream()
+                    .map(total -> new EstatisticaDTO(total.getClube(), total.getGols()))
+                    .collect(Collectors.toList());
+        } catch (RuntimeException e) {
+            falhas.increment();
+            falha = e;
+            log.error("[JOB {}] Falha no cálculo de estatísticas após {} consultas", execucao.origem, execucao.consultas, e);
+        } finally {
+            consultas.increment(execucao.consultas);
+            duracao.record(relogio.monotonicTime() - inicio, TimeUnit.NANOSECONDS);
+            ativa.stop();
+        }
+
+        if (falha != null) {
+            execucao.falhar(falha);
+        } else {
+            execucao.concluir(estatisticas);
+        }
+    }
+
+    private double segundosDesdeUltimoSucesso() {
+        long sucesso = ultimoSucesso.get();
+        return sucesso == 0 ? Double.NaN : (relogio.wallTime() - sucesso) / 1_000.0;
+    }
+
+    private static Timer duracao(MeterRegistry meterRegistry, String origem) {
+        return Timer.builder("estatisticas.job.duracao")
+                .description("Duração de cada execução do job de estatísticas")
+                .tag("origem", origem)
+                .publishPercentileHistogram()
+                .serviceLevelObjectives(FAIXAS_DURACAO)
+                .minimumExpectedValue(FAIXAS_DURACAO[0])
+                .maximumExpectedValue(FAIXAS_DURACAO[FAIXAS_DURACAO.length - 1])
+                .register(meterRegistry);
+    }
+
+    private record PaginaAlteracoes(List<PartidaRepository.GolsClube> gols, long ultimaAlteracao, int alteracoes) {
+    }
+
+    /**
+     * Uma execução do job; cada chamada a repositório conta como uma consulta.
+     */
+    private static final class Execucao {
+
+        private final long id;
+        private final String origem;
+
+        private volatile StatusJob status = StatusJob.AGUARDANDO;
+        private volatile int consultas;
+        private volatile LocalDateTime inicio;
+        private volatile LocalDateTime fim;
+        private volatile String falha;
+        private volatile List<EstatisticaDTO> resultado;
+
+        Execucao(long id, String origem) {
+            this.id = id;
+            this.origem = origem;
+        }
+
+        <T> T consultar(Supplier<T> consulta) {
+            return consultar(1, consulta);
+        }
+
+        <T> T consultar(int quantas, Supplier<T> consulta) {
+            consultas += quantas;
+            return consulta.get();
+        }
+
+        boolean emAberto() {
+            return status == StatusJob.AGUARDANDO || status == StatusJob.EM_ANDAMENTO;
+        }
+
+        void iniciar() {
+            inicio = LocalDateTime.now();
+            status = StatusJob.EM_ANDAMENTO;
+        }
+
+        void concluir(List<EstatisticaDTO> estatisticas) {
+            resultado = estatisticas;
+            fim = LocalDateTime.now();
+            status = StatusJob.CONCLUIDO;
+        }
+
+        void falhar(Throwable causa) {
+            falha = causa.getMessage() != null ? causa.getMessage() : causa.getClass().getSimpleName();
+            fim = LocalDateTime.now();
+            status = StatusJob.FALHOU;
+        }
+
+        ExecucaoJobDTO toDTO() {
+            ExecucaoJobDTO dto = new ExecucaoJobDTO();
+            dto.setId(id);
+            dto.setOrigem(origem);
+            dto.setStatus(status);
+            dto.setConsultas(consultas);
+            dto.setInicio(inicio);
+            dto.setFim(fim);
+            dto.setFalha(falha);
+            List<EstatisticaDTO> estatisticas = resultado;
+            if (estatisticas != null) {
+                dto.setClubes(estatisticas.size());
+                dto.setResultado(estatisticas);
+            }
+            return dto;
+        }
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,357 @@
+package com.expoo.partidasdefutebol_api.service;
+
+import com.expoo.partidasdefutebol_api.dto.ErroLoteDTO;
+import com.expoo.partidasdefutebol_api.dto.ImportacaoDTO;
+import com.expoo.partidasdefutebol_api.dto.PartidaDTO;
+import com.expoo.partidasdefutebol_api.enums.FormatoImportacao;
+import com.expoo.partidasdefutebol_api.enums.StatusImportacao;
+import com.expoo.partidasdefutebol_api.model.Clube;
+import com.expoo.partidasdefutebol_api.model.Estadio;
+import com.expoo.partidasdefutebol_api.repository.ClubeRepository;
+import com.expoo.partidasdefutebol_api.repository.EstadioRepository;
+import com.expoo.partidasdefutebol_api.service.LeitorPartidas.RegistroPartida;
+import com.expoo.partidasdefutebol_api.service.PartidaLoteService.ItemLote;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.http.HttpStatus;
+import org.springframework.stereotype.Service;
+import org.springframework.web.multipart.MultipartFile;
+import org.springframework.web.server.ResponseStatusException;
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.Reader;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDateTime;
+import java.util.*;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Importa arquivos históricos de partidas (CSV ou NDJSON) em três estágios, cada um na sua thread:
+ * leitura, resolução dos clubes e estádios pelo nome e validação, e gravação em lotes. Os estágios trocam blocos de
+ * {@value #TAMANHO_BLOCO} linhas por filas limitadas, então a memória usada não depende do tamanho
+ * do arquivo e um estágio lento segura os anteriores. Cada bloco é gravado na sua própria transação
+ * e os clubes e estádios são carregados uma única vez por importação.
+ */
+@Service
+public class ImportacaoPartidaService {
+
+    private static final Logger log = LoggerFactory.getLogger(ImportacaoPartidaService.class);
+
+    static final int TAMANHO_BLOCO = 1000;
+    static final int CAPACIDADE_FILA = 4;
+    static final int MAXIMO_ERROS_LISTADOS = 100;
+    private static final int BLOCOS_POR_PROGRESSO = 100;
+    private static final int IMPORTACOES_GUARDADAS = 20;
+
+    private final PartidaLoteService partidaLoteService;
+    private final ClubeRepository clubeRepository;
+    private final EstadioRepository estadioRepository;
+    private final ObjectMapper objectMapper;
+
+    private final ExecutorService importacoes = Executors.newSingleThreadExecutor(r -> new Thread(r, "importacao-partidas"));
+    private final Map<Long, Importacao> execucoes = new ConcurrentHashMap<>();
+    private final Deque<Long> encerradas = new ArrayDeque<>();
+    private final AtomicLong sequencia = new AtomicLong();
+
+    public ImportacaoPartidaService(PartidaLoteService partidaLoteService, ClubeRepository clubeRepository,
+                                    EstadioRepository estadioRepository, ObjectMapper objectMapper) {
+        this.partidaLoteService = partidaLoteService;
+        this.clubeRepository = clubeRepository;
+        this.estadioRepository = estadioRepository;
+        this.objectMapper = objectMapper;
+    }
+
+    public ImportacaoDTO iniciar(MultipartFile arquivo, FormatoImportacao formato) {
+        if (arquivo.isEmpty()) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "Arquivo vazio");
+        }
+
+        Path temporario;
+        try {
+            temporario = Files.createTempFile("importacao-partidas-", ".tmp");
+            arquivo.transferTo(temporario);
+        } catch (IOException e) {
+            throw new ResponseStatusException(HttpStatus.INTERNAL_SERVER_ERROR, "Não foi possível receber o arquivo");
+        }
+
+        Importacao importacao = registrar(arquivo.getOriginalFilename(), formato);
+        importacoes.execute(() -> {
+            try (Reader origem = Files.newBufferedReader(temporario, StandardCharsets.UTF_8)) {
+                executar(importacao, origem);
+            } catch (IOException e) {
+                importacao.falhar(e);
+                guardar(importacao);
+            } finally {
+                apagar(temporario);
+            }
+        });
+        return importacao.toDTO();
+    }
+
+    public ImportacaoDTO buscar(Long id) {
+        Importacao importacao = execucoes.get(id);
+        if (importacao == null) {
+            throw new ResponseStatusException(HttpStatus.NOT_FOUND, "Importação não encontrada");
+        }
+        return importacao.toDTO();
+    }
+
+    @PreDestroy
+    public void encerrar() {
+        importacoes.shutdownNow();
+    }
+
+    private Importacao registrar(String arquivo, FormatoImportacao formato) {
+        FormatoImportacao formatoArquivo = formato != null ? formato : FormatoImportacao.fromNomeArquivo(arquivo);
+        Importacao importacao = new Importacao(sequencia.incrementAndGet(), arquivo, formatoArquivo);
+        execucoes.put(importacao.id, importacao);
+        return importacao;
+    }
+
+    private void executar(Importacao importacao, Reader origem) {
+        importacao.iniciar();
+        BlockingQueue<List<RegistroPartida>> lidos = new ArrayBlockingQueue<>(CAPACIDADE_FILA);
+        BlockingQueue<List<ItemLote>> validados = new ArrayBlockingQueue<>(CAPACIDADE_FILA);
+
+        AtomicInteger estagio = new AtomicInteger();
+        ExecutorService estagios = Executors.newFixedThreadPool(3,
+                r -> new Thread(r, "importacao-" + importacao.id + "-" + estagio.incrementAndGet()));
+        CompletionService<Void> concluidos = new ExecutorCompletionService<>(estagios);
+        List<Future<Void>> futuros = List.of(
+                concluidos.submit(() -> ler(importacao, origem, lidos)),
+                concluidos.submit(() -> resolver(importacao, lidos, validados)),
+                concluidos.submit(() -> gravar(importacao, validados)));
+
+        try {
+            for (int i = 0; i < futuros.size(); i++) {
+                concluidos.take().get();
+            }
+            importacao.concluir();
+        } catch (ExecutionException e) {
+            importacao.falhar(e.getCause());
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            importacao.falhar(e);
+        } finally {
+            futuros.forEach(futuro -> futuro.cancel(true));
+            estagios.shutdownNow();
+            guardar(importacao);
+        }
+    }
+
+    /**
+     * Mantém só as últimas importações encerradas; as que ainda aguardam ou estão em andamento ficam sempre.
+     */
+    private void guardar(Importacao importacao) {
+        synchronized (encerradas) {
+            encerradas.addLast(importacao.id);
+            if (encerradas.size() > IMPORTACOES_GUARDADAS) {
+                execucoes.remove(encerradas.removeFirst());
+            }
+        }
+    }
+
+    private Void ler(Importacao importacao, Reader origem, BlockingQueue<List<RegistroPartida>> saida)
+            throws IOException, InterruptedException {
+        LeitorPartidas leitor = new LeitorPartidas(new BufferedReader(origem), importacao.formato, objectMapper);
+        List<RegistroPartida> bloco = new ArrayList<>(TAMANHO_BLOCO);
+
+        while (true) {
+            RegistroPartida registro;
+            try {
+                registro = leitor.proximo();
+            } catch (IllegalArgumentException e) {
+                importacao.linhasLidas.incrementAndGet();
+                importacao.rejeitar(List.of(new ErroLoteDTO(leitor.getLinha(), e.getMessage())));
+                continue;
+            }
+            if (registro == null) break;
+
+            importacao.linhasLidas.incrementAndGet();
+            bloco.add(registro);
+            if (bloco.size() == TAMANHO_BLOCO) {
+                saida.put(bloco);
+                bloco = new ArrayList<>(TAMANHO_BLOCO);
+            }
+        }
+
+        if (!bloco.isEmpty()) saida.put(bloco);
+        saida.put(List.of());
+        return null;
+    }
+
+    private Void resolver(Importacao importacao, BlockingQueue<List<RegistroPartida>> entrada,
+                          BlockingQueue<List<ItemLote>> saida) throws InterruptedException {
+        CacheClubes clubes = new CacheClubes(clubeRepository);
+        Map<String, Estadio> estadios = PartidaLoteService.indexarPorNome(estadioRepository.findAll());
+
+        for (List<RegistroPartida> bloco = entrada.take(); !bloco.isEmpty(); bloco = entrada.take()) {
+            List<ItemLote> itens = new ArrayList<>(bloco.size());
+            List<ErroLoteDTO> erros = new ArrayList<>();
+
+            for (RegistroPartida registro : bloco) {
+                try {
+                    Clube mandante = clubes.buscar(registro.mandante(), "Clube mandante não encontrado: ");
+                    Clube visitante = clubes.buscar(registro.visitante(), "Clube visitante não encontrado: ");
+                    PartidaDTO dto = new PartidaDTO(null, mandante.getId(), visitante.getId(),
+                            registro.golsMandante(), registro.golsVisitante(), registro.estadio(), registro.dataHora());
+                    partidaLoteService.montarItem(registro.linha(), dto, clubes.porId, estadios, itens, erros);
+                } catch (ResponseStatusException e) {
+                    erros.add(new ErroLoteDTO(registro.linha(), e.getReason()));
+                }
+            }
+
+            importacao.rejeitar(erros);
+            if (!itens.isEmpty()) saida.put(itens);
+        }
+
+        saida.put(List.of());
+        return null;
+    }
+
+    private Void gravar(Importacao importacao, BlockingQueue<List<ItemLote>> entrada) throws InterruptedException {
+        long blocos = 0;
+        for (List<ItemLote> itens = entrada.take(); !itens.isEmpty(); itens = entrada.take()) {
+            List<ErroLoteDTO> erros = new ArrayList<>();
+            importacao.cadastradas.addAndGet(partidaLoteService.gravarItens(itens, erros));
+            importacao.rejeitar(erros);
+
+            if (++blocos % BLOCOS_POR_PROGRESSO == 0) {
+                log.info("Importação {}: {} linhas lidas, {} partidas cadastradas, {} rejeitadas ({} partidas/s)",
+                        importacao.id, importacao.linhasLidas.get(), importacao.cadastradas.get(),
+                        importacao.rejeitadas.get(), String.format("%.0f", importacao.vazao()));
+            }
+        }
+        return null;
+    }
+
+    private static void apagar(Path arquivo) {
+        try {
+            Files.deleteIfExists(arquivo);
+        } catch (IOException e) {
+            log.warn("Não foi possível apagar o arquivo temporário {}", arquivo);
+        }
+    }
+
+    private static final class CacheClubes {
+
+        private final Map<String, List<Clube>> porNome = new HashMap<>();
+        private final Map<Long, Clube> porId = new HashMap<>();
+
+        CacheClubes(ClubeRepository clubeRepository) {
+            for (Clube clube : clubeRepository.findAll()) {
+                porNome.computeIfAbsent(chave(clube.getNome()), chave -> new ArrayList<>(1)).add(clube);
+                porId.put(clube.getId(), clube);
+            }
+        }
+
+        Clube buscar(String nome, String naoEncontrado) {
+            List<Clube> clubes = porNome.getOrDefault(chave(nome), List.of());
+            if (clubes.isEmpty()) {
+                throw new ResponseStatusException(HttpStatus.BAD_REQUEST, naoEncontrado + nome);
+            }
+            if (clubes.size() > 1) {
+                throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "Mais de um clube com o nome: " + nome);
+            }
+            return clubes.get(0);
+        }
+
+        private static String chave(String nome) {
+            return nome.trim().toLowerCase(Locale.ROOT);
+        }
+    }
+
+    private static final class Importacao {
+
+        private final long id;
+        private final String arquivo;
+        private final FormatoImportacao formato;
+        private final AtomicLong linhasLidas = new AtomicLong();
+        private final AtomicLong cadastradas = new AtomicLong();
+        private final AtomicLong rejeitadas = new AtomicLong();
+        private final List<ErroLoteDTO> erros = new ArrayList<>();
+
+        private volatile StatusImportacao status = StatusImportacao.AGUARDANDO;
+        private volatile LocalDateTime inicio;
+        private volatile LocalDateTime fim;
+        private volatile long inicioNanos;
+        private volatile long fimNanos;
+        private volatile String falha;
+
+        Importacao(long id, String arquivo, FormatoImportacao formato) {
+            this.id = id;
+            this.arquivo = arquivo;
+            this.formato = formato;
+        }
+
+        void iniciar() {
+            inicio = LocalDateTime.now();
+            inicioNanos = System.nanoTime();
+            status = StatusImportacao.EM_ANDAMENTO;
+            log.info("Importação {} iniciada: {} ({})", id, arquivo, formato);
+        }
+
+        void concluir() {
+            encerrar(StatusImportacao.CONCLUIDA);
+            log.info("Importação {} concluída: {} linhas lidas, {} partidas cadastradas, {} rejeitadas ({} partidas/s)",
+                    id, linhasLidas.get(), cadastradas.get(), rejeitadas.get(), String.format("%.0f", vazao()));
+        }
+
+        void falhar(Throwable causa) {
+            falha = causa.getMessage() != null ? causa.getMessage() : causa.getClass().getSimpleName();
+            encerrar(StatusImportacao.FALHOU);
+            log.error("Importação {} interrompida na linha {}: {}", id, linhasLidas.get(), falha, causa);
+        }
+
+        private void encerrar(StatusImportacao situacao) {
+            fimNanos = System.nanoTime();
+            fim = LocalDateTime.now();
+            status = situacao;
+        }
+
+        void rejeitar(List<ErroLoteDTO> novos) {
+            if (novos.isEmpty()) return;
+            rejeitadas.addAndGet(novos.size());
+            synchronized (erros) {
+                for (ErroLoteDTO erro : novos) {
+                    if (erros.size() >= MAXIMO_ERROS_LISTADOS) break;
+                    erros.add(erro);
+                }
+            }
+        }
+
+        double vazao() {
+            if (inicioNanos == 0) return 0;
+            long termino = fimNanos != 0 ? fimNanos : System.nanoTime();
+            double segundos = (termino - inicioNanos) / 1e9;
+            return segundos > 0 ? cadastradas.get() / segundos : 0;
+        }
+
+        ImportacaoDTO toDTO() {
+            ImportacaoDTO dto = new ImportacaoDTO();
+            dto.setId(id);
+            dto.setArquivo(arquivo);
+            dto.setFormato(formato);
+            dto.setStatus(status);
+            dto.setLinhasLidas(linhasLidas.get());
+            dto.setCadastradas(cadastradas.get());
+            dto.setRejeitadas(rejeitadas.get());
+            dto.setPartidasPorSegundo(vazao());
+            dto.setInicio(inicio);
+            dto.setFim(fim);
+            dto.setFalha(falha);
+            synchronized (erros) {
+                List<ErroLoteDTO> amostra = new ArrayList<>(erros);
+                amostra.sort(Comparator.comparingLong(ErroLoteDTO::getIndice));
+                dto.setErros(amostra);
+            }
+            return dto;
+        }
+    }
+}
@@ -0,0 +1,178 @@
+package com.expoo.partidasdefutebol_api.service;
+
+import com.expoo.partidasdefutebol_api.enums.FormatoImportacao;
+import com.expoo.partidasdefutebol_api.model.Placar;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeParseException;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Lê um arquivo de partidas linha a linha, sem carregá-lo inteiro em memória.
+ * No CSV a primeira linha é o cabeçalho; campos entre aspas não podem conter quebras de linha.
+ */
+final class LeitorPartidas {
+
+    static final List<String> CAMPOS = List.of("mandante", "visitante", "resultado", "estadio", "dataHora");
+
+    private final BufferedReader leitor;
+    private final FormatoImportacao formato;
+    private final ObjectMapper objectMapper;
+
+    private Map<String, Integer> colunas;
+    private char separador = ',';
+    private long linha;
+
+    LeitorPartidas(BufferedReader leitor, FormatoImportacao formato, ObjectMapper objectMapper) {
+        this.leitor = leitor;
+        this.formato = formato;
+        this.objectMapper = objectMapper;
+    }
+
+    long getLinha() {
+        return linha;
+    }
+
+    /**
+     * Retorna o próximo registro ou {@code null} no fim do arquivo. Linhas mal formadas lançam
+     * {@link IllegalArgumentException}; a leitura pode continuar a partir da linha seguinte.
+     */
+    RegistroPartida proximo() throws IOException {
+        if (formato == FormatoImportacao.CSV && colunas == null) {
+            lerCabecalho();
+        }
+
+        String conteudo;
+        do {
+            conteudo = leitor.readLine();
+            if (conteudo == null) return null;
+            linha++;
+        } while (conteudo.isBlank());
+
+        Map<String, String> valores = formato == FormatoImportacao.CSV ? lerCsv(conteudo) : lerJson(conteudo);
+        long placar = Placar.ler(obrigatorio(valores, "resultado"));
+        return new RegistroPartida(
+                linha,
+                obrigatorio(valores, "mandante"),
+                obrigatorio(valores, "visitante"),
+                Placar.golsMandante(placar),
+                Placar.golsVisitante(placar),
+                obrigatorio(valores, "estadio"),
+                lerDataHora(obrigatorio(valores, "dataHora")));
+    }
+
+    private void lerCabecalho() throws IOException {
+        String cabecalho = leitor.readLine();
+        linha++;
+        if (cabecalho == null) {
+            throw new IllegalStateException("Arquivo CSV vazio");
+        }
+        if (cabecalho.startsWith("\uFEFF")) {
+            cabecalho = cabecalho.substring(1);
+        }
+        if (cabecalho.indexOf(',') < 0 && cabecalho.indexOf(';') >= 0) {
+            separador = ';';
+        }
+
+        List<String> nomes = dividir(cabecalho);
+        colunas = new HashMap<>();
+        for (int i = 0; i < nomes.size(); i++) {
+            String nome = nomes.get(i).trim();
+            for (String campo : CAMPOS) {
+                if (campo.equalsIgnoreCase(nome)) colunas.putIfAbsent(campo, i);
+            }
+        }
+        for (String campo : CAMPOS) {
+            if (!colunas.containsKey(campo)) {
+                throw new IllegalStateException("Cabeçalho do CSV sem a coluna " + campo);
+            }
+        }
+    }
+
+    private Map<String, String> lerCsv(String conteudo) {
+        List<String> campos = dividir(conteudo);
+        Map<String, String> valores = new HashMap<>();
+        colunas.forEach((campo, indice) -> {
+            if (indice < campos.size()) valores.put(campo, campos.get(indice));
+        });
+        return valores;
+    }
+
+    private List<String> dividir(String conteudo) {
+        List<String> campos = new ArrayList<>();
+        StringBuilder atual = new StringBuilder();
+        boolean entreAspas = false;
+
+        for (int i = 0; i < conteudo.length(); i++) {
+            char c = conteudo.charAt(i);
+            if (entreAspas) {
+                if (c == '"' && i + 1 < conteudo.length() && conteudo.charAt(i + 1) == '"') {
+                    atual.append('"');
+                    i++;
+                } else if (c == '"') {
+                    entreAspas = false;
+                } else {
+                    atual.append(c);
+                }
+            } else if (c == '"') {
+                entreAspas = true;
+            } else if (c == separador) {
+                campos.add(atual.toString());
+                atual.setLength(0);
+            } else {
+                atual.append(c);
+            }
+        }
+        if (entreAspas) {
+            throw new IllegalArgumentException("Aspas não fechadas na linha");
+        }
+        campos.add(atual.toString());
+        return campos;
+    }
+
+    private Map<String, String> lerJson(String conteudo) {
+        JsonNode objeto;
+        try {
+            objeto = objectMapper.readTree(conteudo);
+        } catch (JsonProcessingException e) {
+            throw new IllegalArgumentException("JSON inválido");
+        }
+        if (!objeto.isObject()) {
+            throw new IllegalArgumentException("JSON inválido");
+        }
+
+        Map<String, String> valores = new HashMap<>();
+        for (String campo : CAMPOS) {
+            JsonNode valor = objeto.get(campo);
+            if (valor != null && !valor.isNull()) valores.put(campo, valor.asText());
+        }
+        return valores;
+    }
+
+    private static String obrigatorio(Map<String, String> valores, String campo) {
+        String valor = valores.get(campo);
+        if (valor == null || valor.isBlank()) {
+            throw new IllegalArgumentException("Campo obrigatório ausente: " + campo);
+        }
+        return valor.trim();
+    }
+
+    private static LocalDateTime lerDataHora(String dataHora) {
+        try {
+            return LocalDateTime.parse(dataHora.replace(' ', 'T'));
+        } catch (DateTimeParseException e) {
+            throw new IllegalArgumentException("Data e hora inválidas: " + dataHora);
+        }
+    }
+
+    record RegistroPartida(long linha, String mandante, String visitante, int golsMandante, int golsVisitante,
+                           String estadio, LocalDateTime dataHora) {
+    }
+}
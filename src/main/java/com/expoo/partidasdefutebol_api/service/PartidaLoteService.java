@@ -0,0 +1,256 @@
+package com.expoo.partidasdefutebol_api.service;
+
+import com.expoo.partidasdefutebol_api.dto.ErroLoteDTO;
+import com.expoo.partidasdefutebol_api.dto.PartidaDTO;
+import com.expoo.partidasdefutebol_api.dto.ResultadoLoteDTO;
+import com.expoo.partidasdefutebol_api.model.Clube;
+import com.expoo.partidasdefutebol_api.model.Estadio;
+import com.expoo.partidasdefutebol_api.model.Partida;
+import com.expoo.partidasdefutebol_api.repository.ClubeRepository;
+import com.expoo.partidasdefutebol_api.repository.EstadioRepository;
+import com.expoo.partidasdefutebol_api.repository.PartidaJdbcRepository;
+import com.expoo.partidasdefutebol_api.repository.PartidaRepository;
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validator;
+import org.springframework.http.HttpStatus;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.web.server.ResponseStatusException;
+import java.time.LocalDateTime;
+import java.util.*;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+@Service
+public class PartidaLoteService {
+
+    static final int TAMANHO_MAXIMO_LOTE = 20_000;
+    static final String PARTIDA_NAO_INFORMADA = "Partida não informada";
+
+    /**
+     * Itens por consulta de ocupação dos estádios, o mesmo bloco da inserção em lote, para a lista
+     * do IN não passar do limite de parâmetros do driver.
+     */
+    private static final int TAMANHO_BLOCO_CONSULTA = 1000;
+
+    private final PartidaRepository partidaRepository;
+    private final PartidaJdbcRepository partidaJdbcRepository;
+    private final ClubeRepository clubeRepository;
+    private final EstadioRepository estadioRepository;
+    private final AgendaClubes agendaClubes;
+    private final RetrospectoClubes retrospectoClubes;
+    private final AlteracoesClubes alteracoesClubes;
+    private final ValidadorPartida validadorPartida;
+    private final Validator validator;
+
+    public PartidaLoteService(PartidaRepository partidaRepository, PartidaJdbcRepository partidaJdbcRepository,
+                              ClubeRepository clubeRepository, EstadioRepository estadioRepository,
+                              AgendaClubes agendaClubes, RetrospectoClubes retrospectoClubes,
+                              AlteracoesClubes alteracoesClubes, ValidadorPartida validadorPartida,
+                              Validator validator) {
+        this.partidaRepository = partidaRepository;
+        this.partidaJdbcRepository = partidaJdbcRepository;
+        this.clubeRepository = clubeRepository;
+        this.estadioRepository = estadioRepository;
+        this.agendaClubes = agendaClubes;
+        this.retrospectoClubes = retrospectoClubes;
+        this.alteracoesClubes = alteracoesClubes;
+        this.validadorPartida = validadorPartida;
+        this.validator = validator;
+    }
+
+    @Transactional
+    public ResultadoLoteDTO cadastrarLote(List<PartidaDTO> dtos) {
+        if (dtos.size() > TAMANHO_MAXIMO_LOTE) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "O lote aceita no máximo " + TAMANHO_MAXIMO_LOTE + " partidas");
+        }
+        Map<Long, Clube> clubes = buscarClubes(dtos);
+        Map<String, Estadio> estadios = buscarEstadios(dtos);
+        List<ErroLoteDTO> erros = new ArrayList<>();
+        List<ItemLote> itens = new ArrayList<>(dtos.size());
+
+        for (int i = 0; i < dtos.size(); i++) {
+            montarItem(i, dtos.get(i), clubes, estadios, itens, erros);
+        }
+
+        int cadastradas = gravarItens(itens, erros);
+
+        erros.sort(Comparator.comparingLong(ErroLoteDTO::getIndice));
+        return new ResultadoLoteDTO(dtos.size(), cadastradas, erros);
+    }
+
+    public void montarItem(long indice, PartidaDTO dto, Map<Long, Clube> clubes, Map<String, Estadio> estadios,
+                           List<ItemLote> itens, List<ErroLoteDTO> erros) {
+        if (dto == null) {
+            erros.add(new ErroLoteDTO(indice, PARTIDA_NAO_INFORMADA));
+            return;
+        }
+        try {
+            itens.add(new ItemLote(indice, montarPartida(dto, clubes, estadios)));
+        } catch (ResponseStatusException e) {
+            erros.add(new ErroLoteDTO(indice, e.getReason()));
+        } catch (IllegalArgumentException e) {
+            erros.add(new ErroLoteDTO(indice, e.getMessage()));
+        }
+    }
+
+    @Transactional
+    public int gravarItens(List<ItemLote> itens, List<ErroLoteDTO> erros) {
+        List<ItemLote> aceitos = varrerConflitos(new ArrayList<>(itens), erros);
+        gravar(aceitos);
+        return aceitos.size();
+    }
+
+    private Map<Long, Clube> buscarClubes(List<PartidaDTO> dtos) {
+        Set<Long> ids = new HashSet<>();
+        for (PartidaDTO dto : dtos) {
+            if (dto == null) continue;
+            if (dto.getMandanteId() != null) ids.add(dto.getMandanteId());
+            if (dto.getVisitanteId() != null) ids.add(dto.getVisitanteId());
+        }
+        return clubeRepository.findAllById(ids).stream()
+                .collect(Collectors.toMap(Clube::getId, Function.identity()));
+    }
+
+    private Map<String, Estadio> buscarEstadios(List<PartidaDTO> dtos) {
+        Set<String> nomes = new HashSet<>();
+        for (PartidaDTO dto : dtos) {
+            if (dto != null && dto.getEstadio() != null) nomes.add(dto.getEstadio());
+        }
+        return indexarPorNome(estadioRepository.findByNomeIn(nomes));
+    }
+
+    /**
+     * Indexa os estádios pelo nome sem diferenciar maiúsculas, como a collation do banco faz.
+     */
+    static Map<String, Estadio> indexarPorNome(Collection<Estadio> estadios) {
+        Map<String, Estadio> porNome = new TreeMap<>(String.CASE_INSENSITIVE_ORDER);
+        for (Estadio estadio : estadios) {
+            porNome.put(estadio.getNome(), estadio);
+        }
+        return porNome;
+    }
+
+    private Partida montarPartida(PartidaDTO dto, Map<Long, Clube> clubes, Map<String, Estadio> estadios) {
+        Set<ConstraintViolation<PartidaDTO>> violacoes = validator.validate(dto);
+        if (!violacoes.isEmpty()) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, violacoes.iterator().next().getMessage());
+        }
+
+        Clube mandante = buscarClube(clubes, dto.getMandanteId(), "Clube mandante não encontrado");
+        Clube visitante = buscarClube(clubes, dto.getVisitanteId(), "Clube visitante não encontrado");
+
+        Partida partida = new Partida(null, mandante, visitante, dto.getGolsMandante(), dto.getGolsVisitante(), dto.getDataHora());
+        partida.setEstadio(buscarEstadio(estadios, dto.getEstadio()));
+        partida.setResultado(dto.getResultado());
+
+        validadorPartida.validarRegras(partida);
+        return partida;
+    }
+
+    private Clube buscarClube(Map<Long, Clube> clubes, Long id, String erro) {
+        Clube clube = clubes.get(id);
+        if (clube == null) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, erro);
+        }
+        return clube;
+    }
+
+    private Estadio buscarEstadio(Map<String, Estadio> estadios, String nome) {
+        Estadio estadio = estadios.get(nome);
+        if (estadio == null) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, ValidadorPartida.ESTADIO_NAO_ENCONTRADO + nome);
+        }
+        return estadio;
+    }
+
+    private List<ItemLote> varrerConflitos(List<ItemLote> itens, List<ErroLoteDTO> erros) {
+        if (itens.isEmpty()) return itens;
+
+        itens.sort(Comparator.comparing((ItemLote item) -> item.partida().getDataHora())
+                .thenComparingLong(ItemLote::indice));
+
+        Set<OcupacaoEstadio> estadiosOcupados = buscarOcupacoesExistentes(itens);
+        Set<Confronto> confrontos = new HashSet<>();
+        Map<Long, LocalDateTime> ultimaPartidaDoClube = new HashMap<>();
+        List<ItemLote> aceitos = new ArrayList<>(itens.size());
+
+        for (ItemLote item : itens) {
+            Partida partida = item.partida();
+            OcupacaoEstadio ocupacao = new OcupacaoEstadio(partida.getEstadio().getId(), partida.getDataHora());
+
+            if (isDuplicada(partida, confrontos)) {
+                erros.add(new ErroLoteDTO(item.indice(), ValidadorPartida.PARTIDA_DUPLICADA));
+            } else if (possuiConflitoDeHorario(partida, ultimaPartidaDoClube)) {
+                erros.add(new ErroLoteDTO(item.indice(), ValidadorPartida.CONFLITO_HORARIO));
+            } else if (!estadiosOcupados.add(ocupacao)) {
+                erros.add(new ErroLoteDTO(item.indice(), ValidadorPartida.ESTADIO_OCUPADO));
+            } else {
+                ultimaPartidaDoClube.put(partida.getMandante().getId(), partida.getDataHora());
+                ultimaPartidaDoClube.put(partida.getVisitante().getId(), partida.getDataHora());
+                aceitos.add(item);
+            }
+        }
+        return aceitos;
+    }
+
+    private boolean isDuplicada(Partida partida, Set<Confronto> confrontos) {
+        Long mandanteId = partida.getMandante().getId();
+        Long visitanteId = partida.getVisitante().getId();
+        return !confrontos.add(new Confronto(mandanteId, visitanteId, partida.getDataHora())) ||
+               agendaClubes.possuiPartidaEntre(mandanteId, visitanteId, partida.getDataHora());
+    }
+
+    private boolean possuiConflitoDeHorario(Partida partida, Map<Long, LocalDateTime> ultimaPartidaDoClube) {
+        return possuiConflitoDeHorario(partida.getMandante().getId(), partida.getDataHora(), ultimaPartidaDoClube) ||
+               possuiConflitoDeHorario(partida.getVisitante().getId(), partida.getDataHora(), ultimaPartidaDoClube);
+    }
+
+    private boolean possuiConflitoDeHorario(Long clubeId, LocalDateTime dataHora, Map<Long, LocalDateTime> ultimaPartidaDoClube) {
+        LocalDateTime ultima = ultimaPartidaDoClube.get(clubeId);
+        if (ultima != null && !ultima.plusHours(ValidadorPartida.INTERVALO_MINIMO_HORAS).isBefore(dataHora)) {
+            return true;
+        }
+        return agendaClubes.possuiConflito(clubeId,
+                dataHora.minusHours(ValidadorPartida.INTERVALO_MINIMO_HORAS),
+                dataHora.plusHours(ValidadorPartida.INTERVALO_MINIMO_HORAS),
+                null);
+    }
+
+    /**
+     * Os itens chegam ordenados por horário, então cada bloco consulta um intervalo curto de horários.
+     */
+    private Set<OcupacaoEstadio> buscarOcupacoesExistentes(List<ItemLote> itens) {
+        Set<OcupacaoEstadio> ocupacoes = new HashSet<>();
+        for (int inicio = 0; inicio < itens.size(); inicio += TAMANHO_BLOCO_CONSULTA) {
+            Set<Long> estadioIds = new HashSet<>();
+            Set<LocalDateTime> horarios = new HashSet<>();
+            for (ItemLote item : itens.subList(inicio, Math.min(inicio + TAMANHO_BLOCO_CONSULTA, itens.size()))) {
+                estadioIds.add(item.partida().getEstadio().getId());
+                horarios.add(item.partida().getDataHora());
+            }
+            partidaRepository.findOcupacoesDeEstadios(estadioIds, horarios)
+                    .forEach(o -> ocupacoes.add(new OcupacaoEstadio(o.getEstadioId(), o.getDataHora())));
+        }
+        return ocupacoes;
+    }
+
+    private void gravar(List<ItemLote> aceitos) {
+        if (aceitos.isEmpty()) return;
+
+        List<Partida> partidas = aceitos.stream().map(ItemLote::partida).collect(Collectors.toList());
+        List<Long> ids = partidaJdbcRepository.inserirEmLote(partidas);
+        retrospectoClubes.registrarLote(partidas);
+        alteracoesClubes.registrarLote(partidas);
+        agendaClubes.registrarLote(ids, partidas);
+    }
+
+    public record ItemLote(long indice, Partida partida) {
+    }
+
+    private record Confronto(Long mandanteId, Long visitanteId, LocalDateTime dataHora) {
+    }
+
+    private record OcupacaoEstadio(Long estadioId, LocalDateTime dataHora) {
+    }
+}
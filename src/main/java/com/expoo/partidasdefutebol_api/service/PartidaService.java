@@ -1,33 +1,59 @@
 package com.expoo.partidasdefutebol_api.service;
 
+import com.expoo.partidasdefutebol_api.dto.FiltroPartidasDTO;
+import com.expoo.partidasdefutebol_api.dto.PaginaPartidasDTO;
 import com.expoo.partidasdefutebol_api.dto.PartidaDTO;
+import com.expoo.partidasdefutebol_api.dto.RankingDTO;
 import com.expoo.partidasdefutebol_api.dto.RetroDTO;
+import com.expoo.partidasdefutebol_api.enums.CriterioRanking;
+import com.expoo.partidasdefutebol_api.enums.ResultadoPartida;
+import com.expoo.partidasdefutebol_api.enums.TipoCampo;
 import com.expoo.partidasdefutebol_api.model.Clube;
+import com.expoo.partidasdefutebol_api.model.Estadio;
 import com.expoo.partidasdefutebol_api.model.Partida;
-import com.expoo.partidasdefutebol_api.repository.ClubeRepository;
+import com.expoo.partidasdefutebol_api.repository.EspecificacaoPartidas;
+import com.expoo.partidasdefutebol_api.repository.EstadioRepository;
 import com.expoo.partidasdefutebol_api.repository.PartidaRepository;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.domain.Page;
-import org.springframework.data.domain.PageImpl;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
 import org.springframework.http.HttpStatus;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 import org.springframework.web.server.ResponseStatusException;
 import java.time.LocalDateTime;
 import java.util.*;
+import java.util.function.Function;
 import java.util.stream.Collectors;
 
 @Service
 public class PartidaService {
 
+    private static final int TAMANHO_MAXIMO_PAGINA = 2000;
+    private static final Sort ORDEM_CURSOR = Sort.by(Sort.Direction.DESC, "dataHora", "id");
+
     private final PartidaRepository partidaRepository;
-    private final ClubeRepository clubeRepository;
+    private final ClubesEmCache clubesEmCache;
+    private final EstadioRepository estadioRepository;
+    private final AgendaClubes agendaClubes;
+    private final RetrospectoClubes retrospectoClubes;
+    private final AlteracoesClubes alteracoesClubes;
+    private final ValidadorPartida validadorPartida;
 
     @Autowired
-    public PartidaService(PartidaRepository partidaRepository, ClubeRepository clubeRepository) {
+    public PartidaService(PartidaRepository partidaRepository, ClubesEmCache clubesEmCache,
+                         EstadioRepository estadioRepository, AgendaClubes agendaClubes,
+                         RetrospectoClubes retrospectoClubes, AlteracoesClubes alteracoesClubes,
+                         ValidadorPartida validadorPartida) {
         this.partidaRepository = partidaRepository;
-        this.clubeRepository = clubeRepository;
+        this.clubesEmCache = clubesEmCache;
+        this.estadioRepository = estadioRepository;
+        this.agendaClubes = agendaClubes;
+        this.retrospectoClubes = retrospectoClubes;
+        this.alteracoesClubes = alteracoesClubes;
+        this.validadorPartida = validadorPartida;
     }
 
     @Transactional
@@ -36,7 +62,7 @@ public class PartidaService {
         Clube visitante = buscarClubePorId(dto.getVisitanteId(), "Clube visitante não encontrado");
     
         Partida partida = new Partida(null, mandante, visitante, dto.getGolsMandante(), dto.getGolsVisitante(), dto.getDataHora());
-        partida.setEstadio(dto.getEstadio());
+        partida.setEstadio(buscarEstadioPorNome(dto.getEstadio()));
     
         try {
             partida.setResultado(dto.getResultado());
@@ -45,122 +71,173 @@ public class PartidaService {
         }
     
         validar(partida, null);
-        return partidaRepository.save(partida);
+        Partida salva = partidaRepository.save(partida);
+        retrospectoClubes.registrar(salva);
+        alteracoesClubes.registrar(salva);
+        agendaClubes.registrar(salva.getId(), mandante.getId(), visitante.getId(), salva.getDataHora());
+        return salva;
     }
     
 
     @Transactional
     public Partida atualizar(Long id, PartidaDTO dto) {
-        Partida partida = buscarPartidaPorId(id);
+        Partida partida = buscarPartidaCompleta(id);
+        LocalDateTime dataHoraAnterior = partida.getDataHora();
+        int golsMandanteAnterior = partida.getGolsMandante();
+        int golsVisitanteAnterior = partida.getGolsVisitante();
         partida.setGolsMandante(dto.getGolsMandante());
         partida.setGolsVisitante(dto.getGolsVisitante());
         partida.setResultado(dto.getResultado());
-        partida.setEstadio(dto.getEstadio());
+        partida.setEstadio(buscarEstadioPorNome(dto.getEstadio()));
         partida.setDataHora(dto.getDataHora());
 
         validar(partida, id);
-        return partidaRepository.save(partida);
+        Partida salva = partidaRepository.save(partida);
+        retrospectoClubes.atualizar(salva, golsMandanteAnterior, golsVisitanteAnterior);
+        alteracoesClubes.registrar(salva);
+        agendaClubes.reagendar(id, partida.getMandante().getId(), partida.getVisitante().getId(),
+                dataHoraAnterior, salva.getDataHora());
+        return salva;
     }
 
     @Transactional
     public void remover(Long id) {
         Partida partida = buscarPartidaPorId(id);
         partidaRepository.delete(partida);
+        retrospectoClubes.remover(partida);
+        alteracoesClubes.registrar(partida);
+        agendaClubes.remover(id, partida.getMandante().getId(), partida.getVisitante().getId(), partida.getDataHora());
     }
 
     @Transactional(readOnly = true)
     public Partida buscar(Long id) {
-        return buscarPartidaPorId(id);
+        return buscarPartidaCompleta(id);
     }
 
     @Transactional(readOnly = true)
-    public Page<Partida> listar(Long clubeId, String estadio, Boolean goleadas, Pageable pageable) {
-        Page<Partida> partidas = filtroBasico(clubeId, estadio, pageable);
-
-        if (Boolean.TRUE.equals(goleadas)) {
-            List<Partida> filtradas = partidas.stream()
-                    .filter(p -> Math.abs(p.getGolsMandante() - p.getGolsVisitante()) >= 3)
-                    .collect(Collectors.toList());
-            return new PageImpl<>(filtradas, pageable, filtradas.size());
+    public Page<PartidaDTO> listar(FiltroPartidasDTO filtro, Pageable pageable) {
+        ResultadoPartida resultado = validarFiltro(filtro);
+        List<Long> estadioIds = buscarEstadiosDoFiltro(filtro);
+        if (estadioIds != null && estadioIds.isEmpty()) {
+            return Page.empty(pageable);
         }
 
-        return partidas;
+        return partidaRepository.listarResumos(especificar(filtro, TipoCampo.fromNullable(filtro.getMandante()), resultado, estadioIds)
+                .construir(), pageable);
     }
 
-    private Page<Partida> filtroBasico(Long clubeId, String estadio, Pageable pageable) {
-        if (clubeId != null && estadio != null && !estadio.isEmpty()) {
-            return partidaRepository.buscarPorClubeEEstadio(clubeId, estadio, pageable);
-        } else if (clubeId != null) {
-            return partidaRepository.findByMandanteIdOrVisitanteId(clubeId, clubeId, pageable);
-        } else if (estadio != null && !estadio.isEmpty()) {
-            return partidaRepository.findByEstadioContainingIgnoreCase(estadio, pageable);
+    /**
+     * Listagem com os filtros de {@link #listar}, percorrida por cursor em vez de número de
+     * página: cada página custa o mesmo que a primeira e não há contagem do total. Busca uma
+     * partida a mais para saber se existe próxima página.
+     */
+    @Transactional(readOnly = true)
+    public PaginaPartidasDTO listarPorCursor(FiltroPartidasDTO filtro, String cursor, int tamanho) {
+        if (tamanho < 1 || tamanho > TAMANHO_MAXIMO_PAGINA) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "size deve estar entre 1 e " + TAMANHO_MAXIMO_PAGINA);
+        }
+        CursorPartida posicao = CursorPartida.decodificar(cursor);
+        ResultadoPartida resultado = validarFiltro(filtro);
+        List<Long> estadioIds = buscarEstadiosDoFiltro(filtro);
+        if (estadioIds != null && estadioIds.isEmpty()) {
+            return new PaginaPartidasDTO(new ArrayList<>(), null);
+        }
+
+        Limit limite = Limit.of(tamanho + 1);
+        Function<TipoCampo, List<PartidaDTO>> aposCursor = lado -> partidaRepository.listarResumos(
+                especificar(filtro, lado, resultado, estadioIds).antesDe(posicao.dataHora(), posicao.id()).construir(),
+                ORDEM_CURSOR, limite);
+        TipoCampo lado = TipoCampo.fromNullable(filtro.getMandante());
+        List<PartidaDTO> partidas;
+        if (filtro.getClubeId() != null && lado == TipoCampo.TODOS) {
+            // Uma consulta por mando, cada uma pelo seu índice, intercaladas na ordem do cursor.
+            partidas = intercalar(aposCursor.apply(TipoCampo.MANDANTE), aposCursor.apply(TipoCampo.VISITANTE), limite.max());
         } else {
-            return partidaRepository.findAll(pageable);
+            partidas = aposCursor.apply(lado);
         }
-    }
 
-    private void validar(Partida partida, Long id) {
-        validarClubesDiferentes(partida);
-        validarResultado(partida);
-        validarDataHora(partida);
-        validarClubesAtivos(partida);
-        validarConflitosHorario(partida, id);
-        validarDisponibilidadeEstadio(partida, id);
+        if (partidas.size() <= tamanho) {
+            return new PaginaPartidasDTO(partidas, null);
+        }
+        List<PartidaDTO> pagina = new ArrayList<>(partidas.subList(0, tamanho));
+        return new PaginaPartidasDTO(pagina, CursorPartida.depoisDe(pagina.get(tamanho - 1)).codificar());
     }
 
-    private void validarClubesDiferentes(Partida partida) {
-        if (partida.getMandante().equals(partida.getVisitante())) {
-            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "Os clubes não podem ser iguais");
+    private static ResultadoPartida validarFiltro(FiltroPartidasDTO filtro) {
+        if (filtro.getClubeId() == null
+                && (filtro.getAdversarioId() != null || filtro.getMandante() != null || filtro.getResultado() != null)) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "clubeId é obrigatório para filtrar por adversário, mando ou resultado");
+        }
+        if (filtro.getDataInicio() != null && filtro.getDataFim() != null && filtro.getDataInicio().isAfter(filtro.getDataFim())) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "dataInicio deve ser anterior a dataFim");
         }
+        if (filtro.getResultado() == null) return null;
+        return ResultadoPartida.fromNome(filtro.getResultado())
+                .orElseThrow(() -> new ResponseStatusException(HttpStatus.BAD_REQUEST, "Resultado inválido: " + filtro.getResultado()));
     }
 
-    private void validarResultado(Partida partida) {
-        if (partida.getGolsMandante() < 0 || partida.getGolsVisitante() < 0) {
-            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "Número de gols não pode ser negativo");
-        }
+    /**
+     * IDs dos estádios cujo nome contém o filtro; {@code null} quando não há filtro de estádio.
+     */
+    private List<Long> buscarEstadiosDoFiltro(FiltroPartidasDTO filtro) {
+        if (filtro.getEstadio() == null || filtro.getEstadio().isEmpty()) return null;
+        return estadioRepository.buscarIdsPorNome(filtro.getEstadio());
     }
 
-    private void validarDataHora(Partida partida) {
-        if (partida.getDataHora().isAfter(LocalDateTime.now())) {
-            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "Data e hora não podem estar no futuro");
-        }
+    private static EspecificacaoPartidas especificar(FiltroPartidasDTO filtro, TipoCampo lado, ResultadoPartida resultado,
+                                                     List<Long> estadioIds) {
+        return new EspecificacaoPartidas()
+                .doClube(filtro.getClubeId(), filtro.getAdversarioId(), lado, resultado)
+                .nosEstadios(estadioIds)
+                .aPartirDe(filtro.getDataInicio())
+                .ate(filtro.getDataFim())
+                .comMargemMinima(margemMinima(filtro.getGoleadas()));
+    }
 
-        if (partida.getDataHora().isBefore(partida.getMandante().getDataCriacao().atStartOfDay()) ||
-                partida.getDataHora().isBefore(partida.getVisitante().getDataCriacao().atStartOfDay())) {
-            throw new ResponseStatusException(HttpStatus.CONFLICT, "Data da partida é anterior à criação de um dos clubes");
+    private static List<PartidaDTO> intercalar(List<PartidaDTO> primeiras, List<PartidaDTO> segundas, int maximo) {
+        Comparator<PartidaDTO> ordem = Comparator.comparing(PartidaDTO::getDataHora).thenComparing(PartidaDTO::getId).reversed();
+        List<PartidaDTO> partidas = new ArrayList<>(Math.min(maximo, primeiras.size() + segundas.size()));
+        int i = 0;
+        int j = 0;
+        while (partidas.size() < maximo && (i < primeiras.size() || j < segundas.size())) {
+            if (j == segundas.size() || (i < primeiras.size() && ordem.compare(primeiras.get(i), segundas.get(j)) <= 0)) {
+                partidas.add(primeiras.get(i++));
+            } else {
+                partidas.add(segundas.get(j++));
+            }
         }
+        return partidas;
     }
 
-    private void validarClubesAtivos(Partida partida) {
-        if (!partida.getMandante().isAtivo() || !partida.getVisitante().isAtivo()) {
-            throw new ResponseStatusException(HttpStatus.CONFLICT, "Um dos clubes está inativo");
-        }
+    private static int margemMinima(Boolean goleadas) {
+        return Boolean.TRUE.equals(goleadas) ? Partida.MARGEM_GOLEADA : 0;
     }
 
-    private void validarConflitosHorario(Partida partida, Long id) {
-        LocalDateTime inicio = partida.getDataHora().minusHours(48);
-        LocalDateTime fim = partida.getDataHora().plusHours(48);
+    private void validar(Partida partida, Long id) {
+        validadorPartida.validarRegras(partida);
+        validarConflitosHorario(partida, id);
+        validarDisponibilidadeEstadio(partida, id);
+    }
 
-        List<Partida> proximas = partidaRepository.findConflitosDeHorario(
-                partida.getMandante(), partida.getVisitante(), inicio, fim);
+    private void validarConflitosHorario(Partida partida, Long id) {
+        LocalDateTime inicio = partida.getDataHora().minusHours(ValidadorPartida.INTERVALO_MINIMO_HORAS);
+        LocalDateTime fim = partida.getDataHora().plusHours(ValidadorPartida.INTERVALO_MINIMO_HORAS);
 
-        if (id != null) {
-            proximas = proximas.stream().filter(p -> !p.getId().equals(id)).collect(Collectors.toList());
-        }
+        boolean conflito = agendaClubes.possuiConflito(partida.getMandante().getId(), inicio, fim, id) ||
+                agendaClubes.possuiConflito(partida.getVisitante().getId(), inicio, fim, id);
 
-        if (!proximas.isEmpty()) {
-            throw new ResponseStatusException(HttpStatus.CONFLICT, "Um dos clubes já possui partida próxima a essa data e hora");
+        if (conflito) {
+            throw new ResponseStatusException(HttpStatus.CONFLICT, ValidadorPartida.CONFLITO_HORARIO);
         }
     }
 
     private void validarDisponibilidadeEstadio(Partida partida, Long id) {
-        boolean conflito = partidaRepository.findAll().stream()
-                .anyMatch(p -> p.getEstadio().equals(partida.getEstadio()) &&
-                        p.getDataHora().equals(partida.getDataHora()) &&
-                        (id == null || !p.getId().equals(id)));
+        boolean conflito = (id == null)
+                ? partidaRepository.existsByEstadioIdAndDataHora(partida.getEstadio().getId(), partida.getDataHora())
+                : partidaRepository.existsByEstadioIdAndDataHoraAndIdNot(partida.getEstadio().getId(), partida.getDataHora(), id);
 
         if (conflito) {
-            throw new ResponseStatusException(HttpStatus.CONFLICT, "Estádio já ocupado neste horário");
+            throw new ResponseStatusException(HttpStatus.CONFLICT, ValidadorPartida.ESTADIO_OCUPADO);
         }
     }
 
@@ -169,23 +246,33 @@ public class PartidaService {
                 .orElseThrow(() -> new ResponseStatusException(HttpStatus.NOT_FOUND, "Partida não encontrada"));
     }
 
+    private Partida buscarPartidaCompleta(Long id) {
+        return partidaRepository.buscarCompleta(id)
+                .orElseThrow(() -> new ResponseStatusException(HttpStatus.NOT_FOUND, "Partida não encontrada"));
+    }
+
     private Clube buscarClubePorId(Long id, String erro) {
-        return clubeRepository.findById(id)
+        return clubesEmCache.buscar(id)
                 .orElseThrow(() -> new ResponseStatusException(HttpStatus.BAD_REQUEST, erro));
     }
 
+    private Estadio buscarEstadioPorNome(String nome) {
+        return estadioRepository.findByNome(nome)
+                .orElseThrow(() -> new ResponseStatusException(HttpStatus.BAD_REQUEST, ValidadorPartida.ESTADIO_NAO_ENCONTRADO + nome));
+    }
+
     @Transactional(readOnly = true)
     public Map<String, Object> getConfrontoDireto(Long clube1Id, Long clube2Id) {
         Clube clube1 = buscarClubePorId(clube1Id, "Clube 1 não encontrado");
         Clube clube2 = buscarClubePorId(clube2Id, "Clube 2 não encontrado");
 
-        List<Partida> partidas = partidaRepository.findConfrontosDiretos(clube1Id, clube2Id);
+        List<PartidaDTO> partidas = partidaRepository.findConfrontosDiretos(clube1Id, clube2Id);
 
         Map<String, RetroDTO> retroMap = new HashMap<>();
         retroMap.put(clube1.getNome(), new RetroDTO(clube1.getNome(), 0, 0, 0, 0, 0));
         retroMap.put(clube2.getNome(), new RetroDTO(clube2.getNome(), 0, 0, 0, 0, 0));
 
-        for (Partida partida : partidas) {
+        for (PartidaDTO partida : partidas) {
             atualizarRetro(partida, clube1, clube2, retroMap);
         }
 
@@ -199,10 +286,10 @@ public class PartidaService {
         return resultado;
     }
 
-    private void atualizarRetro(Partida p, Clube c1, Clube c2, Map<String, RetroDTO> map) {
-        if (p.getMandante().getId().equals(c1.getId())) {
+    private void atualizarRetro(PartidaDTO p, Clube c1, Clube c2, Map<String, RetroDTO> map) {
+        if (p.getMandanteId().equals(c1.getId())) {
             atualizarRetroMandante(map.get(c1.getNome()), map.get(c2.getNome()), p.getGolsMandante(), p.getGolsVisitante());
-        } else if (p.getMandante().getId().equals(c2.getId())) {
+        } else if (p.getMandanteId().equals(c2.getId())) {
             atualizarRetroMandante(map.get(c2.getNome()), map.get(c1.getNome()), p.getGolsMandante(), p.getGolsVisitante());
         }
     }
@@ -226,62 +313,36 @@ public class PartidaService {
     }
 
     @Transactional(readOnly = true)
-    public List<Map<String, Object>> getRanking(String criterio, Boolean goleadas, String tipo) {
-        List<Partida> partidas = partidaRepository.findAll();
-
-        if (Boolean.TRUE.equals(goleadas)) {
-            partidas = partidas.stream()
-                    .filter(p -> Math.abs(p.getGolsMandante() - p.getGolsVisitante()) >= 3)
-                    .collect(Collectors.toList());
+    public List<RankingDTO> getRanking(String criterio, Boolean goleadas, String tipo, int offset, Integer limit) {
+        if (offset < 0 || (limit != null && limit < 0)) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "offset e limit não podem ser negativos");
         }
-
-        Map<Long, RetroDTO> ranking = new HashMap<>();
-
-        for (Partida p : partidas) {
-            if (tipo == null || tipo.equalsIgnoreCase("mandante")) {
-                atualizarRanking(ranking, p.getMandante(), p.getGolsMandante(), p.getGolsVisitante());
-            }
-            if (tipo == null || tipo.equalsIgnoreCase("visitante")) {
-                atualizarRanking(ranking, p.getVisitante(), p.getGolsVisitante(), p.getGolsMandante());
-            }
+        Optional<CriterioRanking> criterioRanking = CriterioRanking.fromNome(criterio);
+        if (criterioRanking.isEmpty()) return new ArrayList<>();
+
+        boolean apenasGoleadas = Boolean.TRUE.equals(goleadas);
+        boolean contarMandante = tipo == null || tipo.equalsIgnoreCase("mandante");
+        boolean contarVisitante = tipo == null || tipo.equalsIgnoreCase("visitante");
+        if (!contarMandante && !contarVisitante) return new ArrayList<>();
+
+        RankingClubes ranking = new RankingClubes(apenasGoleadas, contarMandante, contarVisitante);
+        for (PartidaRepository.TotaisClube totais : partidaRepository.somarPorClube(margemMinima(goleadas), contarMandante, contarVisitante)) {
+            ranking.registrarTotais(totais.getClubeId(), totais.getVitorias(), totais.getEmpates(), totais.getDerrotas(),
+                    totais.getGolsFeitos(), totais.getGolsSofridos());
         }
 
-        return ranking.entrySet().stream()
-                .map(entry -> {
-                    Map<String, Object> map = new HashMap<>();
-                    RetroDTO retro = entry.getValue();
-                    map.put("clubeId", entry.getKey());
-                    map.put("clube", retro.getNome());
-                    map.put("jogos", retro.getTotalJogos());
-                    map.put("vitorias", retro.getVitorias());
-                    map.put("gols", retro.getGolsFeitos());
-                    map.put("pontos", retro.getPontos());
-                    map.put("saldoGols", retro.getSaldoGols());
-                    return map;
-                })
-                .filter(m -> switch (criterio.toLowerCase()) {
-                    case "jogos", "vitorias", "gols", "pontos", "saldoGols" -> (int) m.get(criterio.toLowerCase()) > 0;
-                    default -> false;
-                })
-                .sorted(Comparator.comparingInt(m -> -((int) m.get(criterio.toLowerCase()))))
-                .collect(Collectors.toList());
+        List<RankingDTO> classificacao = ranking.classificar(criterioRanking.get(), offset,
+                limit != null ? limit : RankingClubes.SEM_LIMITE);
+        preencherNomes(classificacao);
+        return classificacao;
     }
 
-    private void atualizarRanking(Map<Long, RetroDTO> ranking, Clube clube, int golsFeitos, int golsSofridos) {
-        Long id = clube.getId();
-        RetroDTO retro = ranking.getOrDefault(id, new RetroDTO(clube.getNome(), 0, 0, 0, 0, 0));
-
-        retro.setGolsFeitos(retro.getGolsFeitos() + golsFeitos);
-        retro.setGolsSofridos(retro.getGolsSofridos() + golsSofridos);
-
-        if (golsFeitos > golsSofridos) {
-            retro.setVitorias(retro.getVitorias() + 1);
-        } else if (golsFeitos < golsSofridos) {
-            retro.setDerrotas(retro.getDerrotas() + 1);
-        } else {
-            retro.setEmpates(retro.getEmpates() + 1);
-        }
-
-        ranking.put(id, retro);
+    private void preencherNomes(List<RankingDTO> classificacao) {
+        if (classificacao.isEmpty()) return;
+        Map<Long, Clube> clubes = clubesEmCache.buscarTodos(classificacao.stream().map(RankingDTO::getClubeId).toList());
+        classificacao.forEach(linha -> {
+            Clube clube = clubes.get(linha.getClubeId());
+            linha.setClube(clube != null ? clube.getNome() : null);
+        });
     }
 } 
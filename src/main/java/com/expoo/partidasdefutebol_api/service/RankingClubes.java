@@ -0,0 +1,233 @@
+package com.expoo.partidasdefutebol_api.service;
+
+import com.expoo.partidasdefutebol_api.dto.RankingDTO;
+import com.expoo.partidasdefutebol_api.enums.CriterioRanking;
+import com.expoo.partidasdefutebol_api.model.Partida;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Acumula o ranking em vetores de primitivos, com cada clube em uma posição densa atribuída
+ * na primeira partida em que aparece. IDs pequenos, o caso comum com auto incremento, vão direto
+ * para a posição por um vetor; os demais passam por uma tabela de espalhamento. A classificação escolhe só as posições pedidas com um
+ * heap de tamanho {@code offset + limite}, sem ordenar todos os clubes.
+ * Empates no critério ficam com o menor ID de clube primeiro.
+ */
+public final class RankingClubes {
+
+    public static final int SEM_LIMITE = Integer.MAX_VALUE;
+
+    private static final int CAPACIDADE_INICIAL = 64;
+    private static final int LIMITE_DIRETO = 1 << 16;
+
+    private final boolean apenasGoleadas;
+    private final boolean contarMandante;
+    private final boolean contarVisitante;
+
+    private long[] ids = new long[CAPACIDADE_INICIAL];
+    private int[] vitorias = new int[CAPACIDADE_INICIAL];
+    private int[] empates = new int[CAPACIDADE_INICIAL];
+    private int[] derrotas = new int[CAPACIDADE_INICIAL];
+    private int[] golsFeitos = new int[CAPACIDADE_INICIAL];
+    private int[] golsSofridos = new int[CAPACIDADE_INICIAL];
+    private int total;
+    private int ocupadosTabela;
+
+    private long[] tabelaIds = new long[CAPACIDADE_INICIAL * 2];
+    private int[] tabelaPosicoes = new int[CAPACIDADE_INICIAL * 2];
+    private int[] posicoesDiretas = new int[CAPACIDADE_INICIAL];
+
+    public RankingClubes(boolean apenasGoleadas, boolean contarMandante, boolean contarVisitante) {
+        this.apenasGoleadas = apenasGoleadas;
+        this.contarMandante = contarMandante;
+        this.contarVisitante = contarVisitante;
+    }
+
+    public void registrar(long mandanteId, long visitanteId, int golsMandante, int golsVisitante) {
+        if (apenasGoleadas && Math.abs(golsMandante - golsVisitante) < Partida.MARGEM_GOLEADA) return;
+        if (contarMandante) somar(posicao(mandanteId), golsMandante, golsVisitante);
+        if (contarVisitante) somar(posicao(visitanteId), golsVisitante, golsMandante);
+    }
+
+    /**
+     * Soma totais já agregados de um clube, como os que vêm do banco; os filtros não são aplicados aqui.
+     */
+    public void registrarTotais(long clubeId, int vitorias, int empates, int derrotas, int golsFeitos, int golsSofridos) {
+        int i = posicao(clubeId);
+        this.vitorias[i] += vitorias;
+        this.empates[i] += empates;
+        this.derrotas[i] += derrotas;
+        this.golsFeitos[i] += golsFeitos;
+        this.golsSofridos[i] += golsSofridos;
+    }
+
+    /**
+     * Clubes com valor positivo no critério, do maior para o menor, a partir de {@code offset}.
+     * O nome do clube não é preenchido.
+     */
+    public List<RankingDTO> classificar(CriterioRanking criterio, int offset, int limite) {
+        int tamanhoHeap = (int) Math.min((long) offset + limite, total);
+        if (tamanhoHeap <= offset) return new ArrayList<>();
+
+        int[] ordemPorId = ordemPorId();
+        long[] heap = new long[tamanhoHeap];
+        int ocupados = 0;
+        for (int i = 0; i < total; i++) {
+            int valor = valor(criterio, i);
+            if (valor <= 0) continue;
+
+            long chave = ((long) valor << 32) | (Integer.MAX_VALUE - ordemPorId[i]);
+            if (ocupados < tamanhoHeap) {
+                subir(heap, ocupados++, chave);
+            } else if (chave > heap[0]) {
+                descer(heap, ocupados, chave);
+            }
+        }
+
+        Arrays.sort(heap, 0, ocupados);
+        int[] posicaoPorOrdem = inverter(ordemPorId);
+        List<RankingDTO> ranking = new ArrayList<>(Math.max(0, ocupados - offset));
+        for (int h = ocupados - 1 - offset; h >= 0; h--) {
+            int i = posicaoPorOrdem[Integer.MAX_VALUE - (int) heap[h]];
+            ranking.add(new RankingDTO(ids[i], null, vitorias[i] + empates[i] + derrotas[i], vitorias[i],
+                    golsFeitos[i], vitorias[i] * 3 + empates[i], golsFeitos[i] - golsSofridos[i]));
+        }
+        return ranking;
+    }
+
+    private void somar(int i, int feitos, int sofridos) {
+        golsFeitos[i] += feitos;
+        golsSofridos[i] += sofridos;
+        vitorias[i] += feitos > sofridos ? 1 : 0;
+        empates[i] += feitos == sofridos ? 1 : 0;
+        derrotas[i] += feitos < sofridos ? 1 : 0;
+    }
+
+    private int valor(CriterioRanking criterio, int i) {
+        return switch (criterio) {
+            case JOGOS -> vitorias[i] + empates[i] + derrotas[i];
+            case VITORIAS -> vitorias[i];
+            case GOLS -> golsFeitos[i];
+            case PONTOS -> vitorias[i] * 3 + empates[i];
+            case SALDO_GOLS -> golsFeitos[i] - golsSofridos[i];
+        };
+    }
+
+    private int posicao(long id) {
+        if (id >= 0 && id < LIMITE_DIRETO) {
+            if (id >= posicoesDiretas.length) {
+                posicoesDiretas = Arrays.copyOf(posicoesDiretas, Integer.highestOneBit((int) id) << 1);
+            }
+            int posicao = posicoesDiretas[(int) id];
+            if (posicao == 0) {
+                posicao = novaPosicao(id) + 1;
+                posicoesDiretas[(int) id] = posicao;
+            }
+            return posicao - 1;
+        }
+
+        int mascara = tabelaIds.length - 1;
+        int slot = espalhar(id) & mascara;
+        while (tabelaPosicoes[slot] != 0) {
+            if (tabelaIds[slot] == id) return tabelaPosicoes[slot] - 1;
+            slot = (slot + 1) & mascara;
+        }
+
+        int posicao = novaPosicao(id);
+        if ((ocupadosTabela + 1) * 2 > tabelaIds.length) {
+            redistribuir(tabelaIds.length * 2, posicao);
+        } else {
+            tabelaIds[slot] = id;
+            tabelaPosicoes[slot] = posicao + 1;
+            ocupadosTabela++;
+        }
+        return posicao;
+    }
+
+    private int novaPosicao(long id) {
+        if (total == ids.length) crescer();
+        ids[total] = id;
+        return total++;
+    }
+
+    private void crescer() {
+        int capacidade = ids.length * 2;
+        ids = Arrays.copyOf(ids, capacidade);
+        vitorias = Arrays.copyOf(vitorias, capacidade);
+        empates = Arrays.copyOf(empates, capacidade);
+        derrotas = Arrays.copyOf(derrotas, capacidade);
+        golsFeitos = Arrays.copyOf(golsFeitos, capacidade);
+        golsSofridos = Arrays.copyOf(golsSofridos, capacidade);
+    }
+
+    /**
+     * Recria a tabela de espalhamento com todos os clubes que não cabem no vetor direto, já
+     * incluindo o que acabou de receber {@code novaPosicao}.
+     */
+    private void redistribuir(int capacidade, int novaPosicao) {
+        long[] anterioresIds = tabelaIds;
+        int[] anterioresPosicoes = tabelaPosicoes;
+        tabelaIds = new long[capacidade];
+        tabelaPosicoes = new int[capacidade];
+        ocupadosTabela = 0;
+        for (int slot = 0; slot < anterioresIds.length; slot++) {
+            if (anterioresPosicoes[slot] != 0) inserir(anterioresIds[slot], anterioresPosicoes[slot]);
+        }
+        inserir(ids[novaPosicao], novaPosicao + 1);
+    }
+
+    private void inserir(long id, int posicaoMaisUm) {
+        int mascara = tabelaIds.length - 1;
+        int slot = espalhar(id) & mascara;
+        while (tabelaPosicoes[slot] != 0) slot = (slot + 1) & mascara;
+        tabelaIds[slot] = id;
+        tabelaPosicoes[slot] = posicaoMaisUm;
+        ocupadosTabela++;
+    }
+
+    private static int espalhar(long id) {
+        long h = id * 0x9E3779B97F4A7C15L;
+        return (int) (h ^ (h >>> 32));
+    }
+
+    private int[] ordemPorId() {
+        long[] ordenados = Arrays.copyOf(ids, total);
+        Arrays.sort(ordenados);
+        int[] ordem = new int[total];
+        for (int i = 0; i < total; i++) {
+            ordem[i] = Arrays.binarySearch(ordenados, ids[i]);
+        }
+        return ordem;
+    }
+
+    private static int[] inverter(int[] ordem) {
+        int[] inverso = new int[ordem.length];
+        for (int i = 0; i < ordem.length; i++) {
+            inverso[ordem[i]] = i;
+        }
+        return inverso;
+    }
+
+    private static void subir(long[] heap, int i, long chave) {
+        while (i > 0) {
+            int pai = (i - 1) >>> 1;
+            if (heap[pai] <= chave) break;
+            heap[i] = heap[pai];
+            i = pai;
+        }
+        heap[i] = chave;
+    }
+
+    private static void descer(long[] heap, int tamanho, long chave) {
+        int i = 0;
+        int filho;
+        while ((filho = 2 * i + 1) < tamanho) {
+            if (filho + 1 < tamanho && heap[filho + 1] < heap[filho]) filho++;
+            if (chave <= heap[filho]) break;
+            heap[i] = heap[filho];
+            i = filho;
+        }
+        heap[i] = chave;
+    }
+}
@@ -0,0 +1,164 @@
+package com.expoo.partidasdefutebol_api.service;
+
+import com.expoo.partidasdefutebol_api.dto.DivergenciaRetrospectoDTO;
+import com.expoo.partidasdefutebol_api.dto.ReconciliacaoRetrospectoDTO;
+import com.expoo.partidasdefutebol_api.dto.RetroDTO;
+import com.expoo.partidasdefutebol_api.model.ClubeRetrospecto;
+import com.expoo.partidasdefutebol_api.model.Partida;
+import com.expoo.partidasdefutebol_api.repository.ClubeRetrospectoRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
+import java.util.*;
+
+/**
+ * Mantém a tabela clube_retrospecto em dia com as partidas. Cada gravação soma ao retrospecto
+ * do mandante e do visitante só a diferença entre o placar anterior e o novo, na mesma transação.
+ * As linhas são criadas junto com o clube, então aqui só há UPDATE; a reconciliação insere as que faltarem.
+ */
+@Component
+public class RetrospectoClubes {
+
+    private static final Logger log = LoggerFactory.getLogger(RetrospectoClubes.class);
+
+    private final ClubeRetrospectoRepository retrospectoRepository;
+
+    public RetrospectoClubes(ClubeRetrospectoRepository retrospectoRepository) {
+        this.retrospectoRepository = retrospectoRepository;
+    }
+
+    public void registrar(Partida partida) {
+        aplicar(partida, Totais.de(partida.getGolsMandante(), partida.getGolsVisitante()));
+    }
+
+    public void remover(Partida partida) {
+        aplicar(partida, Totais.de(partida.getGolsMandante(), partida.getGolsVisitante()).negar());
+    }
+
+    public void atualizar(Partida partida, int golsMandanteAnterior, int golsVisitanteAnterior) {
+        aplicar(partida, Totais.de(partida.getGolsMandante(), partida.getGolsVisitante())
+                .somar(Totais.de(golsMandanteAnterior, golsVisitanteAnterior).negar()));
+    }
+
+    public void registrarLote(List<Partida> partidas) {
+        Map<ClubeRetrospecto.Chave, Totais> deltas = new HashMap<>();
+        for (Partida partida : partidas) {
+            Totais doMandante = Totais.de(partida.getGolsMandante(), partida.getGolsVisitante());
+            deltas.merge(new ClubeRetrospecto.Chave(partida.getMandante().getId(), true), doMandante, Totais::somar);
+            deltas.merge(new ClubeRetrospecto.Chave(partida.getVisitante().getId(), false), doMandante.inverter(), Totais::somar);
+        }
+        deltas.forEach(this::somar);
+    }
+
+    /**
+     * Confere a tabela com os totais calculados das partidas e devolve as linhas que estavam diferentes.
+     * Só as linhas divergentes recebem a diferença, pelo mesmo UPDATE das gravações, e só as ausentes
+     * são inseridas; linha ausente conta como zerada. Assim uma gravação concorrente não perde a sua
+     * linha nem espera por uma reescrita da tabela inteira.
+     */
+    @Transactional
+    public ReconciliacaoRetrospectoDTO reconciliar() {
+        List<DivergenciaRetrospectoDTO> divergencias = new ArrayList<>();
+        List<ClubeRetrospecto> ausentes = new ArrayList<>();
+        int linhas = 0;
+        for (boolean mandante : new boolean[]{true, false}) {
+            Map<Long, Totais> gravados = new HashMap<>();
+            for (ClubeRetrospectoRepository.TotaisRetrospecto gravado : retrospectoRepository.buscarTotais(mandante)) {
+                gravados.put(gravado.getClubeId(), Totais.de(gravado));
+            }
+            List<ClubeRetrospectoRepository.TotaisRetrospecto> calculados = mandante
+                    ? retrospectoRepository.calcularComoMandante()
+                    : retrospectoRepository.calcularComoVisitante();
+            linhas += calculados.size();
+            for (ClubeRetrospectoRepository.TotaisRetrospecto calculado : calculados) {
+                ClubeRetrospecto.Chave chave = new ClubeRetrospecto.Chave(calculado.getClubeId(), mandante);
+                Totais esperado = Totais.de(calculado);
+                Totais encontrado = gravados.get(calculado.getClubeId());
+                if (encontrado == null) {
+                    ausentes.add(esperado.paraLinha(chave));
+                    encontrado = Totais.ZERO;
+                } else if (!esperado.equals(encontrado)) {
+                    somar(chave, esperado.somar(encontrado.negar()));
+                }
+                if (!esperado.equals(encontrado)) {
+                    divergencias.add(new DivergenciaRetrospectoDTO(chave.getClubeId(), mandante,
+                            esperado.paraRetro(calculado.getNome()), encontrado.paraRetro(calculado.getNome())));
+                }
+            }
+        }
+        retrospectoRepository.saveAllAndFlush(ausentes);
+
+        if (divergencias.isEmpty()) {
+            log.info("Retrospecto de {} linhas conferido sem divergências", linhas);
+        } else {
+            log.warn("Retrospecto corrigido: {} de {} linhas divergiam das partidas: {}",
+                    divergencias.size(), linhas, divergencias);
+        }
+        return new ReconciliacaoRetrospectoDTO(linhas, divergencias);
+    }
+
+    /**
+     * Acerta a tabela com as partidas para quem não precisa do relatório de divergências.
+     */
+    @Transactional
+    public void reconstruir() {
+        reconciliar();
+    }
+
+    private void aplicar(Partida partida, Totais doMandante) {
+        somar(new ClubeRetrospecto.Chave(partida.getMandante().getId(), true), doMandante);
+        somar(new ClubeRetrospecto.Chave(partida.getVisitante().getId(), false), doMandante.inverter());
+    }
+
+    private void somar(ClubeRetrospecto.Chave chave, Totais delta) {
+        if (delta.equals(Totais.ZERO)) return;
+
+        int alteradas = retrospectoRepository.somar(chave.getClubeId(), chave.isMandante(), delta.vitorias(), delta.empates(),
+                delta.derrotas(), delta.golsFeitos(), delta.golsSofridos());
+        if (alteradas == 0) {
+            throw new IllegalStateException("Retrospecto do clube " + chave.getClubeId() + (chave.isMandante() ?
+                    " como mandante" : " como visitante") + " não existe; a reconciliação recria as linhas ausentes");
+        }
+    }
+
+    private record Totais(int vitorias, int empates, int derrotas, int golsFeitos, int golsSofridos) {
+
+        static final Totais ZERO = new Totais(0, 0, 0, 0, 0);
+
+        static Totais de(int golsFeitos, int golsSofridos) {
+            return new Totais(golsFeitos > golsSofridos ? 1 : 0, golsFeitos == golsSofridos ? 1 : 0,
+                    golsFeitos < golsSofridos ? 1 : 0, golsFeitos, golsSofridos);
+        }
+
+        static Totais de(ClubeRetrospectoRepository.TotaisRetrospecto totais) {
+            return new Totais(totais.getVitorias(), totais.getEmpates(), totais.getDerrotas(),
+                    totais.getGolsFeitos(), totais.getGolsSofridos());
+        }
+
+        Totais somar(Totais outro) {
+            return new Totais(vitorias + outro.vitorias, empates + outro.empates, derrotas + outro.derrotas,
+                    golsFeitos + outro.golsFeitos, golsSofridos + outro.golsSofridos);
+        }
+
+        Totais negar() {
+            return new Totais(-vitorias, -empates, -derrotas, -golsFeitos, -golsSofridos);
+        }
+
+        /**
+         * O mesmo placar visto pelo adversário.
+         */
+        Totais inverter() {
+            return new Totais(derrotas, empates, vitorias, golsSofridos, golsFeitos);
+        }
+
+        ClubeRetrospecto paraLinha(ClubeRetrospecto.Chave chave) {
+            return new ClubeRetrospecto(chave.getClubeId(), chave.isMandante(), vitorias, empates, derrotas,
+                    golsFeitos, golsSofridos);
+        }
+
+        RetroDTO paraRetro(String nome) {
+            return new RetroDTO(nome, vitorias, empates, derrotas, golsFeitos, golsSofridos);
+        }
+    }
+}
@@ -0,0 +1,196 @@
+package com.expoo.partidasdefutebol_api.service;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.context.annotation.Profile;
+import org.springframework.jdbc.core.BatchPreparedStatementSetter;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+import java.sql.Date;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.stream.IntStream;
+
+/**
+ * Gera, no perfil {@code seed}, uma massa de clubes, estádios e partidas a partir de uma semente
+ * fixa; a mesma configuração produz sempre os mesmos dados. As partidas saem em rodadas a cada
+ * {@value #HORAS_ENTRE_RODADAS} horas, com cada clube jogando no máximo uma vez por rodada em um
+ * de {@value #HORARIOS_POR_RODADA} horários, então duas partidas do mesmo clube ficam pelo menos
+ * 49 horas uma da outra. Cada estádio recebe uma partida por horário e todos os clubes são fundados
+ * antes da primeira rodada. Só semeia um banco sem clubes nem partidas.
+ */
+@Component
+@Profile("seed")
+public class SemeadorDados implements ApplicationRunner {
+
+    private static final Logger log = LoggerFactory.getLogger(SemeadorDados.class);
+
+    private static final int TAMANHO_LOTE = 5_000;
+    private static final int HORAS_ENTRE_RODADAS = 72;
+    private static final int HORARIOS_POR_RODADA = 24;
+    private static final LocalDateTime PRIMEIRA_RODADA = LocalDateTime.of(1950, 1, 1, 0, 0);
+    private static final LocalDate PRIMEIRA_FUNDACAO = LocalDate.of(1850, 1, 1);
+    private static final String[] ESTADOS = {"AC", "AL", "AM", "AP", "BA", "CE", "DF", "ES", "GO", "MA", "MG", "MS", "MT",
+            "PA", "PB", "PE", "PI", "PR", "RJ", "RN", "RO", "RR", "RS", "SC", "SE", "SP", "TO"};
+
+    private static final String INSERIR_PARTIDA = """
+        INSERT INTO partidas (clube_mandante_id, clube_visitante_id, estadio_id, data_hora, gols_mandante, gols_visitante)
+        VALUES (?, ?, ?, ?, ?, ?)
+    """;
+
+    private final JdbcTemplate jdbcTemplate;
+    private final RetrospectoClubes retrospectoClubes;
+    private final int clubes;
+    private final int estadios;
+    private final long partidas;
+    private final long semente;
+
+    public SemeadorDados(JdbcTemplate jdbcTemplate, RetrospectoClubes retrospectoClubes,
+                         @Value("${semeadura.clubes}") int clubes,
+                         @Value("${semeadura.estadios}") int estadios,
+                         @Value("${semeadura.partidas}") long partidas,
+                         @Value("${semeadura.semente}") long semente) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.retrospectoClubes = retrospectoClubes;
+        this.clubes = clubes;
+        this.estadios = estadios;
+        this.partidas = partidas;
+        this.semente = semente;
+    }
+
+    @Override
+    public void run(ApplicationArguments args) {
+        Long existentes = jdbcTemplate.queryForObject(
+                "SELECT (SELECT COUNT(*) FROM clube) + (SELECT COUNT(*) FROM partidas)", Long.class);
+        if (existentes != null && existentes > 0) {
+            log.warn("Banco já possui clubes ou partidas; semeadura ignorada");
+            return;
+        }
+        semear();
+    }
+
+    public void semear() {
+        if (clubes < 2 || estadios < 1 || partidas < 0) {
+            throw new IllegalStateException("A semeadura precisa de pelo menos 2 clubes e 1 estádio");
+        }
+        int porRodada = (int) Math.min(clubes / 2, (long) estadios * HORARIOS_POR_RODADA);
+        long rodadas = (partidas + porRodada - 1) / porRodada;
+        LocalDateTime ultima = PRIMEIRA_RODADA.plusHours((rodadas - 1) * HORAS_ENTRE_RODADAS + HORARIOS_POR_RODADA - 1);
+        if (rodadas > 0 && ultima.isAfter(LocalDateTime.now())) {
+            throw new IllegalStateException("São necessárias " + rodadas + " rodadas de " + porRodada +
+                                            " partidas e a última cairia no futuro; aumente clubes ou estádios");
+        }
+
+        long inicio = System.nanoTime();
+        Random random = new Random(semente);
+        List<Long> clubeIds = inserirClubes(random);
+        List<Long> estadioIds = inserirEstadios();
+        inserirPartidas(random, clubeIds, estadioIds, porRodada);
+        retrospectoClubes.reconstruir();
+        log.info("Semeadura concluída em {} s: {} clubes, {} estádios e {} partidas em {} rodadas (semente {})",
+                (System.nanoTime() - inicio) / 1_000_000_000, clubes, estadios, partidas, rodadas, semente);
+    }
+
+    private List<Long> inserirClubes(Random random) {
+        int dias = (int) (PRIMEIRA_RODADA.toLocalDate().toEpochDay() - PRIMEIRA_FUNDACAO.toEpochDay());
+        List<Object[]> linhas = new ArrayList<>(clubes);
+        for (int i = 0; i < clubes; i++) {
+            linhas.add(new Object[]{"Clube " + (i + 1), ESTADOS[random.nextInt(ESTADOS.length)],
+                    Date.valueOf(PRIMEIRA_FUNDACAO.plusDays(random.nextInt(dias)))});
+        }
+        jdbcTemplate.batchUpdate("INSERT INTO clube (nome, estado, data_criacao, ativo) VALUES (?, ?, ?, TRUE)", linhas);
+        return jdbcTemplate.queryForList("SELECT id FROM clube ORDER BY id", Long.class);
+    }
+
+    private List<Long> inserirEstadios() {
+        List<Object[]> linhas = new ArrayList<>(estadios);
+        for (int i = 0; i < estadios; i++) {
+            linhas.add(new Object[]{"Estadio " + (i + 1)});
+        }
+        jdbcTemplate.batchUpdate("INSERT INTO estadios (nome) VALUES (?)", linhas);
+        return jdbcTemplate.queryForList("SELECT id FROM estadios ORDER BY id", Long.class);
+    }
+
+    /**
+     * Em cada rodada embaralha só o começo da ordem dos clubes, o suficiente para formar os
+     * confrontos, e distribui as partidas pelos estádios a partir de um deslocamento sorteado.
+     */
+    private void inserirPartidas(Random random, List<Long> clubeIds, List<Long> estadioIds, int porRodada) {
+        int[] ordem = IntStream.range(0, clubes).toArray();
+        Lote lote = new Lote();
+        long inseridas = 0;
+        for (long rodada = 0; inseridas < partidas; rodada++) {
+            LocalDateTime horario = PRIMEIRA_RODADA.plusHours(rodada * HORAS_ENTRE_RODADAS);
+            int deslocamento = random.nextInt(estadios);
+            int nestaRodada = (int) Math.min(porRodada, partidas - inseridas);
+            for (int i = 0; i < 2 * nestaRodada; i++) {
+                int j = i + random.nextInt(clubes - i);
+                int troca = ordem[i];
+                ordem[i] = ordem[j];
+                ordem[j] = troca;
+            }
+            for (int p = 0; p < nestaRodada; p++) {
+                lote.adicionar(clubeIds.get(ordem[2 * p]), clubeIds.get(ordem[2 * p + 1]),
+                        estadioIds.get((p + deslocamento) % estadios), horario.plusHours(p / estadios),
+                        random.nextInt(6), random.nextInt(5));
+                if (lote.tamanho == TAMANHO_LOTE) lote.gravar();
+            }
+            inseridas += nestaRodada;
+            if (inseridas / 1_000_000 != (inseridas - nestaRodada) / 1_000_000) {
+                log.info("Semeadura: {} de {} partidas", inseridas, partidas);
+            }
+        }
+        lote.gravar();
+    }
+
+    private final class Lote implements BatchPreparedStatementSetter {
+
+        private final long[] mandantes = new long[TAMANHO_LOTE];
+        private final long[] visitantes = new long[TAMANHO_LOTE];
+        private final long[] estadios = new long[TAMANHO_LOTE];
+        private final Timestamp[] horarios = new Timestamp[TAMANHO_LOTE];
+        private final int[] golsMandante = new int[TAMANHO_LOTE];
+        private final int[] golsVisitante = new int[TAMANHO_LOTE];
+        private int tamanho;
+
+        void adicionar(long mandante, long visitante, long estadio, LocalDateTime horario, int golsMandante, int golsVisitante) {
+            mandantes[tamanho] = mandante;
+            visitantes[tamanho] = visitante;
+            estadios[tamanho] = estadio;
+            horarios[tamanho] = Timestamp.valueOf(horario);
+            this.golsMandante[tamanho] = golsMandante;
+            this.golsVisitante[tamanho] = golsVisitante;
+            tamanho++;
+        }
+
+        void gravar() {
+            if (tamanho == 0) return;
+            jdbcTemplate.batchUpdate(INSERIR_PARTIDA, this);
+            tamanho = 0;
+        }
+
+        @Override
+        public void setValues(PreparedStatement ps, int i) throws SQLException {
+            ps.setLong(1, mandantes[i]);
+            ps.setLong(2, visitantes[i]);
+            ps.setLong(3, estadios[i]);
+            ps.setTimestamp(4, horarios[i]);
+            ps.setInt(5, golsMandante[i]);
+            ps.setInt(6, golsVisitante[i]);
+        }
+
+        @Override
+        public int getBatchSize() {
+            return tamanho;
+        }
+    }
+}
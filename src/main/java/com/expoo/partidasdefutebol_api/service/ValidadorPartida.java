@@ -0,0 +1,53 @@
+package com.expoo.partidasdefutebol_api.service;
+
+import com.expoo.partidasdefutebol_api.model.Partida;
+import org.springframework.http.HttpStatus;
+import org.springframework.stereotype.Component;
+import org.springframework.web.server.ResponseStatusException;
+import java.time.LocalDateTime;
+
+@Component
+public class ValidadorPartida {
+
+    static final int INTERVALO_MINIMO_HORAS = 48;
+    static final String CONFLITO_HORARIO = "Um dos clubes já possui partida próxima a essa data e hora";
+    static final String ESTADIO_OCUPADO = "Estádio já ocupado neste horário";
+    static final String PARTIDA_DUPLICADA = "Partida duplicada";
+    static final String ESTADIO_NAO_ENCONTRADO = "Estádio não encontrado: ";
+
+    public void validarRegras(Partida partida) {
+        validarClubesDiferentes(partida);
+        validarResultado(partida);
+        validarDataHora(partida);
+        validarClubesAtivos(partida);
+    }
+
+    private void validarClubesDiferentes(Partida partida) {
+        if (partida.getMandante().equals(partida.getVisitante())) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "Os clubes não podem ser iguais");
+        }
+    }
+
+    private void validarResultado(Partida partida) {
+        if (partida.getGolsMandante() < 0 || partida.getGolsVisitante() < 0) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "Número de gols não pode ser negativo");
+        }
+    }
+
+    private void validarDataHora(Partida partida) {
+        if (partida.getDataHora().isAfter(LocalDateTime.now())) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "Data e hora não podem estar no futuro");
+        }
+
+        if (partida.getDataHora().isBefore(partida.getMandante().getDataCriacao().atStartOfDay()) ||
+                partida.getDataHora().isBefore(partida.getVisitante().getDataCriacao().atStartOfDay())) {
+            throw new ResponseStatusException(HttpStatus.CONFLICT, "Data da partida é anterior à criação de um dos clubes");
+        }
+    }
+
+    private void validarClubesAtivos(Partida partida) {
+        if (!partida.getMandante().isAtivo() || !partida.getVisitante().isAtivo()) {
+            throw new ResponseStatusException(HttpStatus.CONFLICT, "Um dos clubes está inativo");
+        }
+    }
+}
@@ -0,0 +1,55 @@
+package db.migration;
+
+import org.flywaydb.core.api.migration.BaseJavaMigration;
+import org.flywaydb.core.api.migration.Context;
+import java.sql.Connection;
+import java.sql.DatabaseMetaData;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.Locale;
+
+/**
+ * Troca o nome do estádio da partida pela chave de {@code estadios}. Em Java porque o índice antigo só existe
+ * onde a V1 rodou: bancos criados pelo Hibernate e assumidos pelo baseline não o têm, e o MySQL não aceita
+ * {@code DROP INDEX IF EXISTS}.
+ */
+public class V3__estadio_da_partida extends BaseJavaMigration {
+
+    private static final String INDICE = "idx_partidas_estadio_data_hora";
+
+    @Override
+    public void migrate(Context context) throws Exception {
+        Connection conexao = context.getConnection();
+        try (Statement sql = conexao.createStatement()) {
+            // Cada nome distinto de estádio das partidas vira um registro em estadios.
+            sql.execute("""
+                INSERT INTO estadios (nome)
+                SELECT DISTINCT p.estadio FROM partidas p
+                WHERE NOT EXISTS (SELECT 1 FROM estadios e WHERE e.nome = p.estadio)
+                """);
+            sql.execute("ALTER TABLE partidas ADD COLUMN estadio_id BIGINT DEFAULT 0 NOT NULL");
+            sql.execute("UPDATE partidas SET estadio_id = (SELECT e.id FROM estadios e WHERE e.nome = partidas.estadio)");
+            sql.execute("ALTER TABLE partidas ALTER COLUMN estadio_id DROP DEFAULT");
+            if (possuiIndice(conexao, "partidas", INDICE)) {
+                sql.execute("DROP INDEX " + INDICE + " ON partidas");
+            }
+            sql.execute("ALTER TABLE partidas DROP COLUMN estadio");
+            sql.execute("CREATE INDEX " + INDICE + " ON partidas (estadio_id, data_hora)");
+            sql.execute("ALTER TABLE partidas ADD CONSTRAINT fk_partidas_estadio FOREIGN KEY (estadio_id) REFERENCES estadios (id)");
+        }
+    }
+
+    private static boolean possuiIndice(Connection conexao, String tabela, String indice) throws SQLException {
+        DatabaseMetaData metadados = conexao.getMetaData();
+        // O H2 guarda os nomes em maiúsculas; o MySQL, como foram criados.
+        for (String nome : new String[]{tabela, tabela.toUpperCase(Locale.ROOT)}) {
+            try (ResultSet indices = metadados.getIndexInfo(conexao.getCatalog(), conexao.getSchema(), nome, false, false)) {
+                while (indices.next()) {
+                    if (indice.equalsIgnoreCase(indices.getString("INDEX_NAME"))) return true;
+                }
+            }
+        }
+        return false;
+    }
+}
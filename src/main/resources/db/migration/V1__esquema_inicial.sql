@@ -0,0 +1,32 @@
+CREATE TABLE clube (
+    id BIGINT NOT NULL AUTO_INCREMENT,
+    nome VARCHAR(255) NOT NULL,
+    estado VARCHAR(2) NOT NULL,
+    data_criacao DATE NOT NULL,
+    ativo BIT NOT NULL,
+    PRIMARY KEY (id)
+);
+
+CREATE TABLE estadios (
+    id BIGINT NOT NULL AUTO_INCREMENT,
+    nome VARCHAR(255) NOT NULL,
+    PRIMARY KEY (id),
+    CONSTRAINT uk_estadios_nome UNIQUE (nome)
+);
+
+CREATE TABLE partidas (
+    id BIGINT NOT NULL AUTO_INCREMENT,
+    clube_mandante_id BIGINT NOT NULL,
+    clube_visitante_id BIGINT NOT NULL,
+    resultado VARCHAR(255) NOT NULL,
+    estadio VARCHAR(255) NOT NULL,
+    data_hora DATETIME(6) NOT NULL,
+    gols_mandante INT NOT NULL,
+    gols_visitante INT NOT NULL,
+    PRIMARY KEY (id)
+);
+
+CREATE INDEX idx_partidas_estadio_data_hora ON partidas (estadio, data_hora);
+
+ALTER TABLE partidas ADD CONSTRAINT fk_partidas_mandante FOREIGN KEY (clube_mandante_id) REFERENCES clube (id);
+ALTER TABLE partidas ADD CONSTRAINT fk_partidas_visitante FOREIGN KEY (clube_visitante_id) REFERENCES clube (id);
@@ -0,0 +1,4 @@
+CREATE INDEX idx_partidas_mandante_data_hora ON partidas (clube_mandante_id, data_hora);
+CREATE INDEX idx_partidas_visitante_data_hora ON partidas (clube_visitante_id, data_hora);
+
+CREATE INDEX idx_clube_ativo_estado ON clube (ativo, estado);
@@ -0,0 +1,2 @@
+-- O resultado "X-Y" é derivado de gols_mandante e gols_visitante.
+ALTER TABLE partidas DROP COLUMN resultado;
@@ -0,0 +1,33 @@
+-- Retrospecto consolidado de cada clube, uma linha como mandante e outra como visitante.
+CREATE TABLE clube_retrospecto (
+    clube_id BIGINT NOT NULL,
+    mandante BIT NOT NULL,
+    vitorias INT NOT NULL,
+    empates INT NOT NULL,
+    derrotas INT NOT NULL,
+    gols_feitos INT NOT NULL,
+    gols_sofridos INT NOT NULL,
+    PRIMARY KEY (clube_id, mandante)
+);
+
+ALTER TABLE clube_retrospecto ADD CONSTRAINT fk_clube_retrospecto_clube FOREIGN KEY (clube_id) REFERENCES clube (id);
+
+INSERT INTO clube_retrospecto (clube_id, mandante, vitorias, empates, derrotas, gols_feitos, gols_sofridos)
+SELECT c.id, TRUE,
+       COALESCE(SUM(CASE WHEN p.gols_mandante > p.gols_visitante THEN 1 ELSE 0 END), 0),
+       COALESCE(SUM(CASE WHEN p.gols_mandante = p.gols_visitante THEN 1 ELSE 0 END), 0),
+       COALESCE(SUM(CASE WHEN p.gols_mandante < p.gols_visitante THEN 1 ELSE 0 END), 0),
+       COALESCE(SUM(p.gols_mandante), 0),
+       COALESCE(SUM(p.gols_visitante), 0)
+FROM clube c LEFT JOIN partidas p ON p.clube_mandante_id = c.id
+GROUP BY c.id;
+
+INSERT INTO clube_retrospecto (clube_id, mandante, vitorias, empates, derrotas, gols_feitos, gols_sofridos)
+SELECT c.id, FALSE,
+       COALESCE(SUM(CASE WHEN p.gols_visitante > p.gols_mandante THEN 1 ELSE 0 END), 0),
+       COALESCE(SUM(CASE WHEN p.gols_visitante = p.gols_mandante THEN 1 ELSE 0 END), 0),
+       COALESCE(SUM(CASE WHEN p.gols_visitante < p.gols_mandante THEN 1 ELSE 0 END), 0),
+       COALESCE(SUM(p.gols_visitante), 0),
+       COALESCE(SUM(p.gols_mandante), 0)
+FROM clube c LEFT JOIN partidas p ON p.clube_visitante_id = c.id
+GROUP BY c.id;
@@ -0,0 +1,13 @@
+-- Clubes tocados por gravações de partidas, lidos e apagados pelo job de estatísticas.
+CREATE TABLE clube_alteracao (
+    id BIGINT NOT NULL AUTO_INCREMENT,
+    clube_id BIGINT NOT NULL,
+    PRIMARY KEY (id)
+);
+
+-- Última alteração já processada por cada job, para retomar do mesmo ponto após reiniciar.
+CREATE TABLE job_marca (
+    nome VARCHAR(64) NOT NULL,
+    ultima_alteracao_id BIGINT NOT NULL,
+    PRIMARY KEY (nome)
+);
@@ -0,0 +1,2 @@
+-- Listagem geral por cursor: ordem (data_hora, id) decrescente sem ordenar a tabela inteira.
+CREATE INDEX idx_partidas_data_hora_id ON partidas (data_hora, id);
@@ -0,0 +1,6 @@
+-- Diferença de gols calculada pelo banco, para o filtro de goleadas comparar uma coluna indexada
+-- em vez de ABS(gols_mandante - gols_visitante). Sem STORED: o H2 não aceita a palavra, e no MySQL
+-- o índice materializa os valores da coluna virtual.
+ALTER TABLE partidas ADD COLUMN margem_gols INT GENERATED ALWAYS AS (ABS(gols_mandante - gols_visitante));
+
+CREATE INDEX idx_partidas_margem_gols_data_hora ON partidas (margem_gols, data_hora);
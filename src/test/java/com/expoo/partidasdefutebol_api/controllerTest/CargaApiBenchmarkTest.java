@@ -0,0 +1,216 @@
+package com.expoo.partidasdefutebol_api.controllerTest;
+
+import com.expoo.partidasdefutebol_api.PartidasDeFutebolApiApplication;
+import org.HdrHistogram.ConcurrentHistogram;
+import org.HdrHistogram.Histogram;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.jdbc.core.JdbcTemplate;
+import java.io.IOException;
+import java.io.PrintStream;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.*;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.LockSupport;
+import java.util.function.Function;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Sobe a aplicação nos perfis {@code test} e {@code seed} e dispara uma mistura
+ * ponderada de requisições a uma taxa fixa de chegada, sem esperar as respostas anteriores. A
+ * latência conta a partir do instante em que a requisição deveria ter saído, para que uma fila no
+ * servidor apareça nos percentis em vez de reduzir a taxa. Cada rota tem o seu histograma, gravado
+ * em {@code target/carga/*.hgrm} além do resumo no log.
+ * <p>
+ * Configurável por propriedades de sistema, por exemplo
+ * {@code mvn test -Pbenchmark -Dtest=CargaApiBenchmarkTest -Dcarga.taxa=200 -Dcarga.duracao=60}:
+ * {@code carga.clubes}, {@code carga.partidas}, {@code carga.estadios}, {@code carga.taxa}
+ * (requisições por segundo), {@code carga.duracao} e {@code carga.aquecimento} (segundos).
+ */
+@Tag("benchmark")
+class CargaApiBenchmarkTest {
+
+    private static final Logger log = LoggerFactory.getLogger(CargaApiBenchmarkTest.class);
+
+    private static final int CLUBES = Integer.getInteger("carga.clubes", 200);
+    private static final int PARTIDAS = Integer.getInteger("carga.partidas", 20_000);
+    private static final int ESTADIOS = Integer.getInteger("carga.estadios", 20);
+    private static final int TAXA = Integer.getInteger("carga.taxa", 20);
+    private static final int DURACAO = Integer.getInteger("carga.duracao", 30);
+    private static final int AQUECIMENTO = Integer.getInteger("carga.aquecimento", 10);
+    /**
+     * As partidas cadastradas durante a carga ficam 72 horas uma da outra, bem depois das semeadas,
+     * para nunca caírem na regra das 48 horas nem disputarem o mesmo estádio.
+     */
+    private static final LocalDateTime INICIO_CADASTROS = LocalDateTime.of(2005, 1, 1, 0, 0);
+    private static final Path RELATORIOS = Path.of("target", "carga");
+
+    @Test
+    @DisplayName("Mistura de leituras e cadastros a taxa fixa com percentis por rota")
+    void cargaComTaxaFixa() throws Exception {
+        try (ConfigurableApplicationContext contexto = new SpringApplicationBuilder(PartidasDeFutebolApiApplication.class)
+                .profiles("test", "seed")
+                .run("--server.port=0",
+                        "--spring.datasource.url=jdbc:h2:mem:carga-api;DB_CLOSE_DELAY=-1",
+                        "--semeadura.clubes=" + CLUBES,
+                        "--semeadura.estadios=" + ESTADIOS,
+                        "--semeadura.partidas=" + PARTIDAS)) {
+            List<Long> clubes = contexto.getBean(JdbcTemplate.class).queryForList("SELECT id FROM clube ORDER BY id", Long.class);
+            String base = "http://localhost:" + contexto.getEnvironment().getProperty("local.server.port");
+            List<Rota> rotas = rotas(base, clubes);
+
+            try (HttpClient cliente = HttpClient.newBuilder().executor(Executors.newVirtualThreadPerTaskExecutor()).build()) {
+                disparar(cliente, rotas, AQUECIMENTO, new Random(1), false);
+                rotas.forEach(Rota::zerar);
+                disparar(cliente, rotas, DURACAO, new Random(2), true);
+            }
+
+            Files.createDirectories(RELATORIOS);
+            log.info("{} req/s por {} s, {} clubes, {} partidas semeadas", TAXA, DURACAO, CLUBES, PARTIDAS);
+            for (Rota rota : rotas) {
+                log.info("{}", rota);
+                rota.gravar(RELATORIOS);
+            }
+            rotas.forEach(rota -> assertEquals(0, rota.erros.get(), "Erros em " + rota.nome));
+        }
+    }
+
+    /**
+     * Pesos somam 100. Os IDs e os parâmetros de cada requisição são sorteados com o {@link Random}
+     * do disparo, para duas execuções com a mesma configuração fazerem as mesmas requisições.
+     */
+    private static List<Rota> rotas(String base, List<Long> clubes) {
+        AtomicLong cadastros = new AtomicLong();
+        Function<Random, Long> clube = random -> clubes.get(random.nextInt(clubes.size()));
+        return List.of(
+                new Rota("GET /partidas", 20, 200, random -> get(base + "/partidas?clubeId=" + clube.apply(random)
+                                                                 + "&page=" + random.nextInt(5) + "&size=20")),
+                new Rota("GET /partidas/ranking", 15, 200, random -> get(base + "/partidas/ranking?criterio="
+                                                                         + (random.nextBoolean() ? "pontos" : "gols") + "&limit=20")),
+                new Rota("GET /partidas/confronto-direto", 15, 200, random -> {
+                    int primeiro = random.nextInt(clubes.size());
+                    int segundo = (primeiro + 1 + random.nextInt(clubes.size() - 1)) % clubes.size();
+                    return get(base + "/partidas/confronto-direto?clube1Id=" + clubes.get(primeiro) + "&clube2Id=" + clubes.get(segundo));
+                }),
+                new Rota("GET /clube/{id}/retro", 15, 200, random -> get(base + "/clube/" + clube.apply(random) + "/retro")),
+                new Rota("GET /clube/{id}/retro-adversarios", 10, 200, random -> get(base + "/clube/" + clube.apply(random) + "/retro-adversarios")),
+                new Rota("GET /clube/{id}/retro-goleadas", 5, 200, random -> get(base + "/clube/" + clube.apply(random) + "/retro-goleadas")),
+                new Rota("GET /clube/{id}/retro-por-adversario", 10, 200, random -> get(base + "/clube/" + clube.apply(random)
+                                                                                       + "/retro-por-adversario?size=20")),
+                new Rota("POST /partidas", 10, 201, random -> {
+                    int mandante = random.nextInt(clubes.size());
+                    int visitante = (mandante + 1 + random.nextInt(clubes.size() - 1)) % clubes.size();
+                    String corpo = String.format("{\"mandanteId\":%d,\"visitanteId\":%d,\"estadio\":\"Estadio %d\","
+                                                 + "\"dataHora\":\"%s\",\"resultado\":\"%d-%d\"}",
+                            clubes.get(mandante), clubes.get(visitante), 1 + random.nextInt(ESTADIOS),
+                            INICIO_CADASTROS.plusHours(72 * cadastros.getAndIncrement()), random.nextInt(5), random.nextInt(5));
+                    return HttpRequest.newBuilder(URI.create(base + "/partidas"))
+                            .header("Content-Type", "application/json")
+                            .timeout(Duration.ofSeconds(30))
+                            .POST(HttpRequest.BodyPublishers.ofString(corpo))
+                            .build();
+                }));
+    }
+
+    private static HttpRequest get(String url) {
+        return HttpRequest.newBuilder(URI.create(url)).timeout(Duration.ofSeconds(30)).GET().build();
+    }
+
+    /**
+     * Agenda uma requisição a cada {@code 1 / TAXA} segundo e só espera as respostas no fim.
+     */
+    private static void disparar(HttpClient cliente, List<Rota> rotas, int segundos, Random random, boolean medir) {
+        long intervalo = TimeUnit.SECONDS.toNanos(1) / TAXA;
+        long total = (long) TAXA * segundos;
+        List<CompletableFuture<?>> pendentes = new ArrayList<>();
+        long inicio = System.nanoTime();
+        for (long i = 0; i < total; i++) {
+            long previsto = inicio + i * intervalo;
+            long espera;
+            while ((espera = previsto - System.nanoTime()) > 0) {
+                LockSupport.parkNanos(espera);
+            }
+
+            Rota rota = sortear(rotas, random);
+            pendentes.add(cliente.sendAsync(rota.requisicao.apply(random), HttpResponse.BodyHandlers.discarding())
+                    .handle((resposta, erro) -> {
+                        boolean sucesso = erro == null && resposta.statusCode() == rota.statusEsperado;
+                        if (medir) rota.registrar(System.nanoTime() - previsto, sucesso);
+                        return null;
+                    }));
+        }
+        CompletableFuture.allOf(pendentes.toArray(CompletableFuture[]::new)).join();
+    }
+
+    private static Rota sortear(List<Rota> rotas, Random random) {
+        int sorteio = random.nextInt(100);
+        for (Rota rota : rotas) {
+            sorteio -= rota.peso;
+            if (sorteio < 0) return rota;
+        }
+        return rotas.get(rotas.size() - 1);
+    }
+
+    /**
+     * Latências em microssegundos.
+     */
+    private static final class Rota {
+
+        private final String nome;
+        private final int peso;
+        private final int statusEsperado;
+        private final Function<Random, HttpRequest> requisicao;
+        private final Histogram latencias = new ConcurrentHistogram(3);
+        private final AtomicInteger erros = new AtomicInteger();
+
+        Rota(String nome, int peso, int statusEsperado, Function<Random, HttpRequest> requisicao) {
+            this.nome = nome;
+            this.peso = peso;
+            this.statusEsperado = statusEsperado;
+            this.requisicao = requisicao;
+        }
+
+        void registrar(long nanos, boolean sucesso) {
+            latencias.recordValue(TimeUnit.NANOSECONDS.toMicros(nanos));
+            if (!sucesso) erros.incrementAndGet();
+        }
+
+        void zerar() {
+            latencias.reset();
+            erros.set(0);
+        }
+
+        void gravar(Path diretorio) throws IOException {
+            String arquivo = nome.replaceAll("[^A-Za-z0-9-]+", "_").replaceAll("_+$", "") + ".hgrm";
+            try (PrintStream saida = new PrintStream(Files.newOutputStream(diretorio.resolve(arquivo)))) {
+                latencias.outputPercentileDistribution(saida, 1000.0);
+            }
+        }
+
+        @Override
+        public String toString() {
+            long total = latencias.getTotalCount();
+            return String.format("%-38s %6d req, %5.2f%% erros, p50 %7.1f ms, p95 %7.1f ms, p99 %7.1f ms, máx %7.1f ms",
+                    nome, total, total == 0 ? 0 : 100.0 * erros.get() / total,
+                    latencias.getValueAtPercentile(50) / 1000.0, latencias.getValueAtPercentile(95) / 1000.0,
+                    latencias.getValueAtPercentile(99) / 1000.0, latencias.getMaxValue() / 1000.0);
+        }
+    }
+}
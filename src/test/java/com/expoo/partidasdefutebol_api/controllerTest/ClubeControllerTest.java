@@ -11,6 +11,7 @@ import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
 import org.springframework.boot.test.mock.mockito.MockBean;
 import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
 import org.springframework.http.MediaType;
 import org.springframework.test.web.servlet.MockMvc;
@@ -175,6 +176,19 @@ public class ClubeControllerTest {
                 .andExpect(jsonPath("$[0].nome").value("NeoClube"));
     }
 
+    @Test
+    void getRetroParaCadaAdversarioPaginado() throws Exception {
+        RetroDTO retro = new RetroDTO("MeliClube", 1, 1, 0, 3, 2);
+        when(clubeService.getRetroParaCadaAdversario(eq(9L), any(Pageable.class)))
+                .thenReturn(new PageImpl<>(List.of(retro), PageRequest.of(1, 1), 3));
+
+        mockMvc.perform(get(BASE_URL + "/9/retro-por-adversario?page=1&size=1"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.content[0].nome").value("MeliClube"))
+                .andExpect(jsonPath("$.totalElements").value(3));
+        verify(clubeService).getRetroParaCadaAdversario(9L, PageRequest.of(1, 1));
+    }
+
     @Test
     void getRetroGoleadas() throws Exception {
         RetroDTO retro = new RetroDTO("MeliClube", 1, 0, 0, 4, 0);
@@ -1,14 +1,24 @@
 package com.expoo.partidasdefutebol_api.controllerTest;
 
 import com.expoo.partidasdefutebol_api.controller.JobController;
+import com.expoo.partidasdefutebol_api.dto.DivergenciaRetrospectoDTO;
+import com.expoo.partidasdefutebol_api.dto.EstatisticaDTO;
+import com.expoo.partidasdefutebol_api.dto.ExecucaoJobDTO;
+import com.expoo.partidasdefutebol_api.dto.ReconciliacaoRetrospectoDTO;
+import com.expoo.partidasdefutebol_api.dto.RetroDTO;
+import com.expoo.partidasdefutebol_api.enums.StatusJob;
 import com.expoo.partidasdefutebol_api.service.EstatisticaJobService;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
 import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.http.HttpStatus;
 import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.web.server.ResponseStatusException;
+import java.util.List;
 
-import static org.mockito.Mockito.doNothing;
+import static org.mockito.Mockito.when;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
 
@@ -21,11 +31,60 @@ class JobControllerTest {
     @MockBean
     private EstatisticaJobService jobService;
 
+    private static ExecucaoJobDTO execucao(StatusJob status) {
+        ExecucaoJobDTO execucao = new ExecucaoJobDTO();
+        execucao.setId(3L);
+        execucao.setOrigem("MANUAL");
+        execucao.setStatus(status);
+        return execucao;
+    }
+
     @Test
     void deveDispararJobDeEstatisticasComSucesso() throws Exception {
-        doNothing().when(jobService).executarJobManual();
+        when(jobService.dispararJob()).thenReturn(execucao(StatusJob.AGUARDANDO));
         mockMvc.perform(post("/jobs/recalcular-estatisticas"))
+            .andExpect(status().isAccepted())
+            .andExpect(header().string("Location", "/jobs/3"))
+            .andExpect(jsonPath("$.id").value(3))
+            .andExpect(jsonPath("$.status").value("AGUARDANDO"));
+    }
+
+    @Test
+    void deveConsultarExecucaoConcluidaComResultado() throws Exception {
+        ExecucaoJobDTO concluida = execucao(StatusJob.CONCLUIDO);
+        concluida.setConsultas(1);
+        concluida.setClubes(1);
+        concluida.setResultado(List.of(new EstatisticaDTO("NeoClube", 5)));
+        when(jobService.buscarExecucao(3L)).thenReturn(concluida);
+
+        mockMvc.perform(get("/jobs/3"))
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("$.status").value("CONCLUIDO"))
+            .andExpect(jsonPath("$.clubes").value(1))
+            .andExpect(jsonPath("$.resultado[0].clube").value("NeoClube"))
+            .andExpect(jsonPath("$.resultado[0].gols").value(5));
+    }
+
+    @Test
+    void deveRetornar404ParaExecucaoInexistente() throws Exception {
+        when(jobService.buscarExecucao(99L))
+            .thenThrow(new ResponseStatusException(HttpStatus.NOT_FOUND, "Execução do job não encontrada"));
+        mockMvc.perform(get("/jobs/99"))
+            .andExpect(status().isNotFound());
+    }
+
+    @Test
+    void deveReconciliarRetrospectoEInformarDivergencias() throws Exception {
+        DivergenciaRetrospectoDTO divergencia = new DivergenciaRetrospectoDTO(1L, true,
+                new RetroDTO("NeoClube", 2, 0, 0, 4, 1), new RetroDTO("NeoClube", 1, 0, 0, 2, 0));
+        when(jobService.reconciliarRetrospecto()).thenReturn(new ReconciliacaoRetrospectoDTO(4, List.of(divergencia)));
+
+        mockMvc.perform(post("/jobs/reconciliar-retrospecto"))
             .andExpect(status().isOk())
-            .andExpect(content().string("Job de estatísticas executado com sucesso!"));
+            .andExpect(jsonPath("$.linhas").value(4))
+            .andExpect(jsonPath("$.divergencias[0].clubeId").value(1))
+            .andExpect(jsonPath("$.divergencias[0].mandante").value(true))
+            .andExpect(jsonPath("$.divergencias[0].esperado.vitorias").value(2))
+            .andExpect(jsonPath("$.divergencias[0].encontrado.vitorias").value(1));
     }
 }
\ No newline at end of file
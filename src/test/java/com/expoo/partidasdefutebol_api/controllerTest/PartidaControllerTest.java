@@ -1,9 +1,19 @@
 package com.expoo.partidasdefutebol_api.controllerTest;
 
 import com.expoo.partidasdefutebol_api.controller.PartidaController;
+import com.expoo.partidasdefutebol_api.dto.ErroLoteDTO;
+import com.expoo.partidasdefutebol_api.dto.ImportacaoDTO;
+import com.expoo.partidasdefutebol_api.dto.PaginaPartidasDTO;
 import com.expoo.partidasdefutebol_api.dto.PartidaDTO;
+import com.expoo.partidasdefutebol_api.dto.RankingDTO;
+import com.expoo.partidasdefutebol_api.dto.ResultadoLoteDTO;
+import com.expoo.partidasdefutebol_api.enums.FormatoImportacao;
+import com.expoo.partidasdefutebol_api.enums.StatusImportacao;
 import com.expoo.partidasdefutebol_api.model.Clube;
+import com.expoo.partidasdefutebol_api.model.Estadio;
 import com.expoo.partidasdefutebol_api.model.Partida;
+import com.expoo.partidasdefutebol_api.service.ImportacaoPartidaService;
+import com.expoo.partidasdefutebol_api.service.PartidaLoteService;
 import com.expoo.partidasdefutebol_api.service.PartidaService;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import org.junit.jupiter.api.BeforeEach;
@@ -12,6 +22,7 @@ import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
 import org.springframework.boot.test.mock.mockito.MockBean;
 import org.springframework.http.MediaType;
+import org.springframework.mock.web.MockMultipartFile;
 import org.springframework.test.web.servlet.MockMvc;
 import org.springframework.web.server.ResponseStatusException;
 import java.time.LocalDate;
@@ -32,6 +43,12 @@ class PartidaControllerTest {
     @MockBean
     private PartidaService partidaService;
 
+    @MockBean
+    private PartidaLoteService partidaLoteService;
+
+    @MockBean
+    private ImportacaoPartidaService importacaoPartidaService;
+
     @Autowired
     private ObjectMapper objectMapper;
 
@@ -45,7 +62,7 @@ class PartidaControllerTest {
         mandante = new Clube(1L, "Time A", "SP", LocalDate.of(2020, 1, 1), true);
         visitante = new Clube(2L, "Time B", "RJ", LocalDate.of(2020, 1, 1), true);
         partida = new Partida(1L, mandante, visitante, 2, 1, LocalDateTime.now().minusDays(1));
-        partida.setEstadio("Maracanã");
+        partida.setEstadio(new Estadio(1L, "Maracanã"));
         partida.setResultado("2-1");
 
         dto = new PartidaDTO(null, 1L, 2L, 2, 1, "Maracanã", LocalDateTime.now().minusDays(1));
@@ -59,7 +76,50 @@ class PartidaControllerTest {
                 .content(objectMapper.writeValueAsString(dto)))
                 .andExpect(status().isCreated())
                 .andExpect(jsonPath("$.id").value(1))
-                .andExpect(jsonPath("$.resultado").value("2-1"));
+                .andExpect(jsonPath("$.resultado").value("2-1"))
+                .andExpect(jsonPath("$.estadio").value("Maracanã"));
+    }
+
+    @Test
+    void deveCadastrarLoteDePartidasComErrosPorItem() throws Exception {
+        ResultadoLoteDTO resultado = new ResultadoLoteDTO(2, 1, List.of(new ErroLoteDTO(1, "Estádio já ocupado neste horário")));
+        when(partidaLoteService.cadastrarLote(anyList())).thenReturn(resultado);
+
+        mockMvc.perform(post("/partidas/lote")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(List.of(dto, dto))))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.recebidas").value(2))
+                .andExpect(jsonPath("$.cadastradas").value(1))
+                .andExpect(jsonPath("$.erros[0].indice").value(1))
+                .andExpect(jsonPath("$.erros[0].mensagem").value("Estádio já ocupado neste horário"));
+    }
+
+    @Test
+    void deveIniciarImportacaoDeArquivo() throws Exception {
+        ImportacaoDTO importacao = new ImportacaoDTO();
+        importacao.setId(7L);
+        importacao.setArquivo("historico.ndjson");
+        importacao.setFormato(FormatoImportacao.NDJSON);
+        importacao.setStatus(StatusImportacao.AGUARDANDO);
+        when(importacaoPartidaService.iniciar(any(), isNull())).thenReturn(importacao);
+
+        MockMultipartFile arquivo = new MockMultipartFile("arquivo", "historico.ndjson", "application/x-ndjson",
+                "{\"mandante\":\"Time A\"}".getBytes());
+
+        mockMvc.perform(multipart("/partidas/importacao").file(arquivo))
+                .andExpect(status().isAccepted())
+                .andExpect(jsonPath("$.id").value(7))
+                .andExpect(jsonPath("$.formato").value("NDJSON"))
+                .andExpect(jsonPath("$.status").value("AGUARDANDO"));
+    }
+
+    @Test
+    void deveRetornar404ParaImportacaoInexistente() throws Exception {
+        when(importacaoPartidaService.buscar(99L)).thenThrow(new ResponseStatusException(org.springframework.http.HttpStatus.NOT_FOUND, "Importação não encontrada"));
+
+        mockMvc.perform(get("/partidas/importacao/99"))
+                .andExpect(status().isNotFound());
     }
 
     @Test
@@ -70,7 +130,8 @@ class PartidaControllerTest {
                 .content(objectMapper.writeValueAsString(dto)))
                 .andExpect(status().isOk())
                 .andExpect(jsonPath("$.id").value(1))
-                .andExpect(jsonPath("$.resultado").value("2-1"));
+                .andExpect(jsonPath("$.resultado").value("2-1"))
+                .andExpect(jsonPath("$.estadio").value("Maracanã"));
     }
 
     @Test
@@ -86,32 +147,81 @@ class PartidaControllerTest {
         mockMvc.perform(get("/partidas/1"))
                 .andExpect(status().isOk())
                 .andExpect(jsonPath("$.id").value(1))
-                .andExpect(jsonPath("$.resultado").value("2-1"));
+                .andExpect(jsonPath("$.resultado").value("2-1"))
+                .andExpect(jsonPath("$.estadio").value("Maracanã"));
     }
 
     @Test
     void deveListarPartidasComFiltro() throws Exception {
-        when(partidaService.listar(any(), any(), any(), any())).thenReturn(
-                new org.springframework.data.domain.PageImpl<>(List.of(partida)));
+        PartidaDTO resumo = new PartidaDTO(1L, 1L, "Time A", 2L, "Time B", "Maracanã", partida.getDataHora(), 2, 1);
+        when(partidaService.listar(any(), any())).thenReturn(
+                new org.springframework.data.domain.PageImpl<>(List.of(resumo)));
         mockMvc.perform(get("/partidas").param("clubeId", "1"))
                 .andExpect(status().isOk())
                 .andExpect(jsonPath("$.content.length()").value(1))
-                .andExpect(jsonPath("$.content[0].id").value(1));
+                .andExpect(jsonPath("$.content[0].id").value(1))
+                .andExpect(jsonPath("$.content[0].mandanteNome").value("Time A"))
+                .andExpect(jsonPath("$.content[0].resultado").value("2-1"));
+    }
+
+    @Test
+    void deveRepassarTodosOsFiltrosDaListagem() throws Exception {
+        when(partidaService.listar(any(), any())).thenReturn(new org.springframework.data.domain.PageImpl<>(List.of()));
+        mockMvc.perform(get("/partidas")
+                        .param("clubeId", "1")
+                        .param("adversarioId", "2")
+                        .param("mandante", "false")
+                        .param("resultado", "vitoria")
+                        .param("dataInicio", "2023-01-01T00:00:00")
+                        .param("dataFim", "2023-06-30T23:59:59"))
+                .andExpect(status().isOk());
+
+        verify(partidaService).listar(argThat(filtro -> filtro.getClubeId() == 1L && filtro.getAdversarioId() == 2L
+                && Boolean.FALSE.equals(filtro.getMandante()) && "vitoria".equals(filtro.getResultado())
+                && LocalDateTime.of(2023, 1, 1, 0, 0).equals(filtro.getDataInicio())
+                && LocalDateTime.of(2023, 6, 30, 23, 59, 59).equals(filtro.getDataFim())), any());
+    }
+
+    @Test
+    void deveListarPartidasPorCursor() throws Exception {
+        when(partidaService.listarPorCursor(any(), eq(""), eq(20))).thenReturn(new PaginaPartidasDTO(List.of(
+                new PartidaDTO(1L, 1L, "Time A", 2L, "Time B", "Maracanã", partida.getDataHora(), 2, 1)), "MjAyMy0wNS0yMFQxNTowMHw0Mg"));
+        mockMvc.perform(get("/partidas").param("clubeId", "1").param("adversarioId", "2").param("resultado", "vitoria")
+                        .param("dataInicio", "2023-01-01T00:00:00").param("cursor", ""))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.conteudo.length()").value(1))
+                .andExpect(jsonPath("$.conteudo[0].id").value(1))
+                .andExpect(jsonPath("$.proximoCursor").value("MjAyMy0wNS0yMFQxNTowMHw0Mg"));
+        verify(partidaService).listarPorCursor(argThat(filtro -> filtro.getClubeId() == 1L && filtro.getAdversarioId() == 2L
+                && "vitoria".equals(filtro.getResultado()) && LocalDateTime.of(2023, 1, 1, 0, 0).equals(filtro.getDataInicio())),
+                eq(""), eq(20));
+        verify(partidaService, never()).listar(any(), any());
     }
 
     @Test
     void deveRetornarRanking() throws Exception {
-        Map<String, Object> map = new HashMap<>();
-        map.put("clube", "Time A");
-        map.put("vitorias", 3);
-        map.put("gols", 10);
+        RankingDTO linha = new RankingDTO(1L, "Time A", 4, 3, 10, 9, 6);
 
-        when(partidaService.getRanking(eq("vitorias"), isNull(), eq("TODOS"))).thenReturn(List.of(map));
+        when(partidaService.getRanking(eq("vitorias"), isNull(), eq("TODOS"), eq(0), isNull())).thenReturn(List.of(linha));
         mockMvc.perform(get("/partidas/ranking")
                 .param("criterio", "vitorias")
                 .param("tipo", "TODOS"))
                 .andExpect(status().isOk())
-                .andExpect(jsonPath("$[0].clube").value("Time A"));
+                .andExpect(jsonPath("$[0].clube").value("Time A"))
+                .andExpect(jsonPath("$[0].vitorias").value(3))
+                .andExpect(jsonPath("$[0].saldoGols").value(6));
+    }
+
+    @Test
+    void deveRepassarOffsetELimitDoRanking() throws Exception {
+        when(partidaService.getRanking("pontos", null, null, 20, 10)).thenReturn(Collections.emptyList());
+        mockMvc.perform(get("/partidas/ranking")
+                .param("criterio", "pontos")
+                .param("offset", "20")
+                .param("limit", "10"))
+                .andExpect(status().isOk());
+
+        verify(partidaService).getRanking("pontos", null, null, 20, 10);
     }
 
     @Test
@@ -182,7 +292,7 @@ class PartidaControllerTest {
 
     @Test
     void deveRetornarErroSeCriterioInvalidoNoRanking() throws Exception {
-        when(partidaService.getRanking(anyString(), any(), anyString()))
+        when(partidaService.getRanking(anyString(), any(), anyString(), anyInt(), any()))
                 .thenReturn(Collections.emptyList());
         mockMvc.perform(get("/partidas/ranking")
                 .param("criterio", "invalido")
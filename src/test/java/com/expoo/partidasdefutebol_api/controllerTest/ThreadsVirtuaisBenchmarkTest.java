@@ -0,0 +1,173 @@
+package com.expoo.partidasdefutebol_api.controllerTest;
+
+import com.expoo.partidasdefutebol_api.PartidasDeFutebolApiApplication;
+import com.expoo.partidasdefutebol_api.service.RetrospectoClubes;
+import jdk.jfr.consumer.RecordedFrame;
+import jdk.jfr.consumer.RecordingStream;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.jdbc.core.JdbcTemplate;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.sql.Timestamp;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.*;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Sobe a aplicação duas vezes, com o pool de threads do Tomcat e com threads virtuais, cada uma
+ * com o seu banco H2 em memória e a mesma massa de dados, e dispara {@value #CLIENTES} clientes
+ * simultâneos contra {@code /clube/{id}/retro}. Nas threads virtuais também conta, pelo JFR, as
+ * vezes em que uma delas ficou presa à thread portadora.
+ */
+@Tag("benchmark")
+class ThreadsVirtuaisBenchmarkTest {
+
+    private static final Logger log = LoggerFactory.getLogger(ThreadsVirtuaisBenchmarkTest.class);
+
+    private static final int CLUBES = 200;
+    private static final int PARTIDAS = 20_000;
+    private static final int CLIENTES = 1_000;
+    private static final int REQUISICOES_POR_CLIENTE = 20;
+    private static final int AQUECIMENTO = 5_000;
+    private static final LocalDateTime INICIO = LocalDateTime.of(2000, 1, 1, 0, 0);
+
+    @Test
+    @DisplayName("Retrospecto do clube sob carga com threads da plataforma e com threads virtuais")
+    void retroComThreadsDaPlataformaEVirtuais() throws Exception {
+        Carga plataforma = medir(false);
+        Carga virtuais = medir(true);
+
+        log.info("GET /clube/{{id}}/retro, {} clientes x {} requisições", CLIENTES, REQUISICOES_POR_CLIENTE);
+        log.info("Threads da plataforma: {}", plataforma);
+        log.info("Threads virtuais:      {}", virtuais);
+        assertEquals(0, plataforma.erros);
+        assertEquals(0, virtuais.erros);
+    }
+
+    private Carga medir(boolean virtuais) throws Exception {
+        try (ConfigurableApplicationContext contexto = new SpringApplicationBuilder(PartidasDeFutebolApiApplication.class)
+                .profiles("test")
+                .run("--server.port=0",
+                        "--spring.threads.virtual.enabled=" + virtuais,
+                        "--spring.datasource.url=jdbc:h2:mem:carga-" + (virtuais ? "virtuais" : "plataforma") + ";DB_CLOSE_DELAY=-1",
+                        "--spring.jpa.show-sql=false")) {
+            semear(contexto);
+            String base = "http://localhost:" + contexto.getEnvironment().getProperty("local.server.port");
+
+            try (HttpClient cliente = HttpClient.newBuilder().executor(Executors.newVirtualThreadPerTaskExecutor()).build()) {
+                disparar(cliente, base, AQUECIMENTO / REQUISICOES_POR_CLIENTE, new long[AQUECIMENTO]);
+
+                AtomicInteger pinos = new AtomicInteger();
+                Set<String> origensPinos = Collections.synchronizedSet(new TreeSet<>());
+                try (RecordingStream gravacao = new RecordingStream()) {
+                    gravacao.enable("jdk.VirtualThreadPinned").withThreshold(Duration.ofMillis(1)).withStackTrace();
+                    gravacao.onEvent("jdk.VirtualThreadPinned", evento -> {
+                        pinos.incrementAndGet();
+                        if (evento.getStackTrace() == null) return;
+                        evento.getStackTrace().getFrames().stream()
+                                .map(RecordedFrame::getMethod)
+                                .map(metodo -> metodo.getType().getName())
+                                .filter(tipo -> !tipo.startsWith("java.") && !tipo.startsWith("jdk."))
+                                .findFirst()
+                                .ifPresent(origensPinos::add);
+                    });
+                    gravacao.startAsync();
+
+                    long[] latencias = new long[CLIENTES * REQUISICOES_POR_CLIENTE];
+                    long inicio = System.nanoTime();
+                    int erros = disparar(cliente, base, CLIENTES, latencias);
+                    long nanos = System.nanoTime() - inicio;
+                    return new Carga(latencias, nanos, erros, virtuais ? pinos.get() : -1, origensPinos);
+                }
+            }
+        }
+    }
+
+    /**
+     * Cada cliente é uma thread virtual que faz as suas requisições em sequência e anota a
+     * latência de cada uma na sua faixa de {@code latencias}.
+     */
+    private static int disparar(HttpClient cliente, String base, int clientes, long[] latencias) throws InterruptedException {
+        int porCliente = latencias.length / clientes;
+        AtomicInteger erros = new AtomicInteger();
+        try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+            for (int c = 0; c < clientes; c++) {
+                int faixa = c * porCliente;
+                Random random = new Random(c);
+                executor.execute(() -> {
+                    for (int i = 0; i < porCliente; i++) {
+                        HttpRequest requisicao = HttpRequest.newBuilder(
+                                URI.create(base + "/clube/" + (1 + random.nextInt(CLUBES)) + "/retro")).GET().build();
+                        long inicio = System.nanoTime();
+                        try {
+                            HttpResponse<Void> resposta = cliente.send(requisicao, HttpResponse.BodyHandlers.discarding());
+                            if (resposta.statusCode() != 200) erros.incrementAndGet();
+                        } catch (Exception e) {
+                            erros.incrementAndGet();
+                        }
+                        latencias[faixa + i] = System.nanoTime() - inicio;
+                    }
+                });
+            }
+        }
+        return erros.get();
+    }
+
+    private static void semear(ConfigurableApplicationContext contexto) {
+        JdbcTemplate jdbcTemplate = contexto.getBean(JdbcTemplate.class);
+        jdbcTemplate.update("INSERT INTO estadios (nome) VALUES ('Estadio Carga')");
+        Long estadioId = jdbcTemplate.queryForObject("SELECT id FROM estadios WHERE nome = 'Estadio Carga'", Long.class);
+
+        List<Object[]> clubes = new ArrayList<>(CLUBES);
+        for (int i = 0; i < CLUBES; i++) {
+            clubes.add(new Object[]{"Clube Carga " + i});
+        }
+        jdbcTemplate.batchUpdate("INSERT INTO clube (nome, estado, data_criacao, ativo) VALUES (?, 'SP', DATE '1990-01-01', TRUE)", clubes);
+        List<Long> ids = jdbcTemplate.queryForList("SELECT id FROM clube ORDER BY id", Long.class);
+
+        Random random = new Random(42);
+        List<Object[]> partidas = new ArrayList<>(PARTIDAS);
+        for (int i = 0; i < PARTIDAS; i++) {
+            int mandante = random.nextInt(CLUBES);
+            int visitante = (mandante + 1 + random.nextInt(CLUBES - 1)) % CLUBES;
+            partidas.add(new Object[]{ids.get(mandante), ids.get(visitante), estadioId,
+                    Timestamp.valueOf(INICIO.plusHours(i)), random.nextInt(5), random.nextInt(5)});
+        }
+        jdbcTemplate.batchUpdate("INSERT INTO partidas (clube_mandante_id, clube_visitante_id, estadio_id, data_hora, " +
+                                 "gols_mandante, gols_visitante) VALUES (?, ?, ?, ?, ?, ?)", partidas);
+        contexto.getBean(RetrospectoClubes.class).reconciliar();
+    }
+
+    private record Carga(long[] latencias, long nanos, int erros, int pinos, Set<String> origensPinos) {
+
+        Carga {
+            latencias = latencias.clone();
+            Arrays.sort(latencias);
+        }
+
+        double percentil(double p) {
+            return latencias[(int) Math.min(latencias.length - 1, Math.ceil(p * latencias.length) - 1)] / 1e6;
+        }
+
+        @Override
+        public String toString() {
+            String resumo = String.format("%.0f req/s, p50 %.1f ms, p99 %.1f ms, máx %.1f ms, %d erros",
+                    latencias.length / (nanos / 1e9), percentil(0.50), percentil(0.99),
+                    latencias[latencias.length - 1] / 1e6, erros);
+            return pinos < 0 ? resumo : resumo + ", " + pinos + " threads presas " + origensPinos;
+        }
+    }
+}
@@ -9,6 +9,7 @@ import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
 import org.springframework.boot.test.mock.mockito.MockBean;
 import org.springframework.http.MediaType;
+import org.springframework.web.multipart.MaxUploadSizeExceededException;
 import org.springframework.web.server.ResponseStatusException;
 import org.springframework.test.web.servlet.MockMvc;
 import java.time.LocalDate;
@@ -69,6 +70,20 @@ class ApiExceptionHandlerTest {
                 .andExpect(jsonPath("$.message").value("Argumento inválido"));
     }
 
+    @Test
+    void deveRetornar413QuandoArquivoExcederOLimite() throws Exception {
+        ClubeDTO dto = new ClubeDTO(null, "Neo", "SP", LocalDate.now(), true);
+
+        doThrow(new MaxUploadSizeExceededException(1024))
+                .when(clubeService).criar(any());
+
+        mockMvc.perform(post("/clube")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(dto)))
+                .andExpect(status().isPayloadTooLarge())
+                .andExpect(jsonPath("$.message").value("Arquivo maior que o limite permitido"));
+    }
+
     @Test
     void deveRetornar500QuandoErroNaoTratado() throws Exception {
         ClubeDTO dto = new ClubeDTO(null, "Neo", "SP", LocalDate.now(), true);
@@ -1,6 +1,7 @@
 package com.expoo.partidasdefutebol_api.modelTest;
 
 import com.expoo.partidasdefutebol_api.model.Clube;
+import com.expoo.partidasdefutebol_api.model.Estadio;
 import com.expoo.partidasdefutebol_api.model.Partida;
 import jakarta.validation.ConstraintViolation;
 import jakarta.validation.Validation;
@@ -32,12 +33,12 @@ class PartidaTest {
         LocalDateTime dataHora = LocalDateTime.now().minusDays(1);
 
         Partida partida = new Partida(1L, mandante, visitante, 2, 1, dataHora);
-        partida.setEstadio("Maracanã");
+        partida.setEstadio(new Estadio(1L, "Maracanã"));
 
         assertEquals("2-1", partida.getResultado());
         assertEquals(2, partida.getGolsMandante());
         assertEquals(1, partida.getGolsVisitante());
-        assertEquals("Maracanã", partida.getEstadio());
+        assertEquals("Maracanã", partida.getNomeEstadio());
         assertEquals(dataHora, partida.getDataHora());
     }
 
@@ -90,7 +91,7 @@ class PartidaTest {
         Partida partida = new Partida();
 
         Set<ConstraintViolation<Partida>> violations = validator.validate(partida);
-        assertEquals(3, violations.size()); 
+        assertEquals(2, violations.size()); 
     }
 
     @Test
@@ -98,7 +99,7 @@ class PartidaTest {
     void deveDetectarDataHoraFutura() {
         Partida partida = new Partida();
         partida.setResultado("0-0");
-        partida.setEstadio("Arena");
+        partida.setEstadio(new Estadio(1L, "Arena"));
         partida.setDataHora(LocalDateTime.now().plusDays(1));
 
         Set<ConstraintViolation<Partida>> violations = validator.validate(partida);
@@ -127,13 +128,14 @@ class PartidaTest {
         Clube mandante = new Clube(1L, "Time A", "SP", LocalDateTime.now().minusYears(10).toLocalDate(), true);
         Clube visitante = new Clube(2L, "Time B", "RJ", LocalDateTime.now().minusYears(5).toLocalDate(), true);
         Partida partida = new Partida(1L, mandante, visitante, 3, 2, LocalDateTime.now().minusDays(1));
-        partida.setEstadio("Maracanã");
+        partida.setEstadio(new Estadio(7L, "Maracanã"));
 
         String texto = partida.toString();
 
-        assertTrue(texto.contains("Time A"));
-        assertTrue(texto.contains("Time B"));
+        assertTrue(texto.contains("mandanteId=1"));
+        assertTrue(texto.contains("visitanteId=2"));
         assertTrue(texto.contains("3-2"));
-        assertTrue(texto.contains("Maracanã"));
+        assertTrue(texto.contains("estadioId=7"));
+        assertFalse(texto.contains("Time A"));
     }
 }
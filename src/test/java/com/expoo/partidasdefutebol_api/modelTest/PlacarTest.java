@@ -0,0 +1,55 @@
+package com.expoo.partidasdefutebol_api.modelTest;
+
+import com.expoo.partidasdefutebol_api.model.Placar;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class PlacarTest {
+
+    @Test
+    @DisplayName("Deve ler os gols do mandante e do visitante")
+    void deveLerPlacar() {
+        long placar = Placar.ler("12-3");
+
+        assertEquals(12, Placar.golsMandante(placar));
+        assertEquals(3, Placar.golsVisitante(placar));
+    }
+
+    @Test
+    @DisplayName("Deve ignorar espaços em volta dos números")
+    void deveIgnorarEspacos() {
+        long placar = Placar.ler(" 2 - 1 ");
+
+        assertEquals(2, Placar.golsMandante(placar));
+        assertEquals(1, Placar.golsVisitante(placar));
+    }
+
+    @Test
+    @DisplayName("Deve exigir exatamente um separador e o gol do visitante")
+    void deveExigirFormatoXY() {
+        for (String resultado : new String[]{"4", "-", "1-", "1-1-1", ""}) {
+            IllegalArgumentException erro = assertThrows(IllegalArgumentException.class, () -> Placar.ler(resultado));
+            assertEquals("Resultado deve estar no formato 'X-Y'", erro.getMessage());
+        }
+    }
+
+    @Test
+    @DisplayName("Deve rejeitar gols que não sejam números inteiros positivos")
+    void deveRejeitarGolsInvalidos() {
+        for (String resultado : new String[]{"3-abc", "-1", "um-zero", "1.5-0", "9999999999-0"}) {
+            IllegalArgumentException erro = assertThrows(IllegalArgumentException.class, () -> Placar.ler(resultado));
+            assertEquals("Formato inválido para resultado: " + resultado, erro.getMessage());
+        }
+    }
+
+    @Test
+    @DisplayName("Deve formatar reaproveitando os placares comuns")
+    void deveFormatarPlacar() {
+        assertEquals("2-1", Placar.formatar(2, 1));
+        assertSame(Placar.formatar(0, 0), Placar.formatar(0, 0));
+        assertEquals("31-7", Placar.formatar(31, 7));
+        assertEquals("-1-0", Placar.formatar(-1, 0));
+    }
+}
@@ -0,0 +1,194 @@
+package com.expoo.partidasdefutebol_api.repositoryTest;
+
+import com.expoo.partidasdefutebol_api.dto.FiltroPartidasDTO;
+import com.expoo.partidasdefutebol_api.dto.PartidaDTO;
+import com.expoo.partidasdefutebol_api.dto.RetroDTO;
+import com.expoo.partidasdefutebol_api.enums.TipoCampo;
+import com.expoo.partidasdefutebol_api.model.Clube;
+import com.expoo.partidasdefutebol_api.model.Estadio;
+import com.expoo.partidasdefutebol_api.model.Partida;
+import com.expoo.partidasdefutebol_api.repository.ClubeRepository;
+import com.expoo.partidasdefutebol_api.repository.EstadioRepository;
+import com.expoo.partidasdefutebol_api.repository.PartidaRepository;
+import com.expoo.partidasdefutebol_api.service.AgendaClubes;
+import com.expoo.partidasdefutebol_api.service.AlteracoesClubes;
+import com.expoo.partidasdefutebol_api.service.ClubeService;
+import com.expoo.partidasdefutebol_api.service.ClubesEmCache;
+import com.expoo.partidasdefutebol_api.service.PartidaService;
+import com.expoo.partidasdefutebol_api.service.RetrospectoClubes;
+import com.expoo.partidasdefutebol_api.service.ValidadorPartida;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jakarta.persistence.EntityManager;
+import org.hibernate.Hibernate;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.test.context.ActiveProfiles;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Quantas consultas cada serviço faz sobre partidas, e que nenhuma associação é carregada por fora
+ * delas: clubes e estádio só vêm junto quando o método pede o grafo.
+ */
+@DataJpaTest(properties = {"spring.jpa.properties.hibernate.generate_statistics=true", "spring.jpa.show-sql=false"})
+@ActiveProfiles("test")
+@Import({PartidaService.class, ClubeService.class, ClubesEmCache.class, SimpleMeterRegistry.class, AgendaClubes.class,
+        RetrospectoClubes.class, AlteracoesClubes.class, ValidadorPartida.class})
+class CarregamentoPartidasConsultasTest {
+
+    private static final LocalDateTime BASE = LocalDateTime.of(2023, 3, 1, 16, 0);
+
+    @Autowired
+    private PartidaService partidaService;
+
+    @Autowired
+    private ClubeService clubeService;
+
+    @Autowired
+    private ClubesEmCache clubesEmCache;
+
+    @Autowired
+    private PartidaRepository partidaRepository;
+
+    @Autowired
+    private ClubeRepository clubeRepository;
+
+    @Autowired
+    private EstadioRepository estadioRepository;
+
+    @Autowired
+    private RetrospectoClubes retrospectoClubes;
+
+    @Autowired
+    private EntityManager entityManager;
+
+    private Statistics estatisticas;
+    private Clube clube;
+    private Clube rival;
+    private Partida partida;
+
+    @BeforeEach
+    void setup() {
+        clube = clubeRepository.save(new Clube("Carga FC", "SP", LocalDate.of(1990, 1, 1), true));
+        rival = clubeRepository.save(new Clube("Carga Rival", "RJ", LocalDate.of(1990, 1, 1), true));
+        Clube terceiro = clubeRepository.save(new Clube("Carga Terceiro", "MG", LocalDate.of(1990, 1, 1), true));
+        Estadio estadio = estadioRepository.save(new Estadio("Arena Carga"));
+        partida = salvar(clube, rival, estadio, 4, 0, BASE);
+        salvar(rival, clube, estadio, 1, 1, BASE.plusDays(3));
+        salvar(terceiro, clube, estadio, 0, 3, BASE.plusDays(6));
+        retrospectoClubes.reconstruir();
+
+        clubesEmCache.buscar(clube.getId());
+        clubesEmCache.buscar(rival.getId());
+        entityManager.flush();
+        entityManager.clear();
+        estatisticas = entityManager.getEntityManagerFactory().unwrap(SessionFactory.class).getStatistics();
+        estatisticas.clear();
+    }
+
+    @Test
+    @DisplayName("Buscar traz clubes e estádio na mesma consulta")
+    void buscarDeveCarregarOGrafoCompleto() {
+        Partida encontrada = partidaService.buscar(partida.getId());
+
+        assertConsultas(1);
+        assertTrue(Hibernate.isInitialized(encontrada.getMandante()));
+        assertTrue(Hibernate.isInitialized(encontrada.getVisitante()));
+        assertEquals("Arena Carga", encontrada.getNomeEstadio());
+    }
+
+    @Test
+    @DisplayName("Atualizar valida os clubes sem consultas extras para carregá-los")
+    void atualizarDeveValidarComOGrafoCompleto() {
+        partidaService.atualizar(partida.getId(), new PartidaDTO(null, clube.getId(), rival.getId(), 2, 0, "Arena Carga", BASE));
+
+        assertEquals(0, estatisticas.getEntityFetchCount());
+    }
+
+    @Test
+    @DisplayName("Remover usa só os IDs dos clubes")
+    void removerNaoDeveCarregarClubes() {
+        Partida removida = partidaRepository.findById(partida.getId()).orElseThrow();
+        estatisticas.clear();
+
+        partidaService.remover(partida.getId());
+
+        assertEquals(0, estatisticas.getEntityFetchCount());
+        assertFalse(Hibernate.isInitialized(removida.getMandante()));
+        assertFalse(Hibernate.isInitialized(removida.getVisitante()));
+    }
+
+    @Test
+    @DisplayName("toString usa só os IDs das associações")
+    void toStringNaoDeveCarregarAssociacoes() {
+        Partida encontrada = partidaRepository.findById(partida.getId()).orElseThrow();
+        estatisticas.clear();
+
+        assertTrue(encontrada.toString().contains("mandanteId=" + clube.getId()));
+        assertEquals(0, estatisticas.getEntityFetchCount());
+        assertFalse(Hibernate.isInitialized(encontrada.getMandante()));
+        assertFalse(Hibernate.isInitialized(encontrada.getVisitante()));
+        assertFalse(Hibernate.isInitialized(encontrada.getEstadio()));
+    }
+
+    @Test
+    @DisplayName("Listagens e confronto direto projetam os nomes nas próprias consultas")
+    void listagensDevemProjetarOsNomes() {
+        List<PartidaDTO> pagina = partidaService.listar(new FiltroPartidasDTO(clube.getId(), null, null), PageRequest.of(0, 10))
+                .getContent();
+        assertConsultas(1);
+        assertEquals(3, pagina.size());
+
+        estatisticas.clear();
+        assertEquals(3, partidaService.listarPorCursor(new FiltroPartidasDTO(clube.getId(), null, null), null, 10).getConteudo().size());
+        assertConsultas(2);
+
+        estatisticas.clear();
+        partidaService.getConfrontoDireto(clube.getId(), rival.getId());
+        assertConsultas(2);
+    }
+
+    @Test
+    @DisplayName("Retrospectos que só comparam IDs não carregam clubes")
+    void retrospectosPorIdNaoDevemCarregarClubes() {
+        RetroDTO goleadas = clubeService.getRetroGoleadas(clube.getId(), TipoCampo.TODOS);
+        assertConsultas(2);
+        assertEquals(2, goleadas.getVitorias());
+
+        estatisticas.clear();
+        List<RetroDTO> comparados = clubeService.compararClubes(List.of(clube.getId(), rival.getId()));
+        assertConsultas(2);
+        assertEquals(2, comparados.size());
+    }
+
+    @Test
+    @DisplayName("Retrospecto contra adversários traz os nomes pelo grafo de clubes")
+    void retrospectoAdversariosDeveCarregarClubesNaConsulta() {
+        List<RetroDTO> adversarios = clubeService.getRetroAdversarios(clube.getId(), TipoCampo.TODOS);
+
+        assertConsultas(2);
+        assertEquals(List.of("Carga Rival", "Carga Terceiro"), adversarios.stream().map(RetroDTO::getNome).toList());
+    }
+
+    private void assertConsultas(int esperadas) {
+        assertEquals(esperadas, estatisticas.getPrepareStatementCount());
+        assertEquals(0, estatisticas.getEntityFetchCount());
+    }
+
+    private Partida salvar(Clube mandante, Clube visitante, Estadio estadio, int golsMandante, int golsVisitante,
+                           LocalDateTime dataHora) {
+        Partida nova = new Partida(null, mandante, visitante, golsMandante, golsVisitante, dataHora);
+        nova.setEstadio(estadio);
+        return partidaRepository.save(nova);
+    }
+}
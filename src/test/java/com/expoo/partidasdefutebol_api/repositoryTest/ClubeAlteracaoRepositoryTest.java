@@ -0,0 +1,65 @@
+package com.expoo.partidasdefutebol_api.repositoryTest;
+
+import com.expoo.partidasdefutebol_api.model.ClubeAlteracao;
+import com.expoo.partidasdefutebol_api.repository.ClubeAlteracaoRepository;
+import com.expoo.partidasdefutebol_api.service.AlteracoesClubes;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.data.domain.Limit;
+import org.springframework.test.context.ActiveProfiles;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DataJpaTest
+@ActiveProfiles("test")
+@Import(AlteracoesClubes.class)
+class ClubeAlteracaoRepositoryTest {
+
+    @Autowired
+    private ClubeAlteracaoRepository alteracaoRepository;
+
+    @Autowired
+    private AlteracoesClubes alteracoesClubes;
+
+    private long registrar(Long clubeId) {
+        return alteracaoRepository.save(new ClubeAlteracao(clubeId)).getId();
+    }
+
+    @Test
+    @DisplayName("Deve listar as alterações depois da marca em ordem, limitadas, e apagar até a informada")
+    void deveListarEApagarAlteracoesPendentes() {
+        assertFalse(alteracaoRepository.existsByIdNotNull());
+        long primeira = registrar(1L);
+        long segunda = registrar(2L);
+        long terceira = registrar(2L);
+
+        assertTrue(alteracaoRepository.existsByIdNotNull());
+        assertEquals(List.of(segunda, terceira),
+                alteracaoRepository.buscarPendentes(primeira, Limit.of(10)).stream().map(ClubeAlteracao::getId).toList());
+        assertEquals(List.of(primeira),
+                alteracaoRepository.buscarPendentes(0L, Limit.of(1)).stream().map(ClubeAlteracao::getId).toList());
+        assertEquals(2, alteracaoRepository.apagarAte(segunda));
+        assertEquals(List.of(terceira), alteracaoRepository.findAll().stream().map(ClubeAlteracao::getId).toList());
+    }
+
+    @Test
+    @DisplayName("Alteração gravada durante o processamento deve continuar pendente")
+    void deveManterAlteracaoGravadaDuranteOProcessamento() {
+        registrar(1L);
+        registrar(2L);
+
+        List<Long> processados = alteracoesClubes.processarPendentes(0L, 10, pendentes -> {
+            long atrasada = registrar(3L);
+            assertNotEquals(atrasada, pendentes.get(pendentes.size() - 1).getId());
+            return pendentes.stream().map(ClubeAlteracao::getClubeId).toList();
+        });
+
+        assertEquals(List.of(1L, 2L), processados);
+        assertEquals(List.of(3L), alteracaoRepository.findAll().stream().map(ClubeAlteracao::getClubeId).toList());
+        assertTrue(alteracoesClubes.possuiPendentes());
+    }
+}
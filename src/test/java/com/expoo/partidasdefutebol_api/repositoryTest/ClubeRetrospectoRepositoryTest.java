@@ -0,0 +1,151 @@
+package com.expoo.partidasdefutebol_api.repositoryTest;
+
+import com.expoo.partidasdefutebol_api.dto.DivergenciaRetrospectoDTO;
+import com.expoo.partidasdefutebol_api.dto.ReconciliacaoRetrospectoDTO;
+import com.expoo.partidasdefutebol_api.dto.RetroDTO;
+import com.expoo.partidasdefutebol_api.model.Clube;
+import com.expoo.partidasdefutebol_api.model.ClubeRetrospecto;
+import com.expoo.partidasdefutebol_api.model.Estadio;
+import com.expoo.partidasdefutebol_api.model.Partida;
+import com.expoo.partidasdefutebol_api.repository.ClubeRepository;
+import com.expoo.partidasdefutebol_api.repository.ClubeRetrospectoRepository;
+import com.expoo.partidasdefutebol_api.repository.EstadioRepository;
+import com.expoo.partidasdefutebol_api.repository.PartidaRepository;
+import com.expoo.partidasdefutebol_api.service.RetrospectoClubes;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.context.annotation.Import;
+import org.springframework.test.context.ActiveProfiles;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DataJpaTest
+@ActiveProfiles("test")
+@Import(RetrospectoClubes.class)
+class ClubeRetrospectoRepositoryTest {
+
+    private static final LocalDateTime DATA = LocalDateTime.of(2023, 5, 20, 16, 0);
+
+    @Autowired
+    private ClubeRetrospectoRepository retrospectoRepository;
+
+    @Autowired
+    private RetrospectoClubes retrospectoClubes;
+
+    @Autowired
+    private PartidaRepository partidaRepository;
+
+    @Autowired
+    private ClubeRepository clubeRepository;
+
+    @Autowired
+    private EstadioRepository estadioRepository;
+
+    @Autowired
+    private TestEntityManager entityManager;
+
+    private Clube clube1;
+    private Clube clube2;
+    private Estadio estadio;
+
+    @BeforeEach
+    void setup() {
+        clube1 = clubeRepository.save(new Clube("Retro FC", "SP", LocalDate.of(2000, 1, 1), true));
+        clube2 = clubeRepository.save(new Clube("Saldo EC", "RJ", LocalDate.of(2000, 1, 1), true));
+        estadio = estadioRepository.save(new Estadio("Arena Retro"));
+    }
+
+    private Partida criarPartida(Clube mandante, Clube visitante, int golsMandante, int golsVisitante, LocalDateTime dataHora) {
+        Partida partida = new Partida(null, mandante, visitante, golsMandante, golsVisitante, dataHora);
+        partida.setEstadio(estadio);
+        return partidaRepository.saveAndFlush(partida);
+    }
+
+    private RetroDTO retro(Clube clube, Boolean mandante) {
+        entityManager.clear();
+        RetroDTO retro = new RetroDTO(clube.getNome(), 0, 0, 0, 0, 0);
+        for (ClubeRetrospecto linha : retrospectoRepository.buscarPorClube(clube.getId(), mandante)) {
+            assertEquals(clube.getNome(), linha.getClube().getNome());
+            retro.setVitorias(retro.getVitorias() + linha.getVitorias());
+            retro.setEmpates(retro.getEmpates() + linha.getEmpates());
+            retro.setDerrotas(retro.getDerrotas() + linha.getDerrotas());
+            retro.setGolsFeitos(retro.getGolsFeitos() + linha.getGolsFeitos());
+            retro.setGolsSofridos(retro.getGolsSofridos() + linha.getGolsSofridos());
+        }
+        return retro;
+    }
+
+    @Test
+    @DisplayName("Deve somar o delta na linha existente e não alterar nada quando ela não existir")
+    void deveSomarNaLinhaExistente() {
+        retrospectoRepository.saveAndFlush(new ClubeRetrospecto(clube1.getId(), true, 1, 0, 0, 2, 0));
+
+        assertEquals(1, retrospectoRepository.somar(clube1.getId(), true, 0, 1, 0, 1, 1));
+        assertEquals(0, retrospectoRepository.somar(clube1.getId(), false, 1, 0, 0, 1, 0));
+        assertEquals(new RetroDTO(clube1.getNome(), 1, 1, 0, 3, 1), retro(clube1, true));
+        assertEquals(new RetroDTO(clube1.getNome(), 0, 0, 0, 0, 0), retro(clube1, false));
+    }
+
+    @Test
+    @DisplayName("Deve manter o retrospecto igual ao recalculado ao cadastrar, atualizar e remover partidas")
+    void deveManterRetrospectoIncrementalIgualAoRecalculado() {
+        retrospectoClubes.reconciliar();
+
+        Partida vitoria = criarPartida(clube1, clube2, 3, 0, DATA);
+        retrospectoClubes.registrar(vitoria);
+        Partida empate = criarPartida(clube2, clube1, 1, 1, DATA.plusDays(3));
+        retrospectoClubes.registrar(empate);
+        Partida removida = criarPartida(clube2, clube1, 2, 0, DATA.plusDays(6));
+        retrospectoClubes.registrar(removida);
+
+        vitoria.setGolsMandante(1);
+        vitoria.setGolsVisitante(2);
+        partidaRepository.saveAndFlush(vitoria);
+        retrospectoClubes.atualizar(vitoria, 3, 0);
+
+        partidaRepository.delete(removida);
+        partidaRepository.flush();
+        retrospectoClubes.remover(removida);
+
+        assertEquals(new RetroDTO(clube1.getNome(), 0, 0, 1, 1, 2), retro(clube1, true));
+        assertEquals(new RetroDTO(clube1.getNome(), 0, 1, 1, 2, 3), retro(clube1, null));
+        assertEquals(new RetroDTO(clube2.getNome(), 1, 1, 0, 3, 2), retro(clube2, null));
+        assertTrue(retrospectoClubes.reconciliar().getDivergencias().isEmpty());
+    }
+
+    @Test
+    @DisplayName("Deve corrigir as linhas divergentes, inserir as ausentes e informar as divergências")
+    void deveCorrigirEInformarDivergencias() {
+        criarPartida(clube1, clube2, 2, 1, DATA);
+        criarPartida(clube1, clube2, 0, 0, DATA.plusDays(3));
+        retrospectoRepository.saveAndFlush(new ClubeRetrospecto(clube1.getId(), true, 5, 0, 0, 9, 0));
+
+        ReconciliacaoRetrospectoDTO reconciliacao = retrospectoClubes.reconciliar();
+
+        assertEquals(2 * clubeRepository.count(), reconciliacao.getLinhas());
+        List<DivergenciaRetrospectoDTO> divergencias = reconciliacao.getDivergencias();
+        assertEquals(2, divergencias.size());
+
+        DivergenciaRetrospectoDTO doMandante = divergencias.stream()
+                .filter(DivergenciaRetrospectoDTO::isMandante).findFirst().orElseThrow();
+        assertEquals(clube1.getId(), doMandante.getClubeId());
+        assertEquals(new RetroDTO(clube1.getNome(), 1, 1, 0, 2, 1), doMandante.getEsperado());
+        assertEquals(new RetroDTO(clube1.getNome(), 5, 0, 0, 9, 0), doMandante.getEncontrado());
+
+        DivergenciaRetrospectoDTO doVisitante = divergencias.stream()
+                .filter(d -> !d.isMandante()).findFirst().orElseThrow();
+        assertEquals(clube2.getId(), doVisitante.getClubeId());
+        assertEquals(new RetroDTO(clube2.getNome(), 0, 1, 1, 1, 2), doVisitante.getEsperado());
+        assertEquals(new RetroDTO(clube2.getNome(), 0, 0, 0, 0, 0), doVisitante.getEncontrado());
+
+        assertEquals(new RetroDTO(clube1.getNome(), 1, 1, 0, 2, 1), retro(clube1, null));
+        assertTrue(retrospectoClubes.reconciliar().getDivergencias().isEmpty());
+    }
+}
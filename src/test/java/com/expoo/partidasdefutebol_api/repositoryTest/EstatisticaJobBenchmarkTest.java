@@ -0,0 +1,155 @@
+package com.expoo.partidasdefutebol_api.repositoryTest;
+
+import com.expoo.partidasdefutebol_api.dto.EstatisticaDTO;
+import com.expoo.partidasdefutebol_api.dto.ExecucaoJobDTO;
+import com.expoo.partidasdefutebol_api.enums.StatusJob;
+import com.expoo.partidasdefutebol_api.model.Clube;
+import com.expoo.partidasdefutebol_api.repository.ClubeRepository;
+import com.expoo.partidasdefutebol_api.repository.PartidaRepository;
+import com.expoo.partidasdefutebol_api.service.AlteracoesClubes;
+import com.expoo.partidasdefutebol_api.service.EstatisticaJobService;
+import com.expoo.partidasdefutebol_api.service.RetrospectoClubes;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.TestPropertySource;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@Tag("benchmark")
+@DataJpaTest
+@ActiveProfiles("test")
+@Import({EstatisticaJobService.class, AlteracoesClubes.class, RetrospectoClubes.class,
+        SimpleMeterRegistry.class})
+@TestPropertySource(properties = "spring.jpa.show-sql=false")
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+class EstatisticaJobBenchmarkTest {
+
+    private static final Logger log = LoggerFactory.getLogger(EstatisticaJobBenchmarkTest.class);
+
+    private static final int PARTIDAS_POR_CLUBE = 20;
+    private static final int RODADAS = 5;
+    private static final LocalDateTime INICIO = LocalDateTime.of(2000, 1, 1, 0, 0);
+
+    @Autowired
+    private EstatisticaJobService jobService;
+
+    @Autowired
+    private ClubeRepository clubeRepository;
+
+    @Autowired
+    private PartidaRepository partidaRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @AfterEach
+    void limpar() {
+        jdbcTemplate.update("DELETE FROM partidas WHERE estadio_id IN (SELECT id FROM estadios WHERE nome = 'Estadio Job')");
+        jdbcTemplate.update("DELETE FROM clube WHERE nome LIKE 'Clube Job %'");
+        jdbcTemplate.update("DELETE FROM estadios WHERE nome = 'Estadio Job'");
+    }
+
+    /**
+     * Sem transação em volta, como no agendamento: cada consulta do job abre e fecha a sua.
+     */
+    @ParameterizedTest(name = "{0} clubes")
+    @ValueSource(ints = {100, 1_000, 10_000})
+    @DisplayName("Job de estatísticas com uma consulta agrupada contra uma consulta por clube")
+    void jobDeEstatisticasComUmaConsulta(int totalClubes) {
+        semear(totalClubes);
+
+        List<EstatisticaDTO> porClube = jobPorClube();
+        List<EstatisticaDTO> agrupado = jobAgrupado();
+        assertEquals(porClube.toString(), agrupado.toString());
+
+        long porClubeNanos = medir(this::jobPorClube);
+        long agrupadoNanos = medir(this::jobAgrupado);
+
+        log.info("Job de estatísticas com {} clubes: uma consulta por clube {} ms, consulta agrupada {} ms",
+                totalClubes, String.format("%.1f", porClubeNanos / 1e6), String.format("%.1f", agrupadoNanos / 1e6));
+        assertTrue(agrupadoNanos < porClubeNanos,
+                "Consulta agrupada não foi mais rápida com " + totalClubes + " clubes");
+    }
+
+    /**
+     * O job pelo disparo manual, esperando a execução terminar.
+     */
+    private List<EstatisticaDTO> jobAgrupado() {
+        long id = jobService.dispararJob().getId();
+        ExecucaoJobDTO execucao = jobService.buscarExecucao(id);
+        while (execucao.getStatus() == StatusJob.AGUARDANDO || execucao.getStatus() == StatusJob.EM_ANDAMENTO) {
+            Thread.onSpinWait();
+            execucao = jobService.buscarExecucao(id);
+        }
+        assertEquals(StatusJob.CONCLUIDO, execucao.getStatus(), execucao.getFalha());
+        return execucao.getResultado();
+    }
+
+    /**
+     * O job como era antes: todos os clubes e depois os gols de cada um.
+     */
+    private List<EstatisticaDTO> jobPorClube() {
+        List<EstatisticaDTO> resultado = new ArrayList<>();
+        for (Clube clube : clubeRepository.findAll()) {
+            int total = partidaRepository.somarGolsDosClubes(List.of(clube.getId())).get(0).getGols();
+            resultado.add(new EstatisticaDTO(clube.getNome(), total));
+        }
+        return resultado;
+    }
+
+    private static long medir(Runnable job) {
+        job.run();
+        long melhor = Long.MAX_VALUE;
+        for (int i = 0; i < RODADAS; i++) {
+            long inicio = System.nanoTime();
+            job.run();
+            melhor = Math.min(melhor, System.nanoTime() - inicio);
+        }
+        return melhor;
+    }
+
+    private void semear(int totalClubes) {
+        jdbcTemplate.update("INSERT INTO estadios (nome) VALUES ('Estadio Job')");
+        Long estadioId = jdbcTemplate.queryForObject("SELECT id FROM estadios WHERE nome = 'Estadio Job'", Long.class);
+
+        List<Object[]> clubes = new ArrayList<>(totalClubes);
+        for (int i = 0; i < totalClubes; i++) {
+            clubes.add(new Object[]{"Clube Job " + i});
+        }
+        jdbcTemplate.batchUpdate("INSERT INTO clube (nome, estado, data_criacao, ativo) VALUES (?, 'SP', DATE '1990-01-01', TRUE)", clubes);
+        List<Long> ids = jdbcTemplate.queryForList("SELECT id FROM clube WHERE nome LIKE 'Clube Job %' ORDER BY id", Long.class);
+
+        Random random = new Random(42);
+        List<Object[]> partidas = new ArrayList<>();
+        for (int i = 0; i < totalClubes * PARTIDAS_POR_CLUBE / 2; i++) {
+            partidas.add(new Object[]{
+                    ids.get(random.nextInt(totalClubes)),
+                    ids.get(random.nextInt(totalClubes)),
+                    estadioId,
+                    Timestamp.valueOf(INICIO.plusMinutes(i)),
+                    random.nextInt(5),
+                    random.nextInt(5)
+            });
+        }
+        jdbcTemplate.batchUpdate("INSERT INTO partidas (clube_mandante_id, clube_visitante_id, estadio_id, data_hora, " +
+                                 "gols_mandante, gols_visitante) VALUES (?, ?, ?, ?, ?, ?)", partidas);
+    }
+}
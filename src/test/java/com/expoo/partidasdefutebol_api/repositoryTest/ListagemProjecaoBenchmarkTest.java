@@ -0,0 +1,148 @@
+package com.expoo.partidasdefutebol_api.repositoryTest;
+
+import com.expoo.partidasdefutebol_api.dto.PartidaDTO;
+import com.expoo.partidasdefutebol_api.enums.TipoCampo;
+import com.expoo.partidasdefutebol_api.model.Partida;
+import com.expoo.partidasdefutebol_api.repository.EspecificacaoPartidas;
+import com.expoo.partidasdefutebol_api.repository.PartidaRepository;
+import com.expoo.partidasdefutebol_api.service.RetrospectoClubes;
+import com.expoo.partidasdefutebol_api.service.SemeadorDados;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.json.AutoConfigureJson;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.context.annotation.Import;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.domain.Specification;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+import java.util.List;
+import java.util.function.Supplier;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Compara as listagens montando as entidades com clubes e estádio contra a projeção em {@link PartidaDTO}:
+ * linhas por segundo e bytes de JSON por resposta. O contexto de persistência é limpo a cada resposta,
+ * como em requisições separadas.
+ */
+@Tag("benchmark")
+@DataJpaTest(properties = {"semeadura.clubes=20", "semeadura.estadios=10", "semeadura.partidas=20000",
+        "semeadura.semente=42", "spring.jpa.show-sql=false"})
+@ActiveProfiles({"test", "seed"})
+@AutoConfigureJson
+@Import({SemeadorDados.class, RetrospectoClubes.class})
+class ListagemProjecaoBenchmarkTest {
+
+    private static final Logger log = LoggerFactory.getLogger(ListagemProjecaoBenchmarkTest.class);
+
+    private static final int RESPOSTAS = 2_000;
+    private static final int TAMANHO_PAGINA = 100;
+    private static final List<String> ASSOCIACOES = List.of("mandante", "visitante", "estadio");
+
+    @Autowired
+    private PartidaRepository partidaRepository;
+
+    @Autowired
+    private TestEntityManager entityManager;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Test
+    @DisplayName("Listagem paginada projetada deve entregar menos bytes que a de entidades")
+    void listagemProjetadaDeveSerMenor() {
+        // Só um mando: nos dois, o H2 reavalia o UNION ALL a cada linha e a medição vira a do banco de teste.
+        Long clubeId = jdbcTemplate.queryForObject("SELECT MIN(id) FROM clube", Long.class);
+        Specification<Partida> filtro = new EspecificacaoPartidas().doClube(clubeId, null, TipoCampo.MANDANTE, null).construir();
+        int paginas = (int) Math.max(1, partidaRepository.count(filtro) / TAMANHO_PAGINA);
+
+        Medicao entidades = medir("listagem com entidades",
+                pagina -> partidaRepository.findBy(filtro, consulta -> consulta.project(ASSOCIACOES).page(pagina)).getContent(),
+                paginas);
+        Medicao resumos = medir("listagem com projeção",
+                pagina -> partidaRepository.listarResumos(filtro, pagina).getContent(), paginas);
+
+        assertEquals(entidades.linhas, resumos.linhas);
+        assertTrue(resumos.bytesPorResposta() < entidades.bytesPorResposta());
+    }
+
+    @Test
+    @DisplayName("Confronto direto projetado deve entregar menos bytes que o de entidades")
+    void confrontoDiretoProjetadoDeveSerMenor() {
+        List<Long> ids = jdbcTemplate.queryForList("SELECT id FROM clube ORDER BY id FETCH FIRST 2 ROWS ONLY", Long.class);
+        Specification<Partida> filtro = new EspecificacaoPartidas().doClube(ids.get(0), ids.get(1), null, null).construir();
+
+        Medicao entidades = medir("confronto direto com entidades",
+                pagina -> partidaRepository.findBy(filtro, consulta -> consulta.project(ASSOCIACOES).all()), 1);
+        Medicao resumos = medir("confronto direto com projeção",
+                pagina -> partidaRepository.findConfrontosDiretos(ids.get(0), ids.get(1)), 1);
+
+        assertTrue(resumos.linhas > 0);
+        assertEquals(entidades.linhas, resumos.linhas);
+        assertTrue(resumos.bytesPorResposta() < entidades.bytesPorResposta());
+    }
+
+    private Medicao medir(String descricao, Consulta consulta, int paginas) {
+        for (int i = 0; i < RESPOSTAS / 4; i++) {
+            int resposta = i;
+            responder(() -> consulta.executar(pagina(resposta, paginas)));
+        }
+
+        long linhas = 0;
+        long bytes = 0;
+        long inicio = System.nanoTime();
+        for (int i = 0; i < RESPOSTAS; i++) {
+            int resposta = i;
+            List<?> conteudo = consulta.executar(pagina(resposta, paginas));
+            linhas += conteudo.size();
+            bytes += responder(() -> conteudo);
+        }
+        Medicao medicao = new Medicao(linhas, bytes, System.nanoTime() - inicio);
+
+        log.info("{}: {} respostas, {} linhas/s, {} bytes por resposta",
+                descricao, RESPOSTAS, String.format("%.0f", medicao.linhasPorSegundo()), medicao.bytesPorResposta());
+        return medicao;
+    }
+
+    private long responder(Supplier<List<?>> conteudo) {
+        try {
+            return objectMapper.writeValueAsBytes(conteudo.get()).length;
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException(e);
+        } finally {
+            entityManager.clear();
+        }
+    }
+
+    private static Pageable pagina(int resposta, int paginas) {
+        return PageRequest.of(resposta % paginas, TAMANHO_PAGINA, Sort.by("dataHora").descending());
+    }
+
+    private interface Consulta {
+        List<?> executar(Pageable pagina);
+    }
+
+    private record Medicao(long linhas, long bytes, long nanos) {
+
+        double linhasPorSegundo() {
+            return linhas * 1_000_000_000.0 / nanos;
+        }
+
+        long bytesPorResposta() {
+            return bytes / RESPOSTAS;
+        }
+    }
+}
@@ -0,0 +1,46 @@
+package com.expoo.partidasdefutebol_api.repositoryTest;
+
+import org.flywaydb.core.Flyway;
+import org.h2.jdbcx.JdbcDataSource;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.JdbcTemplate;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class MigracaoBaselineTest {
+
+    @Test
+    @DisplayName("Deve migrar um banco assumido pelo baseline, criado sem os índices da V1")
+    void deveMigrarBancoSemIndicesDaV1() throws IOException {
+        JdbcDataSource banco = new JdbcDataSource();
+        banco.setURL("jdbc:h2:mem:baseline;DB_CLOSE_DELAY=-1");
+        JdbcTemplate jdbcTemplate = new JdbcTemplate(banco);
+
+        // O mesmo esquema da V1, como o ddl-auto=update deixava: sem índice algum.
+        Arrays.stream(lerV1().split(";"))
+                .map(String::trim)
+                .filter(comando -> !comando.isEmpty() && !comando.startsWith("CREATE INDEX"))
+                .forEach(jdbcTemplate::execute);
+        jdbcTemplate.update("INSERT INTO clube (nome, estado, data_criacao, ativo) VALUES ('Baseline FC', 'SP', DATE '1990-01-01', TRUE)");
+        jdbcTemplate.update("INSERT INTO partidas (clube_mandante_id, clube_visitante_id, resultado, estadio, data_hora, " +
+                            "gols_mandante, gols_visitante) VALUES (1, 1, '1-0', 'Arena Baseline', TIMESTAMP '2020-01-01 16:00:00', 1, 0)");
+
+        Flyway.configure().dataSource(banco).baselineOnMigrate(true).baselineVersion("1").load().migrate();
+
+        assertEquals("Arena Baseline", jdbcTemplate.queryForObject(
+                "SELECT e.nome FROM partidas p JOIN estadios e ON e.id = p.estadio_id", String.class));
+        assertEquals(1, jdbcTemplate.queryForObject(
+                "SELECT COUNT(*) FROM INFORMATION_SCHEMA.INDEXES WHERE INDEX_NAME = 'IDX_PARTIDAS_ESTADIO_DATA_HORA'", Integer.class));
+    }
+
+    private String lerV1() throws IOException {
+        try (InputStream v1 = getClass().getResourceAsStream("/db/migration/V1__esquema_inicial.sql")) {
+            return new String(v1.readAllBytes(), StandardCharsets.UTF_8);
+        }
+    }
+}
@@ -0,0 +1,90 @@
+package com.expoo.partidasdefutebol_api.repositoryTest;
+
+import com.expoo.partidasdefutebol_api.model.Clube;
+import com.expoo.partidasdefutebol_api.model.Estadio;
+import com.expoo.partidasdefutebol_api.model.Partida;
+import com.expoo.partidasdefutebol_api.repository.ClubeRepository;
+import com.expoo.partidasdefutebol_api.repository.EstadioRepository;
+import com.expoo.partidasdefutebol_api.repository.PartidaJdbcRepository;
+import com.expoo.partidasdefutebol_api.repository.PartidaRepository;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.test.context.ActiveProfiles;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DataJpaTest
+@ActiveProfiles("test")
+@Import(PartidaJdbcRepository.class)
+class PartidaJdbcRepositoryTest {
+
+    @Autowired
+    private PartidaJdbcRepository partidaJdbcRepository;
+
+    @Autowired
+    private PartidaRepository partidaRepository;
+
+    @Autowired
+    private ClubeRepository clubeRepository;
+
+    @Autowired
+    private EstadioRepository estadioRepository;
+
+    @Test
+    @DisplayName("Deve inserir partidas em lote e devolver os ids gerados na mesma ordem")
+    void deveInserirEmLoteDevolvendoIds() {
+        Clube mandante = clubeRepository.save(new Clube("Lote A", "SP", LocalDate.of(2000, 1, 1), true));
+        Clube visitante = clubeRepository.save(new Clube("Lote B", "RJ", LocalDate.of(2000, 1, 1), true));
+        List<Estadio> estadios = new ArrayList<>();
+        for (int i = 0; i < 10; i++) {
+            estadios.add(estadioRepository.save(new Estadio("Estádio " + i)));
+        }
+
+        List<Partida> partidas = new ArrayList<>();
+        for (int i = 0; i < 2500; i++) {
+            Partida partida = new Partida(null, mandante, visitante, i % 5, 1, LocalDateTime.of(2020, 1, 1, 0, 0).plusDays(3L * i));
+            partida.setEstadio(estadios.get(i % estadios.size()));
+            partidas.add(partida);
+        }
+
+        List<Long> ids = partidaJdbcRepository.inserirEmLote(partidas);
+
+        assertEquals(2500, ids.size());
+        assertEquals(2500, partidaRepository.count());
+
+        Partida ultima = partidaRepository.findById(ids.get(2499)).orElseThrow();
+        assertEquals("Estádio 9", ultima.getNomeEstadio());
+        assertEquals("4-1", ultima.getResultado());
+        assertEquals(mandante.getId(), ultima.getMandante().getId());
+    }
+
+    @Test
+    @DisplayName("Deve listar ocupações de estádios dentro do intervalo")
+    void deveListarOcupacoesDeEstadios() {
+        Clube mandante = clubeRepository.save(new Clube("Lote C", "SP", LocalDate.of(2000, 1, 1), true));
+        Clube visitante = clubeRepository.save(new Clube("Lote D", "RJ", LocalDate.of(2000, 1, 1), true));
+        Estadio arenaX = estadioRepository.save(new Estadio("Arena X"));
+        Estadio arenaY = estadioRepository.save(new Estadio("Arena Y"));
+        LocalDateTime dataHora = LocalDateTime.of(2023, 5, 20, 16, 0);
+
+        Partida partida = new Partida(null, mandante, visitante, 1, 0, dataHora);
+        partida.setEstadio(arenaX);
+        Partida outra = new Partida(null, mandante, visitante, 1, 0, dataHora.plusDays(10));
+        outra.setEstadio(arenaX);
+        partidaJdbcRepository.inserirEmLote(List.of(partida, outra));
+
+        List<PartidaRepository.OcupacaoEstadio> ocupacoes = partidaRepository.findOcupacoesDeEstadios(
+                List.of(arenaX.getId(), arenaY.getId()), List.of(dataHora, dataHora.plusDays(1)));
+
+        assertEquals(1, ocupacoes.size());
+        assertEquals(arenaX.getId(), ocupacoes.get(0).getEstadioId());
+        assertEquals(dataHora, ocupacoes.get(0).getDataHora());
+    }
+}
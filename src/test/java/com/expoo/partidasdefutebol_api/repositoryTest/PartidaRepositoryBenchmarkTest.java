@@ -0,0 +1,108 @@
+package com.expoo.partidasdefutebol_api.repositoryTest;
+
+import com.expoo.partidasdefutebol_api.model.Clube;
+import com.expoo.partidasdefutebol_api.model.Estadio;
+import com.expoo.partidasdefutebol_api.repository.ClubeRepository;
+import com.expoo.partidasdefutebol_api.repository.EstadioRepository;
+import com.expoo.partidasdefutebol_api.repository.PartidaRepository;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.TestPropertySource;
+import java.sql.Timestamp;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@Tag("benchmark")
+@DataJpaTest
+@ActiveProfiles("test")
+@TestPropertySource(properties = "spring.jpa.show-sql=false")
+class PartidaRepositoryBenchmarkTest {
+
+    private static final Logger log = LoggerFactory.getLogger(PartidaRepositoryBenchmarkTest.class);
+
+    private static final int TOTAL_PARTIDAS = 1_000_000;
+    private static final int TOTAL_ESTADIOS = 500;
+    private static final int TAMANHO_LOTE = 10_000;
+    private static final int CONSULTAS = 10_000;
+    private static final LocalDateTime INICIO = LocalDateTime.of(2000, 1, 1, 0, 0);
+
+    @Autowired
+    private PartidaRepository partidaRepository;
+
+    @Autowired
+    private ClubeRepository clubeRepository;
+
+    @Autowired
+    private EstadioRepository estadioRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    private final List<Long> estadioIds = new ArrayList<>(TOTAL_ESTADIOS);
+
+    @Test
+    @DisplayName("Verificação de estádio ocupado deve ser indexada com 1M de partidas")
+    void verificacaoDeEstadioDeveSerIndexada() {
+        Clube mandante = clubeRepository.save(new Clube("Mandante Bench", "SP", LocalDate.of(1990, 1, 1), true));
+        Clube visitante = clubeRepository.save(new Clube("Visitante Bench", "RJ", LocalDate.of(1990, 1, 1), true));
+        for (int i = 0; i < TOTAL_ESTADIOS; i++) {
+            estadioIds.add(estadioRepository.save(new Estadio("Estadio " + i)).getId());
+        }
+        semearPartidas(mandante.getId(), visitante.getId());
+
+        Random random = new Random(42);
+        for (int i = 0; i < CONSULTAS; i++) {
+            consultar(random);
+        }
+
+        long inicio = System.nanoTime();
+        int ocupados = 0;
+        for (int i = 0; i < CONSULTAS; i++) {
+            if (consultar(random)) ocupados++;
+        }
+        double mediaMicros = (System.nanoTime() - inicio) / 1_000.0 / CONSULTAS;
+
+        log.info("Verificação de estádio: {} consultas sobre {} partidas, média de {} µs ({} ocupados)",
+                CONSULTAS, TOTAL_PARTIDAS, String.format("%.1f", mediaMicros), ocupados);
+
+        assertTrue(ocupados > 0);
+        assertTrue(mediaMicros < 2_000, "Verificação de estádio acima de 2 ms em média: " + mediaMicros + " µs");
+    }
+
+    private boolean consultar(Random random) {
+        int indice = random.nextInt(TOTAL_PARTIDAS);
+        Long estadioId = estadioIds.get(indice % TOTAL_ESTADIOS);
+        LocalDateTime dataHora = INICIO.plusMinutes(indice);
+        return partidaRepository.existsByEstadioIdAndDataHoraAndIdNot(estadioId, dataHora, -1L);
+    }
+
+    private void semearPartidas(Long mandanteId, Long visitanteId) {
+        String sql = "INSERT INTO partidas (clube_mandante_id, clube_visitante_id, estadio_id, data_hora, gols_mandante, gols_visitante) " +
+                     "VALUES (?, ?, ?, ?, 1, 0)";
+
+        for (int lote = 0; lote < TOTAL_PARTIDAS; lote += TAMANHO_LOTE) {
+            List<Object[]> linhas = new ArrayList<>(TAMANHO_LOTE);
+            for (int i = lote; i < lote + TAMANHO_LOTE; i++) {
+                linhas.add(new Object[]{
+                        mandanteId,
+                        visitanteId,
+                        estadioIds.get(i % TOTAL_ESTADIOS),
+                        Timestamp.valueOf(INICIO.plusMinutes(i))
+                });
+            }
+            jdbcTemplate.batchUpdate(sql, linhas);
+        }
+    }
+}
@@ -1,21 +1,33 @@
 package com.expoo.partidasdefutebol_api.repositoryTest;
 
+import com.expoo.partidasdefutebol_api.dto.PartidaDTO;
+import com.expoo.partidasdefutebol_api.enums.ResultadoPartida;
+import com.expoo.partidasdefutebol_api.enums.TipoCampo;
 import com.expoo.partidasdefutebol_api.model.Clube;
+import com.expoo.partidasdefutebol_api.model.Estadio;
 import com.expoo.partidasdefutebol_api.model.Partida;
 import com.expoo.partidasdefutebol_api.repository.ClubeRepository;
+import com.expoo.partidasdefutebol_api.repository.EspecificacaoPartidas;
+import com.expoo.partidasdefutebol_api.repository.EstadioRepository;
 import com.expoo.partidasdefutebol_api.repository.PartidaRepository;
+import com.expoo.partidasdefutebol_api.service.CursorPartida;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Sort;
 import org.springframework.test.context.ActiveProfiles;
 import java.time.LocalDate;
 import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Comparator;
 import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
 
-import static org.assertj.core.api.Assertions.assertThat;
 import static org.junit.jupiter.api.Assertions.*;
 
 @DataJpaTest
@@ -28,14 +40,21 @@ class PartidaRepositoryTest {
     @Autowired
     private ClubeRepository clubeRepository;
 
+    @Autowired
+    private EstadioRepository estadioRepository;
+
     private Clube criarClube(String nome, String estado) {
         Clube clube = new Clube(nome, estado, LocalDateTime.now().minusYears(10).toLocalDate(), true);
         return clubeRepository.save(clube);
     }
 
+    private Estadio criarEstadio(String nome) {
+        return estadioRepository.findByNome(nome).orElseGet(() -> estadioRepository.save(new Estadio(nome)));
+    }
+
     private Partida criarPartida(Clube mandante, Clube visitante, String estadio, LocalDateTime dataHora) {
         Partida partida = new Partida(null, mandante, visitante, 0, 0, dataHora);
-        partida.setEstadio(estadio);
+        partida.setEstadio(criarEstadio(estadio));
         return partidaRepository.save(partida);
     }
 
@@ -48,12 +67,13 @@ class PartidaRepositoryTest {
         criarPartida(mandante, visitante, "Neo Química Arena", LocalDateTime.now().minusHours(2));
         criarPartida(mandante, visitante, "Allianz Parque", LocalDateTime.now().minusHours(3));
 
-        Page<Partida> partidas = partidaRepository.findByEstadioContainingIgnoreCase(
-                "química arena", PageRequest.of(0, 10)
+        Page<Partida> partidas = partidaRepository.findAll(
+                new EspecificacaoPartidas().nosEstadios(estadioRepository.buscarIdsPorNome("química arena")).construir(),
+                PageRequest.of(0, 10)
         );
 
         assertEquals(1, partidas.getTotalElements());
-        assertEquals("Neo Química Arena", partidas.getContent().get(0).getEstadio());
+        assertEquals("Neo Química Arena", partidas.getContent().get(0).getNomeEstadio());
     }
 
     @Test
@@ -64,8 +84,9 @@ class PartidaRepositoryTest {
 
         criarPartida(mandante, visitante, "Estadio 1", LocalDateTime.now().minusHours(4));
 
-        Page<Partida> partidas = partidaRepository.findByMandanteIdOrVisitanteId(
-                mandante.getId(), visitante.getId(), PageRequest.of(0, 10)
+        Page<Partida> partidas = partidaRepository.findAll(
+                new EspecificacaoPartidas().doClube(visitante.getId(), null, TipoCampo.TODOS, null).construir(),
+                PageRequest.of(0, 10)
         );
 
         assertEquals(1, partidas.getTotalElements());
@@ -77,15 +98,137 @@ class PartidaRepositoryTest {
         Clube mandante = criarClube("Mandante C", "SP");
         Clube visitante = criarClube("Visitante D", "MG");
 
-        criarPartida(mandante, visitante, "Maracanã", LocalDateTime.now().minusHours(5));
+        Partida partida = criarPartida(mandante, visitante, "Maracanã", LocalDateTime.now().minusHours(5));
 
-        Page<Partida> partidas = partidaRepository.buscarPorClubeEEstadio(
-                mandante.getId(), "maracanã", PageRequest.of(0, 10)
+        Page<Partida> partidas = partidaRepository.findAll(
+                new EspecificacaoPartidas().doClube(mandante.getId(), null, TipoCampo.TODOS, null)
+                        .nosEstadios(List.of(partida.getEstadio().getId())).construir(),
+                PageRequest.of(0, 10)
         );
 
         assertEquals(1, partidas.getTotalElements());
     }
 
+    @Test
+    @DisplayName("Deve filtrar goleadas no banco antes de paginar, com o total certo")
+    void deveFiltrarGoleadasAntesDePaginar() {
+        Clube clube = criarClube("Margem FC", "SP");
+        Clube rival = criarClube("Rival Margem", "RJ");
+        LocalDateTime base = LocalDateTime.of(2023, 5, 1, 16, 0);
+        int[][] placares = {{3, 0}, {0, 4}, {2, 0}, {1, 1}, {5, 2}};
+        for (int i = 0; i < placares.length; i++) {
+            Partida partida = criarPartida(i % 2 == 0 ? clube : rival, i % 2 == 0 ? rival : clube, "Arena Margem", base.plusDays(i * 3));
+            partida.setGolsMandante(placares[i][0]);
+            partida.setGolsVisitante(placares[i][1]);
+        }
+        Partida virouGoleada = criarPartida(clube, rival, "Arena Margem", base.minusDays(3));
+        partidaRepository.flush();
+        virouGoleada.setGolsMandante(6);
+        partidaRepository.flush();
+
+        Page<Partida> goleadas = partidaRepository.findAll(new EspecificacaoPartidas()
+                .doClube(clube.getId(), null, TipoCampo.TODOS, null)
+                .comMargemMinima(Partida.MARGEM_GOLEADA)
+                .construir(), PageRequest.of(0, 2));
+
+        assertEquals(4, goleadas.getTotalElements());
+        assertEquals(2, goleadas.getContent().size());
+        assertEquals(4, partidaRepository.findAll(new EspecificacaoPartidas().comMargemMinima(Partida.MARGEM_GOLEADA).construir(),
+                PageRequest.of(0, 10)).getTotalElements());
+        assertEquals(1, partidaRepository.findByMandanteIdAndMargemGolsGreaterThanEqual(rival.getId(), Partida.MARGEM_GOLEADA).size());
+        assertEquals(4, partidaRepository.buscarPorClubeComMargem(clube.getId(), Partida.MARGEM_GOLEADA).size());
+    }
+
+    @Test
+    @DisplayName("Deve combinar adversário, mando, resultado e período do ponto de vista do clube")
+    void deveCombinarFiltrosDoClube() {
+        Clube clube = criarClube("Filtro FC", "SP");
+        Clube rival = criarClube("Rival Filtro", "RJ");
+        Clube outro = criarClube("Outro Filtro", "MG");
+        LocalDateTime base = LocalDateTime.of(2022, 3, 1, 16, 0);
+        Partida vitoriaEmCasa = criarPartida(clube, rival, "Arena Filtro", base);
+        vitoriaEmCasa.setGolsMandante(2);
+        Partida vitoriaFora = criarPartida(rival, clube, "Arena Filtro", base.plusDays(3));
+        vitoriaFora.setGolsVisitante(1);
+        Partida derrotaFora = criarPartida(rival, clube, "Arena Filtro", base.plusDays(6));
+        derrotaFora.setGolsMandante(1);
+        Partida vitoriaContraOutro = criarPartida(clube, outro, "Arena Filtro", base.plusDays(9));
+        vitoriaContraOutro.setGolsMandante(3);
+        partidaRepository.flush();
+
+        assertEquals(List.of(vitoriaFora, vitoriaEmCasa), buscar(new EspecificacaoPartidas()
+                .doClube(clube.getId(), rival.getId(), TipoCampo.TODOS, ResultadoPartida.VITORIA)));
+        assertEquals(List.of(derrotaFora, vitoriaFora), buscar(new EspecificacaoPartidas()
+                .doClube(clube.getId(), null, TipoCampo.VISITANTE, null)));
+        assertEquals(List.of(derrotaFora), buscar(new EspecificacaoPartidas()
+                .doClube(rival.getId(), null, TipoCampo.TODOS, ResultadoPartida.VITORIA)));
+        assertEquals(List.of(vitoriaContraOutro, derrotaFora), buscar(new EspecificacaoPartidas()
+                .doClube(clube.getId(), null, null, null)
+                .aPartirDe(base.plusDays(6))
+                .ate(base.plusDays(9))));
+    }
+
+    @Test
+    @DisplayName("Deve listar os resumos com os mesmos filtros e ordem da listagem de entidades")
+    void deveListarResumosComOsFiltrosDaListagem() {
+        Clube clube = criarClube("Resumo FC", "SP");
+        Clube adversario = criarClube("Resumo Rival", "RJ");
+        LocalDateTime base = LocalDateTime.of(2023, 6, 1, 16, 0);
+        Partida emCasa = criarPartida(clube, adversario, "Arena Resumo", base);
+        emCasa.setGolsMandante(3);
+        criarPartida(adversario, clube, "Arena Resumo", base.plusDays(3));
+        criarPartida(adversario, criarClube("Resumo Terceiro", "MG"), "Arena Resumo", base.plusDays(6));
+
+        Page<PartidaDTO> resumos = partidaRepository.listarResumos(new EspecificacaoPartidas()
+                .doClube(clube.getId(), null, null, null).construir(), PageRequest.of(0, 1, Sort.by("dataHora").descending()));
+
+        assertEquals(2, resumos.getTotalElements());
+        assertEquals(1, resumos.getContent().size());
+        PartidaDTO primeira = resumos.getContent().get(0);
+        assertEquals("Resumo Rival", primeira.getMandanteNome());
+        assertEquals("Resumo FC", primeira.getVisitanteNome());
+        assertEquals("Arena Resumo", primeira.getEstadio());
+
+        assertEquals(List.of(emCasa.getId()), partidaRepository.listarResumos(new EspecificacaoPartidas()
+                        .doClube(clube.getId(), null, null, null).comMargemMinima(Partida.MARGEM_GOLEADA).construir(),
+                PageRequest.of(0, 10)).map(PartidaDTO::getId).getContent());
+    }
+
+    private List<Partida> buscar(EspecificacaoPartidas especificacao) {
+        return partidaRepository.findAll(especificacao.construir(), PageRequest.of(0, 10, Sort.by("dataHora").descending())).getContent();
+    }
+
+    @Test
+    @DisplayName("Deve percorrer as partidas do clube por cursor na mesma ordem da listagem completa")
+    void devePercorrerPartidasDoClubePorCursor() {
+        Clube clube = criarClube("Cursor FC", "SP");
+        Clube outro = criarClube("Outro Cursor", "RJ");
+        LocalDateTime base = LocalDateTime.of(2023, 5, 1, 16, 0);
+        for (int i = 0; i < 7; i++) {
+            criarPartida(i % 2 == 0 ? clube : outro, i % 2 == 0 ? outro : clube, "Estadio " + (i % 2), base.plusDays(i / 2 * 3));
+        }
+
+        List<Long> esperado = partidaRepository.findByMandanteIdOrVisitanteId(clube.getId(), clube.getId()).stream()
+                .sorted(Comparator.comparing(Partida::getDataHora).thenComparing(Partida::getId).reversed())
+                .map(Partida::getId)
+                .toList();
+
+        List<Long> percorrido = new ArrayList<>();
+        CursorPartida cursor = CursorPartida.INICIO;
+        List<PartidaDTO> pagina;
+        do {
+            pagina = partidaRepository.listarResumos(new EspecificacaoPartidas()
+                    .doClube(clube.getId(), null, TipoCampo.TODOS, null)
+                    .antesDe(cursor.dataHora(), cursor.id())
+                    .construir(), Sort.by(Sort.Direction.DESC, "dataHora", "id"), Limit.of(2));
+            pagina.forEach(p -> percorrido.add(p.getId()));
+            if (!pagina.isEmpty()) cursor = CursorPartida.depoisDe(pagina.get(pagina.size() - 1));
+        } while (pagina.size() == 2);
+
+        assertEquals(7, esperado.size());
+        assertEquals(esperado, percorrido);
+    }
+
     @Test
     @DisplayName("Deve buscar partidas por mandante ID")
     void deveBuscarPorMandanteId() {
@@ -120,13 +263,27 @@ class PartidaRepositoryTest {
 
         LocalDateTime dataHora = LocalDateTime.now().minusHours(8);
 
-        criarPartida(mandante, visitante, "Arena Castelão", dataHora);
+        Partida partida = criarPartida(mandante, visitante, "Arena Castelão", dataHora);
 
-        boolean exists = partidaRepository.existsByEstadioAndDataHora("Arena Castelão", dataHora);
+        boolean exists = partidaRepository.existsByEstadioIdAndDataHora(partida.getEstadio().getId(), dataHora);
 
         assertTrue(exists);
     }
 
+    @Test
+    @DisplayName("Deve desconsiderar a própria partida ao verificar ocupação do estádio")
+    void deveDesconsiderarPropriaPartidaAoVerificarEstadio() {
+        Clube mandante = criarClube("Mandante K", "SP");
+        Clube visitante = criarClube("Visitante L", "MG");
+
+        LocalDateTime dataHora = LocalDateTime.of(2023, 5, 20, 16, 0);
+
+        Partida partida = criarPartida(mandante, visitante, "Mineirão", dataHora);
+
+        assertFalse(partidaRepository.existsByEstadioIdAndDataHoraAndIdNot(partida.getEstadio().getId(), dataHora, partida.getId()));
+        assertTrue(partidaRepository.existsByEstadioIdAndDataHoraAndIdNot(partida.getEstadio().getId(), dataHora, partida.getId() + 1));
+    }
+
     @Test
     @DisplayName("Deve buscar confrontos diretos entre dois clubes")
     void deveBuscarConfrontosDiretos() {
@@ -135,61 +292,83 @@ class PartidaRepositoryTest {
 
         criarPartida(clube1, clube2, "Estádio A", LocalDateTime.now().minusHours(10));
 
-        List<Partida> confrontos = partidaRepository.findConfrontosDiretos(clube1.getId(), clube2.getId());
+        List<PartidaDTO> confrontos = partidaRepository.findConfrontosDiretos(clube1.getId(), clube2.getId());
 
         assertEquals(1, confrontos.size());
+        assertEquals("Time 1", confrontos.get(0).getMandanteNome());
+        assertEquals("Time 2", confrontos.get(0).getVisitanteNome());
+        assertEquals("Estádio A", confrontos.get(0).getEstadio());
     }
 
     @Test
-    @DisplayName("Deve buscar conflitos de horário entre dois clubes")
-    void deveBuscarConflitosDeHorario() {
-        Clube clube1 = criarClube("Time 3", "SP");
-        Clube clube2 = criarClube("Time 4", "MG");
-
-        LocalDateTime inicio = LocalDateTime.now().minusHours(5);
-        LocalDateTime fim = LocalDateTime.now().plusHours(5);
-
-        criarPartida(clube1, clube2, "Estádio B", LocalDateTime.now());
-
-        List<Partida> conflitos = partidaRepository.findConflitosDeHorario(
-                clube1, clube2, inicio, fim
-        );
-
-        assertEquals(1, conflitos.size());
+    @DisplayName("Deve listar apenas ids e horários das partidas para a agenda")
+    void deveListarHorariosDasPartidas() {
+        Clube clube1 = criarClube("Time 5", "SP");
+        Clube clube2 = criarClube("Time 6", "MG");
+
+        LocalDateTime dataHora = LocalDateTime.of(2023, 5, 20, 16, 0);
+        Partida partida = criarPartida(clube1, clube2, "Estádio C", dataHora);
+
+        List<PartidaRepository.HorarioPartida> horarios;
+        try (var stream = partidaRepository.streamHorarios()) {
+            horarios = stream.toList();
+        }
+
+        assertEquals(1, horarios.size());
+        assertEquals(partida.getId(), horarios.get(0).getId());
+        assertEquals(clube1.getId(), horarios.get(0).getMandanteId());
+        assertEquals(clube2.getId(), horarios.get(0).getVisitanteId());
+        assertEquals(dataHora, horarios.get(0).getDataHora());
     }
 
-
     @Test
-    @DisplayName("Deve somar gols corretamente para clube com partidas")
-    void deveSomarGolsDoClubeComPartidas() {
-        Clube mandante = new Clube("NeoClube", "SP", LocalDate.of(2000, 1, 1), true);
-        Clube visitante = new Clube("VisitanteFC", "RJ", LocalDate.of(2000, 1, 1), true);
-
-        mandante = clubeRepository.save(mandante);
-        visitante = clubeRepository.save(visitante);
-
-        Partida partida1 = new Partida(null, mandante, visitante, 2, 1, LocalDateTime.now());
-        partida1.setEstadio("Neo Arena");
-
-        Partida partida2 = new Partida(null, visitante, mandante, 0, 3, LocalDateTime.now());
-        partida2.setEstadio("Neo Arena");
-
-        partidaRepository.save(partida1);
-        partidaRepository.save(partida2);
-
-        Integer totalGols = partidaRepository.somarGolsDoClube(mandante.getId());
+    @DisplayName("Deve somar os totais por clube no banco aplicando goleadas e mando")
+    void deveSomarTotaisPorClube() {
+        Clube clubeA = criarClube("Soma A", "SP");
+        Clube clubeB = criarClube("Soma B", "RJ");
+        Partida goleada = criarPartida(clubeA, clubeB, "Arena Soma", LocalDateTime.now().minusDays(3));
+        goleada.setGolsMandante(4);
+        Partida empate = criarPartida(clubeB, clubeA, "Arena Soma", LocalDateTime.now().minusDays(6));
+        empate.setGolsMandante(1);
+        empate.setGolsVisitante(1);
+        partidaRepository.flush();
+
+        PartidaRepository.TotaisClube todosA = totaisDe(clubeA, partidaRepository.somarPorClube(0, true, true));
+        assertEquals(List.of(1, 1, 0, 5, 1), List.of(todosA.getVitorias(), todosA.getEmpates(), todosA.getDerrotas(),
+                todosA.getGolsFeitos(), todosA.getGolsSofridos()));
+
+        List<PartidaRepository.TotaisClube> goleadas = partidaRepository.somarPorClube(Partida.MARGEM_GOLEADA, true, true);
+        assertEquals(1, totaisDe(clubeB, goleadas).getDerrotas());
+        assertEquals(0, totaisDe(clubeB, goleadas).getEmpates());
+
+        List<PartidaRepository.TotaisClube> visitantes = partidaRepository.somarPorClube(0, false, true);
+        assertEquals(1, totaisDe(clubeA, visitantes).getEmpates());
+        assertEquals(0, totaisDe(clubeA, visitantes).getVitorias());
+    }
 
-        assertEquals(5, totalGols); 
+    private static PartidaRepository.TotaisClube totaisDe(Clube clube, List<PartidaRepository.TotaisClube> totais) {
+        return totais.stream().filter(t -> t.getClubeId().equals(clube.getId())).findFirst().orElseThrow();
     }
 
     @Test
-    @DisplayName("Deve retornar 0 para clube sem partidas")
-    void deveRetornarZeroQuandoClubeNaoTemPartidas() {
-        Clube clube = new Clube("SemPartidasFC", "MG", LocalDate.of(2010, 5, 10), true);
-        clube = clubeRepository.save(clube);
-
-        Integer total = partidaRepository.somarGolsDoClube(clube.getId());
-
-        assertThat(total).isEqualTo(0);
+    @DisplayName("Deve somar os gols de todos os clubes em uma consulta, com zero para quem não jogou")
+    void deveSomarGolsDeTodosOsClubes() {
+        Clube clubeA = criarClube("Gols A", "SP");
+        Clube clubeB = criarClube("Gols B", "RJ");
+        Clube semPartidas = criarClube("Gols C", "MG");
+        criarPartida(clubeA, clubeB, "Arena Gols", LocalDateTime.now().minusDays(3)).setGolsMandante(2);
+        Partida volta = criarPartida(clubeB, clubeA, "Arena Gols", LocalDateTime.now().minusDays(6));
+        volta.setGolsMandante(1);
+        volta.setGolsVisitante(3);
+        partidaRepository.flush();
+
+        List<PartidaRepository.GolsClube> gols = partidaRepository.somarGolsPorClube();
+
+        assertEquals(clubeRepository.count(), gols.size());
+        Map<String, Integer> porClube = gols.stream()
+                .collect(Collectors.toMap(PartidaRepository.GolsClube::getClube, PartidaRepository.GolsClube::getGols));
+        assertEquals(5, porClube.get(clubeA.getNome()));
+        assertEquals(1, porClube.get(clubeB.getNome()));
+        assertEquals(0, porClube.get(semPartidas.getNome()));
     }
 }
@@ -0,0 +1,242 @@
+package com.expoo.partidasdefutebol_api.repositoryTest;
+
+import com.expoo.partidasdefutebol_api.enums.ResultadoPartida;
+import com.expoo.partidasdefutebol_api.enums.TipoCampo;
+import com.expoo.partidasdefutebol_api.model.Clube;
+import com.expoo.partidasdefutebol_api.model.Estadio;
+import com.expoo.partidasdefutebol_api.model.Partida;
+import com.expoo.partidasdefutebol_api.repository.ClubeRepository;
+import com.expoo.partidasdefutebol_api.repository.ClubeAlteracaoRepository;
+import com.expoo.partidasdefutebol_api.repository.ClubeRetrospectoRepository;
+import com.expoo.partidasdefutebol_api.repository.EspecificacaoPartidas;
+import com.expoo.partidasdefutebol_api.repository.EstadioRepository;
+import com.expoo.partidasdefutebol_api.repository.PartidaRepository;
+import com.expoo.partidasdefutebol_api.service.CursorPartida;
+import org.hibernate.resource.jdbc.spi.StatementInspector;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.domain.Specification;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+import java.lang.reflect.Method;
+import java.lang.reflect.Modifier;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.*;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DataJpaTest(properties = "spring.jpa.properties.hibernate.session_factory.statement_inspector=" +
+        "com.expoo.partidasdefutebol_api.repositoryTest.PlanoDeConsultasTest$CapturaSql")
+@ActiveProfiles("test")
+class PlanoDeConsultasTest {
+
+    private static final Map<String, String> VARREDURAS_ACEITAS = Map.of(
+            "EstadioRepository.buscarIdsPorNome(String)",
+            "LIKE com curinga no início, na tabela pequena de estádios",
+            "PartidaRepository.streamHorarios()",
+            "lê todas as partidas de propósito para montar a agenda",
+            "ClubeAlteracaoRepository.existsByIdNotNull()",
+            "para na primeira linha da tabela",
+            "PartidaRepository.somarGolsPorClube()",
+            "o job soma os gols de todos os clubes de propósito",
+            "PartidaRepository.somarPorClube(int, boolean, boolean)",
+            "o ranking soma todas as partidas de propósito",
+            "ClubeRepository.findByFiltros(String, String, Boolean, Pageable)",
+            "filtros opcionais com LIKE com curinga no início",
+            "ClubeRetrospectoRepository.buscarTotais(boolean)",
+            "a reconciliação confere todas as linhas de um lado de propósito",
+            "ClubeRetrospectoRepository.calcularComoMandante()",
+            "a reconciliação recalcula todos os clubes de propósito",
+            "ClubeRetrospectoRepository.calcularComoVisitante()",
+            "a reconciliação recalcula todos os clubes de propósito");
+
+    @Autowired
+    private PartidaRepository partidaRepository;
+
+    @Autowired
+    private ClubeRepository clubeRepository;
+
+    @Autowired
+    private EstadioRepository estadioRepository;
+
+    @Autowired
+    private ClubeRetrospectoRepository retrospectoRepository;
+
+    @Autowired
+    private ClubeAlteracaoRepository alteracaoRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    private Clube clube1;
+    private Clube clube2;
+    private Estadio estadio;
+
+    @BeforeEach
+    void setup() {
+        clube1 = clubeRepository.save(new Clube("Plano FC", "SP", LocalDate.of(2000, 1, 1), true));
+        clube2 = clubeRepository.save(new Clube("Índice EC", "RJ", LocalDate.of(2000, 1, 1), true));
+        estadio = estadioRepository.save(new Estadio("Arena"));
+        Partida partida = new Partida(null, clube1, clube2, 1, 0, LocalDateTime.of(2020, 1, 1, 16, 0));
+        partida.setEstadio(estadio);
+        partidaRepository.saveAndFlush(partida);
+    }
+
+    @Test
+    @DisplayName("Nenhuma consulta dos repositórios deve varrer a tabela inteira")
+    void consultasDevemUsarIndices() {
+        LocalDateTime data = LocalDateTime.of(2020, 1, 1, 16, 0);
+        Long id1 = clube1.getId();
+        Long id2 = clube2.getId();
+        Long estadioId = estadio.getId();
+        int goleada = Partida.MARGEM_GOLEADA;
+
+        Map<String, Runnable> consultas = new LinkedHashMap<>();
+        consultas.put("PartidaRepository.findByMandanteIdOrVisitanteId(Long, Long)", () -> partidaRepository.findByMandanteIdOrVisitanteId(id1, id1));
+        consultas.put("PartidaRepository.findByMandanteIdInOrVisitanteIdIn(List, List)", () -> partidaRepository.findByMandanteIdInOrVisitanteIdIn(List.of(id1, id2), List.of(id1, id2)));
+        consultas.put("PartidaRepository.buscarPorClubeComAdversarios(Long)", () -> partidaRepository.buscarPorClubeComAdversarios(id1));
+        consultas.put("PartidaRepository.buscarComoMandante(Long)", () -> partidaRepository.buscarComoMandante(id1));
+        consultas.put("PartidaRepository.buscarComoVisitante(Long)", () -> partidaRepository.buscarComoVisitante(id1));
+        consultas.put("PartidaRepository.buscarPorClubeComMargem(Long, int)", () -> partidaRepository.buscarPorClubeComMargem(id1, goleada));
+        consultas.put("PartidaRepository.findByMandanteIdAndMargemGolsGreaterThanEqual(Long, int)", () -> partidaRepository.findByMandanteIdAndMargemGolsGreaterThanEqual(id1, goleada));
+        consultas.put("PartidaRepository.findByVisitanteIdAndMargemGolsGreaterThanEqual(Long, int)", () -> partidaRepository.findByVisitanteIdAndMargemGolsGreaterThanEqual(id1, goleada));
+        consultas.put("PartidaRepository.findByMandanteId(Long)", () -> partidaRepository.findByMandanteId(id1));
+        consultas.put("PartidaRepository.findByVisitanteId(Long)", () -> partidaRepository.findByVisitanteId(id1));
+        consultas.put("PartidaRepository.buscarCompleta(Long)", () -> partidaRepository.buscarCompleta(id1));
+        consultas.put("PartidaRepository.findByMandanteIdIn(Collection)", () -> partidaRepository.findByMandanteIdIn(List.of(id1, id2)));
+        consultas.put("PartidaRepository.findByVisitanteIdIn(Collection)", () -> partidaRepository.findByVisitanteIdIn(List.of(id1, id2)));
+        consultas.put("PartidaRepository.buscarResumosDoConfronto(Long, Long)", () -> partidaRepository.buscarResumosDoConfronto(id1, id2));
+        consultas.put("PartidaRepository.existsByEstadioIdAndDataHora(Long, LocalDateTime)", () -> partidaRepository.existsByEstadioIdAndDataHora(estadioId, data));
+        consultas.put("PartidaRepository.existsByEstadioIdAndDataHoraAndIdNot(Long, LocalDateTime, Long)", () -> partidaRepository.existsByEstadioIdAndDataHoraAndIdNot(estadioId, data, 1L));
+        consultas.put("PartidaRepository.findConfrontosDiretos(Long, Long)", () -> partidaRepository.findConfrontosDiretos(id1, id2));
+        consultas.put("PartidaRepository.findOcupacoesDeEstadios(Collection, Collection)", () -> partidaRepository.findOcupacoesDeEstadios(List.of(estadioId, estadioId + 1), List.of(data, data.plusDays(1))));
+        consultas.put("PartidaRepository.somarGolsPorClube()", () -> partidaRepository.somarGolsPorClube());
+        consultas.put("PartidaRepository.somarGolsDosClubes(Collection)", () -> partidaRepository.somarGolsDosClubes(List.of(id1, id2)));
+        consultas.put("PartidaRepository.streamHorarios()", () -> {
+            try (Stream<PartidaRepository.HorarioPartida> horarios = partidaRepository.streamHorarios()) {
+                horarios.forEach(h -> { });
+            }
+        });
+        consultas.put("PartidaRepository.somarPorClube(int, boolean, boolean)", () -> partidaRepository.somarPorClube(goleada, true, true));
+        consultas.put("ClubeRepository.findByFiltros(String, String, Boolean, Pageable)", () -> clubeRepository.findByFiltros("plano", "SP", true, PageRequest.of(0, 10, Sort.by("nome"))));
+        consultas.put("ClubeRepository.findByAtivoTrue()", () -> clubeRepository.findByAtivoTrue());
+        consultas.put("EstadioRepository.existsByNomeAndIdNot(String, Long)", () -> estadioRepository.existsByNomeAndIdNot("Arena", 1L));
+        consultas.put("EstadioRepository.findByNome(String)", () -> estadioRepository.findByNome("Arena"));
+        consultas.put("EstadioRepository.findByNomeIn(Collection)", () -> estadioRepository.findByNomeIn(List.of("Arena", "Morumbi")));
+        consultas.put("EstadioRepository.buscarIdsPorNome(String)", () -> estadioRepository.buscarIdsPorNome("are"));
+        consultas.put("ClubeRetrospectoRepository.somar(Long, boolean, int, int, int, int, int)", () -> retrospectoRepository.somar(id1, true, 1, 0, 0, 1, 0));
+        consultas.put("ClubeRetrospectoRepository.buscarTotais(boolean)", () -> retrospectoRepository.buscarTotais(true));
+        consultas.put("ClubeRetrospectoRepository.calcularComoMandante()", () -> retrospectoRepository.calcularComoMandante());
+        consultas.put("ClubeRetrospectoRepository.calcularComoVisitante()", () -> retrospectoRepository.calcularComoVisitante());
+        consultas.put("ClubeRetrospectoRepository.buscarPorClube(Long, Boolean)", () -> retrospectoRepository.buscarPorClube(id1, null));
+        consultas.put("ClubeAlteracaoRepository.existsByIdNotNull()", () -> alteracaoRepository.existsByIdNotNull());
+        consultas.put("ClubeAlteracaoRepository.buscarPendentes(long, Limit)", () -> alteracaoRepository.buscarPendentes(10L, Limit.of(1000)));
+        consultas.put("ClubeAlteracaoRepository.apagarAte(long)", () -> alteracaoRepository.apagarAte(20L));
+
+        assertEquals(metodosDeclarados(PartidaRepository.class, ClubeRepository.class, EstadioRepository.class,
+                        ClubeRetrospectoRepository.class, ClubeAlteracaoRepository.class),
+                new TreeSet<>(consultas.keySet()), "Toda consulta declarada nos repositórios precisa ser verificada aqui");
+
+        List<String> varreduras = new ArrayList<>();
+        consultas.forEach((metodo, consulta) -> {
+            for (String sql : capturar(consulta)) {
+                String plano = explicar(sql);
+                if (plano.contains(".tableScan") && !VARREDURAS_ACEITAS.containsKey(metodo)) {
+                    varreduras.add(metodo + "\n" + plano);
+                }
+            }
+        });
+
+        assertTrue(varreduras.isEmpty(), () -> "Consultas com varredura completa:\n\n" + String.join("\n\n", varreduras));
+    }
+
+    @Test
+    @DisplayName("Toda combinação de filtros da listagem de partidas deve usar um índice, inclusive na contagem e no cursor")
+    void filtrosDaListagemDevemUsarIndices() {
+        PageRequest pagina = PageRequest.of(1, 10, Sort.by("dataHora").descending());
+        Sort ordemCursor = Sort.by(Sort.Direction.DESC, "dataHora", "id");
+        LocalDateTime data = LocalDateTime.of(2020, 1, 1, 16, 0);
+        TipoCampo[] lados = {null, TipoCampo.TODOS, TipoCampo.MANDANTE, TipoCampo.VISITANTE};
+
+        List<String> varreduras = new ArrayList<>();
+        int combinacoes = 0;
+        for (TipoCampo lado : lados) {
+            for (int filtros = 0; filtros < 1 << 4; filtros++) {
+                for (int doClube = 0; doClube < (lado == null ? 1 : 1 << 2); doClube++) {
+                    // Sem nenhum filtro a listagem percorre todas as partidas de propósito.
+                    if (lado == null && filtros == 0) continue;
+                    EspecificacaoPartidas especificacao = new EspecificacaoPartidas()
+                            .doClube(lado == null ? null : clube1.getId(), (doClube & 1) != 0 ? clube2.getId() : null,
+                                    lado, (doClube & 2) != 0 ? ResultadoPartida.VITORIA : null)
+                            .nosEstadios((filtros & 1) != 0 ? List.of(estadio.getId()) : null)
+                            .aPartirDe((filtros & 2) != 0 ? data.minusYears(1) : null)
+                            .ate((filtros & 4) != 0 ? data.plusYears(1) : null)
+                            .comMargemMinima((filtros & 8) != 0 ? Partida.MARGEM_GOLEADA : 0);
+                    String descricao = "lado=" + lado + " filtros=" + Integer.toBinaryString(filtros)
+                                       + " doClube=" + Integer.toBinaryString(doClube);
+                    combinacoes++;
+                    Specification<Partida> filtro = especificacao.construir();
+                    Specification<Partida> aposCursor = especificacao.antesDe(CursorPartida.INICIO.dataHora(), CursorPartida.INICIO.id()).construir();
+                    List<String> comandos = new ArrayList<>(capturar(() -> partidaRepository.listarResumos(filtro, pagina)));
+                    comandos.addAll(capturar(() -> partidaRepository.listarResumos(aposCursor, ordemCursor, Limit.of(11))));
+                    for (String sql : comandos) {
+                        String plano = explicar(sql);
+                        if (plano.contains(".tableScan")) {
+                            varreduras.add(descricao + "\n" + plano);
+                        }
+                    }
+                }
+            }
+        }
+
+        assertEquals(15 + 3 * 16 * 4, combinacoes);
+        assertTrue(varreduras.isEmpty(), () -> "Filtros com varredura completa:\n\n" + String.join("\n\n", varreduras));
+    }
+
+    private String explicar(String sql) {
+        return String.join("\n", jdbcTemplate.queryForList("EXPLAIN " + sql, String.class));
+    }
+
+    private List<String> capturar(Runnable consulta) {
+        CapturaSql.COMANDOS.clear();
+        consulta.run();
+        return CapturaSql.COMANDOS.stream()
+                .filter(sql -> sql.trim().toLowerCase(Locale.ROOT).startsWith("select"))
+                .toList();
+    }
+
+    private static Set<String> metodosDeclarados(Class<?>... repositorios) {
+        return Arrays.stream(repositorios)
+                .flatMap(repositorio -> Arrays.stream(repositorio.getDeclaredMethods())
+                        .filter(metodo -> !Modifier.isStatic(metodo.getModifiers()))
+                        .map(metodo -> repositorio.getSimpleName() + "." + assinatura(metodo)))
+                .collect(Collectors.toCollection(TreeSet::new));
+    }
+
+    private static String assinatura(Method metodo) {
+        return metodo.getName() + Arrays.stream(metodo.getParameterTypes())
+                .map(Class::getSimpleName)
+                .collect(Collectors.joining(", ", "(", ")"));
+    }
+
+    public static class CapturaSql implements StatementInspector {
+
+        static final List<String> COMANDOS = new CopyOnWriteArrayList<>();
+
+        @Override
+        public String inspect(String sql) {
+            COMANDOS.add(sql);
+            return sql;
+        }
+    }
+}
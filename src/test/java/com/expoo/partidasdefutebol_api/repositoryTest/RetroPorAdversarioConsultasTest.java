@@ -0,0 +1,85 @@
+package com.expoo.partidasdefutebol_api.repositoryTest;
+
+import com.expoo.partidasdefutebol_api.dto.RetroDTO;
+import com.expoo.partidasdefutebol_api.service.ClubeService;
+import com.expoo.partidasdefutebol_api.service.ClubesEmCache;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jakarta.persistence.EntityManager;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DataJpaTest(properties = {"spring.jpa.properties.hibernate.generate_statistics=true", "spring.jpa.show-sql=false"})
+@ActiveProfiles("test")
+@Import({ClubeService.class, ClubesEmCache.class, SimpleMeterRegistry.class})
+class RetroPorAdversarioConsultasTest {
+
+    private static final int ADVERSARIOS = 400;
+    private static final int PARTIDAS = 3_000;
+    private static final int ESTADIOS = 20;
+
+    @Autowired
+    private ClubeService clubeService;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private EntityManager entityManager;
+
+    @Test
+    @DisplayName("Deve calcular o retro contra 400 adversários em 3.000 partidas com duas consultas")
+    void deveCalcularRetroPorAdversarioComDuasConsultas() {
+        List<Object[]> estadios = new ArrayList<>();
+        for (int i = 0; i < ESTADIOS; i++) {
+            estadios.add(new Object[]{"Estadio Retro " + i});
+        }
+        jdbcTemplate.batchUpdate("INSERT INTO estadios (nome) VALUES (?)", estadios);
+        List<Long> estadioIds = jdbcTemplate.queryForList("SELECT id FROM estadios WHERE nome LIKE 'Estadio Retro %' ORDER BY id", Long.class);
+
+        List<Object[]> clubes = new ArrayList<>();
+        for (int i = 0; i <= ADVERSARIOS; i++) {
+            clubes.add(new Object[]{"Clube Retro " + i});
+        }
+        jdbcTemplate.batchUpdate("INSERT INTO clube (nome, estado, data_criacao, ativo) VALUES (?, 'SP', DATE '1990-01-01', TRUE)", clubes);
+        List<Long> ids = jdbcTemplate.queryForList("SELECT id FROM clube WHERE nome LIKE 'Clube Retro %' ORDER BY id", Long.class);
+        Long clubeId = ids.get(0);
+
+        List<Object[]> partidas = new ArrayList<>();
+        for (int i = 0; i < PARTIDAS; i++) {
+            Long adversarioId = ids.get(1 + i % ADVERSARIOS);
+            boolean mandante = i % 2 == 0;
+            partidas.add(new Object[]{mandante ? clubeId : adversarioId, mandante ? adversarioId : clubeId,
+                    estadioIds.get(i % ESTADIOS), Timestamp.valueOf(LocalDateTime.of(2000, 1, 1, 0, 0).plusHours(i)),
+                    i % 3, i % 2});
+        }
+        jdbcTemplate.batchUpdate("INSERT INTO partidas (clube_mandante_id, clube_visitante_id, estadio_id, data_hora, " +
+                                 "gols_mandante, gols_visitante) VALUES (?, ?, ?, ?, ?, ?)", partidas);
+
+        entityManager.clear();
+        Statistics estatisticas = entityManager.getEntityManagerFactory().unwrap(SessionFactory.class).getStatistics();
+        estatisticas.clear();
+
+        Page<RetroDTO> pagina = clubeService.getRetroParaCadaAdversario(clubeId, PageRequest.of(0, 50));
+
+        assertEquals(2, estatisticas.getPrepareStatementCount());
+        assertEquals(ADVERSARIOS, pagina.getTotalElements());
+        assertEquals(50, pagina.getContent().size());
+        assertEquals("Clube Retro 1", pagina.getContent().get(0).getNome());
+        assertEquals(8, pagina.getContent().get(0).getTotalJogos());
+    }
+}
@@ -0,0 +1,88 @@
+package com.expoo.partidasdefutebol_api.repositoryTest;
+
+import com.expoo.partidasdefutebol_api.service.RetrospectoClubes;
+import com.expoo.partidasdefutebol_api.service.SemeadorDados;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+import java.sql.Timestamp;
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DataJpaTest(properties = {"semeadura.clubes=41", "semeadura.estadios=3", "semeadura.partidas=2000", "semeadura.semente=7"})
+@ActiveProfiles({"test", "seed"})
+@Import({SemeadorDados.class, RetrospectoClubes.class})
+class SemeadorDadosTest {
+
+    private static final int INTERVALO_MINIMO_HORAS = 48;
+
+    private static final String PARTIDAS_POR_CONTEUDO = """
+        SELECT m.nome, v.nome, e.nome, p.data_hora, p.gols_mandante, p.gols_visitante
+        FROM partidas p
+        JOIN clube m ON m.id = p.clube_mandante_id
+        JOIN clube v ON v.id = p.clube_visitante_id
+        JOIN estadios e ON e.id = p.estadio_id
+        ORDER BY p.data_hora, e.nome
+    """;
+
+    @Autowired
+    private SemeadorDados semeadorDados;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Test
+    @DisplayName("Deve semear ao subir no perfil seed respeitando as regras de cadastro de partidas")
+    void deveSemearRespeitandoAsRegras() {
+        assertEquals(41, jdbcTemplate.queryForObject("SELECT COUNT(*) FROM clube", Integer.class));
+        assertEquals(3, jdbcTemplate.queryForObject("SELECT COUNT(*) FROM estadios", Integer.class));
+        assertEquals(2000, jdbcTemplate.queryForObject("SELECT COUNT(*) FROM partidas", Integer.class));
+
+        assertEquals(0, jdbcTemplate.queryForObject(
+                "SELECT COUNT(*) FROM partidas WHERE clube_mandante_id = clube_visitante_id", Integer.class));
+        assertEquals(0, jdbcTemplate.queryForObject(
+                "SELECT COUNT(*) FROM (SELECT estadio_id, data_hora FROM partidas GROUP BY estadio_id, data_hora HAVING COUNT(*) > 1) d",
+                Integer.class));
+        assertEquals(0, jdbcTemplate.queryForObject(
+                "SELECT COUNT(*) FROM partidas p JOIN clube c ON c.id IN (p.clube_mandante_id, p.clube_visitante_id) " +
+                "WHERE p.data_hora < c.data_criacao", Integer.class));
+        assertEquals(2000 * 2, jdbcTemplate.queryForObject(
+                "SELECT SUM(vitorias + empates + derrotas) FROM clube_retrospecto", Integer.class));
+
+        Map<Long, Timestamp> ultimaPorClube = new HashMap<>();
+        jdbcTemplate.query("SELECT clube_mandante_id, clube_visitante_id, data_hora FROM partidas ORDER BY data_hora", rs -> {
+            Timestamp dataHora = rs.getTimestamp(3);
+            for (int coluna = 1; coluna <= 2; coluna++) {
+                Timestamp anterior = ultimaPorClube.put(rs.getLong(coluna), dataHora);
+                if (anterior != null) {
+                    assertTrue(Duration.between(anterior.toLocalDateTime(), dataHora.toLocalDateTime()).toHours()
+                               > INTERVALO_MINIMO_HORAS);
+                }
+            }
+        });
+    }
+
+    @Test
+    @DisplayName("Deve gerar os mesmos dados com a mesma semente")
+    void deveGerarOsMesmosDadosComAMesmaSemente() {
+        List<Map<String, Object>> clubes = jdbcTemplate.queryForList("SELECT nome, estado, data_criacao FROM clube ORDER BY nome");
+        List<Map<String, Object>> partidas = jdbcTemplate.queryForList(PARTIDAS_POR_CONTEUDO);
+
+        jdbcTemplate.update("DELETE FROM clube_retrospecto");
+        jdbcTemplate.update("DELETE FROM partidas");
+        jdbcTemplate.update("DELETE FROM clube");
+        jdbcTemplate.update("DELETE FROM estadios");
+        semeadorDados.semear();
+
+        assertEquals(clubes, jdbcTemplate.queryForList("SELECT nome, estado, data_criacao FROM clube ORDER BY nome"));
+        assertEquals(partidas, jdbcTemplate.queryForList(PARTIDAS_POR_CONTEUDO));
+    }
+}
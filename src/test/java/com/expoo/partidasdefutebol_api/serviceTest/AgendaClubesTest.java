@@ -0,0 +1,112 @@
+package com.expoo.partidasdefutebol_api.serviceTest;
+
+import com.expoo.partidasdefutebol_api.repository.PartidaRepository;
+import com.expoo.partidasdefutebol_api.service.AgendaClubes;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import java.time.LocalDateTime;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+class AgendaClubesTest {
+
+    private static final LocalDateTime DATA = LocalDateTime.of(2023, 5, 20, 16, 0);
+
+    private PartidaRepository partidaRepository;
+    private AgendaClubes agenda;
+
+    @BeforeEach
+    void setup() {
+        partidaRepository = mock(PartidaRepository.class);
+        agenda = new AgendaClubes(partidaRepository);
+    }
+
+    @Test
+    @DisplayName("Deve detectar conflito dentro da janela para mandante e visitante")
+    void deveDetectarConflitoNaJanela() {
+        agenda.registrar(1L, 10L, 20L, DATA);
+
+        assertTrue(agenda.possuiConflito(10L, DATA.minusHours(48), DATA.plusHours(48), null));
+        assertTrue(agenda.possuiConflito(20L, DATA.plusHours(1).minusHours(48), DATA.plusHours(49), null));
+        assertFalse(agenda.possuiConflito(30L, DATA.minusHours(48), DATA.plusHours(48), null));
+    }
+
+    @Test
+    @DisplayName("Deve considerar os limites da janela como inclusivos")
+    void deveConsiderarLimitesInclusivos() {
+        agenda.registrar(1L, 10L, 20L, DATA);
+
+        assertTrue(agenda.possuiConflito(10L, DATA, DATA.plusHours(48), null));
+        assertTrue(agenda.possuiConflito(10L, DATA.minusHours(48), DATA, null));
+        assertFalse(agenda.possuiConflito(10L, DATA.plusSeconds(1), DATA.plusHours(48), null));
+        assertFalse(agenda.possuiConflito(10L, DATA.minusHours(48), DATA.minusSeconds(1), null));
+    }
+
+    @Test
+    @DisplayName("Deve ignorar a própria partida mas não as seguintes")
+    void deveIgnorarPropriaPartida() {
+        agenda.registrar(1L, 10L, 20L, DATA);
+
+        assertFalse(agenda.possuiConflito(10L, DATA.minusHours(48), DATA.plusHours(48), 1L));
+
+        agenda.registrar(2L, 10L, 30L, DATA.plusHours(24));
+
+        assertTrue(agenda.possuiConflito(10L, DATA.minusHours(48), DATA.plusHours(48), 1L));
+    }
+
+    @Test
+    @DisplayName("Deve liberar a agenda ao remover e ao reagendar a partida")
+    void deveLiberarAgendaAoRemoverEReagendar() {
+        agenda.registrar(1L, 10L, 20L, DATA);
+        agenda.reagendar(1L, 10L, 20L, DATA, DATA.plusDays(10));
+
+        assertFalse(agenda.possuiConflito(10L, DATA.minusHours(48), DATA.plusHours(48), null));
+        assertTrue(agenda.possuiConflito(20L, DATA.plusDays(9), DATA.plusDays(11), null));
+
+        agenda.remover(1L, 10L, 20L, DATA.plusDays(10));
+
+        assertFalse(agenda.possuiConflito(20L, DATA.plusDays(9), DATA.plusDays(11), null));
+    }
+
+    @Test
+    @DisplayName("Deve reconhecer a mesma partida entre dois clubes no mesmo horário")
+    void deveReconhecerPartidaEntreClubes() {
+        agenda.registrar(1L, 10L, 20L, DATA);
+        agenda.registrar(2L, 30L, 40L, DATA);
+
+        assertTrue(agenda.possuiPartidaEntre(10L, 20L, DATA));
+        assertTrue(agenda.possuiPartidaEntre(20L, 10L, DATA));
+        assertFalse(agenda.possuiPartidaEntre(10L, 40L, DATA));
+        assertFalse(agenda.possuiPartidaEntre(10L, 20L, DATA.plusHours(1)));
+    }
+
+    @Test
+    @DisplayName("Deve carregar a agenda a partir das partidas existentes")
+    void deveAquecerAPartirDoRepositorio() {
+        PartidaRepository.HorarioPartida horario = mock(PartidaRepository.HorarioPartida.class);
+        when(horario.getId()).thenReturn(5L);
+        when(horario.getMandanteId()).thenReturn(10L);
+        when(horario.getVisitanteId()).thenReturn(20L);
+        when(horario.getDataHora()).thenReturn(DATA);
+        when(partidaRepository.streamHorarios()).thenReturn(Stream.of(horario));
+
+        agenda.afterSingletonsInstantiated();
+
+        assertTrue(agenda.possuiConflito(20L, DATA.minusHours(1), DATA.plusHours(1), null));
+        assertFalse(agenda.possuiConflito(20L, DATA.minusHours(1), DATA.plusHours(1), 5L));
+    }
+
+    @Test
+    @DisplayName("Não deve descartar compromissos registrados antes da carga")
+    void deveManterRegistrosAnterioresACarga() {
+        when(partidaRepository.streamHorarios()).thenReturn(Stream.empty());
+        agenda.registrar(7L, 30L, 40L, DATA);
+
+        agenda.afterSingletonsInstantiated();
+
+        assertTrue(agenda.possuiConflito(30L, DATA.minusHours(1), DATA.plusHours(1), null));
+    }
+}
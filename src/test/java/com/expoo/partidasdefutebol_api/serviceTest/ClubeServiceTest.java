@@ -4,35 +4,47 @@ import com.expoo.partidasdefutebol_api.dto.ClubeDTO;
 import com.expoo.partidasdefutebol_api.dto.RetroDTO;
 import com.expoo.partidasdefutebol_api.enums.TipoCampo;
 import com.expoo.partidasdefutebol_api.model.Clube;
+import com.expoo.partidasdefutebol_api.model.ClubeRetrospecto;
 import com.expoo.partidasdefutebol_api.model.Partida;
 import com.expoo.partidasdefutebol_api.repository.ClubeRepository;
+import com.expoo.partidasdefutebol_api.repository.ClubeRetrospectoRepository;
 import com.expoo.partidasdefutebol_api.repository.PartidaRepository;
 import com.expoo.partidasdefutebol_api.service.ClubeService;
+import com.expoo.partidasdefutebol_api.service.ClubesEmCache;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
 import org.springframework.web.server.ResponseStatusException;
+import java.time.Duration;
 import java.time.LocalDate;
 import java.util.*;
 
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.argThat;
 import static org.mockito.Mockito.*;
 
 class ClubeServiceTest {
 
     private ClubeRepository clubeRepository;
     private PartidaRepository partidaRepository;
+    private ClubeRetrospectoRepository retrospectoRepository;
+    private SimpleMeterRegistry meterRegistry;
     private ClubeService clubeService;
 
     @BeforeEach
     void setup() {
         clubeRepository = mock(ClubeRepository.class);
         partidaRepository = mock(PartidaRepository.class);
-        clubeService = new ClubeService(clubeRepository, partidaRepository);
+        retrospectoRepository = mock(ClubeRetrospectoRepository.class);
+        meterRegistry = new SimpleMeterRegistry();
+        clubeService = new ClubeService(clubeRepository, partidaRepository, retrospectoRepository,
+                new ClubesEmCache(clubeRepository, meterRegistry, 100, Duration.ofMinutes(10)));
     }
 
     @Test
@@ -43,6 +55,25 @@ class ClubeServiceTest {
         verify(clubeRepository, times(1)).save(any(Clube.class));
     }
 
+    @Test
+    @DisplayName("Deve criar as linhas zeradas do retrospecto junto com o clube")
+    void deveCriarRetrospectoDoClube() {
+        when(clubeRepository.save(any(Clube.class))).thenAnswer(invocacao -> {
+            Clube clube = invocacao.getArgument(0);
+            clube.setId(7L);
+            return clube;
+        });
+
+        clubeService.criar(new ClubeDTO(null, "NeoCampers", "SP", LocalDate.of(2020, 12, 16), true));
+
+        verify(retrospectoRepository).saveAll(argThat(linhas -> {
+            List<ClubeRetrospecto> lista = new ArrayList<>();
+            linhas.forEach(lista::add);
+            return lista.size() == 2 && lista.stream().allMatch(linha -> linha.getClubeId() == 7L && linha.getVitorias() == 0)
+                    && lista.stream().filter(ClubeRetrospecto::isMandante).count() == 1;
+        }));
+    }
+
     @Test
     @DisplayName("Deve lançar exceção ao criar clube com nome vazio")
     void deveValidarClubeComNomeVazio() {
@@ -124,14 +155,14 @@ class ClubeServiceTest {
     void deveRetornarRetroGoleadas() {
         Clube clube = new Clube(1L, "NeoCampers", "SP", LocalDate.now(), true);
         Partida p1 = new Partida(1L, clube, new Clube(2L, "Adversario", "RJ", LocalDate.now(), true), 4, 0, null);
-        Partida p2 = new Partida(2L, clube, new Clube(3L, "Outro", "RJ", LocalDate.now(), true), 1, 0, null);
 
         when(clubeRepository.findById(1L)).thenReturn(Optional.of(clube));
-        when(partidaRepository.findByMandanteId(1L)).thenReturn(List.of(p1, p2));
+        when(partidaRepository.findByMandanteIdAndMargemGolsGreaterThanEqual(1L, Partida.MARGEM_GOLEADA)).thenReturn(List.of(p1));
 
         RetroDTO retro = clubeService.getRetroGoleadas(1L, TipoCampo.MANDANTE);
         assertEquals(1, retro.getVitorias());
         assertEquals(4, retro.getGolsFeitos());
+        verify(partidaRepository, never()).findByMandanteId(anyLong());
     }
 
     @Test
@@ -175,13 +206,71 @@ class ClubeServiceTest {
 
         Partida partida = new Partida(1L, clube, adversario, 3, 1, null);
 
-        when(clubeRepository.findById(1L)).thenReturn(Optional.of(clube));
-        when(clubeRepository.findById(2L)).thenReturn(Optional.of(adversario));
-        when(partidaRepository.findByMandanteIdOrVisitanteId(1L, 1L)).thenReturn(List.of(partida));
+        when(partidaRepository.buscarPorClubeComAdversarios(1L)).thenReturn(List.of(partida));
 
         List<RetroDTO> retroList = clubeService.getRetroParaCadaAdversario(1L);
         assertEquals(1, retroList.size());
         assertEquals("MeliCidade", retroList.get(0).getNome());
+        verifyNoInteractions(clubeRepository);
+    }
+
+    @Test
+    @DisplayName("Deve paginar o retro por adversário na ordem do ID do adversário")
+    void devePaginarRetroParaCadaAdversario() {
+        Clube clube = new Clube(1L, "NeoCampers", "SP", LocalDate.now(), true);
+        Clube rival = new Clube(7L, "RivalFC", "RJ", LocalDate.now(), true);
+        Clube vizinho = new Clube(3L, "VizinhoEC", "SP", LocalDate.now(), true);
+        Clube distante = new Clube(5L, "DistanteAC", "AM", LocalDate.now(), true);
+        when(partidaRepository.buscarPorClubeComAdversarios(1L)).thenReturn(List.of(
+                new Partida(1L, clube, rival, 2, 0, null),
+                new Partida(2L, vizinho, clube, 1, 1, null),
+                new Partida(3L, rival, clube, 3, 1, null),
+                new Partida(4L, clube, distante, 0, 1, null)));
+
+        Page<RetroDTO> primeira = clubeService.getRetroParaCadaAdversario(1L, PageRequest.of(0, 2));
+        Page<RetroDTO> segunda = clubeService.getRetroParaCadaAdversario(1L, PageRequest.of(1, 2));
+
+        assertEquals(List.of(new RetroDTO("VizinhoEC", 0, 1, 0, 1, 1), new RetroDTO("DistanteAC", 0, 0, 1, 0, 1)),
+                primeira.getContent());
+        assertEquals(List.of(new RetroDTO("RivalFC", 1, 0, 1, 3, 3)), segunda.getContent());
+        assertEquals(3, segunda.getTotalElements());
+        assertTrue(clubeService.getRetroParaCadaAdversario(1L, PageRequest.of(2, 2)).isEmpty());
+    }
+
+    @Test
+    @DisplayName("Deve responder 404 no retro por adversário de clube inexistente")
+    void deveLancarNotFoundNoRetroParaCadaAdversarioDeClubeInexistente() {
+        when(partidaRepository.buscarPorClubeComAdversarios(99L)).thenReturn(List.of());
+        when(clubeRepository.findById(99L)).thenReturn(Optional.empty());
+
+        ResponseStatusException ex = assertThrows(ResponseStatusException.class,
+                () -> clubeService.getRetroParaCadaAdversario(99L, PageRequest.of(0, 10)));
+        assertEquals(404, ex.getStatusCode().value());
+    }
+
+    @Test
+    @DisplayName("Deve somar as linhas do retrospecto consolidado sem ler as partidas")
+    void deveSomarRetrospectoConsolidado() {
+        Clube clube = new Clube(1L, "NeoCampers", "SP", LocalDate.now(), true);
+        ClubeRetrospecto comoMandante = spy(new ClubeRetrospecto(1L, true, 3, 1, 0, 8, 2));
+        ClubeRetrospecto comoVisitante = spy(new ClubeRetrospecto(1L, false, 1, 0, 2, 3, 5));
+        doReturn(clube).when(comoMandante).getClube();
+        doReturn(clube).when(comoVisitante).getClube();
+
+        when(retrospectoRepository.buscarPorClube(1L, null)).thenReturn(List.of(comoMandante, comoVisitante));
+        when(retrospectoRepository.buscarPorClube(1L, true)).thenReturn(List.of(comoMandante));
+
+        assertEquals(new RetroDTO("NeoCampers", 4, 1, 2, 11, 7), clubeService.getRetro(1L, TipoCampo.TODOS));
+        assertEquals(new RetroDTO("NeoCampers", 3, 1, 0, 8, 2), clubeService.getRetro(1L, TipoCampo.MANDANTE));
+        verifyNoInteractions(partidaRepository, clubeRepository);
+    }
+
+    @Test
+    @DisplayName("Deve lançar exceção no retro de clube inexistente")
+    void deveLancarExcecaoNoRetroDeClubeInexistente() {
+        when(clubeRepository.findById(99L)).thenReturn(Optional.empty());
+
+        assertThrows(ResponseStatusException.class, () -> clubeService.getRetro(99L, TipoCampo.TODOS));
     }
 
     @Test
@@ -190,8 +279,6 @@ class ClubeServiceTest {
         Clube clube = new Clube(1L, "NeoCampers", "SP", LocalDate.now(), true);
 
         when(clubeRepository.findById(1L)).thenReturn(Optional.of(clube));
-        when(partidaRepository.findByVisitanteId(1L)).thenReturn(Collections.emptyList());
-        when(partidaRepository.findByMandanteIdOrVisitanteId(1L, 1L)).thenReturn(Collections.emptyList());
 
         RetroDTO visitante = clubeService.getRetro(1L, TipoCampo.VISITANTE);
         RetroDTO todos = clubeService.getRetro(1L, TipoCampo.TODOS);
@@ -224,7 +311,7 @@ class ClubeServiceTest {
     Partida goleadaExata = new Partida(1L, clube, adversario, 3, 0, null);
 
        when(clubeRepository.findById(1L)).thenReturn(Optional.of(clube));
-       when(partidaRepository.findByMandanteId(1L)).thenReturn(List.of(goleadaExata));
+       when(partidaRepository.findByMandanteIdAndMargemGolsGreaterThanEqual(1L, 3)).thenReturn(List.of(goleadaExata));
 
        RetroDTO retro = clubeService.getRetroGoleadas(1L, TipoCampo.MANDANTE);
 
@@ -232,4 +319,53 @@ class ClubeServiceTest {
        assertEquals(3, retro.getGolsFeitos());
        assertEquals(0, retro.getGolsSofridos());
     }
+
+    @Test
+    @DisplayName("Deve ler cada clube do banco uma vez e servir as leituras seguintes do cache")
+    void deveServirClubesDoCache() {
+        Clube clube = new Clube(1L, "NeoCampers", "SP", LocalDate.now(), true);
+        Clube rival = new Clube(2L, "RivalFC", "RJ", LocalDate.now(), true);
+        Clube outro = new Clube(3L, "OutroFC", "MG", LocalDate.now(), true);
+
+        when(clubeRepository.findById(1L)).thenReturn(Optional.of(clube));
+        when(clubeRepository.findById(2L)).thenReturn(Optional.of(rival));
+        when(clubeRepository.findById(3L)).thenReturn(Optional.of(outro));
+
+        clubeService.compararClubes(List.of(1L, 2L, 3L));
+        clubeService.compararClubes(List.of(1L, 2L, 3L));
+        clubeService.buscar(1L);
+
+        verify(clubeRepository, times(1)).findById(1L);
+        verify(clubeRepository, times(1)).findById(2L);
+        verify(clubeRepository, times(1)).findById(3L);
+        assertEquals(3, meterRegistry.get("cache.gets").tag("cache", "clubes").tag("result", "miss").functionCounter().count());
+        assertEquals(4, meterRegistry.get("cache.gets").tag("cache", "clubes").tag("result", "hit").functionCounter().count());
+    }
+
+    @Test
+    @DisplayName("Deve voltar ao banco depois de atualizar ou inativar o clube")
+    void deveInvalidarCacheAoAlterarClube() {
+        Clube clube = new Clube(1L, "NeoCampers", "SP", LocalDate.of(2020, 1, 1), true);
+        when(clubeRepository.findById(1L)).thenReturn(Optional.of(clube));
+        when(clubeRepository.save(any())).thenAnswer(invocation -> invocation.getArgument(0));
+
+        clubeService.buscar(1L);
+        clubeService.atualizar(1L, new ClubeDTO(1L, "Neo FC", "SP", LocalDate.of(2020, 1, 1), true));
+        clubeService.buscar(1L);
+        clubeService.inativar(1L);
+        clubeService.buscar(1L);
+        clubeService.buscar(1L);
+
+        verify(clubeRepository, times(5)).findById(1L);
+    }
+
+    @Test
+    @DisplayName("Não deve guardar no cache um clube inexistente")
+    void naoDeveGuardarClubeInexistente() {
+        Clube clube = new Clube(9L, "NovoFC", "SP", LocalDate.now(), true);
+        when(clubeRepository.findById(9L)).thenReturn(Optional.empty(), Optional.of(clube));
+
+        assertThrows(ResponseStatusException.class, () -> clubeService.buscar(9L));
+        assertEquals("NovoFC", clubeService.buscar(9L).getNome());
+    }
 }
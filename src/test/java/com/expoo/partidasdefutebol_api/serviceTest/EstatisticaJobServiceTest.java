@@ -1,49 +1,272 @@
 package com.expoo.partidasdefutebol_api.serviceTest;
 
+import com.expoo.partidasdefutebol_api.dto.EstatisticaDTO;
+import com.expoo.partidasdefutebol_api.dto.ExecucaoJobDTO;
+import com.expoo.partidasdefutebol_api.enums.StatusJob;
 import com.expoo.partidasdefutebol_api.model.Clube;
-import com.expoo.partidasdefutebol_api.repository.ClubeRepository;
+import com.expoo.partidasdefutebol_api.model.ClubeAlteracao;
+import com.expoo.partidasdefutebol_api.model.JobMarca;
+import com.expoo.partidasdefutebol_api.model.Partida;
+import com.expoo.partidasdefutebol_api.repository.ClubeAlteracaoRepository;
+import com.expoo.partidasdefutebol_api.repository.JobMarcaRepository;
 import com.expoo.partidasdefutebol_api.repository.PartidaRepository;
+import com.expoo.partidasdefutebol_api.service.AlteracoesClubes;
 import com.expoo.partidasdefutebol_api.service.EstatisticaJobService;
+import com.expoo.partidasdefutebol_api.service.RetrospectoClubes;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
+import org.springframework.data.domain.Limit;
+import org.springframework.web.server.ResponseStatusException;
 import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
 import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
 
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
 import static org.mockito.Mockito.*;
 
 class EstatisticaJobServiceTest {
 
-    private ClubeRepository clubeRepository;
     private PartidaRepository partidaRepository;
+    private ClubeAlteracaoRepository alteracaoRepository;
+    private JobMarcaRepository jobMarcaRepository;
+    private AlteracoesClubes alteracoesClubes;
+    private RetrospectoClubes retrospectoClubes;
+    private SimpleMeterRegistry meterRegistry;
     private EstatisticaJobService jobService;
 
     @BeforeEach
     void setUp() {
-        clubeRepository = mock(ClubeRepository.class);
         partidaRepository = mock(PartidaRepository.class);
-        jobService = new EstatisticaJobService(clubeRepository, partidaRepository);
+        alteracaoRepository = mock(ClubeAlteracaoRepository.class);
+        jobMarcaRepository = mock(JobMarcaRepository.class);
+        alteracoesClubes = new AlteracoesClubes(alteracaoRepository);
+        retrospectoClubes = mock(RetrospectoClubes.class);
+        meterRegistry = new SimpleMeterRegistry();
+        jobService = new EstatisticaJobService(partidaRepository, jobMarcaRepository, alteracoesClubes,
+                retrospectoClubes, meterRegistry);
+    }
+
+    @AfterEach
+    void tearDown() {
+        jobService.encerrar();
+    }
+
+    private ExecucaoJobDTO aguardar(long id) throws InterruptedException {
+        long limite = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        ExecucaoJobDTO execucao = jobService.buscarExecucao(id);
+        while (execucao.getStatus() == StatusJob.AGUARDANDO || execucao.getStatus() == StatusJob.EM_ANDAMENTO) {
+            assertTrue(System.nanoTime() < limite, "Execução " + id + " não terminou");
+            Thread.sleep(5);
+            execucao = jobService.buscarExecucao(id);
+        }
+        return execucao;
+    }
+
+    private void pendentes(ClubeAlteracao... alteracoes) {
+        when(alteracaoRepository.existsByIdNotNull()).thenReturn(alteracoes.length > 0);
+        when(alteracaoRepository.buscarPendentes(anyLong(), eq(Limit.of(1000)))).thenReturn(List.of(alteracoes));
+    }
+
+    private static ClubeAlteracao alteracao(long id, long clubeId) {
+        ClubeAlteracao alteracao = mock(ClubeAlteracao.class);
+        when(alteracao.getId()).thenReturn(id);
+        when(alteracao.getClubeId()).thenReturn(clubeId);
+        return alteracao;
+    }
+
+    private static PartidaRepository.GolsClube gols(String clube, int gols) {
+        return new PartidaRepository.GolsClube() {
+            public String getClube() { return clube; }
+            public int getGols() { return gols; }
+        };
+    }
+
+    @Test
+    void deveExecutarJobComUmaUnicaConsulta() throws InterruptedException {
+        when(partidaRepository.somarGolsPorClube()).thenReturn(List.of(gols("NeoClube", 5), gols("MeliCoders", 3)));
+        aguardar(jobService.dispararJob().getId());
+        verify(partidaRepository).somarGolsPorClube();
+        verifyNoMoreInteractions(partidaRepository);
+    }
+
+    @Test
+    void deveRetornarEstatisticasNaOrdemDaConsulta() throws InterruptedException {
+        when(partidaRepository.somarGolsPorClube()).thenReturn(List.of(gols("NeoClube", 5), gols("Clube Sem Partidas", 0)));
+
+        List<EstatisticaDTO> estatisticas = aguardar(jobService.dispararJob().getId()).getResultado();
+
+        assertEquals(List.of("NeoClube", "Clube Sem Partidas"), estatisticas.stream().map(EstatisticaDTO::getClube).toList());
+        assertEquals(List.of(5, 0), estatisticas.stream().map(EstatisticaDTO::getGols).toList());
     }
 
     @Test
-    void deveExecutarJobComSucesso() {
-        Clube clube1 = new Clube(1L, "NeoClube", "SP", LocalDate.of(2000, 1, 1), true);
-        Clube clube2 = new Clube(2L, "MeliCoders", "SP", LocalDate.of(2000, 1, 1), true);
-        when(clubeRepository.findAll()).thenReturn(List.of(clube1, clube2));
-        when(partidaRepository.somarGolsDoClube(clube1.getId())).thenReturn(5);
-        when(partidaRepository.somarGolsDoClube(clube2.getId())).thenReturn(3);
-        jobService.executarJobManual();
-        verify(clubeRepository).findAll();
-        verify(partidaRepository).somarGolsDoClube(clube1.getId());
-        verify(partidaRepository).somarGolsDoClube(clube2.getId());
+    void deveCalcularTodosOsClubesNaPrimeiraExecucaoEGravarAMarca() throws InterruptedException {
+        pendentes(alteracao(5L, 1L), alteracao(7L, 2L));
+        when(jobMarcaRepository.findById("estatisticas")).thenReturn(Optional.empty());
+
+        jobService.executarJobAgendado();
+        assertEquals(StatusJob.CONCLUIDO, aguardar(1).getStatus());
+
+        verify(partidaRepository).somarGolsPorClube();
+        verify(jobMarcaRepository).save(argThat(marca -> marca.getUltimaAlteracaoId() == 7L));
+        verify(alteracaoRepository).buscarPendentes(0L, Limit.of(1000));
+        verify(alteracaoRepository).apagarAte(7L);
     }
 
     @Test
-    void deveTratarRetornoNuloDeGols() {
-        Clube clube = new Clube(3L, "Clube Sem Partidas", "RJ", LocalDate.of(1990, 6, 15), true);
+    void deveRecalcularSoOsClubesAlteradosEApagarAsAlteracoesLidas() throws InterruptedException {
+        pendentes(alteracao(8L, 1L), alteracao(9L, 2L), alteracao(12L, 1L));
+        when(jobMarcaRepository.findById("estatisticas")).thenReturn(Optional.of(new JobMarca("estatisticas", 7L)));
+
+        jobService.executarJobAgendado();
+        assertEquals(5, aguardar(1).getConsultas());
+
+        verify(partidaRepository).somarGolsDosClubes(List.of(1L, 2L));
+        verify(partidaRepository, never()).somarGolsPorClube();
+        verify(alteracaoRepository).buscarPendentes(7L, Limit.of(1000));
+        verify(alteracaoRepository).apagarAte(12L);
+    }
+
+    @Test
+    void deveProcessarAsAlteracoesEmPaginasAvancandoAMarca() throws InterruptedException {
+        List<ClubeAlteracao> cheia = new ArrayList<>();
+        for (long id = 8; id < 1008; id++) cheia.add(alteracao(id, 1L));
+        List<ClubeAlteracao> ultima = List.of(alteracao(1010L, 2L));
+        when(alteracaoRepository.existsByIdNotNull()).thenReturn(true);
+        when(alteracaoRepository.buscarPendentes(7L, Limit.of(1000))).thenReturn(cheia);
+        when(alteracaoRepository.buscarPendentes(1007L, Limit.of(1000))).thenReturn(ultima);
+        when(jobMarcaRepository.findById("estatisticas")).thenReturn(Optional.of(new JobMarca("estatisticas", 7L)));
+        when(partidaRepository.somarGolsDosClubes(List.of(1L))).thenReturn(List.of(gols("NeoClube", 5)));
+        when(partidaRepository.somarGolsDosClubes(List.of(2L))).thenReturn(List.of(gols("MeliCoders", 3)));
+
+        jobService.executarJobAgendado();
+        ExecucaoJobDTO execucao = aguardar(1);
 
-        when(clubeRepository.findAll()).thenReturn(List.of(clube));
-        when(partidaRepository.somarGolsDoClube(clube.getId())).thenReturn(null);
-        jobService.executarJobManual();
-        verify(partidaRepository).somarGolsDoClube(clube.getId());
+        assertEquals(List.of("NeoClube", "MeliCoders"), execucao.getResultado().stream().map(EstatisticaDTO::getClube).toList());
+        verify(alteracaoRepository).apagarAte(1007L);
+        verify(alteracaoRepository).apagarAte(1010L);
+        verify(jobMarcaRepository).save(argThat(marca -> marca.getUltimaAlteracaoId() == 1010L));
+    }
+
+    @Test
+    void naoDeveDispararQuandoNaoHaAlteracoesPendentes() {
+        pendentes();
+
+        jobService.executarJobAgendado();
+
+        verify(alteracaoRepository).existsByIdNotNull();
+        verifyNoMoreInteractions(alteracaoRepository);
+        verifyNoInteractions(partidaRepository, jobMarcaRepository);
+        assertThrows(ResponseStatusException.class, () -> jobService.buscarExecucao(1L));
+    }
+
+    @Test
+    void deveManterAsAlteracoesPendentesQuandoOCalculoFalhar() throws InterruptedException {
+        pendentes(alteracao(8L, 1L));
+        when(jobMarcaRepository.findById("estatisticas")).thenReturn(Optional.of(new JobMarca("estatisticas", 7L)));
+        when(partidaRepository.somarGolsDosClubes(any())).thenThrow(new IllegalStateException("banco fora do ar"));
+
+        jobService.executarJobAgendado();
+        assertEquals(StatusJob.FALHOU, aguardar(1).getStatus());
+
+        verify(alteracaoRepository, never()).apagarAte(anyLong());
+        verify(jobMarcaRepository, never()).save(any());
+    }
+
+    @Test
+    void deveRegistrarOsClubesDaPartidaGravada() {
+        Partida partida = new Partida(1L, new Clube(1L, "NeoClube", "SP", LocalDate.of(2000, 1, 1), true),
+                new Clube(2L, "MeliCoders", "SP", LocalDate.of(2000, 1, 1), true), 2, 1, LocalDateTime.now());
+        alteracoesClubes.registrar(partida);
+
+        verify(alteracaoRepository).saveAll(argThat(alteracoes -> List.of(1L, 2L).equals(
+                ((List<ClubeAlteracao>) alteracoes).stream().map(ClubeAlteracao::getClubeId).toList())));
+    }
+
+    @Test
+    void deveDispararJobEmSegundoPlanoERetornarOResultadoNaConsulta() throws InterruptedException {
+        when(partidaRepository.somarGolsPorClube()).thenReturn(List.of(gols("NeoClube", 5), gols("MeliCoders", 3)));
+
+        ExecucaoJobDTO disparada = jobService.dispararJob();
+        ExecucaoJobDTO concluida = aguardar(disparada.getId());
+
+        assertEquals(1L, disparada.getId());
+        assertEquals("MANUAL", concluida.getOrigem());
+        assertEquals(StatusJob.CONCLUIDO, concluida.getStatus());
+        assertEquals(1, concluida.getConsultas());
+        assertEquals(2, concluida.getClubes());
+        assertEquals(List.of("NeoClube", "MeliCoders"), concluida.getResultado().stream().map(EstatisticaDTO::getClube).toList());
+        assertNotNull(concluida.getFim());
+    }
+
+    @Test
+    void deveAgruparDisparosEnquantoUmaExecucaoNaoTermina() throws InterruptedException {
+        CountDownLatch iniciada = new CountDownLatch(1);
+        CountDownLatch liberada = new CountDownLatch(1);
+        when(partidaRepository.somarGolsPorClube()).thenAnswer(invocacao -> {
+            iniciada.countDown();
+            liberada.await();
+            return List.of(gols("NeoClube", 5));
+        });
+
+        ExecucaoJobDTO primeira = jobService.dispararJob();
+        assertTrue(iniciada.await(5, TimeUnit.SECONDS));
+        assertEquals(StatusJob.EM_ANDAMENTO, jobService.buscarExecucao(primeira.getId()).getStatus());
+
+        assertEquals(primeira.getId(), jobService.dispararJob().getId());
+        jobService.executarJobAgendado();
+        liberada.countDown();
+        aguardar(primeira.getId());
+
+        verify(partidaRepository, times(1)).somarGolsPorClube();
+        verifyNoInteractions(alteracaoRepository);
+        assertEquals(2L, jobService.dispararJob().getId());
+    }
+
+    @Test
+    void deveRegistrarFalhaDaExecucaoEVoltarAAceitarDisparos() throws InterruptedException {
+        when(partidaRepository.somarGolsPorClube()).thenThrow(new IllegalStateException("banco fora do ar"));
+
+        ExecucaoJobDTO falha = aguardar(jobService.dispararJob().getId());
+
+        assertEquals(StatusJob.FALHOU, falha.getStatus());
+        assertEquals("banco fora do ar", falha.getFalha());
+        assertNull(falha.getResultado());
+        assertEquals(2L, jobService.dispararJob().getId());
+    }
+
+    @Test
+    void deveLancarNotFoundParaExecucaoInexistente() {
+        assertThrows(ResponseStatusException.class, () -> jobService.buscarExecucao(42L));
+    }
+
+    @Test
+    void deveRegistrarMetricasDasExecucoes() throws InterruptedException {
+        when(partidaRepository.somarGolsPorClube()).thenReturn(List.of(gols("NeoClube", 5), gols("MeliCoders", 3)));
+        assertTrue(Double.isNaN(meterRegistry.get("estatisticas.job.desde.ultimo.sucesso").gauge().value()));
+
+        aguardar(jobService.dispararJob().getId());
+        when(partidaRepository.somarGolsPorClube()).thenThrow(new IllegalStateException("banco fora do ar"));
+        assertEquals(StatusJob.FALHOU, aguardar(jobService.dispararJob().getId()).getStatus());
+
+        assertEquals(2, meterRegistry.get("estatisticas.job.duracao").tag("origem", "manual").timer().count());
+        assertEquals(2, meterRegistry.get("estatisticas.job.clubes").counter().count());
+        assertEquals(2, meterRegistry.get("estatisticas.job.consultas").counter().count());
+        assertEquals(1, meterRegistry.get("estatisticas.job.falhas").counter().count());
+        assertEquals(0, meterRegistry.get("estatisticas.job.ativas").longTaskTimer().activeTasks());
+        assertTrue(meterRegistry.get("estatisticas.job.desde.ultimo.sucesso").gauge().value() >= 0);
+    }
+
+    @Test
+    void deveReconciliarRetrospectoAoDispararJobAgendado() {
+        jobService.reconciliarRetrospectoAgendado();
+        verify(retrospectoClubes).reconciliar();
     }
-}
+}
\ No newline at end of file
@@ -0,0 +1,234 @@
+package com.expoo.partidasdefutebol_api.serviceTest;
+
+import com.expoo.partidasdefutebol_api.dto.ErroLoteDTO;
+import com.expoo.partidasdefutebol_api.dto.ImportacaoDTO;
+import com.expoo.partidasdefutebol_api.enums.FormatoImportacao;
+import com.expoo.partidasdefutebol_api.enums.StatusImportacao;
+import com.expoo.partidasdefutebol_api.model.Clube;
+import com.expoo.partidasdefutebol_api.model.Estadio;
+import com.expoo.partidasdefutebol_api.model.Partida;
+import com.expoo.partidasdefutebol_api.repository.ClubeAlteracaoRepository;
+import com.expoo.partidasdefutebol_api.repository.ClubeRepository;
+import com.expoo.partidasdefutebol_api.repository.ClubeRetrospectoRepository;
+import com.expoo.partidasdefutebol_api.repository.EstadioRepository;
+import com.expoo.partidasdefutebol_api.repository.PartidaJdbcRepository;
+import com.expoo.partidasdefutebol_api.repository.PartidaRepository;
+import com.expoo.partidasdefutebol_api.service.AgendaClubes;
+import com.expoo.partidasdefutebol_api.service.AlteracoesClubes;
+import com.expoo.partidasdefutebol_api.service.ImportacaoPartidaService;
+import com.expoo.partidasdefutebol_api.service.PartidaLoteService;
+import com.expoo.partidasdefutebol_api.service.RetrospectoClubes;
+import com.expoo.partidasdefutebol_api.service.ValidadorPartida;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.validation.Validation;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockMultipartFile;
+import org.springframework.web.server.ResponseStatusException;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.stream.LongStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+class ImportacaoPartidaServiceTest {
+
+    private PartidaJdbcRepository partidaJdbcRepository;
+    private ClubeRepository clubeRepository;
+    private ImportacaoPartidaService importacaoService;
+
+    @BeforeEach
+    void setup() {
+        PartidaRepository partidaRepository = mock(PartidaRepository.class);
+        partidaJdbcRepository = mock(PartidaJdbcRepository.class);
+        clubeRepository = mock(ClubeRepository.class);
+        EstadioRepository estadioRepository = mock(EstadioRepository.class);
+        ClubeRetrospectoRepository retrospectoRepository = mock(ClubeRetrospectoRepository.class);
+        when(retrospectoRepository.somar(any(), anyBoolean(), anyInt(), anyInt(), anyInt(), anyInt(), anyInt())).thenReturn(1);
+        PartidaLoteService loteService = new PartidaLoteService(partidaRepository, partidaJdbcRepository, clubeRepository,
+                estadioRepository, new AgendaClubes(partidaRepository),
+                new RetrospectoClubes(retrospectoRepository),
+                new AlteracoesClubes(mock(ClubeAlteracaoRepository.class)), new ValidadorPartida(),
+                Validation.buildDefaultValidatorFactory().getValidator());
+        importacaoService = new ImportacaoPartidaService(loteService, clubeRepository, estadioRepository, new ObjectMapper());
+
+        List<Clube> clubes = List.of(
+                new Clube(1L, "Time A", "SP", LocalDate.of(1900, 1, 1), true),
+                new Clube(2L, "Time B", "RJ", LocalDate.of(1900, 1, 1), true),
+                new Clube(3L, "Time C", "MG", LocalDate.of(1900, 1, 1), true),
+                new Clube(4L, "Time D", "RS", LocalDate.of(1900, 1, 1), true));
+        when(clubeRepository.findAll()).thenReturn(clubes);
+
+        List<String> estadios = List.of("Estádio \"Mané\" Garrincha", "Mineirão", "Morumbi", "Pacaembu", "Arena", "Arena 0", "Arena 1");
+        when(estadioRepository.findAll()).thenReturn(LongStream.range(0, estadios.size())
+                .mapToObj(i -> new Estadio(i + 1, estadios.get((int) i))).toList());
+
+        AtomicLong ids = new AtomicLong();
+        when(partidaJdbcRepository.inserirEmLote(anyList())).thenAnswer(invocation -> {
+            List<?> partidas = invocation.getArgument(0);
+            return LongStream.range(0, partidas.size()).map(i -> ids.incrementAndGet()).boxed().toList();
+        });
+    }
+
+    @AfterEach
+    void encerrar() {
+        importacaoService.encerrar();
+    }
+
+    @Test
+    @DisplayName("Deve importar CSV informando as linhas rejeitadas")
+    void deveImportarCsvComErrosPorLinha() {
+        String csv = """
+                estadio;dataHora;mandante;visitante;resultado
+                "Estádio ""Mané"" Garrincha";2001-05-20T16:00:00;Time A;Time B;2-1
+                Mineirão;2001-05-20 16:00:00;time c;TIME D;0-0
+
+                Morumbi;2001-05-23T16:00:00;Time A;Time X;1-1
+                Morumbi;2001-05-24T16:00:00;Time C;Time D;um-zero
+                Morumbi;2001-05-20T16:00:00;Time C;Time D;3-0
+                Pacaembu;2001-05-21T16:00:00;Time A;Time C;1-0
+                pacaembu;2001-05-25T16:00:00;Time B;Time D;1-0
+                Arena Desconhecida;2001-05-28T16:00:00;Time A;Time B;1-0
+                """;
+
+        ImportacaoDTO resultado = importar(csv, "historico.csv", null);
+
+        assertEquals(StatusImportacao.CONCLUIDA, resultado.getStatus());
+        assertEquals(FormatoImportacao.CSV, resultado.getFormato());
+        assertEquals(8, resultado.getLinhasLidas());
+        assertEquals(3, resultado.getCadastradas());
+        assertEquals(5, resultado.getRejeitadas());
+        assertEquals(List.of(
+                new ErroLoteDTO(5, "Clube visitante não encontrado: Time X"),
+                new ErroLoteDTO(6, "Formato inválido para resultado: um-zero"),
+                new ErroLoteDTO(7, "Partida duplicada"),
+                new ErroLoteDTO(8, "Um dos clubes já possui partida próxima a essa data e hora"),
+                new ErroLoteDTO(10, "Estádio não encontrado: Arena Desconhecida")),
+                resultado.getErros());
+        verify(partidaJdbcRepository).inserirEmLote(argThat(partidas ->
+                partidas.stream().map(Partida::getNomeEstadio).toList().contains("Estádio \"Mané\" Garrincha")));
+    }
+
+    @Test
+    @DisplayName("Deve importar NDJSON buscando cada clube uma única vez")
+    void deveImportarNdjsonComCacheDeClubes() {
+        StringBuilder ndjson = new StringBuilder();
+        LocalDateTime dataHora = LocalDateTime.of(1990, 1, 1, 16, 0);
+        for (int i = 0; i < 2500; i++) {
+            String mandante = i % 2 == 0 ? "Time A" : "Time C";
+            String visitante = i % 2 == 0 ? "Time B" : "Time D";
+            ndjson.append("{\"mandante\":\"").append(mandante)
+                    .append("\",\"visitante\":\"").append(visitante)
+                    .append("\",\"resultado\":\"1-0\",\"estadio\":\"Arena ").append(i % 2)
+                    .append("\",\"dataHora\":\"").append(dataHora.plusDays(3L * i)).append("\"}\n");
+        }
+        ndjson.append("[1, 2]\n");
+
+        ImportacaoDTO resultado = importar(ndjson.toString(), "historico.ndjson", null);
+
+        assertEquals(StatusImportacao.CONCLUIDA, resultado.getStatus());
+        assertEquals(2501, resultado.getLinhasLidas());
+        assertEquals(2500, resultado.getCadastradas());
+        assertEquals(List.of(new ErroLoteDTO(2501, "JSON inválido")), resultado.getErros());
+        verify(clubeRepository, times(1)).findAll();
+        verify(partidaJdbcRepository, times(3)).inserirEmLote(anyList());
+    }
+
+    @Test
+    @DisplayName("Deve limitar a lista de erros mas contar todas as rejeições")
+    void deveLimitarListaDeErros() {
+        StringBuilder csv = new StringBuilder("mandante,visitante,resultado,estadio,dataHora\n");
+        for (int i = 0; i < 500; i++) {
+            csv.append("Time A,Time A,1-0,Arena,2001-01-01T16:00:00\n");
+        }
+
+        ImportacaoDTO resultado = importar(csv.toString(), "historico.csv", FormatoImportacao.CSV);
+
+        assertEquals(500, resultado.getRejeitadas());
+        assertEquals(100, resultado.getErros().size());
+        assertEquals("Os clubes não podem ser iguais", resultado.getErros().get(0).getMensagem());
+        verify(partidaJdbcRepository, never()).inserirEmLote(anyList());
+    }
+
+    @Test
+    @DisplayName("Deve falhar a importação quando o cabeçalho não tiver todas as colunas")
+    void deveFalharComCabecalhoIncompleto() {
+        String csv = "mandante,visitante,resultado,dataHora\nTime A,Time B,1-0,2001-01-01T16:00:00\n";
+
+        ImportacaoDTO resultado = importar(csv, "historico.csv", null);
+
+        assertEquals(StatusImportacao.FALHOU, resultado.getStatus());
+        assertEquals("Cabeçalho do CSV sem a coluna estadio", resultado.getFalha());
+        assertNotNull(resultado.getFim());
+    }
+
+    @Test
+    @DisplayName("Deve interromper a leitura quando a gravação falhar")
+    void deveInterromperLeituraQuandoGravacaoFalhar() {
+        when(partidaJdbcRepository.inserirEmLote(anyList())).thenThrow(new IllegalStateException("Banco indisponível"));
+        int partidas = 100_000;
+
+        ImportacaoDTO resultado = importar(arquivoGrande(partidas), "grande.csv", FormatoImportacao.CSV);
+
+        assertEquals(StatusImportacao.FALHOU, resultado.getStatus());
+        assertEquals("Banco indisponível", resultado.getFalha());
+        assertEquals(0, resultado.getCadastradas());
+        assertTrue(resultado.getLinhasLidas() < partidas);
+    }
+
+    @Test
+    @DisplayName("Deve guardar só as últimas importações encerradas")
+    void deveGuardarSoAsUltimasImportacoes() {
+        String csv = "mandante,visitante,resultado,estadio,dataHora\n";
+        List<Long> ids = LongStream.rangeClosed(0, 20)
+                .mapToObj(i -> importacaoService.iniciar(arquivo(csv, "vazio.csv"), null).getId())
+                .toList();
+        aguardar(ids.get(ids.size() - 1));
+
+        assertThrows(ResponseStatusException.class, () -> importacaoService.buscar(ids.get(0)));
+        assertEquals(StatusImportacao.CONCLUIDA, importacaoService.buscar(ids.get(1)).getStatus());
+        assertEquals(StatusImportacao.CONCLUIDA, importacaoService.buscar(ids.get(ids.size() - 1)).getStatus());
+    }
+
+    @Test
+    @DisplayName("Deve retornar 404 para importação inexistente")
+    void deveRetornarNotFoundParaImportacaoInexistente() {
+        assertThrows(ResponseStatusException.class, () -> importacaoService.buscar(42L));
+    }
+
+    private ImportacaoDTO importar(String conteudo, String nome, FormatoImportacao formato) {
+        return aguardar(importacaoService.iniciar(arquivo(conteudo, nome), formato).getId());
+    }
+
+    private ImportacaoDTO aguardar(Long id) {
+        return assertTimeoutPreemptively(Duration.ofSeconds(30), () -> {
+            ImportacaoDTO importacao = importacaoService.buscar(id);
+            while (importacao.getStatus() == StatusImportacao.AGUARDANDO
+                    || importacao.getStatus() == StatusImportacao.EM_ANDAMENTO) {
+                Thread.sleep(10);
+                importacao = importacaoService.buscar(id);
+            }
+            return importacao;
+        });
+    }
+
+    private static MockMultipartFile arquivo(String conteudo, String nome) {
+        return new MockMultipartFile("arquivo", nome, "text/plain", conteudo.getBytes(StandardCharsets.UTF_8));
+    }
+
+    private static String arquivoGrande(int partidas) {
+        StringBuilder csv = new StringBuilder("mandante,visitante,resultado,estadio,dataHora\n");
+        for (int i = 0; i < partidas; i++) {
+            csv.append("Time A,Time B,1-0,Arena,").append(LocalDateTime.of(1950, 1, 1, 16, 0).plusDays(3L * i)).append('\n');
+        }
+        return csv.toString();
+    }
+}
@@ -0,0 +1,95 @@
+package com.expoo.partidasdefutebol_api.serviceTest;
+
+import com.expoo.partidasdefutebol_api.dto.PartidaDTO;
+import com.expoo.partidasdefutebol_api.dto.ResultadoLoteDTO;
+import com.expoo.partidasdefutebol_api.model.Clube;
+import com.expoo.partidasdefutebol_api.model.Estadio;
+import com.expoo.partidasdefutebol_api.repository.ClubeRepository;
+import com.expoo.partidasdefutebol_api.repository.EstadioRepository;
+import com.expoo.partidasdefutebol_api.service.PartidaLoteService;
+import com.expoo.partidasdefutebol_api.service.RetrospectoClubes;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.TestPropertySource;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@Tag("benchmark")
+@SpringBootTest
+@ActiveProfiles("test")
+@TestPropertySource(properties = "spring.jpa.show-sql=false")
+class PartidaLoteBenchmarkTest {
+
+    private static final Logger log = LoggerFactory.getLogger(PartidaLoteBenchmarkTest.class);
+
+    private static final int TOTAL_CLUBES = 200;
+    private static final int RODADAS_AQUECIMENTO = 20;
+    private static final int RODADAS = 200;
+    private static final long VAZAO_MINIMA = Long.getLong("benchmark.lote.vazaoMinima", 10_000);
+
+    @Autowired
+    private PartidaLoteService loteService;
+
+    @Autowired
+    private ClubeRepository clubeRepository;
+
+    @Autowired
+    private EstadioRepository estadioRepository;
+
+    @Autowired
+    private RetrospectoClubes retrospectoClubes;
+
+    @Test
+    @DisplayName("Cadastro em lote deve superar a vazão mínima no H2")
+    void cadastroEmLoteDeveSuperarVazaoMinima() {
+        List<Long> clubeIds = new ArrayList<>();
+        for (int i = 0; i < TOTAL_CLUBES; i++) {
+            clubeIds.add(clubeRepository.save(new Clube("Clube Lote " + i, "SP", LocalDate.of(1990, 1, 1), true)).getId());
+        }
+        for (int i = 0; i < TOTAL_CLUBES / 2; i++) {
+            estadioRepository.save(new Estadio("Estádio " + i));
+        }
+        retrospectoClubes.reconstruir();
+
+        Random random = new Random(7);
+        loteService.cadastrarLote(gerarRodadas(clubeIds, random, LocalDateTime.of(2010, 1, 1, 16, 0), RODADAS_AQUECIMENTO));
+
+        List<PartidaDTO> lote = gerarRodadas(clubeIds, random, LocalDateTime.of(2015, 1, 1, 16, 0), RODADAS);
+        long inicio = System.nanoTime();
+        ResultadoLoteDTO resultado = loteService.cadastrarLote(lote);
+        double segundos = (System.nanoTime() - inicio) / 1e9;
+        double porSegundo = resultado.getCadastradas() / segundos;
+
+        log.info("Lote de {} partidas cadastrado em {} s ({} partidas/s)",
+                lote.size(), String.format("%.2f", segundos), String.format("%.0f", porSegundo));
+
+        assertEquals(lote.size(), resultado.getCadastradas(), () -> "Erros: " + resultado.getErros());
+        assertTrue(porSegundo >= VAZAO_MINIMA, "Vazão abaixo de " + VAZAO_MINIMA + " partidas/s: " + porSegundo);
+    }
+
+    private List<PartidaDTO> gerarRodadas(List<Long> clubeIds, Random random, LocalDateTime inicio, int rodadas) {
+        List<Long> ordem = new ArrayList<>(clubeIds);
+        List<PartidaDTO> partidas = new ArrayList<>(rodadas * clubeIds.size() / 2);
+        for (int rodada = 0; rodada < rodadas; rodada++) {
+            Collections.shuffle(ordem, random);
+            LocalDateTime dataHora = inicio.plusDays(3L * rodada);
+            for (int i = 0; i + 1 < ordem.size(); i += 2) {
+                partidas.add(new PartidaDTO(null, ordem.get(i), ordem.get(i + 1),
+                        random.nextInt(5), random.nextInt(5), "Estádio " + (i / 2), dataHora));
+            }
+        }
+        return partidas;
+    }
+}
@@ -0,0 +1,243 @@
+package com.expoo.partidasdefutebol_api.serviceTest;
+
+import com.expoo.partidasdefutebol_api.dto.ErroLoteDTO;
+import com.expoo.partidasdefutebol_api.dto.PartidaDTO;
+import com.expoo.partidasdefutebol_api.dto.ResultadoLoteDTO;
+import com.expoo.partidasdefutebol_api.model.Clube;
+import com.expoo.partidasdefutebol_api.model.Estadio;
+import com.expoo.partidasdefutebol_api.repository.ClubeAlteracaoRepository;
+import com.expoo.partidasdefutebol_api.repository.ClubeRepository;
+import com.expoo.partidasdefutebol_api.repository.ClubeRetrospectoRepository;
+import com.expoo.partidasdefutebol_api.repository.EstadioRepository;
+import com.expoo.partidasdefutebol_api.repository.PartidaJdbcRepository;
+import com.expoo.partidasdefutebol_api.repository.PartidaRepository;
+import com.expoo.partidasdefutebol_api.service.AgendaClubes;
+import com.expoo.partidasdefutebol_api.service.AlteracoesClubes;
+import com.expoo.partidasdefutebol_api.service.PartidaLoteService;
+import com.expoo.partidasdefutebol_api.service.RetrospectoClubes;
+import com.expoo.partidasdefutebol_api.service.ValidadorPartida;
+import jakarta.validation.Validation;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.web.server.ResponseStatusException;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+class PartidaLoteServiceTest {
+
+    private static final LocalDateTime DATA = LocalDateTime.of(2023, 5, 20, 16, 0);
+
+    private PartidaRepository partidaRepository;
+    private PartidaJdbcRepository partidaJdbcRepository;
+    private ClubeRepository clubeRepository;
+    private EstadioRepository estadioRepository;
+    private AgendaClubes agendaClubes;
+    private ClubeRetrospectoRepository retrospectoRepository;
+    private PartidaLoteService loteService;
+
+    @BeforeEach
+    void setup() {
+        partidaRepository = mock(PartidaRepository.class);
+        partidaJdbcRepository = mock(PartidaJdbcRepository.class);
+        clubeRepository = mock(ClubeRepository.class);
+        estadioRepository = mock(EstadioRepository.class);
+        agendaClubes = new AgendaClubes(partidaRepository);
+        retrospectoRepository = mock(ClubeRetrospectoRepository.class);
+        when(retrospectoRepository.somar(any(), anyBoolean(), anyInt(), anyInt(), anyInt(), anyInt(), anyInt())).thenReturn(1);
+        loteService = new PartidaLoteService(partidaRepository, partidaJdbcRepository, clubeRepository, estadioRepository,
+                agendaClubes, new RetrospectoClubes(retrospectoRepository),
+                new AlteracoesClubes(mock(ClubeAlteracaoRepository.class)), new ValidadorPartida(),
+                Validation.buildDefaultValidatorFactory().getValidator());
+
+        when(clubeRepository.findAllById(any())).thenReturn(List.of(
+                new Clube(1L, "Time A", "SP", LocalDate.of(2000, 1, 1), true),
+                new Clube(2L, "Time B", "RJ", LocalDate.of(2000, 1, 1), true),
+                new Clube(3L, "Time C", "MG", LocalDate.of(2000, 1, 1), true),
+                new Clube(4L, "Time D", "RS", LocalDate.of(2000, 1, 1), true)));
+        when(estadioRepository.findByNomeIn(any())).thenReturn(List.of(
+                new Estadio(10L, "Maracanã"),
+                new Estadio(11L, "Mineirão"),
+                new Estadio(12L, "Morumbi")));
+        when(partidaJdbcRepository.inserirEmLote(anyList())).thenAnswer(invocation -> {
+            List<?> partidas = invocation.getArgument(0);
+            return java.util.stream.LongStream.rangeClosed(1, partidas.size()).boxed().toList();
+        });
+    }
+
+    @Test
+    @DisplayName("Deve cadastrar o lote buscando os clubes uma única vez")
+    void deveCadastrarLoteComUmaBuscaDeClubes() {
+        List<PartidaDTO> lote = List.of(
+                new PartidaDTO(null, 1L, 2L, 2, 1, "Maracanã", DATA),
+                new PartidaDTO(null, 3L, 4L, 0, 0, "Mineirão", DATA),
+                new PartidaDTO(null, 2L, 1L, 1, 1, "Morumbi", DATA.plusDays(3)));
+
+        ResultadoLoteDTO resultado = loteService.cadastrarLote(lote);
+
+        assertEquals(3, resultado.getRecebidas());
+        assertEquals(3, resultado.getCadastradas());
+        assertTrue(resultado.getErros().isEmpty());
+        verify(clubeRepository, times(1)).findAllById(any());
+        verify(clubeRepository, never()).findById(any());
+        verify(estadioRepository, times(1)).findByNomeIn(Set.of("Maracanã", "Mineirão", "Morumbi"));
+        verify(partidaRepository, times(1)).findOcupacoesDeEstadios(eq(Set.of(10L, 11L, 12L)), eq(Set.of(DATA, DATA.plusDays(3))));
+        verify(partidaJdbcRepository, times(1)).inserirEmLote(argThat(partidas -> partidas.size() == 3));
+        assertTrue(agendaClubes.possuiConflito(1L, DATA.plusDays(3), DATA.plusDays(3), null));
+    }
+
+    @Test
+    @DisplayName("Deve rejeitar itens que conflitam entre si dentro do lote")
+    void deveRejeitarConflitosDentroDoLote() {
+        List<PartidaDTO> lote = List.of(
+                new PartidaDTO(null, 1L, 2L, 2, 1, "Maracanã", DATA.plusHours(24)),
+                new PartidaDTO(null, 1L, 3L, 0, 0, "Mineirão", DATA),
+                new PartidaDTO(null, 4L, 3L, 1, 0, "Mineirão", DATA));
+
+        ResultadoLoteDTO resultado = loteService.cadastrarLote(lote);
+
+        assertEquals(1, resultado.getCadastradas());
+        assertEquals(List.of(
+                new ErroLoteDTO(0, "Um dos clubes já possui partida próxima a essa data e hora"),
+                new ErroLoteDTO(2, "Um dos clubes já possui partida próxima a essa data e hora")),
+                resultado.getErros());
+    }
+
+    @Test
+    @DisplayName("Deve rejeitar estádio ocupado dentro do lote e no banco")
+    void deveRejeitarEstadioOcupado() {
+        PartidaRepository.OcupacaoEstadio ocupacao = mock(PartidaRepository.OcupacaoEstadio.class);
+        when(ocupacao.getEstadioId()).thenReturn(12L);
+        when(ocupacao.getDataHora()).thenReturn(DATA.plusDays(5));
+        when(partidaRepository.findOcupacoesDeEstadios(anyCollection(), anyCollection())).thenReturn(List.of(ocupacao));
+
+        List<PartidaDTO> lote = List.of(
+                new PartidaDTO(null, 1L, 2L, 2, 1, "Maracanã", DATA),
+                new PartidaDTO(null, 3L, 4L, 0, 0, "Maracanã", DATA),
+                new PartidaDTO(null, 1L, 2L, 0, 0, "Morumbi", DATA.plusDays(5)));
+
+        ResultadoLoteDTO resultado = loteService.cadastrarLote(lote);
+
+        assertEquals(1, resultado.getCadastradas());
+        assertEquals(List.of(
+                new ErroLoteDTO(1, "Estádio já ocupado neste horário"),
+                new ErroLoteDTO(2, "Estádio já ocupado neste horário")),
+                resultado.getErros());
+    }
+
+    @Test
+    @DisplayName("Deve rejeitar conflito com partida já cadastrada")
+    void deveRejeitarConflitoComPartidaExistente() {
+        agendaClubes.registrar(99L, 3L, 5L, DATA.minusHours(10));
+
+        List<PartidaDTO> lote = List.of(
+                new PartidaDTO(null, 1L, 2L, 2, 1, "Maracanã", DATA),
+                new PartidaDTO(null, 3L, 4L, 0, 0, "Mineirão", DATA));
+
+        ResultadoLoteDTO resultado = loteService.cadastrarLote(lote);
+
+        assertEquals(1, resultado.getCadastradas());
+        assertEquals(1, resultado.getErros().get(0).getIndice());
+    }
+
+    @Test
+    @DisplayName("Deve informar erros individuais de validação sem abortar o lote")
+    void deveInformarErrosIndividuais() {
+        List<PartidaDTO> lote = List.of(
+                new PartidaDTO(null, 1L, 99L, 2, 1, "Maracanã", DATA),
+                new PartidaDTO(null, 1L, 1L, 2, 1, "Maracanã", DATA),
+                new PartidaDTO(null, 1L, 2L, 2, 1, null, DATA),
+                new PartidaDTO(null, 3L, 4L, 2, 1, "Mineirão", LocalDateTime.now().plusDays(1)),
+                new PartidaDTO(null, 3L, 4L, 2, 1, "Mineirão", DATA),
+                new PartidaDTO(null, 1L, 2L, 2, 1, "Arena X", DATA.plusDays(3)));
+
+        ResultadoLoteDTO resultado = loteService.cadastrarLote(lote);
+
+        assertEquals(6, resultado.getRecebidas());
+        assertEquals(1, resultado.getCadastradas());
+        assertEquals("Clube visitante não encontrado", resultado.getErros().get(0).getMensagem());
+        assertEquals("Os clubes não podem ser iguais", resultado.getErros().get(1).getMensagem());
+        assertEquals("Estádio é obrigatório", resultado.getErros().get(2).getMensagem());
+        assertEquals(3, resultado.getErros().get(3).getIndice());
+        assertEquals(new ErroLoteDTO(5, "Estádio não encontrado: Arena X"), resultado.getErros().get(4));
+    }
+
+    @Test
+    @DisplayName("Deve somar o retrospecto do lote com uma atualização por clube e mando")
+    void deveSomarRetrospectoDoLotePorClubeEMando() {
+        when(retrospectoRepository.somar(any(), anyBoolean(), anyInt(), anyInt(), anyInt(), anyInt(), anyInt())).thenReturn(1);
+        List<PartidaDTO> lote = List.of(
+                new PartidaDTO(null, 1L, 2L, 2, 1, "Maracanã", DATA),
+                new PartidaDTO(null, 1L, 2L, 0, 0, "Maracanã", DATA.plusDays(3)),
+                new PartidaDTO(null, 3L, 4L, 1, 3, "Mineirão", DATA));
+
+        loteService.cadastrarLote(lote);
+
+        verify(retrospectoRepository).somar(1L, true, 1, 1, 0, 2, 1);
+        verify(retrospectoRepository).somar(2L, false, 0, 1, 1, 1, 2);
+        verify(retrospectoRepository).somar(3L, true, 0, 0, 1, 1, 3);
+        verify(retrospectoRepository).somar(4L, false, 1, 0, 0, 3, 1);
+        verifyNoMoreInteractions(retrospectoRepository);
+    }
+
+    @Test
+    @DisplayName("Não deve gravar nada quando todos os itens forem rejeitados")
+    void naoDeveGravarLoteSemItensValidos() {
+        ResultadoLoteDTO resultado = loteService.cadastrarLote(List.of(
+                new PartidaDTO(null, 1L, 1L, 2, 1, "Maracanã", DATA)));
+
+        assertEquals(0, resultado.getCadastradas());
+        verify(partidaJdbcRepository, never()).inserirEmLote(anyList());
+    }
+
+    @Test
+    @DisplayName("Deve rejeitar item nulo sem derrubar o lote")
+    void deveRejeitarItemNulo() {
+        List<PartidaDTO> lote = new ArrayList<>();
+        lote.add(new PartidaDTO(null, 1L, 2L, 2, 1, "Maracanã", DATA));
+        lote.add(null);
+
+        ResultadoLoteDTO resultado = loteService.cadastrarLote(lote);
+
+        assertEquals(1, resultado.getCadastradas());
+        assertEquals(List.of(new ErroLoteDTO(1, "Partida não informada")), resultado.getErros());
+    }
+
+    @Test
+    @DisplayName("Deve recusar lote acima do tamanho máximo")
+    void deveRecusarLoteAcimaDoMaximo() {
+        List<PartidaDTO> lote = Collections.nCopies(20_001, new PartidaDTO(null, 1L, 2L, 2, 1, "Maracanã", DATA));
+
+        ResponseStatusException erro = assertThrows(ResponseStatusException.class, () -> loteService.cadastrarLote(lote));
+
+        assertEquals(400, erro.getStatusCode().value());
+        verifyNoInteractions(clubeRepository, partidaJdbcRepository);
+    }
+
+    @Test
+    @DisplayName("Deve consultar a ocupação dos estádios em blocos de mil partidas")
+    void deveConsultarOcupacoesEmBlocos() {
+        LocalDateTime inicio = LocalDateTime.of(2015, 1, 1, 16, 0);
+        List<PartidaDTO> lote = new ArrayList<>();
+        for (int i = 0; i < 1001; i++) {
+            LocalDateTime dataHora = inicio.plusDays(i / 2 * 3L);
+            lote.add(i % 2 == 0
+                    ? new PartidaDTO(null, 1L, 2L, 2, 1, "Maracanã", dataHora)
+                    : new PartidaDTO(null, 3L, 4L, 0, 0, "Mineirão", dataHora));
+        }
+
+        ResultadoLoteDTO resultado = loteService.cadastrarLote(lote);
+
+        assertEquals(1001, resultado.getCadastradas(), () -> "Erros: " + resultado.getErros());
+        verify(partidaRepository).findOcupacoesDeEstadios(anyCollection(), argThat(horarios -> horarios.size() == 500));
+        verify(partidaRepository).findOcupacoesDeEstadios(eq(Set.of(10L)), eq(Set.of(inicio.plusDays(1500))));
+    }
+}
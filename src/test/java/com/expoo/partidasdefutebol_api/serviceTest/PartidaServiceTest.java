@@ -1,21 +1,38 @@
 package com.expoo.partidasdefutebol_api.serviceTest;
 
+import com.expoo.partidasdefutebol_api.dto.FiltroPartidasDTO;
+import com.expoo.partidasdefutebol_api.dto.PaginaPartidasDTO;
 import com.expoo.partidasdefutebol_api.dto.PartidaDTO;
+import com.expoo.partidasdefutebol_api.dto.RankingDTO;
+import com.expoo.partidasdefutebol_api.dto.RetroDTO;
 import com.expoo.partidasdefutebol_api.model.Clube;
+import com.expoo.partidasdefutebol_api.model.Estadio;
 import com.expoo.partidasdefutebol_api.model.Partida;
 import com.expoo.partidasdefutebol_api.repository.ClubeRepository;
+import com.expoo.partidasdefutebol_api.repository.EstadioRepository;
 import com.expoo.partidasdefutebol_api.repository.PartidaRepository;
+import com.expoo.partidasdefutebol_api.service.AgendaClubes;
+import com.expoo.partidasdefutebol_api.service.AlteracoesClubes;
+import com.expoo.partidasdefutebol_api.service.ClubesEmCache;
+import com.expoo.partidasdefutebol_api.service.CursorPartida;
 import com.expoo.partidasdefutebol_api.service.PartidaService;
+import com.expoo.partidasdefutebol_api.service.RetrospectoClubes;
+import com.expoo.partidasdefutebol_api.service.ValidadorPartida;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
-import org.mockito.InjectMocks;
 import org.mockito.Mock;
+import org.mockito.Spy;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.domain.PageImpl;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.domain.Specification;
 import org.springframework.web.server.ResponseStatusException;
+import java.time.Duration;
 import java.time.LocalDate;
 import java.time.LocalDateTime;
 import java.util.*;
@@ -27,7 +44,8 @@ import static org.mockito.Mockito.*;
 @ExtendWith(MockitoExtension.class)
 class PartidaServiceTest {
 
-    @InjectMocks
+    private static final Sort ORDEM_CURSOR = Sort.by(Sort.Direction.DESC, "dataHora", "id");
+
     private PartidaService partidaService;
 
     @Mock
@@ -36,17 +54,40 @@ class PartidaServiceTest {
     @Mock
     private ClubeRepository clubeRepository;
 
+    @Mock
+    private EstadioRepository estadioRepository;
+
+    @Mock
+    private AgendaClubes agendaClubes;
+
+    @Mock
+    private RetrospectoClubes retrospectoClubes;
+
+    @Mock
+    private AlteracoesClubes alteracoesClubes;
+
+    @Spy
+    private ValidadorPartida validadorPartida = new ValidadorPartida();
+
     private Clube mandante;
     private Clube visitante;
+    private Estadio maracana;
     private Partida partida;
+    private PartidaDTO resumo;
 
     @BeforeEach
     void setup() {
+        partidaService = new PartidaService(partidaRepository,
+                new ClubesEmCache(clubeRepository, new SimpleMeterRegistry(), 100, Duration.ofMinutes(10)),
+                estadioRepository, agendaClubes, retrospectoClubes, alteracoesClubes, validadorPartida);
         mandante = new Clube(1L, "Time A", "SP", LocalDate.of(2020, 1, 1), true);
         visitante = new Clube(2L, "Time B", "RJ", LocalDate.of(2020, 1, 1), true);
         partida = new Partida(1L, mandante, visitante, 2, 1, LocalDateTime.now().minusDays(1));
-        partida.setEstadio("Maracanã");
+        maracana = new Estadio(10L, "Maracanã");
+        partida.setEstadio(maracana);
         partida.setResultado("2-1");
+        resumo = new PartidaDTO(1L, 1L, "Time A", 2L, "Time B", "Maracanã", partida.getDataHora(), 2, 1);
+        lenient().when(estadioRepository.findByNome("Maracanã")).thenReturn(Optional.of(maracana));
     }
 
     @Test
@@ -60,30 +101,35 @@ class PartidaServiceTest {
 
         assertNotNull(resultado);
         assertEquals("2-1", resultado.getResultado());
+        verify(retrospectoClubes).registrar(partida);
+        verify(alteracoesClubes).registrar(partida);
     }
 
     @Test
     void deveAtualizarPartidaComSucesso() {
-        when(partidaRepository.findById(1L)).thenReturn(Optional.of(partida));
+        when(partidaRepository.buscarCompleta(1L)).thenReturn(Optional.of(partida));
         when(partidaRepository.save(any())).thenReturn(partida);
 
         PartidaDTO dto = new PartidaDTO(null, 1L, 2L, 3, 2, "Maracanã", LocalDateTime.now().minusDays(1));
         Partida atualizada = partidaService.atualizar(1L, dto);
 
         assertEquals(3, atualizada.getGolsMandante());
+        verify(alteracoesClubes).registrar(partida);
     }
 
     @Test
     void deveRemoverPartidaComSucesso() {
         when(partidaRepository.findById(1L)).thenReturn(Optional.of(partida));
-        doNothing().when(partidaRepository).delete(any());
+        doNothing().when(partidaRepository).delete(any(Partida.class));
 
         assertDoesNotThrow(() -> partidaService.remover(1L));
+        verify(retrospectoClubes).remover(partida);
+        verify(alteracoesClubes).registrar(partida);
     }
 
     @Test
     void deveBuscarPartidaComSucesso() {
-        when(partidaRepository.findById(1L)).thenReturn(Optional.of(partida));
+        when(partidaRepository.buscarCompleta(1L)).thenReturn(Optional.of(partida));
 
         Partida encontrada = partidaService.buscar(1L);
         assertNotNull(encontrada);
@@ -92,9 +138,9 @@ class PartidaServiceTest {
     @Test
     void deveListarPartidasSemFiltros() {
         Pageable pageable = PageRequest.of(0, 10);
-        when(partidaRepository.findAll(pageable)).thenReturn(new PageImpl<>(List.of(partida)));
+        when(partidaRepository.listarResumos(any(Specification.class), eq(pageable))).thenReturn(new PageImpl<>(List.of(resumo)));
 
-        var pagina = partidaService.listar(null, null, null, pageable);
+        var pagina = partidaService.listar(new FiltroPartidasDTO(), pageable);
 
         assertEquals(1, pagina.getContent().size());
     }
@@ -104,11 +150,34 @@ class PartidaServiceTest {
         partida.setGolsMandante(5);
         partida.setGolsVisitante(1);
         Pageable pageable = PageRequest.of(0, 10);
-        when(partidaRepository.findAll(pageable)).thenReturn(new PageImpl<>(List.of(partida)));
+        when(partidaRepository.listarResumos(any(Specification.class), eq(pageable)))
+                .thenReturn(new PageImpl<>(List.of(resumo), pageable, 31));
 
-        var pagina = partidaService.listar(null, null, true, pageable);
+        var pagina = partidaService.listar(new FiltroPartidasDTO(null, null, true), pageable);
 
         assertEquals(1, pagina.getContent().size());
+        assertEquals(31, pagina.getTotalElements());
+        verify(partidaRepository, never()).findAll(pageable);
+    }
+
+    @Test
+    void deveRejeitarFiltrosDoClubeSemClubeIdResultadoInvalidoEPeriodoInvertido() {
+        FiltroPartidasDTO semClube = new FiltroPartidasDTO();
+        semClube.setAdversarioId(2L);
+        FiltroPartidasDTO resultadoInvalido = new FiltroPartidasDTO(1L, null, null);
+        resultadoInvalido.setResultado("goleada");
+        FiltroPartidasDTO periodoInvertido = new FiltroPartidasDTO();
+        periodoInvertido.setDataInicio(LocalDateTime.of(2023, 2, 1, 0, 0));
+        periodoInvertido.setDataFim(LocalDateTime.of(2023, 1, 1, 0, 0));
+        Pageable pageable = PageRequest.of(0, 10);
+
+        assertEquals("clubeId é obrigatório para filtrar por adversário, mando ou resultado",
+                assertThrows(ResponseStatusException.class, () -> partidaService.listar(semClube, pageable)).getReason());
+        assertEquals("Resultado inválido: goleada",
+                assertThrows(ResponseStatusException.class, () -> partidaService.listar(resultadoInvalido, pageable)).getReason());
+        assertEquals("dataInicio deve ser anterior a dataFim",
+                assertThrows(ResponseStatusException.class, () -> partidaService.listar(periodoInvertido, pageable)).getReason());
+        verifyNoInteractions(partidaRepository);
     }
 
     @Test
@@ -155,27 +224,208 @@ class PartidaServiceTest {
     void deveLancarErroQuandoConflitoDeHorario() {
         when(clubeRepository.findById(1L)).thenReturn(Optional.of(mandante));
         when(clubeRepository.findById(2L)).thenReturn(Optional.of(visitante));
-        when(partidaRepository.findConflitosDeHorario(any(), any(), any(), any())).thenReturn(List.of(partida));
+        when(agendaClubes.possuiConflito(eq(1L), any(), any(), isNull())).thenReturn(true);
 
         PartidaDTO dto = new PartidaDTO(null, 1L, 2L, 2, 1, "Maracanã", LocalDateTime.now().minusDays(1));
 
         assertThrows(ResponseStatusException.class, () -> partidaService.cadastrar(dto));
+        verify(partidaRepository, never()).save(any());
+    }
+
+    @Test
+    void deveRegistrarPartidaNaAgendaAoCadastrar() {
+        when(clubeRepository.findById(1L)).thenReturn(Optional.of(mandante));
+        when(clubeRepository.findById(2L)).thenReturn(Optional.of(visitante));
+        when(partidaRepository.save(any())).thenReturn(partida);
+
+        PartidaDTO dto = new PartidaDTO(null, 1L, 2L, 2, 1, "Maracanã", partida.getDataHora());
+        partidaService.cadastrar(dto);
+
+        verify(agendaClubes).registrar(1L, 1L, 2L, partida.getDataHora());
+    }
+
+    @Test
+    void deveReagendarEDesconsiderarPropriaPartidaAoAtualizar() {
+        LocalDateTime anterior = partida.getDataHora();
+        LocalDateTime nova = anterior.minusDays(3);
+        when(partidaRepository.buscarCompleta(1L)).thenReturn(Optional.of(partida));
+        when(partidaRepository.save(any())).thenReturn(partida);
+
+        PartidaDTO dto = new PartidaDTO(null, 1L, 2L, 2, 1, "Maracanã", nova);
+        partidaService.atualizar(1L, dto);
+
+        verify(agendaClubes).possuiConflito(1L, nova.minusHours(48), nova.plusHours(48), 1L);
+        verify(agendaClubes).reagendar(1L, 1L, 2L, anterior, nova);
+    }
+
+    @Test
+    void deveAplicarNoRetrospectoADiferencaEntreOPlacarAnteriorEONovo() {
+        when(partidaRepository.buscarCompleta(1L)).thenReturn(Optional.of(partida));
+        when(partidaRepository.save(any())).thenReturn(partida);
+
+        PartidaDTO dto = new PartidaDTO(null, 1L, 2L, 0, 3, "Maracanã", partida.getDataHora());
+        partidaService.atualizar(1L, dto);
+
+        verify(retrospectoClubes).atualizar(partida, 2, 1);
+        assertEquals("0-3", partida.getResultado());
+    }
+
+    @Test
+    void deveRetirarPartidaDaAgendaAoRemover() {
+        when(partidaRepository.findById(1L)).thenReturn(Optional.of(partida));
+
+        partidaService.remover(1L);
+
+        verify(agendaClubes).remover(1L, 1L, 2L, partida.getDataHora());
     }
 
     @Test
     void deveLancarErroQuandoEstadioOcupado() {
         when(clubeRepository.findById(1L)).thenReturn(Optional.of(mandante));
         when(clubeRepository.findById(2L)).thenReturn(Optional.of(visitante));
-        when(partidaRepository.findAll()).thenReturn(List.of(partida));
+        when(partidaRepository.existsByEstadioIdAndDataHora(10L, partida.getDataHora())).thenReturn(true);
 
         PartidaDTO dto = new PartidaDTO(null, 1L, 2L, 2, 1, "Maracanã", partida.getDataHora());
 
         assertThrows(ResponseStatusException.class, () -> partidaService.cadastrar(dto));
+        verify(partidaRepository, never()).findAll();
+    }
+
+    @Test
+    void deveIgnorarPropriaPartidaAoVerificarEstadioNaAtualizacao() {
+        when(partidaRepository.buscarCompleta(1L)).thenReturn(Optional.of(partida));
+        when(partidaRepository.save(any())).thenReturn(partida);
+
+        PartidaDTO dto = new PartidaDTO(null, 1L, 2L, 3, 2, "Maracanã", partida.getDataHora());
+        partidaService.atualizar(1L, dto);
+
+        verify(partidaRepository).existsByEstadioIdAndDataHoraAndIdNot(10L, partida.getDataHora(), 1L);
+        verify(partidaRepository, never()).existsByEstadioIdAndDataHora(any(), any());
+    }
+
+    @Test
+    void deveLancarErroQuandoEstadioNaoCadastrado() {
+        when(clubeRepository.findById(1L)).thenReturn(Optional.of(mandante));
+        when(clubeRepository.findById(2L)).thenReturn(Optional.of(visitante));
+
+        PartidaDTO dto = new PartidaDTO(null, 1L, 2L, 2, 1, "Arena Inexistente", partida.getDataHora());
+
+        ResponseStatusException erro = assertThrows(ResponseStatusException.class, () -> partidaService.cadastrar(dto));
+        assertEquals("Estádio não encontrado: Arena Inexistente", erro.getReason());
+        verify(partidaRepository, never()).save(any());
+    }
+
+    @Test
+    void deveFiltrarPorEstadioPelasChavesDosEstadios() {
+        Pageable pageable = PageRequest.of(0, 10);
+        when(estadioRepository.buscarIdsPorNome("mara")).thenReturn(List.of(10L));
+        when(partidaRepository.listarResumos(any(Specification.class), eq(pageable))).thenReturn(new PageImpl<>(List.of(resumo)));
+
+        var pagina = partidaService.listar(new FiltroPartidasDTO(1L, "mara", null), pageable);
+
+        assertEquals(1, pagina.getContent().size());
+        verify(estadioRepository).buscarIdsPorNome("mara");
+    }
+
+    @Test
+    void deveRetornarPaginaVaziaQuandoNenhumEstadioCorresponderAoFiltro() {
+        Pageable pageable = PageRequest.of(0, 10);
+        when(estadioRepository.buscarIdsPorNome("xyz")).thenReturn(List.of());
+
+        var pagina = partidaService.listar(new FiltroPartidasDTO(null, "xyz", null), pageable);
+
+        assertTrue(pagina.isEmpty());
+        verifyNoInteractions(partidaRepository);
+    }
+
+    @Test
+    void deveListarPorCursorDevolvendoOProximoCursorQuandoHouverMaisPartidas() {
+        PartidaDTO anterior = new PartidaDTO(2L, 2L, "Time B", 1L, "Time A", "Maracanã", partida.getDataHora().minusDays(3), 0, 0);
+        when(partidaRepository.listarResumos(any(Specification.class), eq(ORDEM_CURSOR), eq(Limit.of(2))))
+                .thenReturn(List.of(resumo), List.of(anterior));
+
+        PaginaPartidasDTO pagina = partidaService.listarPorCursor(new FiltroPartidasDTO(1L, null, null), "", 1);
+
+        assertEquals(List.of(resumo), pagina.getConteudo());
+        assertEquals(CursorPartida.depoisDe(resumo), CursorPartida.decodificar(pagina.getProximoCursor()));
+        verify(partidaRepository, times(2)).listarResumos(any(Specification.class), eq(ORDEM_CURSOR), eq(Limit.of(2)));
+        verify(partidaRepository, never()).count();
+    }
+
+    @Test
+    void deveMontarConfrontoDiretoAPartirDosResumos() {
+        when(clubeRepository.findById(1L)).thenReturn(Optional.of(mandante));
+        when(clubeRepository.findById(2L)).thenReturn(Optional.of(visitante));
+        PartidaDTO volta = new PartidaDTO(2L, 2L, "Time B", 1L, "Time A", "Maracanã", partida.getDataHora().minusDays(3), 1, 1);
+        when(partidaRepository.findConfrontosDiretos(1L, 2L)).thenReturn(List.of(resumo, volta));
+
+        Map<String, Object> confronto = partidaService.getConfrontoDireto(1L, 2L);
+
+        assertEquals(List.of(resumo, volta), confronto.get("partidas"));
+        List<RetroDTO> retro = (List<RetroDTO>) confronto.get("retro");
+        assertEquals("Time A", retro.get(0).getNome());
+        assertEquals(1, retro.get(0).getVitorias());
+        assertEquals(1, retro.get(0).getEmpates());
+        assertEquals(1, retro.get(1).getDerrotas());
+        verify(partidaRepository, never()).findById(any());
+    }
+
+    @Test
+    void deveEncerrarListagemPorCursorSemProximoCursorNaUltimaPagina() {
+        CursorPartida cursor = new CursorPartida(LocalDateTime.of(2023, 5, 20, 15, 0), 42L);
+        when(partidaRepository.listarResumos(any(Specification.class), eq(ORDEM_CURSOR), eq(Limit.of(11)))).thenReturn(List.of(resumo));
+
+        PaginaPartidasDTO pagina = partidaService.listarPorCursor(new FiltroPartidasDTO(null, null, true), cursor.codificar(), 10);
+
+        assertEquals(1, pagina.getConteudo().size());
+        assertNull(pagina.getProximoCursor());
+    }
+
+    @Test
+    void deveListarPorCursorComUmaConsultaQuandoOMandoForInformado() {
+        FiltroPartidasDTO filtro = new FiltroPartidasDTO(1L, null, null);
+        filtro.setMandante(true);
+        filtro.setAdversarioId(2L);
+        filtro.setResultado("vitoria");
+        when(partidaRepository.listarResumos(any(Specification.class), eq(ORDEM_CURSOR), eq(Limit.of(11)))).thenReturn(List.of(resumo));
+
+        PaginaPartidasDTO pagina = partidaService.listarPorCursor(filtro, "", 10);
+
+        assertEquals(List.of(resumo), pagina.getConteudo());
+        verify(partidaRepository).listarResumos(any(Specification.class), eq(ORDEM_CURSOR), eq(Limit.of(11)));
+    }
+
+    @Test
+    void deveRejeitarCursorInvalidoTamanhoForaDoLimiteEFiltrosInvalidos() {
+        FiltroPartidasDTO semClube = new FiltroPartidasDTO();
+        semClube.setResultado("vitoria");
+        ResponseStatusException cursor = assertThrows(ResponseStatusException.class,
+                () -> partidaService.listarPorCursor(new FiltroPartidasDTO(), "nao-e-um-cursor", 10));
+        ResponseStatusException tamanho = assertThrows(ResponseStatusException.class,
+                () -> partidaService.listarPorCursor(new FiltroPartidasDTO(), "", 0));
+        ResponseStatusException filtro = assertThrows(ResponseStatusException.class,
+                () -> partidaService.listarPorCursor(semClube, "", 10));
+
+        assertEquals("Cursor inválido", cursor.getReason());
+        assertEquals(400, tamanho.getStatusCode().value());
+        assertEquals("clubeId é obrigatório para filtrar por adversário, mando ou resultado", filtro.getReason());
+        verifyNoInteractions(partidaRepository);
+    }
+
+    @Test
+    void deveRetornarPaginaVaziaPorCursorQuandoNenhumEstadioCorresponderAoFiltro() {
+        when(estadioRepository.buscarIdsPorNome("xyz")).thenReturn(List.of());
+
+        PaginaPartidasDTO pagina = partidaService.listarPorCursor(new FiltroPartidasDTO(1L, "xyz", null), "", 10);
+
+        assertTrue(pagina.getConteudo().isEmpty());
+        assertNull(pagina.getProximoCursor());
+        verifyNoInteractions(partidaRepository);
     }
 
     @Test
     void deveLancarErroQuandoBuscarPartidaInexistente() {
-        when(partidaRepository.findById(anyLong())).thenReturn(Optional.empty());
+        when(partidaRepository.buscarCompleta(anyLong())).thenReturn(Optional.empty());
 
         assertThrows(ResponseStatusException.class, () -> partidaService.buscar(99L));
     }
@@ -188,4 +438,57 @@ class PartidaServiceTest {
 
         assertThrows(ResponseStatusException.class, () -> partidaService.cadastrar(dto));
     }
+
+    private static PartidaRepository.TotaisClube totais(long clubeId, int vitorias, int empates, int derrotas,
+                                                         int golsFeitos, int golsSofridos) {
+        return new PartidaRepository.TotaisClube() {
+            public Long getClubeId() { return clubeId; }
+            public int getVitorias() { return vitorias; }
+            public int getEmpates() { return empates; }
+            public int getDerrotas() { return derrotas; }
+            public int getGolsFeitos() { return golsFeitos; }
+            public int getGolsSofridos() { return golsSofridos; }
+        };
+    }
+
+    @Test
+    void deveMontarRankingBuscandoSoOsNomesDaPaginaPedida() {
+        Clube timeC = new Clube(3L, "Time C", "MG", LocalDate.of(2020, 1, 1), true);
+        when(partidaRepository.somarPorClube(0, true, true)).thenReturn(List.of(
+                totais(1L, 1, 0, 1, 3, 2), totais(2L, 0, 1, 1, 1, 4), totais(3L, 1, 1, 0, 3, 1)));
+        when(clubeRepository.findAllById(List.of(3L))).thenReturn(List.of(timeC));
+
+        List<RankingDTO> ranking = partidaService.getRanking("pontos", null, null, 0, 1);
+
+        assertEquals(List.of(new RankingDTO(3L, "Time C", 2, 1, 3, 4, 2)), ranking);
+        verify(partidaRepository, never()).findAll();
+    }
+
+    @Test
+    void deveRepassarGoleadasETipoParaAConsultaDoRanking() {
+        partidaService.getRanking("gols", true, "visitante", 0, null);
+        partidaService.getRanking("gols", null, null, 0, null);
+
+        verify(partidaRepository).somarPorClube(Partida.MARGEM_GOLEADA, false, true);
+        verify(partidaRepository).somarPorClube(0, true, true);
+    }
+
+    @Test
+    void deveRetornarRankingVazioSemConsultarParaTipoInvalido() {
+        assertTrue(partidaService.getRanking("gols", null, "TODOS", 0, null).isEmpty());
+        verifyNoInteractions(partidaRepository);
+    }
+
+    @Test
+    void deveRetornarRankingVazioParaCriterioInvalido() {
+        assertTrue(partidaService.getRanking("invalido", null, null, 0, null).isEmpty());
+        verifyNoInteractions(partidaRepository);
+    }
+
+    @Test
+    void deveRejeitarOffsetNegativoNoRanking() {
+        ResponseStatusException ex = assertThrows(ResponseStatusException.class,
+                () -> partidaService.getRanking("pontos", null, null, -1, null));
+        assertEquals(400, ex.getStatusCode().value());
+    }
 }
\ No newline at end of file
@@ -0,0 +1,88 @@
+package com.expoo.partidasdefutebol_api.serviceTest;
+
+import com.expoo.partidasdefutebol_api.dto.RankingDTO;
+import com.expoo.partidasdefutebol_api.enums.CriterioRanking;
+import com.expoo.partidasdefutebol_api.service.RankingClubes;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import java.util.*;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class RankingClubesTest {
+
+    private static List<Long> ids(List<RankingDTO> ranking) {
+        return ranking.stream().map(RankingDTO::getClubeId).toList();
+    }
+
+    @Test
+    @DisplayName("Deve acumular jogos, vitórias, gols, pontos e saldo de cada clube")
+    void deveAcumularTotais() {
+        RankingClubes ranking = new RankingClubes(false, true, true);
+        ranking.registrar(1, 2, 3, 1);
+        ranking.registrar(2, 1, 2, 2);
+        ranking.registrar(3, 1, 0, 1);
+
+        List<RankingDTO> classificacao = ranking.classificar(CriterioRanking.JOGOS, 0, RankingClubes.SEM_LIMITE);
+
+        assertEquals(new RankingDTO(1L, null, 3, 2, 6, 7, 3), classificacao.get(0));
+        assertEquals(new RankingDTO(2L, null, 2, 0, 3, 1, -2), classificacao.get(1));
+        assertEquals(new RankingDTO(3L, null, 1, 0, 0, 0, -1), classificacao.get(2));
+    }
+
+    @Test
+    @DisplayName("Deve considerar só o mando pedido e só goleadas quando filtrado")
+    void deveAplicarFiltros() {
+        RankingClubes mandantes = new RankingClubes(false, true, false);
+        RankingClubes goleadas = new RankingClubes(true, true, true);
+        for (RankingClubes ranking : List.of(mandantes, goleadas)) {
+            ranking.registrar(1, 2, 4, 0);
+            ranking.registrar(2, 3, 2, 1);
+        }
+
+        assertEquals(List.of(1L, 2L), ids(mandantes.classificar(CriterioRanking.VITORIAS, 0, RankingClubes.SEM_LIMITE)));
+        assertEquals(List.of(1L, 2L), ids(goleadas.classificar(CriterioRanking.JOGOS, 0, RankingClubes.SEM_LIMITE)));
+        assertEquals(List.of(1L), ids(goleadas.classificar(CriterioRanking.GOLS, 0, RankingClubes.SEM_LIMITE)));
+    }
+
+    @Test
+    @DisplayName("Deve omitir clubes sem valor positivo e desempatar pelo menor ID")
+    void deveOmitirZeradosEDesempatarPorId() {
+        RankingClubes ranking = new RankingClubes(false, true, true);
+        ranking.registrar(30, 10, 1, 0);
+        ranking.registrar(20, 40, 1, 0);
+        ranking.registrar(10, 20, 1, 1);
+
+        assertEquals(List.of(20L, 30L, 10L), ids(ranking.classificar(CriterioRanking.PONTOS, 0, RankingClubes.SEM_LIMITE)));
+        assertEquals(List.of(20L, 30L), ids(ranking.classificar(CriterioRanking.SALDO_GOLS, 0, RankingClubes.SEM_LIMITE)));
+    }
+
+    @Test
+    @DisplayName("Deve devolver a mesma página que a ordenação completa para muitos clubes com IDs esparsos")
+    void deveSelecionarPaginaIgualAOrdenacaoCompleta() {
+        Random random = new Random(7);
+        RankingClubes ranking = new RankingClubes(false, true, true);
+        Map<Long, Integer> gols = new HashMap<>();
+        for (int i = 0; i < 20_000; i++) {
+            long mandante = 1_000_003L * (1 + random.nextInt(500));
+            long visitante = 1_000_003L * (1 + random.nextInt(500));
+            int golsMandante = random.nextInt(5);
+            int golsVisitante = random.nextInt(5);
+            ranking.registrar(mandante, visitante, golsMandante, golsVisitante);
+            gols.merge(mandante, golsMandante, Integer::sum);
+            gols.merge(visitante, golsVisitante, Integer::sum);
+        }
+
+        List<Long> esperado = gols.entrySet().stream()
+                .filter(e -> e.getValue() > 0)
+                .sorted(Map.Entry.<Long, Integer>comparingByValue().reversed().thenComparing(Map.Entry.comparingByKey()))
+                .map(Map.Entry::getKey)
+                .toList();
+
+        assertEquals(esperado, ids(ranking.classificar(CriterioRanking.GOLS, 0, RankingClubes.SEM_LIMITE)));
+        assertEquals(esperado.subList(40, 60), ids(ranking.classificar(CriterioRanking.GOLS, 40, 20)));
+        assertEquals(esperado.subList(490, esperado.size()), ids(ranking.classificar(CriterioRanking.GOLS, 490, 20)));
+        assertTrue(ranking.classificar(CriterioRanking.GOLS, 600, 20).isEmpty());
+        assertTrue(ranking.classificar(CriterioRanking.GOLS, 0, 0).isEmpty());
+    }
+}
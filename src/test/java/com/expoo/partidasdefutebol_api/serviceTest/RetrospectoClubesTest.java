@@ -0,0 +1,80 @@
+package com.expoo.partidasdefutebol_api.serviceTest;
+
+import com.expoo.partidasdefutebol_api.model.Clube;
+import com.expoo.partidasdefutebol_api.model.Partida;
+import com.expoo.partidasdefutebol_api.repository.ClubeRetrospectoRepository;
+import com.expoo.partidasdefutebol_api.service.RetrospectoClubes;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+class RetrospectoClubesTest {
+
+    private ClubeRetrospectoRepository retrospectoRepository;
+    private RetrospectoClubes retrospectoClubes;
+    private Partida partida;
+
+    @BeforeEach
+    void setup() {
+        retrospectoRepository = mock(ClubeRetrospectoRepository.class);
+        retrospectoClubes = new RetrospectoClubes(retrospectoRepository);
+        when(retrospectoRepository.somar(any(), anyBoolean(), anyInt(), anyInt(), anyInt(), anyInt(), anyInt())).thenReturn(1);
+
+        Clube mandante = new Clube(1L, "Time A", "SP", LocalDate.of(2000, 1, 1), true);
+        Clube visitante = new Clube(2L, "Time B", "RJ", LocalDate.of(2000, 1, 1), true);
+        partida = new Partida(10L, mandante, visitante, 3, 1, LocalDateTime.of(2023, 5, 20, 16, 0));
+    }
+
+    @Test
+    @DisplayName("Deve somar a vitória ao mandante e a derrota ao visitante")
+    void deveRegistrarPartida() {
+        retrospectoClubes.registrar(partida);
+
+        verify(retrospectoRepository).somar(1L, true, 1, 0, 0, 3, 1);
+        verify(retrospectoRepository).somar(2L, false, 0, 0, 1, 1, 3);
+    }
+
+    @Test
+    @DisplayName("Deve desfazer o placar ao remover a partida")
+    void deveReverterPartidaRemovida() {
+        retrospectoClubes.remover(partida);
+
+        verify(retrospectoRepository).somar(1L, true, -1, 0, 0, -3, -1);
+        verify(retrospectoRepository).somar(2L, false, 0, 0, -1, -1, -3);
+    }
+
+    @Test
+    @DisplayName("Deve aplicar só a diferença entre o placar anterior e o novo")
+    void deveAplicarDiferencaAoAtualizar() {
+        partida.setGolsMandante(1);
+        partida.setGolsVisitante(1);
+
+        retrospectoClubes.atualizar(partida, 3, 1);
+
+        verify(retrospectoRepository).somar(1L, true, -1, 1, 0, -2, 0);
+        verify(retrospectoRepository).somar(2L, false, 0, 1, -1, 0, -2);
+    }
+
+    @Test
+    @DisplayName("Não deve tocar na tabela quando o placar não mudar")
+    void naoDeveAtualizarQuandoPlacarNaoMudar() {
+        retrospectoClubes.atualizar(partida, 3, 1);
+
+        verifyNoInteractions(retrospectoRepository);
+    }
+
+    @Test
+    @DisplayName("Deve falhar quando a linha do clube não existir, sem inseri-la")
+    void deveFalharSemLinhaDoClube() {
+        when(retrospectoRepository.somar(eq(2L), eq(false), anyInt(), anyInt(), anyInt(), anyInt(), anyInt())).thenReturn(0);
+
+        assertThrows(IllegalStateException.class, () -> retrospectoClubes.registrar(partida));
+        verify(retrospectoRepository, never()).save(any());
+    }
+}